@@ -0,0 +1,22 @@
+package com.thinhpay.backend.modules.corebanking.application.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BatchTransferRequest {
+    /**
+     * Giới hạn số item lấy từ thinhpay.core-banking.batch.max-items, service tự kiểm tra (không hardcode ở đây)
+     */
+    @NotEmpty(message = "Transfers must not be empty")
+    List<@Valid TransferRequest> transfers;
+}
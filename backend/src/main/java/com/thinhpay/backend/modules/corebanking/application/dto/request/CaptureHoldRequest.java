@@ -0,0 +1,29 @@
+package com.thinhpay.backend.modules.corebanking.application.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CaptureHoldRequest {
+    /**
+     * requestId của giao dịch capture (mỗi lần capture 1 phần là 1 giao dịch riêng)
+     */
+    @NotBlank(message = "Request ID must be required")
+    @Size(max = 100)
+    String requestId;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.0001", message = "Số tiền capture phải lớn hơn 0")
+    BigDecimal amount;
+}
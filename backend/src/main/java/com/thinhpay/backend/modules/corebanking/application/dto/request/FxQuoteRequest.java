@@ -0,0 +1,38 @@
+package com.thinhpay.backend.modules.corebanking.application.dto.request;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class FxQuoteRequest {
+    @NotNull(message = "User ID is required")
+    UUID userId;
+
+    @NotBlank(message = "From currency is required")
+    @Size(min = 3, max = 3)
+    String fromCurrency;
+
+    @NotBlank(message = "To currency is required")
+    @Size(min = 3, max = 3)
+    String toCurrency;
+
+    /**
+     * Số tiền gửi tối đa (fromCurrency) được chuyển theo quote
+     */
+    @NotNull(message = "Max amount is required")
+    @DecimalMin(value = "0.01", message = "Max amount must be at least 0.01")
+    @DecimalMax(value = "1000000000", message = "Max amount exceeds maximum limit")
+    BigDecimal maxAmount;
+}
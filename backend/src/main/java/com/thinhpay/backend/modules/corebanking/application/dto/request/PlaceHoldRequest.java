@@ -0,0 +1,42 @@
+package com.thinhpay.backend.modules.corebanking.application.dto.request;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class PlaceHoldRequest {
+    @NotBlank(message = "Request ID must be required")
+    @Size(max = 100)
+    String requestId;
+
+    @NotNull(message = "User ID must be required")
+    UUID userId;
+
+    @NotBlank(message = "Currency is required")
+    String currency;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.0001", message = "Số tiền giữ phải lớn hơn 0")
+    BigDecimal amount;
+
+    /**
+     * Thời hạn giữ tiền (ISO-8601, vd. PT15M). Bỏ trống thì dùng holds.default-ttl
+     */
+    Duration expiresIn;
+
+    @Size(max = 500)
+    String description;
+}
@@ -0,0 +1,56 @@
+package com.thinhpay.backend.modules.corebanking.application.dto.request;
+
+import com.thinhpay.backend.modules.corebanking.domain.schedule.ScheduleFrequency;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ScheduleTransferRequest {
+    @NotBlank(message = "Request ID must be required")
+    @Size(max = 100)
+    String requestId;
+
+    @NotNull(message = "Sender User ID must be required")
+    UUID senderUserId;
+
+    @NotNull(message = "Receiver user ID must be required")
+    UUID receiverUserId;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be at least 0.01")
+    @DecimalMax(value = "1000000000", message = "Amount exceeds maximum limit")
+    BigDecimal amount;
+
+    @NotBlank(message = "Currency is required")
+    String currency;
+
+    @Size(max = 500)
+    String description;
+
+    @NotNull(message = "Frequency is required")
+    ScheduleFrequency frequency;
+
+    /**
+     * Lần chạy đầu tiên (ISO-8601). Bỏ trống thì chạy ngay ở lần quét kế tiếp
+     */
+    Instant startAt;
+
+    /**
+     * Không chạy sau mốc này. Bỏ trống thì chạy tới khi hủy
+     */
+    Instant endAt;
+}
@@ -0,0 +1,20 @@
+package com.thinhpay.backend.modules.corebanking.application.dto.request;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public enum StatementFormat {
+    /**
+     * Mỗi dòng 1 JSON object
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    String contentType;
+    String fileExtension;
+}
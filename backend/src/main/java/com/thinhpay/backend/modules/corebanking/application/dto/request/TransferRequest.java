@@ -34,13 +34,23 @@ public class TransferRequest {
     @Size(max = 500)
     String description;
 
+    /**
+     * FX quote (POST /api/v1/fx/quotes) khi người nhận dùng loại tiền khác: currency là tiền gửi,
+     * tài khoản nhận theo toCurrency của quote. Quote chỉ dùng được cho đúng senderUserId,
+     * amount không vượt maxAmount của quote, và chỉ 1 lần. Bỏ trống nếu cùng loại tiền.
+     */
+    UUID quoteId;
+
     //helper
     public String getFromCurrency() {
         return currency;
     }
 
+    /**
+     * Chỉ đúng khi không có quoteId. Transfer khác loại tiền lấy tiền nhận từ toCurrency của quote
+     * (FxQuoteService.resolveRate), client không tự chọn tiền nhận hay tỉ giá.
+     */
     public String getToCurrency() {
-        return currency; // will be update later
-        //waring: for future use only
+        return currency;
     }
 }
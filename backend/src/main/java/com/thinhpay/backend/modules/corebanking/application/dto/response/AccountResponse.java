@@ -1,6 +1,7 @@
 package com.thinhpay.backend.modules.corebanking.application.dto.response;
 
 import com.thinhpay.backend.modules.corebanking.domain.account.Account;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.AccountView;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 
@@ -23,9 +24,18 @@ public class AccountResponse {
     public static AccountResponse from(Account account) {
         return AccountResponse.builder()
                 .accountId(account.getId())
-                .currency(account.getCurrency().getCode())
-                .balance(account.getBalance())
+                .currency(account.getCurrencyCode())
+                .balance(account.getTotalBalance())
                 .status(account.getStatus().name())
                 .build();
     }
+
+    public static AccountResponse from(AccountView view) {
+        return AccountResponse.builder()
+                .accountId(view.id())
+                .currency(view.currencyCode())
+                .balance(view.totalBalance())
+                .status(view.status().name())
+                .build();
+    }
 }
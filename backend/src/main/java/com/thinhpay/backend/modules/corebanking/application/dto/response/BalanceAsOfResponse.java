@@ -0,0 +1,25 @@
+package com.thinhpay.backend.modules.corebanking.application.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BalanceAsOfResponse {
+    UUID accountId;
+    String currency;
+
+    /**
+     * Tổng số dư sau mọi bút toán có created_at <= asOf
+     */
+    BigDecimal balance;
+    Instant asOf;
+}
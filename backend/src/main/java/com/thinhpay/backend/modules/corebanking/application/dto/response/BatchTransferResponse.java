@@ -0,0 +1,64 @@
+package com.thinhpay.backend.modules.corebanking.application.dto.response;
+
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionStatus;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BatchTransferResponse {
+    int totalCount;
+    int successCount;
+    int failedCount;
+
+    //Kết quả theo đúng thứ tự các item trong request
+    List<ItemResult> results;
+
+    public static BatchTransferResponse of(List<ItemResult> results) {
+        int success = (int) results.stream()
+                .filter(r -> r.getStatus() == TransactionStatus.COMPLETED)
+                .count();
+
+        return BatchTransferResponse.builder()
+                .totalCount(results.size())
+                .successCount(success)
+                .failedCount(results.size() - success)
+                .results(results)
+                .build();
+    }
+
+    @Getter
+    @Setter
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class ItemResult {
+        String requestId;
+        TransactionStatus status;
+        TransferResponse transfer;
+        String error;
+
+        public static ItemResult completed(TransferResponse transfer) {
+            return ItemResult.builder()
+                    .requestId(transfer.getRequestId())
+                    .status(TransactionStatus.COMPLETED)
+                    .transfer(transfer)
+                    .build();
+        }
+
+        public static ItemResult failed(String requestId, String error) {
+            return ItemResult.builder()
+                    .requestId(requestId)
+                    .status(TransactionStatus.FAILED)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.thinhpay.backend.modules.corebanking.application.dto.response;
+
+import com.thinhpay.backend.modules.corebanking.domain.exchange.FxQuote;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class FxQuoteResponse {
+    /**
+     * Gửi kèm TransferRequest.quoteId để chuyển tiền theo đúng tỉ giá này
+     */
+    UUID quoteId;
+    String fromCurrency;
+    String toCurrency;
+    BigDecimal rate;
+    BigDecimal maxAmount;
+    Instant expiresAt;
+
+    public static FxQuoteResponse from(FxQuote quote) {
+        return FxQuoteResponse.builder()
+                .quoteId(quote.getId())
+                .fromCurrency(quote.getFromCurrency())
+                .toCurrency(quote.getToCurrency())
+                .rate(quote.getRate().stripTrailingZeros())
+                .maxAmount(quote.getMaxAmount())
+                .expiresAt(quote.getExpiresAt())
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.thinhpay.backend.modules.corebanking.application.dto.response;
+
+import com.thinhpay.backend.modules.corebanking.domain.hold.AuthorizationHold;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class HoldResponse {
+    UUID holdId;
+    UUID accountId;
+    String currency;
+    BigDecimal amount;
+    BigDecimal capturedAmount;
+    /**
+     * Phần còn đang giữ, 0 khi hold đã đóng
+     */
+    BigDecimal remainingAmount;
+    String status;
+    Instant expiresAt;
+
+    public static HoldResponse from(AuthorizationHold hold) {
+        return HoldResponse.builder()
+                .holdId(hold.getId())
+                .accountId(hold.getAccount().getId())
+                .currency(hold.getAccount().getCurrencyCode())
+                .amount(hold.getAmount())
+                .capturedAmount(hold.getCapturedAmount())
+                .remainingAmount(hold.getRemainingAmount())
+                .status(hold.getStatus().name())
+                .expiresAt(hold.getExpiresAt())
+                .build();
+    }
+}
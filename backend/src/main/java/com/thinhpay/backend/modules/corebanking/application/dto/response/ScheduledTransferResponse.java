@@ -0,0 +1,48 @@
+package com.thinhpay.backend.modules.corebanking.application.dto.response;
+
+import com.thinhpay.backend.modules.corebanking.domain.schedule.ScheduledTransfer;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ScheduledTransferResponse {
+    UUID scheduleId;
+    UUID senderUserId;
+    UUID receiverUserId;
+    String currency;
+    BigDecimal amount;
+    String frequency;
+    String status;
+    /**
+     * Số lần đã chạy xong (hoặc bị bỏ qua sau khi hết số lần thử)
+     */
+    int completedRuns;
+    Instant nextRunAt;
+    Instant lastRunAt;
+    String lastError;
+
+    public static ScheduledTransferResponse from(ScheduledTransfer schedule) {
+        return ScheduledTransferResponse.builder()
+                .scheduleId(schedule.getId())
+                .senderUserId(schedule.getSenderUserId())
+                .receiverUserId(schedule.getReceiverUserId())
+                .currency(schedule.getCurrencyCode())
+                .amount(schedule.getAmount())
+                .frequency(schedule.getFrequency().name())
+                .status(schedule.getStatus().name())
+                .completedRuns(schedule.getOccurrence())
+                .nextRunAt(schedule.isActive() ? schedule.getNextRunAt() : null)
+                .lastRunAt(schedule.getLastRunAt())
+                .lastError(schedule.getLastError())
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.thinhpay.backend.modules.corebanking.application.dto.response;
+
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.TransactionHistoryRow;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TransactionHistoryResponse {
+    List<Item> items;
+
+    /**
+     * Gửi lại trong tham số cursor để lấy trang kế tiếp; null khi đã hết
+     */
+    String nextCursor;
+    boolean hasMore;
+
+    @Getter
+    @Setter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Item {
+        UUID transactionId;
+        String requestId;
+        String type;
+        String status;
+        BigDecimal amount;
+        String description;
+        Instant createdAt;
+
+        public static Item from(TransactionHistoryRow row) {
+            return Item.builder()
+                    .transactionId(row.id())
+                    .requestId(row.requestId())
+                    .type(row.type().name())
+                    .status(row.status().name())
+                    .amount(row.amount())
+                    .description(row.description())
+                    .createdAt(row.createdAt())
+                    .build();
+        }
+    }
+}
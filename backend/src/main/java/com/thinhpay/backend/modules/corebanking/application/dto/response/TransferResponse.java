@@ -60,8 +60,8 @@ public class TransferResponse {
                 .receiverAccountId(receiverTransaction.getAccount().getId())
                 .debitAmount(debitAmount)
                 .creditAmount(creditAmount)
-                .fromCurrency(senderTransaction.getAccount().getCurrency().getCode())
-                .toCurrency(receiverTransaction.getAccount().getCurrency().getCode())
+                .fromCurrency(senderTransaction.getAccount().getCurrencyCode())
+                .toCurrency(receiverTransaction.getAccount().getCurrencyCode())
                 .exchangeRate(exchangeRate)
                 .status(senderTransaction.getStatus())
                 .completedAt(senderTransaction.getCreatedAt())
@@ -0,0 +1,8 @@
+package com.thinhpay.backend.modules.corebanking.application.port.in;
+
+import com.thinhpay.backend.modules.corebanking.application.dto.request.BatchTransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.BatchTransferResponse;
+
+public interface BatchTransferUseCase {
+    BatchTransferResponse transferBatch(BatchTransferRequest request);
+}
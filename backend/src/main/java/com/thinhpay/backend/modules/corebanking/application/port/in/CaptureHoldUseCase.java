@@ -0,0 +1,10 @@
+package com.thinhpay.backend.modules.corebanking.application.port.in;
+
+import com.thinhpay.backend.modules.corebanking.application.dto.request.CaptureHoldRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.HoldResponse;
+
+import java.util.UUID;
+
+public interface CaptureHoldUseCase {
+    HoldResponse captureHold(UUID holdId, CaptureHoldRequest request);
+}
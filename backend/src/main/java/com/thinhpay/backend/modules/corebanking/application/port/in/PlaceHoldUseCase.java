@@ -0,0 +1,8 @@
+package com.thinhpay.backend.modules.corebanking.application.port.in;
+
+import com.thinhpay.backend.modules.corebanking.application.dto.request.PlaceHoldRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.HoldResponse;
+
+public interface PlaceHoldUseCase {
+    HoldResponse placeHold(PlaceHoldRequest request);
+}
@@ -0,0 +1,9 @@
+package com.thinhpay.backend.modules.corebanking.application.port.in;
+
+import com.thinhpay.backend.modules.corebanking.application.dto.response.HoldResponse;
+
+import java.util.UUID;
+
+public interface ReleaseHoldUseCase {
+    HoldResponse releaseHold(UUID holdId);
+}
@@ -0,0 +1,12 @@
+package com.thinhpay.backend.modules.corebanking.application.port.in;
+
+import com.thinhpay.backend.modules.corebanking.application.dto.request.ScheduleTransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.ScheduledTransferResponse;
+
+import java.util.UUID;
+
+public interface ScheduleTransferUseCase {
+    ScheduledTransferResponse schedule(ScheduleTransferRequest request);
+
+    ScheduledTransferResponse cancel(UUID scheduleId);
+}
@@ -6,20 +6,28 @@ import com.thinhpay.backend.modules.corebanking.application.dto.response.Account
 import com.thinhpay.backend.modules.corebanking.application.port.in.DepositUseCase;
 import com.thinhpay.backend.modules.corebanking.application.port.in.WithdrawUseCase;
 import com.thinhpay.backend.modules.corebanking.domain.account.Account;
+import com.thinhpay.backend.modules.corebanking.domain.event.BalanceChangedEvent;
 import com.thinhpay.backend.modules.corebanking.domain.ledger.LedgerEntry;
 import com.thinhpay.backend.modules.corebanking.domain.ledger.LedgerEntryType;
 import com.thinhpay.backend.modules.corebanking.domain.transaction.Transaction;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.AdaptiveLockPolicy;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.HotAccountRegistry;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.TransactionRetryExecutor;
 import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.AccountRepository;
 import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.LedgerEntryRepository;
-import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.LedgerEntryRepository;
 import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.TransactionRepository;
 import com.thinhpay.backend.shared.exception.ResourceNotFoundException;
+import com.thinhpay.backend.shared.infrastructure.DomainEventPublisher;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -29,52 +37,94 @@ public class AccountApplicationService implements DepositUseCase, WithdrawUseCas
     AccountRepository accountRepository;
     TransactionRepository transactionRepository;
     LedgerEntryRepository ledgerEntryRepository;
+    ShardedBalanceService shardedBalanceService;
+    HotAccountRegistry hotAccountRegistry;
+    AdaptiveLockPolicy lockPolicy;
+    TransactionRetryExecutor retryExecutor;
+    DomainEventPublisher eventPublisher;
+    EntityManager entityManager;
 
     @Override
-    @Transactional
     public AccountResponse deposit(DepositRequest request) {
-        log.info("Processing deposit: {}, user: {}", request.getRequestId(), request.getUserId());
+        return retryExecutor.execute("deposit", () -> doDeposit(request));
+    }
+
+    @Override
+    public AccountResponse withdraw(WithdrawRequest request) {
+        return retryExecutor.execute("withdraw", () -> doWithdraw(request));
+    }
 
-        validateIdempotency(request.getRequestId());
+    private AccountResponse doDeposit(DepositRequest request) {
+        log.info("Processing deposit: {}, user: {}", request.getRequestId(), request.getUserId());
 
-        Account account = getAccountWithLock(request.getUserId());
+        // Hot account: credit vào shard, không cần lock dòng core_accounts
+        Account account = hotAccountRegistry.isHotUser(request.getUserId())
+                ? getAccount(request.getUserId())
+                : getAccountForUpdate(request.getUserId());
+        java.math.BigDecimal oldBalance = account.getTotalBalance();
 
         // Domain Logic
-        account.credit(request.getAmount());
+        shardedBalanceService.credit(account, request.getAmount());
 
         // Record Keeping
         Transaction transaction = Transaction.createDeposit(account, request.getRequestId(), request.getAmount(), "Deposit via API");
         saveFlow(account, transaction, request.getAmount(), LedgerEntryType.CREDIT);
+        publishBalanceChanged(account, oldBalance, transaction);
 
         return AccountResponse.from(account);
     }
 
-    @Override
-    @Transactional
-    public AccountResponse withdraw(WithdrawRequest request) {
+    private AccountResponse doWithdraw(WithdrawRequest request) {
         log.info("Processing withdraw: {}, user: {}", request.getRequestId(), request.getUserId());
 
-        validateIdempotency(request.getRequestId());
-
-        Account account = getAccountWithLock(request.getUserId());
+        Account account = getAccountForUpdate(request.getUserId());
+        java.math.BigDecimal oldBalance = account.getTotalBalance();
 
         // Domain Logic (Ném IllegalArgumentException nếu balance không đủ)
-        account.debit(request.getAmount());
+        shardedBalanceService.debit(account, request.getAmount());
 
         // Record Keeping
         Transaction transaction = Transaction.createWithdraw(account, request.getRequestId(), request.getAmount(), "Withdraw via API");
         saveFlow(account, transaction, request.getAmount(), LedgerEntryType.DEBIT);
+        publishBalanceChanged(account, oldBalance, transaction);
 
         return AccountResponse.from(account);
     }
 
-    // Idempotency Check
-    private void validateIdempotency(String requestId) {
-        if (transactionRepository.existsByRequestId(requestId)) {
-            throw new IllegalStateException("Transaction with request ID " + requestId + " already exists.");
+    /**
+     * Idempotency Check: unique index trên request_id quyết định, không SELECT trước (tránh race check-then-act).
+     * Flush ngay để lỗi trùng lặp nổi lên tại đây thay vì lúc commit.
+     * Request trùng gửi qua API đã được IdempotencyService replay trước khi vào tới đây.
+     */
+    private void saveTransactionOnce(Transaction transaction) {
+        try {
+            transactionRepository.saveAndFlush(transaction);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("Transaction with request ID " + transaction.getRequestId() + " already exists.", e);
         }
     }
 
+    private Account getAccount(java.util.UUID userId) {
+        return accountRepository.findByUserId(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account", "userId", userId));
+    }
+
+    /**
+     * Pessimistic (mặc định): SELECT ... FOR UPDATE.
+     * Optimistic: đọc không lock, UPDATE kèm điều kiện version; ADAPTIVE lock lại account hay bị conflict
+     * và nạp lại state sau khi giữ lock (bản đọc trước đó có thể đã cũ).
+     */
+    private Account getAccountForUpdate(java.util.UUID userId) {
+        if (!lockPolicy.isOptimistic()) {
+            return getAccountWithLock(userId);
+        }
+        Account account = getAccount(userId);
+        if (lockPolicy.shouldLock(account.getId())) {
+            entityManager.refresh(account, LockModeType.PESSIMISTIC_WRITE);
+        }
+        return account;
+    }
+
     private Account getAccountWithLock(java.util.UUID userId) {
         return accountRepository.findByUserIdWithLock(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Account", "userId", userId));
@@ -87,14 +137,26 @@ public class AccountApplicationService implements DepositUseCase, WithdrawUseCas
                 transaction,
                 account,
                 amount,
-                account.getBalance(),
+                account.getTotalBalance(),
                 type
         );
 
-        transactionRepository.save(transaction);
+        saveTransactionOnce(transaction);
         accountRepository.save(account);
         ledgerEntryRepository.save(ledgerEntry);
 
-        log.info("{} success. New balance: {}", type, account.getBalance());
+        if (lockPolicy.isOptimistic()) {
+            lockPolicy.recordSuccess(List.of(account.getId()));
+        }
+
+        log.info("{} success. New balance: {}", type, account.getTotalBalance());
+    }
+
+    /**
+     * Listener chạy sau commit (xóa cache số dư), retry bị rollback thì event của lần đó bị bỏ.
+     */
+    private void publishBalanceChanged(Account account, java.math.BigDecimal oldBalance, Transaction transaction) {
+        eventPublisher.publish(BalanceChangedEvent.of(account.getId(), account.getUserId(), oldBalance,
+                account.getTotalBalance(), account.getCurrencyCode(), transaction.getType().name()));
     }
 }
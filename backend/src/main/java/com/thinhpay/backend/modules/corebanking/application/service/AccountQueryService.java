@@ -1,42 +1,117 @@
 package com.thinhpay.backend.modules.corebanking.application.service;
 
 import com.thinhpay.backend.modules.corebanking.application.dto.response.AccountResponse;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.TransactionHistoryResponse;
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.TransactionHistoryRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.TransactionHistoryRow;
 import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.AccountRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.AccountView;
+import com.thinhpay.backend.shared.exception.ResourceNotFoundException;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+/**
+ * Đọc số dư / danh sách account qua projection {@link AccountView} (không nạp entity Account, không proxy Currency).
+ * getUserAccounts và getAccountBalance được cache 2 tầng
+ * (L1 Caffeine + Redis, xem thinhpay.cache.two-level), bị xóa khi có BalanceChangedEvent
+ * (xem {@link com.thinhpay.backend.modules.corebanking.infrastructure.cache.BalanceCacheInvalidator}).
+ */
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class AccountQueryService {
+    public static final String USER_ACCOUNTS_CACHE = "userAccounts";
+    public static final String BALANCE_CACHE = "accountBalances";
+
     AccountRepository accountRepository;
+    TransactionHistoryRepository transactionHistoryRepository;
+    CoreBankingProperties properties;
 
+    @Cacheable(cacheNames = USER_ACCOUNTS_CACHE, key = "#userId.toString()", sync = true)
     public List<AccountResponse> getUserAccounts(UUID userId) {
-        return accountRepository.findByUserId(userId)
+        return accountRepository.findViewsByUserId(userId)
                 .stream()
                 .map(AccountResponse::from)
                 .collect(Collectors.toList());
     }
 
     public Page<AccountResponse> getUserAccountsPaginated(UUID userId, Pageable pageable) {
-        return accountRepository.findAllByUserId(userId, pageable)
+        return accountRepository.findViewsByUserId(userId, pageable)
                 .map(AccountResponse::from);
     }
 
+    @Cacheable(cacheNames = BALANCE_CACHE, key = "#userId + ':' + #currency", sync = true)
     public AccountResponse getAccountBalance(UUID userId, String currency) {
-        return accountRepository.findByUserIdAndCurrency_Code(userId, currency)
+        return accountRepository.findViewByUserIdAndCurrencyCode(userId, currency)
                 .map(AccountResponse::from)
                 .orElseThrow(() -> new IllegalArgumentException(
                         "Account not found for user: " + userId + " with currency: " + currency));
     }
+
+    /**
+     * Lịch sử giao dịch mới nhất trước, phân trang keyset: cursor là vị trí (created_at, id) của dòng cuối
+     * trang trước (mã hóa base64, client chỉ cần gửi lại nguyên văn).
+     *
+     * @param cursor null = trang đầu
+     * @param limit  null = default-page-size
+     */
+    public TransactionHistoryResponse getTransactionHistory(UUID userId, String currency,
+                                                            TransactionHistoryRepository.Filter filter,
+                                                            String cursor, Integer limit) {
+        CoreBankingProperties.History history = properties.getHistory();
+        int pageSize = limit != null ? limit : history.getDefaultPageSize();
+        if (pageSize < 1 || pageSize > history.getMaxPageSize()) {
+            throw new IllegalArgumentException("limit must be between 1 and " + history.getMaxPageSize());
+        }
+        if (filter.minAmount() != null && filter.maxAmount() != null
+                && filter.minAmount().compareTo(filter.maxAmount()) > 0) {
+            throw new IllegalArgumentException("minAmount must not be greater than maxAmount");
+        }
+        TransactionHistoryRepository.Position after = cursor != null ? decodeCursor(cursor) : null;
+        AccountView account = accountRepository.findViewByUserIdAndCurrencyCode(userId, currency)
+                .orElseThrow(() -> new ResourceNotFoundException("Account", "userId", userId));
+
+        // Lấy dư 1 dòng để biết còn trang sau hay không
+        List<TransactionHistoryRow> rows = transactionHistoryRepository.findPage(account.id(), filter, after, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<TransactionHistoryRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+        return TransactionHistoryResponse.builder()
+                .items(page.stream().map(TransactionHistoryResponse.Item::from).toList())
+                .nextCursor(hasMore ? encodeCursor(page.get(page.size() - 1)) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    static String encodeCursor(TransactionHistoryRow row) {
+        String position = row.createdAt() + "|" + row.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static TransactionHistoryRepository.Position decodeCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TransactionHistoryRepository.Position(Instant.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
 }
@@ -0,0 +1,165 @@
+package com.thinhpay.backend.modules.corebanking.application.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.StatementFormat;
+import com.thinhpay.backend.modules.corebanking.domain.account.Account;
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.LedgerStatementRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.StatementLine;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.AccountRepository;
+import com.thinhpay.backend.shared.exception.ResourceNotFoundException;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Sao kê account: ghi thẳng từng bút toán ra response (NDJSON / CSV) trong lúc đọc cursor,
+ * không gom cả danh sách vào bộ nhớ.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AccountStatementService {
+    static final String CSV_HEADER = "entry_id,transaction_id,entry_type,amount,balance_snapshot,created_at";
+
+    AccountRepository accountRepository;
+    LedgerStatementRepository statementRepository;
+    CoreBankingProperties properties;
+    ObjectMapper objectMapper;
+
+    /**
+     * Kiểm tra tham số trước khi bắt đầu stream (sau khi đã gửi header thì không trả lỗi 4xx được nữa).
+     *
+     * @param from ngày bắt đầu (UTC, tính cả ngày này)
+     * @param to   ngày kết thúc (UTC, tính cả ngày này)
+     */
+    public StatementQuery prepare(UUID userId, String currency, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Statement 'from' date must not be after 'to' date");
+        }
+        Account account = accountRepository.findByUserIdAndCurrencyCode(userId, currency)
+                .orElseThrow(() -> new ResourceNotFoundException("Account", "userId", userId));
+        return new StatementQuery(account.getId(), from, to);
+    }
+
+    public void writeStatement(StatementQuery query, StatementFormat format, OutputStream out) throws IOException {
+        int fetchSize = properties.getStatement().getFetchSize();
+        long[] lines = {0};
+        try (LineWriter writer = format == StatementFormat.NDJSON
+                ? new NdjsonLineWriter(objectMapper.getFactory(), out)
+                : new CsvLineWriter(out)) {
+            statementRepository.streamEntries(query.accountId(),
+                    query.from().atStartOfDay(ZoneOffset.UTC).toInstant(),
+                    query.to().plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant(),
+                    fetchSize,
+                    line -> {
+                        try {
+                            writer.write(line);
+                            lines[0]++;
+                        } catch (IOException e) {
+                            // Client ngắt kết nối: hủy query, cursor và transaction được đóng theo
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        log.debug("Streamed {} statement lines for account {}", lines[0], query.accountId());
+    }
+
+    public record StatementQuery(UUID accountId, LocalDate from, LocalDate to) {
+    }
+
+    /**
+     * close() chỉ flush, không đóng output stream của response
+     */
+    private interface LineWriter extends AutoCloseable {
+        void write(StatementLine line) throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private static final class NdjsonLineWriter implements LineWriter {
+        private final JsonGenerator generator;
+
+        NdjsonLineWriter(JsonFactory factory, OutputStream out) throws IOException {
+            this.generator = factory.createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN);
+        }
+
+        @Override
+        public void write(StatementLine line) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("entryId", line.entryId().toString());
+            // transaction_id được phép null (core v5 bỏ FK): ghi JSON null
+            if (line.transactionId() == null) {
+                generator.writeNullField("transactionId");
+            } else {
+                generator.writeStringField("transactionId", line.transactionId().toString());
+            }
+            generator.writeStringField("entryType", line.entryType().name());
+            generator.writeNumberField("amount", line.amount());
+            generator.writeNumberField("balanceSnapshot", line.balanceSnapshot());
+            generator.writeStringField("createdAt", line.createdAt().toString());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvLineWriter implements LineWriter {
+        private final Writer writer;
+
+        CsvLineWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(StatementLine line) throws IOException {
+            // Mọi cột là UUID / enum / số / ISO-8601: không cần escape. transaction_id null thì để trống
+            writer.write(line.entryId().toString());
+            writer.write(',');
+            if (line.transactionId() != null) {
+                writer.write(line.transactionId().toString());
+            }
+            writer.write(',');
+            writer.write(line.entryType().name());
+            writer.write(',');
+            writer.write(line.amount().toPlainString());
+            writer.write(',');
+            writer.write(line.balanceSnapshot().toPlainString());
+            writer.write(',');
+            writer.write(line.createdAt().toString());
+            writer.write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.thinhpay.backend.modules.corebanking.application.service;
+
+import com.thinhpay.backend.modules.corebanking.application.dto.request.CaptureHoldRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.PlaceHoldRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.HoldResponse;
+import com.thinhpay.backend.modules.corebanking.application.port.in.CaptureHoldUseCase;
+import com.thinhpay.backend.modules.corebanking.application.port.in.PlaceHoldUseCase;
+import com.thinhpay.backend.modules.corebanking.application.port.in.ReleaseHoldUseCase;
+import com.thinhpay.backend.modules.corebanking.domain.account.Account;
+import com.thinhpay.backend.modules.corebanking.domain.event.BalanceChangedEvent;
+import com.thinhpay.backend.modules.corebanking.domain.hold.AuthorizationHold;
+import com.thinhpay.backend.modules.corebanking.domain.ledger.LedgerEntry;
+import com.thinhpay.backend.modules.corebanking.domain.ledger.LedgerEntryType;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.Transaction;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionType;
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.TransactionRetryExecutor;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.AccountRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.AuthorizationHoldRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.LedgerEntryRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.TransactionRepository;
+import com.thinhpay.backend.shared.exception.ResourceNotFoundException;
+import com.thinhpay.backend.shared.infrastructure.DomainEventPublisher;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Hold / capture / release tiền kiểu thẻ trên held_balance của account.
+ *
+ * Hold và release chỉ đổi held_balance (số dư khả dụng), không sinh bút toán; capture mới trừ balance
+ * và ghi giao dịch HOLD_CAPTURE + bút toán DEBIT. Hold hết hạn được AuthorizationHoldExpiryJob trả lại.
+ * Engine IN_MEMORY giữ số dư trong RAM nên không hỗ trợ hold.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AuthorizationHoldService implements PlaceHoldUseCase, CaptureHoldUseCase, ReleaseHoldUseCase {
+    AuthorizationHoldRepository holdRepository;
+    AccountRepository accountRepository;
+    TransactionRepository transactionRepository;
+    LedgerEntryRepository ledgerEntryRepository;
+    ShardedBalanceService shardedBalanceService;
+    TransactionRetryExecutor retryExecutor;
+    CoreBankingProperties properties;
+    DomainEventPublisher eventPublisher;
+
+    @Override
+    public HoldResponse placeHold(PlaceHoldRequest request) {
+        requireSupportedEngine();
+        Duration ttl = resolveTtl(request.getExpiresIn());
+        return retryExecutor.execute("hold", () -> doPlaceHold(request, ttl));
+    }
+
+    @Override
+    public HoldResponse captureHold(UUID holdId, CaptureHoldRequest request) {
+        requireSupportedEngine();
+        return retryExecutor.execute("hold-capture", () -> doCapture(holdId, request));
+    }
+
+    @Override
+    public HoldResponse releaseHold(UUID holdId) {
+        requireSupportedEngine();
+        return retryExecutor.execute("hold-release", () -> doRelease(holdId));
+    }
+
+    private HoldResponse doPlaceHold(PlaceHoldRequest request, Duration ttl) {
+        log.info("Processing hold: {}, user: {}", request.getRequestId(), request.getUserId());
+
+        String currency = request.getCurrency().toUpperCase();
+        Account account = accountRepository.findByUserIdAndCurrencyCodeWithLock(request.getUserId(), currency)
+                .orElseThrow(() -> new ResourceNotFoundException("Account", "userId", request.getUserId()));
+
+        // Ném IllegalArgumentException nếu số dư khả dụng không đủ
+        account.placeHold(request.getAmount());
+        AuthorizationHold hold = saveHoldOnce(AuthorizationHold.place(account, request.getRequestId(),
+                request.getAmount(), ttl, request.getDescription(), Instant.now()));
+        accountRepository.save(account);
+
+        log.info("Hold {} placed: {} {} until {}", hold.getId(), hold.getAmount(), currency, hold.getExpiresAt());
+        return HoldResponse.from(hold);
+    }
+
+    /**
+     * Lock hold trước rồi mới lock account (cùng thứ tự với job hết hạn).
+     */
+    private HoldResponse doCapture(UUID holdId, CaptureHoldRequest request) {
+        log.info("Processing capture: {}, hold: {}", request.getRequestId(), holdId);
+
+        AuthorizationHold hold = getHoldWithLock(holdId);
+        Account account = getAccountWithLock(hold.getAccount().getId());
+        BigDecimal oldBalance = account.getTotalBalance();
+
+        hold.capture(request.getAmount(), Instant.now());
+        // Phần capture rời held_balance rồi mới trừ balance: số dư khả dụng chắc chắn đủ
+        account.releaseHold(request.getAmount());
+        shardedBalanceService.debit(account, request.getAmount());
+
+        Transaction transaction = Transaction.createHoldCapture(account, request.getRequestId(), request.getAmount(),
+                "Capture of hold " + holdId);
+        transaction.markAsCompleted();
+        saveTransactionOnce(transaction);
+        accountRepository.save(account);
+        ledgerEntryRepository.save(LedgerEntry.create(transaction, account, request.getAmount(),
+                account.getTotalBalance(), LedgerEntryType.DEBIT));
+
+        // Listener chạy sau commit (xóa cache số dư)
+        eventPublisher.publish(BalanceChangedEvent.of(account.getId(), account.getUserId(), oldBalance,
+                account.getTotalBalance(), account.getCurrencyCode(), TransactionType.HOLD_CAPTURE.name()));
+
+        log.info("Hold {} captured {} ({} of {})", holdId, request.getAmount(), hold.getCapturedAmount(), hold.getAmount());
+        return HoldResponse.from(hold);
+    }
+
+    private HoldResponse doRelease(UUID holdId) {
+        AuthorizationHold hold = getHoldWithLock(holdId);
+        Account account = getAccountWithLock(hold.getAccount().getId());
+
+        BigDecimal released = hold.release(Instant.now());
+        account.releaseHold(released);
+        accountRepository.save(account);
+
+        log.info("Hold {} released {}", holdId, released);
+        return HoldResponse.from(hold);
+    }
+
+    private Duration resolveTtl(Duration expiresIn) {
+        CoreBankingProperties.Holds holds = properties.getHolds();
+        if (expiresIn == null) {
+            return holds.getDefaultTtl();
+        }
+        if (expiresIn.isNegative() || expiresIn.isZero()) {
+            throw new IllegalArgumentException("Hold expiry must be positive");
+        }
+        if (expiresIn.compareTo(holds.getMaxTtl()) > 0) {
+            throw new IllegalArgumentException("Hold expiry must not exceed " + holds.getMaxTtl());
+        }
+        return expiresIn;
+    }
+
+    private void requireSupportedEngine() {
+        if (properties.getEngine() == CoreBankingProperties.Engine.IN_MEMORY) {
+            throw new IllegalStateException("Authorization holds are not supported by the IN_MEMORY engine");
+        }
+    }
+
+    private AuthorizationHold getHoldWithLock(UUID holdId) {
+        return holdRepository.findByIdWithLock(holdId)
+                .orElseThrow(() -> new ResourceNotFoundException("AuthorizationHold", "id", holdId));
+    }
+
+    private Account getAccountWithLock(UUID accountId) {
+        return accountRepository.findByIdWithLock(accountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account", "id", accountId));
+    }
+
+    /**
+     * Idempotency Check: unique index trên request_id của hold quyết định, flush ngay để lỗi trùng nổi lên tại đây.
+     */
+    private AuthorizationHold saveHoldOnce(AuthorizationHold hold) {
+        try {
+            return holdRepository.saveAndFlush(hold);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("Hold with request ID " + hold.getRequestId() + " already exists.", e);
+        }
+    }
+
+    private void saveTransactionOnce(Transaction transaction) {
+        try {
+            transactionRepository.saveAndFlush(transaction);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("Transaction with request ID " + transaction.getRequestId() + " already exists.", e);
+        }
+    }
+}
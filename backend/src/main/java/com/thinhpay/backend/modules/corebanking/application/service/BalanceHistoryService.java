@@ -0,0 +1,86 @@
+package com.thinhpay.backend.modules.corebanking.application.service;
+
+import com.thinhpay.backend.modules.corebanking.application.dto.response.BalanceAsOfResponse;
+import com.thinhpay.backend.modules.corebanking.domain.account.Account;
+import com.thinhpay.backend.modules.corebanking.domain.account.DailyBalanceSnapshot;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.AccountRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.DailyBalanceSnapshotRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.LedgerEntryRepository;
+import com.thinhpay.backend.shared.exception.ResourceNotFoundException;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Số dư của account tại 1 thời điểm trong quá khứ, dựa trên snapshot cuối ngày
+ * (xem {@link com.thinhpay.backend.modules.corebanking.infrastructure.persistence.DailyBalanceSnapshotJob}).
+ *
+ * Chỉ cộng/trừ bút toán nằm giữa thời điểm cần tìm và snapshot gần nhất (tối đa khoảng 1 ngày),
+ * không quét cả sổ cái. Đọc trong REPEATABLE READ để snapshot, bút toán và số dư hiện tại nhất quán.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BalanceHistoryService {
+    AccountRepository accountRepository;
+    DailyBalanceSnapshotRepository snapshotRepository;
+    LedgerEntryRepository ledgerEntryRepository;
+
+    public BalanceAsOfResponse getBalanceAsOf(UUID userId, String currency, Instant asOf) {
+        Account account = accountRepository.findByUserIdAndCurrencyCode(userId, currency)
+                .orElseThrow(() -> new ResourceNotFoundException("Account", "userId", userId));
+        return BalanceAsOfResponse.builder()
+                .accountId(account.getId())
+                .currency(currency)
+                .balance(balanceAsOf(account, asOf))
+                .asOf(asOf)
+                .build();
+    }
+
+    /**
+     * Tổng số dư (balance + shard) sau mọi bút toán có created_at <= asOf
+     */
+    public BigDecimal balanceAsOf(UUID accountId, Instant asOf) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account", "id", accountId));
+        return balanceAsOf(account, asOf);
+    }
+
+    private BigDecimal balanceAsOf(Account account, Instant asOf) {
+        UUID accountId = account.getId();
+        // Postgres lưu created_at tới micro giây: mọi bút toán có created_at < end đều thuộc về asOf
+        Instant end = asOf.truncatedTo(ChronoUnit.MICROS).plus(1, ChronoUnit.MICROS);
+        LocalDate endDate = LocalDate.ofInstant(end, ZoneOffset.UTC);
+
+        // Snapshot có cutoff <= end: cộng thêm bút toán [cutoff, end)
+        Optional<DailyBalanceSnapshot> before = snapshotRepository
+                .findFirstByAccountIdAndSnapshotDateLessThanEqualOrderBySnapshotDateDesc(accountId, endDate.minusDays(1));
+        if (before.isPresent()) {
+            DailyBalanceSnapshot snapshot = before.get();
+            return snapshot.getBalance().add(ledgerEntryRepository.sumNetChange(accountId, snapshot.cutoff(), end));
+        }
+
+        // asOf trước snapshot đầu tiên: đi lùi từ snapshot kế tiếp, trừ bút toán [end, cutoff)
+        Optional<DailyBalanceSnapshot> after = snapshotRepository
+                .findFirstByAccountIdAndSnapshotDateGreaterThanEqualOrderBySnapshotDateAsc(accountId, endDate);
+        if (after.isPresent()) {
+            DailyBalanceSnapshot snapshot = after.get();
+            return snapshot.getBalance().subtract(ledgerEntryRepository.sumNetChange(accountId, end, snapshot.cutoff()));
+        }
+
+        // Chưa có snapshot nào (account mới): đi lùi từ số dư hiện tại
+        return account.getTotalBalance().subtract(ledgerEntryRepository.sumNetChangeSince(accountId, end));
+    }
+}
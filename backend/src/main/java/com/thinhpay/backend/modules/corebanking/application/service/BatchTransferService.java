@@ -0,0 +1,180 @@
+package com.thinhpay.backend.modules.corebanking.application.service;
+
+import com.thinhpay.backend.modules.corebanking.application.dto.request.BatchTransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.TransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.BatchTransferResponse;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.BatchTransferResponse.ItemResult;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.TransferResponse;
+import com.thinhpay.backend.modules.corebanking.application.port.in.BatchTransferUseCase;
+import com.thinhpay.backend.modules.corebanking.domain.account.Account;
+import com.thinhpay.backend.modules.corebanking.domain.event.BalanceChangedEvent;
+import com.thinhpay.backend.modules.corebanking.domain.ledger.LedgerEntry;
+import com.thinhpay.backend.modules.corebanking.domain.ledger.LedgerEntryType;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.Transaction;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionType;
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.TransactionRetryExecutor;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.AccountRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.LedgerEntryRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.TransactionRepository;
+import com.thinhpay.backend.shared.infrastructure.DomainEventPublisher;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Xử lý nhiều lệnh chuyển tiền trong 1 transaction:
+ * 1 câu SELECT ... ORDER BY id FOR UPDATE cho tất cả account liên quan,
+ * debit/credit trong bộ nhớ, rồi ghi Transaction + LedgerEntry bằng JDBC batch.
+ *
+ * Partial failure: item lỗi nghiệp vụ (không đủ số dư, không tìm thấy account, trùng requestId...)
+ * được đánh dấu FAILED và không ảnh hưởng các item còn lại. Lỗi hạ tầng (DB) rollback cả batch.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BatchTransferService implements BatchTransferUseCase {
+    AccountRepository accountRepository;
+    TransactionRepository transactionRepository;
+    LedgerEntryRepository ledgerEntryRepository;
+    ShardedBalanceService shardedBalanceService;
+    TransactionRetryExecutor retryExecutor;
+    CoreBankingProperties properties;
+    DomainEventPublisher eventPublisher;
+
+    @Override
+    public BatchTransferResponse transferBatch(BatchTransferRequest request) {
+        List<TransferRequest> transfers = request.getTransfers();
+        int maxItems = properties.getBatch().getMaxItems();
+        if (transfers.size() > maxItems) {
+            throw new IllegalArgumentException("Batch exceeds maximum of " + maxItems + " transfers");
+        }
+        if (transfers.stream().anyMatch(transfer -> transfer.getQuoteId() != null)) {
+            throw new IllegalArgumentException("FX quotes are not supported in batch transfers");
+        }
+
+        return retryExecutor.execute("transfer-batch", () -> doTransferBatch(transfers));
+    }
+
+    private BatchTransferResponse doTransferBatch(List<TransferRequest> transfers) {
+        log.info("Processing transfer batch of {} items", transfers.size());
+
+        Set<String> existingRequestIds = new HashSet<>(transactionRepository.findExistingRequestIds(
+                transfers.stream().map(TransferRequest::getRequestId).toList()));
+        Map<String, Account> accounts = lockAccounts(transfers);
+
+        ItemResult[] results = new ItemResult[transfers.size()];
+        List<PostedTransfer> posted = new ArrayList<>();
+        Set<String> seenRequestIds = new HashSet<>();
+
+        for (int i = 0; i < transfers.size(); i++) {
+            TransferRequest item = transfers.get(i);
+            try {
+                if (existingRequestIds.contains(item.getRequestId()) || !seenRequestIds.add(item.getRequestId())) {
+                    throw new IllegalStateException("Transaction with request ID " + item.getRequestId() + " already exists.");
+                }
+                posted.add(post(i, item, accounts));
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                log.warn("Batch item {} failed: {}", item.getRequestId(), e.getMessage());
+                results[i] = ItemResult.failed(item.getRequestId(), e.getMessage());
+            }
+        }
+
+        // Hibernate gom các INSERT này thành JDBC batch (hibernate.jdbc.batch_size)
+        transactionRepository.saveAll(posted.stream()
+                .flatMap(p -> Stream.of(p.senderTransaction(), p.receiverTransaction()))
+                .toList());
+        ledgerEntryRepository.saveAll(posted.stream()
+                .flatMap(p -> Stream.of(p.senderLedger(), p.receiverLedger()))
+                .toList());
+
+        for (PostedTransfer p : posted) {
+            results[p.index()] = ItemResult.completed(
+                    TransferResponse.from(p.senderTransaction(), p.receiverTransaction()));
+        }
+
+        BatchTransferResponse response = BatchTransferResponse.of(Arrays.asList(results));
+        log.info("Transfer batch completed: {} succeeded, {} failed",
+                response.getSuccessCount(), response.getFailedCount());
+        return response;
+    }
+
+    /**
+     * @return account đã lock, key = userId:currency
+     */
+    private Map<String, Account> lockAccounts(List<TransferRequest> transfers) {
+        Set<UUID> userIds = new HashSet<>();
+        Set<String> currencies = new HashSet<>();
+        for (TransferRequest t : transfers) {
+            userIds.add(t.getSenderUserId());
+            userIds.add(t.getReceiverUserId());
+            currencies.add(t.getCurrency());
+        }
+
+        return accountRepository.findAllByUserIdInAndCurrencyCodeInWithLock(userIds, currencies)
+                .stream()
+                .collect(Collectors.toMap(a -> key(a.getUserId(), a.getCurrencyCode()), a -> a));
+    }
+
+    private PostedTransfer post(int index, TransferRequest item, Map<String, Account> accounts) {
+        Account sender = requireAccount(accounts, item.getSenderUserId(), item.getCurrency());
+        Account receiver = requireAccount(accounts, item.getReceiverUserId(), item.getCurrency());
+        if (sender.getId().equals(receiver.getId())) {
+            throw new IllegalArgumentException("Sender and receiver accounts must be different");
+        }
+
+        // Cả 2 account đều được tìm theo currency của request nên không cần quy đổi
+        BigDecimal amount = item.getAmount();
+        BigDecimal senderOldBalance = sender.getTotalBalance();
+        BigDecimal receiverOldBalance = receiver.getTotalBalance();
+        shardedBalanceService.debit(sender, amount);
+        shardedBalanceService.credit(receiver, amount);
+
+        // Listener chạy sau commit của cả batch (xóa cache số dư)
+        eventPublisher.publish(BalanceChangedEvent.of(sender.getId(), sender.getUserId(), senderOldBalance,
+                sender.getTotalBalance(), item.getCurrency(), TransactionType.TRANSFER_OUT.name()));
+        eventPublisher.publish(BalanceChangedEvent.of(receiver.getId(), receiver.getUserId(), receiverOldBalance,
+                receiver.getTotalBalance(), item.getCurrency(), TransactionType.TRANSFER_IN.name()));
+
+        Transaction senderTransaction = Transaction.createTransferOut(sender, item.getRequestId(), amount, item.getDescription());
+        Transaction receiverTransaction = Transaction.createTransferIn(receiver, item.getRequestId(), amount, item.getDescription());
+        senderTransaction.markAsCompleted();
+        receiverTransaction.markAsCompleted();
+
+        // Snapshot lấy ngay sau từng item để chuỗi balance_snapshot đúng thứ tự trong batch
+        return new PostedTransfer(
+                index,
+                senderTransaction,
+                receiverTransaction,
+                LedgerEntry.create(senderTransaction, sender, amount, sender.getTotalBalance(), LedgerEntryType.DEBIT),
+                LedgerEntry.create(receiverTransaction, receiver, amount, receiver.getTotalBalance(), LedgerEntryType.CREDIT)
+        );
+    }
+
+    private Account requireAccount(Map<String, Account> accounts, UUID userId, String currency) {
+        Account account = accounts.get(key(userId, currency));
+        if (account == null) {
+            throw new IllegalArgumentException("Account not found for user: " + userId + " with currency: " + currency);
+        }
+        return account;
+    }
+
+    private static String key(UUID userId, String currency) {
+        return userId + ":" + currency;
+    }
+
+    private record PostedTransfer(int index,
+                                  Transaction senderTransaction,
+                                  Transaction receiverTransaction,
+                                  LedgerEntry senderLedger,
+                                  LedgerEntry receiverLedger) {
+    }
+}
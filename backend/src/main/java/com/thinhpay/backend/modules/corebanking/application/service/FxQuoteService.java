@@ -0,0 +1,99 @@
+package com.thinhpay.backend.modules.corebanking.application.service;
+
+import com.thinhpay.backend.modules.corebanking.application.dto.request.FxQuoteRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.TransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.FxQuoteResponse;
+import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRate;
+import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRateException;
+import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRateService;
+import com.thinhpay.backend.modules.corebanking.domain.exchange.FxQuote;
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.CurrencyRegistry;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.FxQuoteRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Quote-then-lock: client xin quote (tỉ giá chốt, có hạn) rồi gửi quoteId trong TransferRequest.
+ * Transfer đọc quote trước khi lock account, nên thời gian giữ lock không phụ thuộc API tỉ giá.
+ * Quote chỉ dùng được cho đúng người gửi, tới maxAmount, và 1 lần.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class FxQuoteService {
+    FxQuoteRepository quoteRepository;
+    CurrencyRegistry currencyRegistry;
+    ExchangeRateService exchangeRateService;
+    CoreBankingProperties properties;
+
+    public FxQuoteResponse createQuote(FxQuoteRequest request) {
+        String fromCurrency = request.getFromCurrency().toUpperCase();
+        String toCurrency = request.getToCurrency().toUpperCase();
+        if (fromCurrency.equals(toCurrency)) {
+            throw new IllegalArgumentException("Quote currencies must be different");
+        }
+        for (String currency : new String[]{fromCurrency, toCurrency}) {
+            if (!currencyRegistry.contains(currency)) {
+                throw ExchangeRateException.currencyNotSupported(currency);
+            }
+        }
+
+        ExchangeRate rate = exchangeRateService.getRate(fromCurrency, toCurrency);
+        FxQuote quote = quoteRepository.save(FxQuote.issue(rate, request.getUserId(), request.getMaxAmount(),
+                properties.getExchange().getQuoteTtl(), Instant.now()));
+        log.info("Issued FX quote {} to {}: 1 {} = {} {} up to {} until {}", quote.getId(), request.getUserId(),
+                fromCurrency, quote.getRate(), toCurrency, quote.getMaxAmount(), quote.getExpiresAt());
+        return FxQuoteResponse.from(quote);
+    }
+
+    /**
+     * Tỉ giá của transfer, phải gọi trước khi lock account và trong transaction của transfer:
+     * quote được đánh dấu đã dùng ngay tại đây, transfer rollback thì quote được trả lại.
+     * Không có quoteId: chuyển cùng loại tiền (tỉ giá 1).
+     */
+    public ExchangeRate resolveRate(TransferRequest request) {
+        String currency = request.getCurrency();
+        if (request.getQuoteId() == null) {
+            return new ExchangeRate(currency, currency, BigDecimal.ONE);
+        }
+        FxQuote quote = quoteRepository.findById(request.getQuoteId())
+                .orElseThrow(() -> ExchangeRateException.quoteNotFound(request.getQuoteId()));
+        if (quote.isExpiredAt(Instant.now())) {
+            throw ExchangeRateException.quoteExpired(quote.getId());
+        }
+        if (!quote.getFromCurrency().equalsIgnoreCase(currency)) {
+            throw ExchangeRateException.quoteMismatch(quote.getId(), currency);
+        }
+        if (!quote.isOwnedBy(request.getSenderUserId())) {
+            throw ExchangeRateException.quoteNotOwned(quote.getId());
+        }
+        if (!quote.covers(request.getAmount())) {
+            throw ExchangeRateException.quoteAmountExceeded(quote.getId(), quote.getMaxAmount());
+        }
+        // Điều kiện used_at IS NULL trong UPDATE: 2 transfer cùng quote thì transfer sau chờ row lock rồi nhận 0 dòng
+        if (quoteRepository.markUsed(quote.getId(), Instant.now()) == 0) {
+            throw ExchangeRateException.quoteAlreadyUsed(quote.getId());
+        }
+        return quote.toExchangeRate();
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${thinhpay.core-banking.exchange.quote-purge-interval:PT1H}")
+    public void purgeExpiredQuotes() {
+        int deleted = quoteRepository.deleteExpiredBefore(Instant.now().minus(properties.getExchange().getQuoteRetention()));
+        if (deleted > 0) {
+            log.info("Purged {} expired FX quotes", deleted);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.thinhpay.backend.modules.corebanking.application.service;
+
+import com.thinhpay.backend.modules.corebanking.application.dto.request.BatchTransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.DepositRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.TransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.WithdrawRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.AccountResponse;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.BatchTransferResponse;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.BatchTransferResponse.ItemResult;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.TransferResponse;
+import com.thinhpay.backend.modules.corebanking.application.port.in.BatchTransferUseCase;
+import com.thinhpay.backend.modules.corebanking.application.port.in.DepositUseCase;
+import com.thinhpay.backend.modules.corebanking.application.port.in.TransferUseCase;
+import com.thinhpay.backend.modules.corebanking.application.port.in.WithdrawUseCase;
+import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRate;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionStatus;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionType;
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties;
+import com.thinhpay.backend.modules.corebanking.infrastructure.memory.AccountRef;
+import com.thinhpay.backend.modules.corebanking.infrastructure.memory.InMemoryLedgerEngine;
+import com.thinhpay.backend.modules.corebanking.infrastructure.memory.InMemoryLedgerEngine.Leg;
+import com.thinhpay.backend.modules.corebanking.infrastructure.memory.InMemoryLedgerEngine.TransferLegs;
+import com.thinhpay.backend.shared.exception.ResourceNotFoundException;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Chuyển/nạp/rút tiền qua {@link InMemoryLedgerEngine} thay cho row lock của Postgres.
+ *
+ * Bật bằng thinhpay.core-banking.engine=IN_MEMORY. Khi bật, cả batch transfer cũng đi qua engine
+ * vì engine phải là nơi duy nhất thay đổi số dư. Item trong batch được đẩy vào engine cùng lúc
+ * và độc lập với nhau: item đã áp dụng không bị rollback khi item khác lỗi.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "thinhpay.core-banking", name = "engine", havingValue = "in_memory")
+@RequiredArgsConstructor
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class InMemoryBankingService implements TransferUseCase, DepositUseCase, WithdrawUseCase, BatchTransferUseCase {
+    InMemoryLedgerEngine engine;
+    FxQuoteService fxQuoteService;
+    CoreBankingProperties properties;
+
+    @Override
+    public AccountResponse deposit(DepositRequest request) {
+        log.info("Processing in-memory deposit: {}, user: {}", request.getRequestId(), request.getUserId());
+        validateAmount(request.getAmount());
+
+        AccountRef account = getAccount(request.getUserId());
+        Leg leg = await(engine.credit(account, request.getRequestId(), request.getAmount(),
+                TransactionType.DEPOSIT, "Deposit via API"));
+        return toAccountResponse(leg);
+    }
+
+    @Override
+    public AccountResponse withdraw(WithdrawRequest request) {
+        log.info("Processing in-memory withdraw: {}, user: {}", request.getRequestId(), request.getUserId());
+        validateAmount(request.getAmount());
+
+        AccountRef account = getAccount(request.getUserId());
+        Leg leg = await(engine.debit(account, request.getRequestId(), request.getAmount(),
+                TransactionType.WITHDRAW, "Withdraw via API"));
+        return toAccountResponse(leg);
+    }
+
+    @Override
+    public TransferResponse transfer(TransferRequest request) {
+        return await(submitTransfer(request));
+    }
+
+    @Override
+    public BatchTransferResponse transferBatch(BatchTransferRequest request) {
+        List<TransferRequest> transfers = request.getTransfers();
+        int maxItems = properties.getBatch().getMaxItems();
+        if (transfers.size() > maxItems) {
+            throw new IllegalArgumentException("Batch exceeds maximum of " + maxItems + " transfers");
+        }
+        log.info("Processing in-memory transfer batch of {} items", transfers.size());
+
+        List<CompletableFuture<TransferResponse>> submitted = new ArrayList<>(transfers.size());
+        for (TransferRequest item : transfers) {
+            try {
+                submitted.add(submitTransfer(item));
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                submitted.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        List<ItemResult> results = new ArrayList<>(transfers.size());
+        for (int i = 0; i < transfers.size(); i++) {
+            String requestId = transfers.get(i).getRequestId();
+            try {
+                results.add(ItemResult.completed(await(submitted.get(i))));
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                log.warn("Batch item {} failed: {}", requestId, e.getMessage());
+                results.add(ItemResult.failed(requestId, e.getMessage()));
+            }
+        }
+
+        BatchTransferResponse response = BatchTransferResponse.of(results);
+        log.info("In-memory transfer batch completed: {} succeeded, {} failed",
+                response.getSuccessCount(), response.getFailedCount());
+        return response;
+    }
+
+    private CompletableFuture<TransferResponse> submitTransfer(TransferRequest request) {
+        log.info("Processing in-memory transfer: {} from {} to {}",
+                request.getRequestId(), request.getSenderUserId(), request.getReceiverUserId());
+        validateAmount(request.getAmount());
+
+        // Không có transaction DB bao quanh: quote bị đánh dấu đã dùng kể cả khi engine từ chối transfer
+        ExchangeRate rate = fxQuoteService.resolveRate(request);
+        AccountRef sender = getAccount(request.getSenderUserId(), request.getCurrency());
+        AccountRef receiver = getAccount(request.getReceiverUserId(), rate.getToCurrency());
+        if (sender.accountId().equals(receiver.accountId())) {
+            throw new IllegalArgumentException("Sender and receiver accounts must be different");
+        }
+
+        BigDecimal debitAmount = request.getAmount();
+        BigDecimal creditAmount = rate.convert(debitAmount);
+
+        return engine.transfer(sender, receiver, request.getRequestId(), debitAmount, creditAmount,
+                        request.getDescription())
+                .thenApply(legs -> toTransferResponse(request, legs));
+    }
+
+    private AccountRef getAccount(UUID userId) {
+        return engine.findAccount(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account", "userId", userId));
+    }
+
+    private AccountRef getAccount(UUID userId, String currency) {
+        return engine.findAccount(userId, currency)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Account not found for user: " + userId + " with currency: " + currency));
+    }
+
+    private void validateAmount(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+    }
+
+    /**
+     * Chờ engine trả kết quả; lỗi nghiệp vụ từ thread sequencer được ném lại nguyên dạng.
+     */
+    private <T> T await(CompletableFuture<T> future) {
+        long timeoutMillis = properties.getMemory().getRequestTimeout().toMillis();
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new CompletionException("In-memory engine did not respond within " + timeoutMillis + "ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    private AccountResponse toAccountResponse(Leg leg) {
+        AccountRef account = leg.account();
+        log.info("In-memory {} success. New balance: {}", leg.transactionId(), leg.balanceAfter());
+        return AccountResponse.builder()
+                .accountId(account.accountId())
+                .currency(account.currencyCode())
+                .balance(leg.balanceAfter())
+                .status(account.status())
+                .build();
+    }
+
+    private TransferResponse toTransferResponse(TransferRequest request, TransferLegs legs) {
+        Leg debit = legs.debit();
+        Leg credit = legs.credit();
+        return TransferResponse.builder()
+                .senderTransactionId(debit.transactionId())
+                .receiverTransactionId(credit.transactionId())
+                .requestId(request.getRequestId())
+                .senderAccountId(debit.account().accountId())
+                .receiverAccountId(credit.account().accountId())
+                .debitAmount(debit.amount())
+                .creditAmount(credit.amount())
+                .fromCurrency(debit.account().currencyCode())
+                .toCurrency(credit.account().currencyCode())
+                .exchangeRate(credit.amount().divide(debit.amount(), 6, RoundingMode.HALF_UP))
+                .status(TransactionStatus.COMPLETED)
+                .completedAt(debit.postedAt())
+                .description(request.getDescription())
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.thinhpay.backend.modules.corebanking.application.service;
+
+import com.thinhpay.backend.modules.corebanking.application.dto.request.TransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.TransferResponse;
+import com.thinhpay.backend.modules.corebanking.application.port.in.TransferUseCase;
+import com.thinhpay.backend.modules.corebanking.domain.event.BalanceChangedEvent;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.Transaction;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionStatus;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionType;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.HotAccountRegistry;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.TransactionRetryExecutor;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.TransferPostingRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.TransferPostingRepository.TransferPosting;
+import com.thinhpay.backend.shared.domain.UuidV7;
+import com.thinhpay.backend.shared.infrastructure.DomainEventPublisher;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Transfer engine 1 round-trip: lock, debit, credit, 2 Transaction và 2 LedgerEntry
+ * chạy trong 1 câu SQL ({@link TransferPostingRepository#postTransfer}).
+ *
+ * Bật bằng thinhpay.core-banking.engine=NATIVE để A/B với JPA path ({@link TransferService}).
+ * Hot account (sharded balance) vẫn đi qua JPA path.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "thinhpay.core-banking", name = "engine", havingValue = "native")
+@RequiredArgsConstructor
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class NativeTransferService implements TransferUseCase {
+    TransferPostingRepository transferPostingRepository;
+    TransactionRetryExecutor retryExecutor;
+    HotAccountRegistry hotAccountRegistry;
+    TransferService jpaTransferService;
+    DomainEventPublisher eventPublisher;
+
+    @Override
+    public TransferResponse transfer(TransferRequest request) {
+        validateRequest(request);
+
+        // Câu SQL chỉ chuyển cùng loại tiền: transfer có FX quote đi JPA path
+        if (request.getQuoteId() != null
+                || hotAccountRegistry.isHot(request.getSenderUserId(), request.getCurrency())
+                || hotAccountRegistry.isHot(request.getReceiverUserId(), request.getCurrency())) {
+            return jpaTransferService.transfer(request);
+        }
+
+        TransferResponse response = retryExecutor.execute("transfer-native", () -> post(request));
+        if (response == null) {
+            // Registry chưa kịp thấy account vừa được bật sharding
+            log.info("Transfer {} touches a hot account, falling back to JPA path", request.getRequestId());
+            hotAccountRegistry.invalidate();
+            return jpaTransferService.transfer(request);
+        }
+        return response;
+    }
+
+    /**
+     * @return null nếu câu SQL gặp hot account và không ghi gì
+     */
+    private TransferResponse post(TransferRequest request) {
+        log.info("Processing native transfer: {} from {} to {}",
+                request.getRequestId(), request.getSenderUserId(), request.getReceiverUserId());
+
+        UUID senderTransactionId = UuidV7.generate();
+        UUID receiverTransactionId = UuidV7.generate();
+        TransferPosting posting;
+        try {
+            posting = transferPostingRepository.postTransfer(
+                    request.getSenderUserId(),
+                    request.getReceiverUserId(),
+                    request.getCurrency(),
+                    request.getAmount(),
+                    request.getRequestId(),
+                    request.getRequestId() + Transaction.TRANSFER_IN_SUFFIX,
+                    request.getDescription(),
+                    senderTransactionId,
+                    receiverTransactionId,
+                    UuidV7.generate(),
+                    UuidV7.generate());
+        } catch (DataIntegrityViolationException e) {
+            // Unique index trên request_id: cả câu SQL bị rollback
+            throw new IllegalStateException("Transaction with request ID " + request.getRequestId() + " already exists.", e);
+        }
+
+        if (posting.getLocated() < 2) {
+            throw new IllegalArgumentException("Account not found for transfer " + request.getRequestId()
+                    + " with currency: " + request.getCurrency());
+        }
+        if (posting.getHotCount() > 0) {
+            return null;
+        }
+        if (!posting.isPosted()) {
+            throw new IllegalArgumentException("Insufficient available balance");
+        }
+
+        // Listener chạy sau commit (xóa cache số dư). Câu SQL chỉ trả số dư sau khi ghi
+        eventPublisher.publish(BalanceChangedEvent.of(posting.getSenderAccountId(), request.getSenderUserId(),
+                posting.getSenderBalance().add(request.getAmount()), posting.getSenderBalance(),
+                request.getCurrency(), TransactionType.TRANSFER_OUT.name()));
+        eventPublisher.publish(BalanceChangedEvent.of(posting.getReceiverAccountId(), request.getReceiverUserId(),
+                posting.getReceiverBalance().subtract(request.getAmount()), posting.getReceiverBalance(),
+                request.getCurrency(), TransactionType.TRANSFER_IN.name()));
+
+        log.info("Native transfer completed: {} - Sender balance: {}, Receiver balance: {}",
+                request.getRequestId(), posting.getSenderBalance(), posting.getReceiverBalance());
+
+        return TransferResponse.builder()
+                .senderTransactionId(senderTransactionId)
+                .receiverTransactionId(receiverTransactionId)
+                .requestId(request.getRequestId())
+                .senderAccountId(posting.getSenderAccountId())
+                .receiverAccountId(posting.getReceiverAccountId())
+                .debitAmount(request.getAmount())
+                .creditAmount(request.getAmount())
+                .fromCurrency(request.getCurrency())
+                .toCurrency(request.getCurrency())
+                .exchangeRate(BigDecimal.ONE.setScale(6, RoundingMode.HALF_UP))
+                .status(TransactionStatus.COMPLETED)
+                .completedAt(Instant.now())
+                .description(request.getDescription())
+                .build();
+    }
+
+    private void validateRequest(TransferRequest request) {
+        if (request.getAmount() == null || request.getAmount().signum() <= 0) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        if (request.getSenderUserId().equals(request.getReceiverUserId())) {
+            throw new IllegalArgumentException("Sender and receiver accounts must be different");
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.thinhpay.backend.modules.corebanking.application.service;
+
+import com.thinhpay.backend.modules.corebanking.application.dto.request.BatchTransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.TransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.BatchTransferResponse.ItemResult;
+import com.thinhpay.backend.modules.corebanking.application.port.in.BatchTransferUseCase;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionStatus;
+import com.thinhpay.backend.modules.corebanking.domain.schedule.ScheduledTransfer;
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.ScheduledTransferRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Thực thi lệnh chuyển tiền định kỳ tới hạn qua BatchTransferUseCase (engine đang cấu hình).
+ *
+ * Claim: mỗi batch là 1 transaction ngắn - lấy tối đa batch-size lệnh tới hạn (FOR UPDATE SKIP LOCKED)
+ * và ghi lease claimed_until rồi commit, nên nhiều node quét cùng lúc mỗi node lấy 1 phần khác nhau.
+ * Thực thi: batch được chia partition theo người gửi, các partition chạy song song trên tối đa
+ * parallelism luồng. Các lệnh của 1 người gửi được gửi thành từng chunk tối đa batch.max-items qua
+ * BatchTransferUseCase, các chunk chạy tuần tự: account gửi chỉ bị lock 1 lần cho cả chunk thay vì 1 lần
+ * mỗi lệnh, và các lệnh cùng người gửi không giữ nhiều connection chỉ để chờ nhau trên row lock đó.
+ * Kết quả từng item (theo requestId) được ghi lại vào lệnh tương ứng.
+ *
+ * Không chạy trùng: requestId của mỗi lần chạy cố định ("SCHED-{id}-{occurrence}"), node chết giữa chừng
+ * thì lệnh được claim lại sau khi hết lease và unique index của core_transactions chặn lần trừ tiền thứ 2.
+ */
+@Service
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ScheduledTransferRunner {
+    ScheduledTransferRepository scheduleRepository;
+    TransactionRepository transactionRepository;
+    BatchTransferUseCase batchTransferUseCase;
+    CoreBankingProperties.ScheduledTransfers settings;
+    int chunkSize;
+    TransactionTemplate transactionTemplate;
+    Counter succeededCounter;
+    Counter failedCounter;
+
+    public ScheduledTransferRunner(ScheduledTransferRepository scheduleRepository,
+                                   TransactionRepository transactionRepository, BatchTransferUseCase batchTransferUseCase,
+                                   CoreBankingProperties properties, PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry) {
+        this.scheduleRepository = scheduleRepository;
+        this.transactionRepository = transactionRepository;
+        this.batchTransferUseCase = batchTransferUseCase;
+        this.settings = properties.getScheduledTransfers();
+        this.chunkSize = properties.getBatch().getMaxItems();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.succeededCounter = meterRegistry.counter("corebanking.scheduled.transfer.runs", "outcome", "success");
+        this.failedCounter = meterRegistry.counter("corebanking.scheduled.transfer.runs", "outcome", "failure");
+    }
+
+    @Scheduled(fixedDelayString = "${thinhpay.core-banking.scheduled-transfers.poll-interval:PT10S}")
+    public void poll() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        try {
+            runDue(Instant.now());
+        } catch (DataAccessException e) {
+            log.error("Scheduled transfer poll failed", e);
+        }
+    }
+
+    /**
+     * Claim và chạy các lệnh tới hạn tại now, tối đa max-batches-per-poll batch.
+     *
+     * @return số lần chạy đã thực thi (thành công hoặc thất bại)
+     */
+    public int runDue(Instant now) {
+        ExecutorService executor = null;
+        int executed = 0;
+        try {
+            for (int i = 0; i < settings.getMaxBatchesPerPoll(); i++) {
+                List<DueRun> batch = claim(now);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                if (executor == null) {
+                    executor = Executors.newFixedThreadPool(settings.getParallelism(),
+                            Thread.ofPlatform().name("scheduled-transfer-", 0).factory());
+                }
+                execute(batch, executor);
+                executed += batch.size();
+                if (batch.size() < settings.getBatchSize()) {
+                    break;
+                }
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+        if (executed > 0) {
+            log.info("Executed {} scheduled transfer runs", executed);
+        }
+        return executed;
+    }
+
+    private List<DueRun> claim(Instant now) {
+        Instant leaseUntil = now.plus(settings.getLease());
+        return transactionTemplate.execute(status -> scheduleRepository.claimDue(now, settings.getBatchSize())
+                .stream()
+                .map(schedule -> {
+                    schedule.claim(leaseUntil);
+                    return DueRun.of(schedule);
+                })
+                .toList());
+    }
+
+    private void execute(List<DueRun> batch, ExecutorService executor) {
+        CompletableFuture<?>[] partitions = batch.stream()
+                .collect(Collectors.groupingBy(run -> run.request().getSenderUserId(), LinkedHashMap::new,
+                        Collectors.toList()))
+                .values().stream()
+                .map(runs -> CompletableFuture.runAsync(() -> runSender(runs), executor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(partitions).join();
+    }
+
+    private void runSender(List<DueRun> runs) {
+        for (int from = 0; from < runs.size(); from += chunkSize) {
+            runChunk(runs.subList(from, Math.min(from + chunkSize, runs.size())));
+        }
+    }
+
+    private void runChunk(List<DueRun> chunk) {
+        Map<String, String> errors = submit(chunk);
+        if (!errors.isEmpty()) {
+            // Lần chạy đã chuyển xong trước đó (node trước chết sau khi transfer commit): coi như thành công
+            transactionRepository.findExistingRequestIds(errors.keySet()).forEach(errors::remove);
+        }
+
+        for (DueRun run : chunk) {
+            String error = errors.get(run.request().getRequestId());
+            if (error != null) {
+                log.warn("Scheduled transfer {} run {} failed: {}", run.scheduleId(), run.occurrence(), error);
+            }
+            (error == null ? succeededCounter : failedCounter).increment();
+
+            try {
+                record(run, error);
+            } catch (RuntimeException e) {
+                // Lease hết hạn thì lệnh được claim lại, requestId cố định chặn chạy trùng
+                log.error("Could not record result of scheduled transfer {} run {}", run.scheduleId(), run.occurrence(), e);
+            }
+        }
+    }
+
+    /**
+     * @return lỗi theo requestId của các lần chạy không thành công
+     */
+    private Map<String, String> submit(List<DueRun> chunk) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        try {
+            List<ItemResult> results = batchTransferUseCase.transferBatch(BatchTransferRequest.builder()
+                    .transfers(chunk.stream().map(DueRun::request).toList())
+                    .build()).getResults();
+            Map<String, ItemResult> byRequestId = results.stream()
+                    .collect(Collectors.toMap(ItemResult::getRequestId, Function.identity()));
+            for (DueRun run : chunk) {
+                String requestId = run.request().getRequestId();
+                ItemResult result = byRequestId.get(requestId);
+                if (result == null) {
+                    errors.put(requestId, "Missing batch result");
+                } else if (result.getStatus() != TransactionStatus.COMPLETED) {
+                    errors.put(requestId, result.getError() != null ? result.getError() : result.getStatus().name());
+                }
+            }
+        } catch (RuntimeException e) {
+            // Lỗi của cả batch (hạ tầng): mọi lần chạy trong chunk tính là thất bại
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            chunk.forEach(run -> errors.put(run.request().getRequestId(), error));
+        }
+        return errors;
+    }
+
+    private void record(DueRun run, String error) {
+        transactionTemplate.executeWithoutResult(status -> scheduleRepository.findByIdWithLock(run.scheduleId())
+                // Đã bị hủy, hoặc node khác đã ghi kết quả của lần chạy này
+                .filter(schedule -> schedule.isActive() && schedule.getOccurrence() == run.occurrence())
+                .ifPresent(schedule -> {
+                    Instant now = Instant.now();
+                    if (error == null) {
+                        schedule.recordSuccess(now);
+                    } else {
+                        schedule.recordFailure(error, now, settings.getMaxAttempts(), settings.getRetryDelay());
+                    }
+                }));
+    }
+
+    private record DueRun(UUID scheduleId, int occurrence, TransferRequest request) {
+        static DueRun of(ScheduledTransfer schedule) {
+            TransferRequest request = TransferRequest.builder()
+                    .requestId(schedule.runRequestId(schedule.getOccurrence()))
+                    .senderUserId(schedule.getSenderUserId())
+                    .receiverUserId(schedule.getReceiverUserId())
+                    .amount(schedule.getAmount())
+                    .currency(schedule.getCurrencyCode())
+                    .description(schedule.getDescription())
+                    .build();
+            return new DueRun(schedule.getId(), schedule.getOccurrence(), request);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.thinhpay.backend.modules.corebanking.application.service;
+
+import com.thinhpay.backend.modules.corebanking.application.dto.request.ScheduleTransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.ScheduledTransferResponse;
+import com.thinhpay.backend.modules.corebanking.application.port.in.ScheduleTransferUseCase;
+import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRateException;
+import com.thinhpay.backend.modules.corebanking.domain.schedule.ScheduledTransfer;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.CurrencyRegistry;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.ScheduledTransferRepository;
+import com.thinhpay.backend.shared.exception.ResourceNotFoundException;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Tạo / hủy lệnh chuyển tiền hẹn giờ và định kỳ; ScheduledTransferRunner thực thi khi tới hạn.
+ * Chỉ cùng loại tiền: FX quote hết hạn sau vài chục giây nên không chốt trước được cho các lần chạy sau.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ScheduledTransferService implements ScheduleTransferUseCase {
+    ScheduledTransferRepository scheduleRepository;
+    CurrencyRegistry currencyRegistry;
+
+    @Override
+    @Transactional
+    public ScheduledTransferResponse schedule(ScheduleTransferRequest request) {
+        String currency = request.getCurrency().toUpperCase();
+        if (!currencyRegistry.contains(currency)) {
+            throw ExchangeRateException.currencyNotSupported(currency);
+        }
+        Instant startAt = request.getStartAt() != null ? request.getStartAt() : Instant.now();
+
+        ScheduledTransfer schedule = ScheduledTransfer.create(request.getRequestId(), request.getSenderUserId(),
+                request.getReceiverUserId(), currency, request.getAmount(), request.getDescription(),
+                request.getFrequency(), startAt, request.getEndAt());
+        try {
+            schedule = scheduleRepository.saveAndFlush(schedule);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("Scheduled transfer with request ID " + request.getRequestId() + " already exists.", e);
+        }
+
+        log.info("Scheduled transfer {} created: {} {} {} from {} to {}, first run at {}", schedule.getId(),
+                schedule.getFrequency(), schedule.getAmount(), currency, schedule.getSenderUserId(),
+                schedule.getReceiverUserId(), startAt);
+        return ScheduledTransferResponse.from(schedule);
+    }
+
+    /**
+     * Lần chạy đang thực thi (đã claim) vẫn có thể hoàn tất, sau đó không chạy thêm lần nào.
+     */
+    @Override
+    @Transactional
+    public ScheduledTransferResponse cancel(UUID scheduleId) {
+        ScheduledTransfer schedule = scheduleRepository.findByIdWithLock(scheduleId)
+                .orElseThrow(() -> new ResourceNotFoundException("ScheduledTransfer", "id", scheduleId));
+        schedule.cancel();
+        log.info("Scheduled transfer {} cancelled", scheduleId);
+        return ScheduledTransferResponse.from(schedule);
+    }
+
+    @Transactional(readOnly = true)
+    public ScheduledTransferResponse getScheduledTransfer(UUID scheduleId) {
+        return scheduleRepository.findById(scheduleId)
+                .map(ScheduledTransferResponse::from)
+                .orElseThrow(() -> new ResourceNotFoundException("ScheduledTransfer", "id", scheduleId));
+    }
+}
@@ -0,0 +1,93 @@
+package com.thinhpay.backend.modules.corebanking.application.service;
+
+import com.thinhpay.backend.modules.corebanking.application.dto.response.AccountResponse;
+import com.thinhpay.backend.modules.corebanking.domain.account.Account;
+import com.thinhpay.backend.modules.corebanking.domain.account.AccountBalanceShard;
+import com.thinhpay.backend.modules.corebanking.domain.money.Money;
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.HotAccountRegistry;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.AccountBalanceShardRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.AccountRepository;
+import com.thinhpay.backend.shared.exception.ResourceNotFoundException;
+import jakarta.persistence.EntityManager;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Áp dụng credit/debit lên account, tự dùng shard nếu account là hot.
+ *
+ * - Credit hot account: lock 1 shard bất kỳ đang rảnh (SKIP LOCKED), không lock dòng core_accounts.
+ *   Các shard khác không bị lock nên balance_snapshot của bút toán credit chỉ là xấp xỉ (xem Account#getTotalBalance);
+ *   số dư đúng luôn là balance gốc + tổng shard, và bằng tổng bút toán.
+ * - Debit hot account: caller đã lock dòng core_accounts, ở đây lock thêm toàn bộ shard rồi quét.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ShardedBalanceService {
+    AccountRepository accountRepository;
+    AccountBalanceShardRepository shardRepository;
+    HotAccountRegistry hotAccountRegistry;
+    CoreBankingProperties properties;
+    EntityManager entityManager;
+
+    public void credit(Account account, BigDecimal amount) {
+        credit(account, Money.ofLedger(amount));
+    }
+
+    public void credit(Account account, Money amount) {
+        if (!account.isHot()) {
+            account.credit(amount);
+            return;
+        }
+
+        UUID accountId = account.getId();
+        int startIndex = ThreadLocalRandom.current().nextInt(account.getShardCount());
+        UUID shardId = shardRepository.lockFirstUnlockedShardId(accountId, startIndex, account.getShardCount())
+                // Tất cả shard đang bận: chờ lock trên shard ngẫu nhiên
+                .or(() -> shardRepository.lockShardId(accountId, startIndex))
+                .orElseThrow(() -> new IllegalStateException("Hot account " + accountId + " has no balance shards"));
+
+        // Shard có thể đã nằm trong persistence context từ lần đọc không lock (getTotalBalance):
+        // nạp lại số dư đã commit sau khi giữ lock, nếu không sẽ ghi đè credit của transaction khác
+        AccountBalanceShard shard = entityManager.find(AccountBalanceShard.class, shardId);
+        entityManager.refresh(shard);
+        account.creditShard(shard, amount);
+    }
+
+    public void debit(Account account, BigDecimal amount) {
+        debit(account, Money.ofLedger(amount));
+    }
+
+    public void debit(Account account, Money amount) {
+        if (account.isHot()) {
+            for (UUID shardId : shardRepository.lockAllShardIds(account.getId())) {
+                entityManager.refresh(entityManager.find(AccountBalanceShard.class, shardId));
+            }
+        }
+        account.debit(amount);
+    }
+
+    @Transactional
+    public AccountResponse enableSharding(UUID accountId, Integer shardCount) {
+        Account account = accountRepository.findByIdWithLock(accountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account", "id", accountId));
+
+        int count = shardCount != null ? shardCount : properties.getSharding().getDefaultShardCount();
+        // Account đang managed: không gọi save() (merge sẽ copy các shard mới thành instance rỗng)
+        shardRepository.saveAll(account.enableSharding(count));
+        hotAccountRegistry.invalidate();
+
+        log.info("Account {} is now hot with {} balance shards", accountId, count);
+        return AccountResponse.from(account);
+    }
+}
@@ -4,23 +4,45 @@ import com.thinhpay.backend.modules.corebanking.application.dto.request.Transfer
 import com.thinhpay.backend.modules.corebanking.application.dto.response.TransferResponse;
 import com.thinhpay.backend.modules.corebanking.application.port.in.TransferUseCase;
 import com.thinhpay.backend.modules.corebanking.domain.account.Account;
-import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRateService;
+import com.thinhpay.backend.modules.corebanking.domain.currency.Currency;
+import com.thinhpay.backend.modules.corebanking.domain.event.BalanceChangedEvent;
+import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRate;
+import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRateException;
 import com.thinhpay.backend.modules.corebanking.domain.ledger.LedgerEntry;
 import com.thinhpay.backend.modules.corebanking.domain.ledger.LedgerEntryType;
+import com.thinhpay.backend.modules.corebanking.domain.money.Money;
 import com.thinhpay.backend.modules.corebanking.domain.transaction.Transaction;
 import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionType;
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties;
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties.LockMode;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.AdaptiveLockPolicy;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.CurrencyRegistry;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.HotAccountRegistry;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.TransactionRetryExecutor;
 import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.AccountRepository;
 import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.LedgerEntryRepository;
 import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.TransactionRepository;
+import com.thinhpay.backend.shared.infrastructure.DomainEventPublisher;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -30,30 +52,50 @@ public class TransferService implements TransferUseCase {
     AccountRepository accountRepository;
     TransactionRepository transactionRepository;
     LedgerEntryRepository ledgerEntryRepository;
-    ExchangeRateService exchangeRateService;
+    FxQuoteService fxQuoteService;
+    TransactionRetryExecutor retryExecutor;
+    ShardedBalanceService shardedBalanceService;
+    HotAccountRegistry hotAccountRegistry;
+    AdaptiveLockPolicy lockPolicy;
+    CurrencyRegistry currencyRegistry;
+    CoreBankingProperties properties;
+    MeterRegistry meterRegistry;
+    DomainEventPublisher eventPublisher;
+    EntityManager entityManager;
 
     @Override
-    @Transactional
     public TransferResponse transfer(TransferRequest request) {
+        return retryExecutor.execute("transfer", () -> doTransfer(request));
+    }
+
+    private TransferResponse doTransfer(TransferRequest request) {
         log.info("Processing transfer: {} from {} to {}",
                 request.getRequestId(), request.getSenderUserId(), request.getReceiverUserId());
 
-        validateIdempotency(request.getRequestId());
+        // Quote-then-lock: tỉ giá được chốt trước khi lock, không gọi API tỉ giá khi đang giữ lock 2 account
+        ExchangeRate rate = fxQuoteService.resolveRate(request);
 
-        Account senderAccount = getAccountWithLock(request.getSenderUserId(), request.getCurrency());
-        Account receiverAccount = getAccountWithLock(request.getReceiverUserId(), request.getCurrency());
+        LockMode lockMode = properties.getTransfer().getLockMode();
+        Account[] accounts = meterRegistry.timer("corebanking.transfer.lock.wait", "mode", lockMode.name())
+                .record(() -> lockAccounts(request, rate.getToCurrency(), lockMode));
+        Account senderAccount = accounts[0];
+        Account receiverAccount = accounts[1];
 
         validateDifferentAccounts(senderAccount, receiverAccount);
 
-        //Calculate amounts (multi-currency support)
+        // Calculate amounts (multi-currency support): đổi sang Money 1 lần theo decimalPlaces của từng loại tiền,
+        // debit / credit không đổi lại
+        Money debit = Money.of(request.getAmount(), currency(senderAccount.getCurrencyCode()));
+        boolean sameCurrency = senderAccount.getCurrencyCode().equals(receiverAccount.getCurrencyCode());
+        Money credit = sameCurrency ? debit : calculateCreditAmount(debit, rate, currency(receiverAccount.getCurrencyCode()));
         BigDecimal debitAmount = request.getAmount();
-        BigDecimal creditAmount = calculateCreditAmount(
-                debitAmount,
-                senderAccount.getCurrency().getCode(),
-                receiverAccount.getCurrency().getCode()
-        );
+        BigDecimal creditAmount = sameCurrency ? debitAmount : credit.toBigDecimal();
 
-        executeTransfer(senderAccount, receiverAccount, debitAmount, creditAmount);
+        BigDecimal senderOldBalance = senderAccount.getTotalBalance();
+        BigDecimal receiverOldBalance = receiverAccount.getTotalBalance();
+        executeTransfer(senderAccount, receiverAccount, debit, credit);
+        BigDecimal senderNewBalance = senderAccount.getTotalBalance();
+        BigDecimal receiverNewBalance = receiverAccount.getTotalBalance();
 
         Transaction senderTransaction = createAndSaveTransaction(
                 senderAccount, request, debitAmount, TransactionType.TRANSFER_OUT);
@@ -61,26 +103,126 @@ public class TransferService implements TransferUseCase {
                 receiverAccount, request, creditAmount, TransactionType.TRANSFER_IN);
 
 
-        createAndSaveLedgerEntries(senderTransaction, receiverTransaction,
-                senderAccount, receiverAccount, debitAmount, creditAmount);
+        createAndSaveLedgerEntries(senderTransaction, receiverTransaction, senderAccount, receiverAccount,
+                debitAmount, creditAmount, senderNewBalance, receiverNewBalance);
+
+        // Listener chạy sau commit (xóa cache số dư)
+        eventPublisher.publish(BalanceChangedEvent.of(senderAccount.getId(), senderAccount.getUserId(),
+                senderOldBalance, senderNewBalance, senderAccount.getCurrencyCode(),
+                TransactionType.TRANSFER_OUT.name()));
+        eventPublisher.publish(BalanceChangedEvent.of(receiverAccount.getId(), receiverAccount.getUserId(),
+                receiverOldBalance, receiverNewBalance, receiverAccount.getCurrencyCode(),
+                TransactionType.TRANSFER_IN.name()));
+
+        if (lockPolicy.isOptimistic()) {
+            lockPolicy.recordSuccess(List.of(senderAccount.getId(), receiverAccount.getId()));
+        }
 
         log.info("Transfer completed: {} - Sender balance: {}, Receiver balance: {}",
-                request.getRequestId(), senderAccount.getBalance(), receiverAccount.getBalance());
+                request.getRequestId(), senderNewBalance, receiverNewBalance);
 
         return TransferResponse.from(senderTransaction, receiverTransaction);
     }
 
-    private void validateIdempotency(String requestId) {
-        if (transactionRepository.existsByRequestId(requestId)) {
-            throw new IllegalStateException("Transaction with request ID " + requestId + " already exists.");
+    /**
+     * Hot receiver không bị lock dòng core_accounts: credit sẽ đi vào 1 shard.
+     * Account nhận theo receiverCurrency (khác currency của request khi transfer dùng FX quote).
+     *
+     * @return [sender, receiver]
+     */
+    private Account[] lockAccounts(TransferRequest request, String receiverCurrency, LockMode lockMode) {
+        UUID senderUserId = request.getSenderUserId();
+        UUID receiverUserId = request.getReceiverUserId();
+        String currency = request.getCurrency();
+        boolean receiverHot = hotAccountRegistry.isHot(receiverUserId, receiverCurrency);
+
+        if (lockMode == LockMode.OPTIMISTIC || lockMode == LockMode.ADAPTIVE) {
+            return loadAccountsOptimistic(senderUserId, receiverUserId, currency, receiverCurrency, receiverHot);
+        }
+
+        if (lockMode == LockMode.SEQUENTIAL) {
+            Account sender = getAccountWithLock(senderUserId, currency);
+            Account receiver = receiverHot
+                    ? getAccount(receiverUserId, receiverCurrency)
+                    : getAccountWithLock(receiverUserId, receiverCurrency);
+            return new Account[]{sender, receiver};
         }
+
+        if (!receiverHot && !currency.equals(receiverCurrency)) {
+            // Khác loại tiền: tìm id của đúng 2 account rồi lock theo thứ tự id trong 1 statement
+            List<Account> locked = accountRepository.findAllByIdInWithLock(accountRepository.findIdsOfPair(
+                    senderUserId, currency, receiverUserId, receiverCurrency));
+            return new Account[]{
+                    requireAccount(locked, senderUserId, currency),
+                    requireAccount(locked, receiverUserId, receiverCurrency)};
+        }
+
+        List<UUID> userIdsToLock = receiverHot ? List.of(senderUserId) : List.of(senderUserId, receiverUserId);
+        Map<UUID, Account> lockedByUserId = accountRepository.findAllByUserIdInAndCurrencyCodeWithLock(
+                        userIdsToLock, currency)
+                .stream()
+                .collect(Collectors.toMap(Account::getUserId, Function.identity(), (a, b) -> a));
+
+        Account sender = requireAccount(lockedByUserId, senderUserId, currency);
+        Account receiver = receiverHot
+                ? getAccount(receiverUserId, receiverCurrency)
+                : requireAccount(lockedByUserId, receiverUserId, currency);
+        return new Account[]{sender, receiver};
+    }
+
+    /**
+     * Đọc không lock: UPDATE khi flush kèm điều kiện version, conflict thì TransactionRetryExecutor retry.
+     * ADAPTIVE: account hay conflict được lock pessimistic (theo thứ tự id) ngay sau khi đọc,
+     * đồng thời nạp lại state - bản đọc không lock có thể đã cũ, UPDATE theo version cũ sẽ lại conflict.
+     */
+    private Account[] loadAccountsOptimistic(UUID senderUserId, UUID receiverUserId, String currency,
+                                             String receiverCurrency, boolean receiverHot) {
+        Account sender = getAccount(senderUserId, currency);
+        Account receiver = getAccount(receiverUserId, receiverCurrency);
+
+        Stream.of(sender, receiverHot ? null : receiver)
+                .filter(Objects::nonNull)
+                .filter(account -> lockPolicy.shouldLock(account.getId()))
+                .distinct()
+                .sorted(Comparator.comparing(Account::getId))
+                .forEach(account -> entityManager.refresh(account, LockModeType.PESSIMISTIC_WRITE));
+        return new Account[]{sender, receiver};
+    }
+
+    private Account getAccount(UUID userId, String currency) {
+        return accountRepository.findByUserIdAndCurrencyCode(userId, currency)
+                .orElseThrow(() -> accountNotFound(userId, currency));
     }
 
     private Account getAccountWithLock(UUID userId, String currency) {
         return accountRepository.findByUserIdAndCurrencyCodeWithLock(userId, currency)
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "Account not found for user: " + userId + " with currency: " + currency
-                ));
+                .orElseThrow(() -> accountNotFound(userId, currency));
+    }
+
+    private Account requireAccount(Map<UUID, Account> accounts, UUID userId, String currency) {
+        Account account = accounts.get(userId);
+        if (account == null) {
+            throw accountNotFound(userId, currency);
+        }
+        return account;
+    }
+
+    private Account requireAccount(List<Account> accounts, UUID userId, String currency) {
+        return accounts.stream()
+                .filter(account -> account.getUserId().equals(userId)
+                        && account.getCurrencyCode().equals(currency))
+                .findFirst()
+                .orElseThrow(() -> accountNotFound(userId, currency));
+    }
+
+    private IllegalArgumentException accountNotFound(UUID userId, String currency) {
+        return new IllegalArgumentException(
+                "Account not found for user: " + userId + " with currency: " + currency);
+    }
+
+    private Currency currency(String code) {
+        return currencyRegistry.find(code)
+                .orElseThrow(() -> ExchangeRateException.currencyNotSupported(code));
     }
 
     private void validateDifferentAccounts(Account sender, Account receiver) {
@@ -89,21 +231,19 @@ public class TransferService implements TransferUseCase {
         }
     }
 
-    private BigDecimal calculateCreditAmount(BigDecimal debitAmount, String fromCurrency, String toCurrency) {
-        if (fromCurrency.equals(toCurrency)) {
-            return debitAmount;
-        }
-
-        log.info("Converting {} {} to {}", debitAmount, fromCurrency, toCurrency);
-        BigDecimal converted = exchangeRateService.convert(debitAmount, fromCurrency, toCurrency);
-        log.info("Converted amount: {} {}", converted, toCurrency);
+    /**
+     * Quy đổi sang tiền đích, làm tròn HALF_UP về decimalPlaces của tiền đích (VND không có phần lẻ)
+     */
+    private Money calculateCreditAmount(Money debitAmount, ExchangeRate rate, Currency target) {
+        Money converted = rate.convert(debitAmount, target, RoundingMode.HALF_UP);
+        log.info("Converted {} {} to {} {} at {}",
+                debitAmount, rate.getFromCurrency(), converted, rate.getToCurrency(), rate.getRate());
         return converted;
     }
 
-    private void executeTransfer(Account senderAccount, Account receiverAccount,
-                                 BigDecimal debitAmount, BigDecimal creditAmount) {
-        senderAccount.debit(debitAmount);
-        receiverAccount.credit(creditAmount);
+    private void executeTransfer(Account senderAccount, Account receiverAccount, Money debitAmount, Money creditAmount) {
+        shardedBalanceService.debit(senderAccount, debitAmount);
+        shardedBalanceService.credit(receiverAccount, creditAmount);
 
         accountRepository.save(senderAccount);
         accountRepository.save(receiverAccount);
@@ -111,32 +251,35 @@ public class TransferService implements TransferUseCase {
 
     private Transaction createAndSaveTransaction(Account account, TransferRequest request,
                                                  BigDecimal amount, TransactionType type) {
-        String requestId = type == TransactionType.TRANSFER_OUT
-                ? request.getRequestId()
-                : request.getRequestId() + "-IN";
-
-        Transaction transaction = Transaction.builder()
-                .account(account)
-                .requestId(requestId)
-                .amount(amount)
-                .type(type)
-                .description(request.getDescription())
-                .build();
+        Transaction transaction = type == TransactionType.TRANSFER_OUT
+                ? Transaction.createTransferOut(account, request.getRequestId(), amount, request.getDescription())
+                : Transaction.createTransferIn(account, request.getRequestId(), amount, request.getDescription());
 
         transaction.markAsCompleted();
-        return transactionRepository.save(transaction);
+        return saveTransactionOnce(transaction);
+    }
+
+    /**
+     * Idempotency Check: unique index trên request_id quyết định thay cho existsByRequestId (race check-then-act).
+     * Flush ngay để lỗi trùng lặp nổi lên tại đây thay vì lúc commit.
+     */
+    private Transaction saveTransactionOnce(Transaction transaction) {
+        try {
+            return transactionRepository.saveAndFlush(transaction);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("Transaction with request ID " + transaction.getRequestId() + " already exists.", e);
+        }
     }
 
     private void createAndSaveLedgerEntries(Transaction senderTransaction, Transaction receiverTransaction,
                                             Account senderAccount, Account receiverAccount,
-                                            BigDecimal debitAmount, BigDecimal creditAmount) {
+                                            BigDecimal debitAmount, BigDecimal creditAmount,
+                                            BigDecimal senderBalance, BigDecimal receiverBalance) {
         LedgerEntry senderLedger = LedgerEntry.create(
-                senderTransaction, senderAccount, debitAmount,
-                senderAccount.getBalance(), LedgerEntryType.DEBIT);
+                senderTransaction, senderAccount, debitAmount, senderBalance, LedgerEntryType.DEBIT);
 
         LedgerEntry receiverLedger = LedgerEntry.create(
-                receiverTransaction, receiverAccount, creditAmount,
-                receiverAccount.getBalance(), LedgerEntryType.CREDIT);
+                receiverTransaction, receiverAccount, creditAmount, receiverBalance, LedgerEntryType.CREDIT);
 
         ledgerEntryRepository.save(senderLedger);
         ledgerEntryRepository.save(receiverLedger);
@@ -1,6 +1,8 @@
 package com.thinhpay.backend.modules.corebanking.domain.account;
 
 import com.thinhpay.backend.modules.corebanking.domain.currency.Currency;
+import com.thinhpay.backend.modules.corebanking.domain.money.Money;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.MoneyConverter;
 import com.thinhpay.backend.shared.domain.AggregateRoot;
 import com.thinhpay.backend.shared.domain.BaseEntity;
 import jakarta.persistence.*;
@@ -10,6 +12,8 @@ import lombok.experimental.FieldDefaults;
 import lombok.experimental.SuperBuilder;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @Entity
@@ -26,20 +30,33 @@ public class Account extends BaseEntity implements AggregateRoot {
     @Column(name = "user_id", nullable = false, updatable = false)
     UUID userId;
 
+    /**
+     * Mã tiền tệ đọc thẳng từ cột currency_code - luồng nóng dùng field này (hoặc CurrencyRegistry)
+     * thay vì getCurrency(), không bao giờ phải khởi tạo proxy Currency.
+     */
+    @NotNull
+    @Column(name = "currency_code", nullable = false, length = 3, updatable = false)
+    String currencyCode;
+
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "currency_code", nullable = false)
+    @JoinColumn(name = "currency_code", nullable = false, insertable = false, updatable = false)
     @ToString.Exclude
     Currency currency;
 
+    /**
+     * Số dư ở Money.LEDGER_SCALE: credit / debit / kiểm tra số dư khả dụng tính bằng long, không cấp phát BigDecimal.
+     */
     @NotNull
     @Builder.Default
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "balance", nullable = false, precision = 19, scale = 4)
-    BigDecimal balance = BigDecimal.ZERO;
+    Money balance = Money.zero(Money.LEDGER_SCALE);
 
     @NotNull
     @Builder.Default
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "held_balance", nullable = false, precision = 19, scale = 4)
-    BigDecimal heldBalance = BigDecimal.ZERO;
+    Money heldBalance = Money.zero(Money.LEDGER_SCALE);
 
     @NotNull
     @Enumerated(EnumType.STRING)
@@ -47,6 +64,24 @@ public class Account extends BaseEntity implements AggregateRoot {
     @Column(name = "status", nullable = false, length = 20)
     AccountStatus status = AccountStatus.ACTIVE;
 
+    /**
+     * Hot account (merchant, settlement) chia số dư ra nhiều shard để credit không tranh nhau 1 row lock.
+     * Chỉ bật một chiều - không chuyển ngược về account thường.
+     */
+    @Builder.Default
+    @Column(name = "hot", nullable = false)
+    boolean hot = false;
+
+    @Builder.Default
+    @Column(name = "shard_count", nullable = false)
+    int shardCount = 0;
+
+    @Builder.Default
+    @OneToMany(mappedBy = "account", fetch = FetchType.LAZY, cascade = CascadeType.PERSIST)
+    @OrderBy("shardIndex ASC")
+    @ToString.Exclude
+    List<AccountBalanceShard> balanceShards = new ArrayList<>();
+
     // ========== Factory Method ========== //
 
     public static Account open(UUID userId, Currency currency) {
@@ -57,33 +92,173 @@ public class Account extends BaseEntity implements AggregateRoot {
 
         return Account.builder()
                 .userId(userId)
+                .currencyCode(currency.getCode())
                 .currency(currency)
-                .balance(BigDecimal.ZERO)
-                .heldBalance(BigDecimal.ZERO)
+                .balance(Money.zero(Money.LEDGER_SCALE))
+                .heldBalance(Money.zero(Money.LEDGER_SCALE))
                 .status(AccountStatus.ACTIVE)
                 .build();
     }
 
     // ========== Domain Methods ========== //
 
+    /**
+     * Cột currency_code được ghi qua currencyCode; account dựng bằng builder chỉ với currency thì lấy mã từ đó.
+     */
+    @PrePersist
+    void syncCurrencyCode() {
+        if (currencyCode == null && currency != null) {
+            currencyCode = currency.getCode();
+        }
+    }
+
+    public BigDecimal getBalance() {
+        return balance.toBigDecimal();
+    }
+
+    public BigDecimal getHeldBalance() {
+        return heldBalance.toBigDecimal();
+    }
+
+    /**
+     * Tổng số dư: balance gốc cộng tất cả shard (nếu là hot account).
+     *
+     * Hot account nhận credit chỉ lock 1 shard: các shard khác là giá trị đã commit lúc được đọc và vẫn có thể
+     * đang thay đổi, nên tổng (và balance_snapshot của bút toán ghi từ tổng này) chỉ là xấp xỉ.
+     * Reconciliation không kiểm tra chuỗi balance_snapshot của hot account, khôi phục số dư dùng balance + shard.
+     */
+    public BigDecimal getTotalBalance() {
+        return totalBalance().toBigDecimal();
+    }
+
     public BigDecimal getAvailableBalance() {
-        return balance.subtract(heldBalance);
+        return availableBalance().toBigDecimal();
     }
 
     public void credit(BigDecimal amount) {
-        if (amount.compareTo(BigDecimal.ZERO) < 0) {
+        credit(Money.ofLedger(amount));
+    }
+
+    /**
+     * Bản Money của credit cho luồng nóng: caller đổi số tiền sang Money 1 lần rồi dùng lại
+     */
+    public void credit(Money credit) {
+        if (credit.isNegative()) {
+            throw new IllegalArgumentException("Amount to credit must be non-negative");
+        }
+        this.balance = this.balance.plus(credit);
+    }
+
+    /**
+     * Credit vào 1 shard đã được lock, không đụng tới dòng core_accounts.
+     */
+    public void creditShard(AccountBalanceShard shard, BigDecimal amount) {
+        creditShard(shard, Money.ofLedger(amount));
+    }
+
+    public void creditShard(AccountBalanceShard shard, Money amount) {
+        if (amount.isNegative()) {
             throw new IllegalArgumentException("Amount to credit must be non-negative");
         }
-        this.balance = this.balance.add(amount);
+        if (!hot || !getId().equals(shard.getAccount().getId())) {
+            throw new IllegalArgumentException("Shard does not belong to this account");
+        }
+        shard.credit(amount.toBigDecimal());
     }
 
     public void debit(BigDecimal amount) {
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+        debit(Money.ofLedger(amount));
+    }
+
+    /**
+     * Với hot account: trừ balance gốc trước rồi quét lần lượt các shard.
+     * Caller phải lock account và tất cả shard trước khi gọi.
+     */
+    public void debit(Money debit) {
+        if (debit.signum() <= 0) {
             throw new IllegalArgumentException("Amount to debit must be positive");
         }
-        if (getAvailableBalance().compareTo(amount) < 0) {
+        if (availableBalance().compareTo(debit) < 0) {
             throw new IllegalArgumentException("Insufficient available balance");
         }
-        this.balance = this.balance.subtract(amount);
+        if (!hot) {
+            this.balance = this.balance.minus(debit);
+            return;
+        }
+
+        Money fromBase = balance.max(Money.zero(Money.LEDGER_SCALE)).min(debit);
+        this.balance = this.balance.minus(fromBase);
+        BigDecimal remaining = debit.minus(fromBase).toBigDecimal();
+        for (AccountBalanceShard shard : balanceShards) {
+            if (remaining.signum() == 0) {
+                break;
+            }
+            remaining = remaining.subtract(shard.debitUpTo(remaining));
+        }
+    }
+
+    /**
+     * Tạm giữ tiền: balance không đổi, số dư khả dụng giảm. Caller phải lock account.
+     */
+    public void placeHold(BigDecimal amount) {
+        Money hold = Money.ofLedger(amount);
+        if (hold.signum() <= 0) {
+            throw new IllegalArgumentException("Amount to hold must be positive");
+        }
+        if (availableBalance().compareTo(hold) < 0) {
+            throw new IllegalArgumentException("Insufficient available balance");
+        }
+        this.heldBalance = this.heldBalance.plus(hold);
+    }
+
+    /**
+     * Trả lại tiền đang giữ (release, hết hạn, hoặc trước khi capture trừ balance)
+     */
+    public void releaseHold(BigDecimal amount) {
+        Money release = Money.ofLedger(amount);
+        if (release.isNegative()) {
+            throw new IllegalArgumentException("Amount to release must be non-negative");
+        }
+        if (heldBalance.compareTo(release) < 0) {
+            throw new IllegalStateException("Amount to release exceeds held balance");
+        }
+        this.heldBalance = this.heldBalance.minus(release);
+    }
+
+    public List<AccountBalanceShard> enableSharding(int shardCount) {
+        if (hot) {
+            throw new IllegalStateException("Account is already sharded");
+        }
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        this.hot = true;
+        this.shardCount = shardCount;
+        // Trả về list riêng: balanceShards có thể là bag lazy chưa nạp, duyệt nó sẽ nạp lại từ DB và làm rơi shard mới
+        List<AccountBalanceShard> created = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            AccountBalanceShard shard = AccountBalanceShard.create(this, i);
+            balanceShards.add(shard);
+            created.add(shard);
+        }
+        return created;
+    }
+
+    /**
+     * Như getTotalBalance nhưng không đổi sang BigDecimal
+     */
+    public Money totalBalance() {
+        if (!hot) {
+            return balance;
+        }
+        Money total = balance;
+        for (AccountBalanceShard shard : balanceShards) {
+            total = total.plus(Money.ofLedger(shard.getBalance()));
+        }
+        return total;
+    }
+
+    private Money availableBalance() {
+        return totalBalance().minus(heldBalance);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package com.thinhpay.backend.modules.corebanking.domain.account;
+
+import com.thinhpay.backend.shared.domain.BaseEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.SuperBuilder;
+
+import java.math.BigDecimal;
+
+/**
+ * Một phần số dư của hot account (merchant, settlement...).
+ * Credit chỉ cần lock 1 shard thay vì lock cả dòng core_accounts.
+ */
+@Entity
+@Table(name = "core_account_balance_shards", uniqueConstraints = {
+        @UniqueConstraint(name = "uq_balance_shard_account_index", columnNames = {"account_id", "shard_index"})
+})
+@Getter
+@Setter(AccessLevel.PROTECTED)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@SuperBuilder
+@ToString(callSuper = true)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class AccountBalanceShard extends BaseEntity {
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "account_id", nullable = false, updatable = false)
+    @ToString.Exclude
+    Account account;
+
+    @NotNull
+    @Column(name = "shard_index", nullable = false, updatable = false)
+    Integer shardIndex;
+
+    @NotNull
+    @Builder.Default
+    @Column(name = "balance", nullable = false, precision = 19, scale = 4)
+    BigDecimal balance = BigDecimal.ZERO;
+
+    // ========== Factory Method ========== //
+
+    static AccountBalanceShard create(Account account, int shardIndex) {
+        return AccountBalanceShard.builder()
+                .account(account)
+                .shardIndex(shardIndex)
+                .balance(BigDecimal.ZERO)
+                .build();
+    }
+
+    // ========== Domain Methods ========== //
+
+    void credit(BigDecimal amount) {
+        this.balance = this.balance.add(amount);
+    }
+
+    /**
+     * Trừ tối đa {@code amount} từ shard này.
+     *
+     * @return số tiền thực sự đã trừ
+     */
+    BigDecimal debitUpTo(BigDecimal amount) {
+        BigDecimal taken = balance.min(amount);
+        if (taken.signum() > 0) {
+            this.balance = this.balance.subtract(taken);
+            return taken;
+        }
+        return BigDecimal.ZERO;
+    }
+}
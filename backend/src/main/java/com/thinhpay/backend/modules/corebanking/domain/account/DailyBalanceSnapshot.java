@@ -0,0 +1,62 @@
+package com.thinhpay.backend.modules.corebanking.domain.account;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Tổng số dư (balance + shard) của account sau mọi bút toán có created_at trước 00:00 UTC ngày snapshotDate + 1.
+ * Ghi bằng JDBC theo lô trong DailyBalanceSnapshotJob, không sửa sau khi đã ghi.
+ */
+@Entity
+@Table(name = "core_daily_balance_snapshots")
+@IdClass(DailyBalanceSnapshot.Key.class)
+@Getter
+@Setter(AccessLevel.PROTECTED)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class DailyBalanceSnapshot {
+
+    @Id
+    @Column(name = "account_id", nullable = false, updatable = false)
+    UUID accountId;
+
+    @Id
+    @Column(name = "snapshot_date", nullable = false, updatable = false)
+    LocalDate snapshotDate;
+
+    @Column(name = "balance", nullable = false, precision = 19, scale = 4, updatable = false)
+    BigDecimal balance;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    Instant createdAt;
+
+    /**
+     * Mốc thời gian của snapshot: bút toán có created_at trước mốc này đã nằm trong balance
+     */
+    public Instant cutoff() {
+        return cutoffOf(snapshotDate);
+    }
+
+    public static Instant cutoffOf(LocalDate snapshotDate) {
+        return snapshotDate.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Key implements Serializable {
+        UUID accountId;
+        LocalDate snapshotDate;
+    }
+}
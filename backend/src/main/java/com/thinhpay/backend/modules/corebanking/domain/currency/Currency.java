@@ -1,14 +1,25 @@
 package com.thinhpay.backend.modules.corebanking.domain.currency;
 
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.CurrencyChangeListener;
 import com.thinhpay.backend.shared.domain.AggregateRoot;
+import com.thinhpay.backend.shared.infrastructure.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+/**
+ * Reference data, gần như chỉ đọc. Cache nonstrict-read-write thay vì read-only: currency vẫn sửa được
+ * (CurrencyChangeListener báo CurrencyRegistry nạp lại), entry cache bị xóa khi commit.
+ */
 @Entity
 @Table(name = "core_currencies")
+@EntityListeners(CurrencyChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = HibernateCacheConfig.CURRENCY_REGION)
 @Getter
 @Setter(AccessLevel.PROTECTED)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -1,5 +1,6 @@
 package com.thinhpay.backend.modules.corebanking.domain.event;
 
+import com.thinhpay.backend.shared.domain.OutboxEvent;
 import lombok.Value;
 
 import java.math.BigDecimal;
@@ -7,7 +8,9 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Value
-public class BalanceChangedEvent {
+public class BalanceChangedEvent implements OutboxEvent {
+    public static final String AGGREGATE_TYPE = "Account";
+
     UUID accountId;
     UUID userId;
     BigDecimal oldBalance;
@@ -24,4 +27,14 @@ public class BalanceChangedEvent {
                 currency, reason, Instant.now()
         );
     }
+
+    @Override
+    public String getAggregateType() {
+        return AGGREGATE_TYPE;
+    }
+
+    @Override
+    public String getAggregateId() {
+        return accountId.toString();
+    }
 }
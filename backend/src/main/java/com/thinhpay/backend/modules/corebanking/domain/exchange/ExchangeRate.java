@@ -1,5 +1,7 @@
 package com.thinhpay.backend.modules.corebanking.domain.exchange;
 
+import com.thinhpay.backend.modules.corebanking.domain.currency.Currency;
+import com.thinhpay.backend.modules.corebanking.domain.money.Money;
 import com.thinhpay.backend.shared.domain.ValueObject;
 import lombok.Value;
 
@@ -19,6 +21,23 @@ public class ExchangeRate implements ValueObject {
         return amount.multiply(rate).setScale(4, RoundingMode.HALF_UP);
     }
 
+    /**
+     * Quy đổi Money, làm tròn tường minh về targetScale (vd. decimalPlaces của tiền đích)
+     */
+    public Money convert(Money amount, int targetScale, RoundingMode rounding) {
+        if (fromCurrency.equals(toCurrency)) {
+            return amount.rescale(targetScale, rounding);
+        }
+        return amount.convert(rate, targetScale, rounding);
+    }
+
+    /**
+     * Quy đổi Money, làm tròn về decimalPlaces của tiền đích
+     */
+    public Money convert(Money amount, Currency target, RoundingMode rounding) {
+        return convert(amount, target.getDecimalPlaces(), rounding);
+    }
+
     public static ExchangeRate of(String from, String to, BigDecimal rate) {
         if (rate.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Exchange rate must be positive");
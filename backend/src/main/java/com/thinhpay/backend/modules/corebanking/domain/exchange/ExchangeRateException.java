@@ -2,6 +2,9 @@ package com.thinhpay.backend.modules.corebanking.domain.exchange;
 
 import com.thinhpay.backend.shared.exception.DomainException;
 
+import java.math.BigDecimal;
+import java.util.UUID;
+
 public class ExchangeRateException extends DomainException {
 
     // Error codes
@@ -9,6 +12,13 @@ public class ExchangeRateException extends DomainException {
     public static final String API_ERROR = "EXCHANGE_RATE_API_ERROR";
     public static final String CURRENCY_NOT_SUPPORTED = "CURRENCY_NOT_SUPPORTED";
     public static final String TIMEOUT = "EXCHANGE_RATE_TIMEOUT";
+    public static final String CIRCUIT_OPEN = "EXCHANGE_RATE_CIRCUIT_OPEN";
+    public static final String QUOTE_NOT_FOUND = "FX_QUOTE_NOT_FOUND";
+    public static final String QUOTE_EXPIRED = "FX_QUOTE_EXPIRED";
+    public static final String QUOTE_MISMATCH = "FX_QUOTE_MISMATCH";
+    public static final String QUOTE_NOT_OWNED = "FX_QUOTE_NOT_OWNED";
+    public static final String QUOTE_AMOUNT_EXCEEDED = "FX_QUOTE_AMOUNT_EXCEEDED";
+    public static final String QUOTE_ALREADY_USED = "FX_QUOTE_ALREADY_USED";
 
     private static final String DEFAULT_ERROR_CODE = "EXCHANGE_RATE_ERROR";
 
@@ -50,4 +60,53 @@ public class ExchangeRateException extends DomainException {
                 TIMEOUT
         );
     }
+
+    public static ExchangeRateException circuitOpen() {
+        return new ExchangeRateException(
+                "Exchange rate API unavailable (circuit open)",
+                CIRCUIT_OPEN
+        );
+    }
+
+    public static ExchangeRateException quoteNotFound(UUID quoteId) {
+        return new ExchangeRateException(
+                "FX quote not found: " + quoteId,
+                QUOTE_NOT_FOUND
+        );
+    }
+
+    public static ExchangeRateException quoteExpired(UUID quoteId) {
+        return new ExchangeRateException(
+                "FX quote expired: " + quoteId,
+                QUOTE_EXPIRED
+        );
+    }
+
+    public static ExchangeRateException quoteMismatch(UUID quoteId, String currency) {
+        return new ExchangeRateException(
+                "FX quote " + quoteId + " does not convert from " + currency,
+                QUOTE_MISMATCH
+        );
+    }
+
+    public static ExchangeRateException quoteNotOwned(UUID quoteId) {
+        return new ExchangeRateException(
+                "FX quote " + quoteId + " was issued to another user",
+                QUOTE_NOT_OWNED
+        );
+    }
+
+    public static ExchangeRateException quoteAmountExceeded(UUID quoteId, BigDecimal maxAmount) {
+        return new ExchangeRateException(
+                "Amount exceeds FX quote " + quoteId + " max amount " + maxAmount.stripTrailingZeros().toPlainString(),
+                QUOTE_AMOUNT_EXCEEDED
+        );
+    }
+
+    public static ExchangeRateException quoteAlreadyUsed(UUID quoteId) {
+        return new ExchangeRateException(
+                "FX quote already used: " + quoteId,
+                QUOTE_ALREADY_USED
+        );
+    }
 }
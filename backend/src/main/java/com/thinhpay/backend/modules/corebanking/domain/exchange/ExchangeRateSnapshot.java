@@ -0,0 +1,46 @@
+package com.thinhpay.backend.modules.corebanking.domain.exchange;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Bảng tỉ giá tốt gần nhất của 1 base, lưu lại để khởi động (hoặc khi API tỉ giá lỗi)
+ * vẫn có tỉ giá dùng ngay trong max-stale-age.
+ */
+@Entity
+@Table(name = "core_exchange_rate_snapshots")
+@Getter
+@Setter(AccessLevel.PROTECTED)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@ToString
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ExchangeRateSnapshot {
+
+    @Id
+    @Column(name = "base", nullable = false, length = 3, updatable = false)
+    String base;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "rates", nullable = false)
+    @ToString.Exclude
+    Map<String, BigDecimal> rates;
+
+    @Column(name = "fetched_at", nullable = false)
+    Instant fetchedAt;
+
+    public static ExchangeRateSnapshot of(ExchangeRateTable table) {
+        return new ExchangeRateSnapshot(table.getBase(), table.getRates(), table.getFetchedAt());
+    }
+
+    public ExchangeRateTable toTable() {
+        return ExchangeRateTable.of(base, rates, fetchedAt);
+    }
+}
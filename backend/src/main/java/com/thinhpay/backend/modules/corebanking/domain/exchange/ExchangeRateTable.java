@@ -0,0 +1,58 @@
+package com.thinhpay.backend.modules.corebanking.domain.exchange;
+
+import com.thinhpay.backend.shared.domain.ValueObject;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bảng tỉ giá đầy đủ của 1 đồng tiền gốc: 1 base = rates[currency] currency.
+ * Tỉ giá chéo giữa 2 đồng tiền bất kỳ được suy ra qua base (pivot).
+ */
+@Value
+public class ExchangeRateTable implements ValueObject {
+    String base;
+    Map<String, BigDecimal> rates;
+    Instant fetchedAt;
+
+    public static ExchangeRateTable of(String base, Map<String, BigDecimal> rates, Instant fetchedAt) {
+        Map<String, BigDecimal> normalized = new HashMap<>();
+        rates.forEach((currency, rate) -> {
+            if (rate != null && rate.compareTo(BigDecimal.ZERO) > 0) {
+                normalized.put(currency.toUpperCase(), rate);
+            }
+        });
+        normalized.put(base.toUpperCase(), BigDecimal.ONE);
+        return new ExchangeRateTable(base.toUpperCase(), Map.copyOf(normalized), fetchedAt);
+    }
+
+    public boolean supports(String currency) {
+        return rates.containsKey(currency.toUpperCase());
+    }
+
+    /**
+     * Tỉ giá from -> to = rates[to] / rates[from]
+     *
+     * @throws ExchangeRateException nếu bảng không có 1 trong 2 đồng tiền
+     */
+    public ExchangeRate rate(String fromCurrency, String toCurrency) {
+        BigDecimal fromRate = rateOf(fromCurrency);
+        BigDecimal toRate = rateOf(toCurrency);
+        BigDecimal rate = fromRate.compareTo(BigDecimal.ONE) == 0
+                ? toRate
+                : toRate.divide(fromRate, MathContext.DECIMAL64);
+        return ExchangeRate.of(fromCurrency, toCurrency, rate);
+    }
+
+    private BigDecimal rateOf(String currency) {
+        BigDecimal rate = rates.get(currency.toUpperCase());
+        if (rate == null) {
+            throw ExchangeRateException.currencyNotSupported(currency);
+        }
+        return rate;
+    }
+}
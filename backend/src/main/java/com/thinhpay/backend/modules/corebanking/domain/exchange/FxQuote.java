@@ -0,0 +1,90 @@
+package com.thinhpay.backend.modules.corebanking.domain.exchange;
+
+import com.thinhpay.backend.shared.domain.UuidV7;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Tỉ giá đã chốt cho 1 cặp tiền, dùng được tới expiresAt.
+ * Transfer tham chiếu quote để không phải hỏi tỉ giá trong lúc đang giữ lock account.
+ * Quote thuộc về 1 user, giới hạn số tiền gửi tối đa và chỉ dùng được 1 lần (usedAt).
+ */
+@Entity
+@Table(name = "core_fx_quotes")
+@Getter
+@Setter(AccessLevel.PROTECTED)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@ToString
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class FxQuote {
+    static final int RATE_SCALE = 18;
+
+    @Id
+    @Column(name = "id", nullable = false, updatable = false)
+    UUID id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    UUID userId;
+
+    @Column(name = "from_currency", nullable = false, length = 3, updatable = false)
+    String fromCurrency;
+
+    @Column(name = "to_currency", nullable = false, length = 3, updatable = false)
+    String toCurrency;
+
+    @Column(name = "rate", nullable = false, precision = 38, scale = RATE_SCALE, updatable = false)
+    BigDecimal rate;
+
+    /**
+     * Số tiền gửi (fromCurrency) tối đa được chuyển theo tỉ giá này
+     */
+    @Column(name = "max_amount", nullable = false, precision = 19, scale = 4, updatable = false)
+    BigDecimal maxAmount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    Instant expiresAt;
+
+    /**
+     * Ghi bằng UPDATE có điều kiện (FxQuoteRepository.markUsed), không qua entity
+     */
+    @Column(name = "used_at", insertable = false, updatable = false)
+    Instant usedAt;
+
+    public static FxQuote issue(ExchangeRate rate, UUID userId, BigDecimal maxAmount, Duration ttl, Instant now) {
+        if (userId == null) {
+            throw new IllegalArgumentException("Quote owner cannot be null");
+        }
+        if (maxAmount == null || maxAmount.signum() <= 0) {
+            throw new IllegalArgumentException("Quote max amount must be positive");
+        }
+        return new FxQuote(UuidV7.generate(), userId, rate.getFromCurrency(), rate.getToCurrency(),
+                rate.getRate().setScale(RATE_SCALE, RoundingMode.HALF_UP), maxAmount, now, now.plus(ttl), null);
+    }
+
+    public boolean isExpiredAt(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+
+    public boolean isOwnedBy(UUID userId) {
+        return this.userId.equals(userId);
+    }
+
+    public boolean covers(BigDecimal amount) {
+        return amount.compareTo(maxAmount) <= 0;
+    }
+
+    public ExchangeRate toExchangeRate() {
+        return ExchangeRate.of(fromCurrency, toCurrency, rate);
+    }
+}
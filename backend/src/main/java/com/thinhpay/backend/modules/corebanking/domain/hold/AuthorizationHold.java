@@ -0,0 +1,156 @@
+package com.thinhpay.backend.modules.corebanking.domain.hold;
+
+import com.thinhpay.backend.modules.corebanking.domain.account.Account;
+import com.thinhpay.backend.shared.domain.BaseEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.SuperBuilder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Tạm giữ tiền (authorization hold) kiểu thẻ: giữ amount trong held_balance của account tới expiresAt,
+ * capture (1 hoặc nhiều lần, tổng không vượt amount) mới trừ tiền thật; release / hết hạn trả lại phần còn giữ.
+ *
+ * Thứ tự lock: hold trước, account sau (capture, release và job hết hạn đều theo thứ tự này).
+ */
+@Entity
+@Table(name = "core_authorization_holds", indexes = {
+        @Index(name = "idx_holds_request_id", columnList = "request_id", unique = true),
+        @Index(name = "idx_holds_active_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_holds_account_id", columnList = "account_id")
+})
+@Getter
+@Setter(AccessLevel.PROTECTED)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@SuperBuilder
+@ToString(callSuper = true)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class AuthorizationHold extends BaseEntity {
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "account_id", nullable = false, updatable = false)
+    @ToString.Exclude
+    Account account;
+
+    @Size(max = 100)
+    @NotNull
+    @Column(name = "request_id", nullable = false, length = 100, unique = true, updatable = false)
+    String requestId;
+
+    @NotNull
+    @Column(name = "amount", nullable = false, precision = 19, scale = 4, updatable = false)
+    BigDecimal amount;
+
+    @NotNull
+    @Builder.Default
+    @Column(name = "captured_amount", nullable = false, precision = 19, scale = 4)
+    BigDecimal capturedAmount = BigDecimal.ZERO;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    @Column(name = "status", nullable = false, length = 20)
+    HoldStatus status = HoldStatus.ACTIVE;
+
+    @NotNull
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    Instant expiresAt;
+
+    @Size(max = 500)
+    @Column(name = "description", length = 500)
+    String description;
+
+    // ========== Factory Method ========== //
+
+    public static AuthorizationHold place(Account account, String requestId, BigDecimal amount,
+                                          Duration ttl, String description, Instant now) {
+        if (account == null)
+            throw new IllegalArgumentException("Account cannot be null");
+        if (requestId == null || requestId.isBlank())
+            throw new IllegalArgumentException("Request ID is required");
+        if (amount == null || amount.signum() <= 0)
+            throw new IllegalArgumentException("Hold amount must be positive");
+        if (ttl == null || ttl.isNegative() || ttl.isZero())
+            throw new IllegalArgumentException("Hold expiry must be positive");
+
+        return AuthorizationHold.builder()
+                .account(account)
+                .requestId(requestId)
+                .amount(amount)
+                .capturedAmount(BigDecimal.ZERO)
+                .status(HoldStatus.ACTIVE)
+                .expiresAt(now.plus(ttl))
+                .description(description)
+                .build();
+    }
+
+    // ========== Domain Methods ========== //
+
+    /**
+     * Phần còn đang giữ trong held_balance của account
+     */
+    public BigDecimal getRemainingAmount() {
+        return status == HoldStatus.ACTIVE ? amount.subtract(capturedAmount) : BigDecimal.ZERO;
+    }
+
+    public boolean isExpiredAt(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+
+    /**
+     * Capture 1 phần (hoặc toàn bộ) số còn giữ. Capture hết thì hold chuyển sang CAPTURED.
+     */
+    public void capture(BigDecimal captureAmount, Instant now) {
+        requireActive(now);
+        if (captureAmount == null || captureAmount.signum() <= 0) {
+            throw new IllegalArgumentException("Capture amount must be positive");
+        }
+        if (captureAmount.compareTo(getRemainingAmount()) > 0) {
+            throw new IllegalArgumentException("Capture amount exceeds remaining hold amount");
+        }
+        this.capturedAmount = capturedAmount.add(captureAmount);
+        if (capturedAmount.compareTo(amount) == 0) {
+            this.status = HoldStatus.CAPTURED;
+        }
+    }
+
+    /**
+     * @return số tiền được trả lại account
+     */
+    public BigDecimal release(Instant now) {
+        requireActive(now);
+        BigDecimal released = getRemainingAmount();
+        this.status = HoldStatus.RELEASED;
+        return released;
+    }
+
+    /**
+     * Job hết hạn gọi: không kiểm tra expiresAt lần nữa (query đã lọc).
+     *
+     * @return số tiền được trả lại account
+     */
+    public BigDecimal expire() {
+        if (status != HoldStatus.ACTIVE) {
+            throw new IllegalStateException("Hold is already " + status);
+        }
+        BigDecimal released = getRemainingAmount();
+        this.status = HoldStatus.EXPIRED;
+        return released;
+    }
+
+    private void requireActive(Instant now) {
+        if (status != HoldStatus.ACTIVE) {
+            throw new IllegalStateException("Hold is already " + status);
+        }
+        if (isExpiredAt(now)) {
+            throw new IllegalStateException("Hold has expired");
+        }
+    }
+}
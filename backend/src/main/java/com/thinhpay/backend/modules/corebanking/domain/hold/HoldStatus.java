@@ -0,0 +1,8 @@
+package com.thinhpay.backend.modules.corebanking.domain.hold;
+
+public enum HoldStatus {
+    ACTIVE,
+    CAPTURED,
+    RELEASED,
+    EXPIRED
+}
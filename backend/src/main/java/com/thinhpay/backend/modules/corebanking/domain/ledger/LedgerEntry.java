@@ -14,7 +14,9 @@ import java.math.BigDecimal;
 @Entity
 @Table(name = "core_ledger_entries", indexes = {
         @Index(name = "idx_ledger_trx_id", columnList = "transaction_id"),
-        @Index(name = "idx_ledger_account_id", columnList = "account_id")
+        @Index(name = "idx_ledger_account_id", columnList = "account_id, created_at, id"),
+        @Index(name = "idx_ledger_account_seq", columnList = "account_id, seq"),
+        @Index(name = "idx_ledger_seq", columnList = "seq")
 })
 @Getter
 @Setter(AccessLevel.PROTECTED)
@@ -49,6 +51,13 @@ public class LedgerEntry extends BaseEntity {
     @Column(name = "entry_type", nullable = false, length = 10, updatable = false)
     LedgerEntryType type;
 
+    /**
+     * Số thứ tự ghi do DB cấp (sequence core_ledger_entry_seq) - không gửi khi insert, không nạp lại sau insert.
+     * Chỉ đối soát đọc cột này (qua JDBC) làm watermark.
+     */
+    @Column(name = "seq", insertable = false, updatable = false, columnDefinition = "bigserial")
+    Long seq;
+
     // ========== Factory Method ========== //
 
     public static LedgerEntry create(Transaction transaction, Account account, BigDecimal amount,
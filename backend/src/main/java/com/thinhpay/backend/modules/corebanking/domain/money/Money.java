@@ -0,0 +1,255 @@
+package com.thinhpay.backend.modules.corebanking.domain.money;
+
+import com.thinhpay.backend.modules.corebanking.domain.currency.Currency;
+import com.thinhpay.backend.shared.domain.ValueObject;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Số tiền fixed-point: {@code units} đơn vị nhỏ nhất ở {@code scale} chữ số thập phân
+ * (scale lấy từ Currency.decimalPlaces, hoặc LEDGER_SCALE cho các cột NUMERIC(19,4)).
+ *
+ * Cộng / trừ / so sánh chỉ dùng long (không cấp phát BigDecimal), tràn số thì ném ArithmeticException.
+ * Khác scale thì nâng về scale lớn hơn (luôn chính xác). Hạ scale hoặc quy đổi tỉ giá phải chỉ rõ RoundingMode.
+ * equals phân biệt scale (giống BigDecimal), so sánh giá trị thì dùng compareTo.
+ */
+public final class Money implements ValueObject<Money>, Comparable<Money> {
+    /**
+     * Scale của các cột tiền hiện có (NUMERIC(19,4))
+     */
+    public static final int LEDGER_SCALE = 4;
+
+    static final int MAX_SCALE = 18;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_SCALE; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private static final Money[] ZEROS = new Money[MAX_SCALE + 1];
+
+    static {
+        for (int i = 0; i <= MAX_SCALE; i++) {
+            ZEROS[i] = new Money(0, i);
+        }
+    }
+
+    private final long units;
+    private final int scale;
+
+    private Money(long units, int scale) {
+        this.units = units;
+        this.scale = scale;
+    }
+
+    // ========== Factory Method ========== //
+
+    public static Money ofMinor(long units, int scale) {
+        checkScale(scale);
+        return units == 0 ? ZEROS[scale] : new Money(units, scale);
+    }
+
+    public static Money zero(int scale) {
+        checkScale(scale);
+        return ZEROS[scale];
+    }
+
+    /**
+     * @throws IllegalArgumentException nếu amount có nhiều chữ số thập phân hơn scale, hoặc vượt quá long
+     */
+    public static Money of(BigDecimal amount, int scale) {
+        checkScale(scale);
+        if (amount.scale() > scale && amount.stripTrailingZeros().scale() > scale) {
+            throw new IllegalArgumentException("Amount " + amount + " has more than " + scale + " decimal places");
+        }
+        try {
+            return ofMinor(amount.movePointRight(scale).longValueExact(), scale);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + amount + " is out of range", e);
+        }
+    }
+
+    public static Money of(BigDecimal amount, Currency currency) {
+        return of(amount, currency.getDecimalPlaces());
+    }
+
+    /**
+     * Số tiền ở scale của cột NUMERIC(19,4)
+     */
+    public static Money ofLedger(BigDecimal amount) {
+        return of(amount, LEDGER_SCALE);
+    }
+
+    // ========== Arithmetic ========== //
+
+    public Money plus(Money other) {
+        if (scale == other.scale) {
+            return ofMinor(Math.addExact(units, other.units), scale);
+        }
+        int common = Math.max(scale, other.scale);
+        return ofMinor(Math.addExact(unitsAt(common), other.unitsAt(common)), common);
+    }
+
+    public Money minus(Money other) {
+        if (scale == other.scale) {
+            return ofMinor(Math.subtractExact(units, other.units), scale);
+        }
+        int common = Math.max(scale, other.scale);
+        return ofMinor(Math.subtractExact(unitsAt(common), other.unitsAt(common)), common);
+    }
+
+    public Money negate() {
+        return ofMinor(Math.negateExact(units), scale);
+    }
+
+    public Money min(Money other) {
+        return compareTo(other) <= 0 ? this : other;
+    }
+
+    public Money max(Money other) {
+        return compareTo(other) >= 0 ? this : other;
+    }
+
+    /**
+     * Nâng scale (chính xác). Hạ scale thì dùng {@link #rescale(int, RoundingMode)}.
+     */
+    public Money rescale(int newScale) {
+        return rescale(newScale, RoundingMode.UNNECESSARY);
+    }
+
+    public Money rescale(int newScale, RoundingMode rounding) {
+        checkScale(newScale);
+        if (newScale >= scale) {
+            return ofMinor(unitsAt(newScale), newScale);
+        }
+        return ofMinor(divide(units, POWERS_OF_TEN[scale - newScale], rounding), newScale);
+    }
+
+    /**
+     * Quy đổi theo tỉ giá, làm tròn về targetScale (thường là decimalPlaces của tiền đích).
+     * Tích units × rate vừa long thì tính bằng long, ngược lại tính lại bằng BigDecimal - kết quả như nhau.
+     */
+    public Money convert(BigDecimal rate, int targetScale, RoundingMode rounding) {
+        checkScale(targetScale);
+        if (rate.signum() <= 0) {
+            throw new IllegalArgumentException("Exchange rate must be positive");
+        }
+        if (rate.scale() >= 0 && rate.precision() <= MAX_SCALE) {
+            try {
+                long product = Math.multiplyExact(units, rate.unscaledValue().longValue());
+                int productScale = scale + rate.scale();
+                if (productScale <= targetScale) {
+                    return ofMinor(Math.multiplyExact(product, POWERS_OF_TEN[targetScale - productScale]), targetScale);
+                }
+                if (productScale - targetScale <= MAX_SCALE) {
+                    return ofMinor(divide(product, POWERS_OF_TEN[productScale - targetScale], rounding), targetScale);
+                }
+            } catch (ArithmeticException overflow) {
+                // Tính lại bằng BigDecimal bên dưới
+            }
+        }
+        return of(toBigDecimal().multiply(rate).setScale(targetScale, rounding), targetScale);
+    }
+
+    // ========== Comparison ========== //
+
+    @Override
+    public int compareTo(Money other) {
+        if (scale == other.scale) {
+            return Long.compare(units, other.units);
+        }
+        int common = Math.max(scale, other.scale);
+        try {
+            return Long.compare(unitsAt(common), other.unitsAt(common));
+        } catch (ArithmeticException overflow) {
+            // Bên bị nâng scale vượt long: trị tuyệt đối lớn hơn bên kia, dấu quyết định
+            return scale < other.scale ? Long.signum(units) : -Long.signum(other.units);
+        }
+    }
+
+    public int signum() {
+        return Long.signum(units);
+    }
+
+    public boolean isZero() {
+        return units == 0;
+    }
+
+    public boolean isNegative() {
+        return units < 0;
+    }
+
+    // ========== Accessors ========== //
+
+    public long getUnits() {
+        return units;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(units, scale);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof Money money)) return false;
+        return units == money.units && scale == money.scale;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(units) + scale;
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    // ========== Helpers ========== //
+
+    private long unitsAt(int targetScale) {
+        return targetScale == scale ? units : Math.multiplyExact(units, POWERS_OF_TEN[targetScale - scale]);
+    }
+
+    /**
+     * dividend / divisor (divisor > 0) làm tròn theo rounding, không cấp phát
+     */
+    static long divide(long dividend, long divisor, RoundingMode rounding) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        int sign = dividend < 0 ? -1 : 1;
+        boolean increment = switch (rounding) {
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+            case DOWN -> false;
+            case UP -> true;
+            case FLOOR -> sign < 0;
+            case CEILING -> sign > 0;
+            case HALF_UP, HALF_DOWN, HALF_EVEN -> {
+                // |remainder| < divisor <= 10^18 nên nhân 2 không tràn
+                int half = Long.compare(Math.abs(remainder) * 2, divisor);
+                yield half > 0 || (half == 0 && (rounding == RoundingMode.HALF_UP
+                        || (rounding == RoundingMode.HALF_EVEN && (quotient & 1) != 0)));
+            }
+        };
+        return increment ? quotient + sign : quotient;
+    }
+
+    private static void checkScale(int scale) {
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Scale must be between 0 and " + MAX_SCALE);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.thinhpay.backend.modules.corebanking.domain.reconciliation;
+
+public enum MismatchKind {
+    /**
+     * Tổng số dư (balance + shard) khác tổng CREDIT - DEBIT của sổ cái
+     */
+    BALANCE_MISMATCH,
+
+    /**
+     * balance_snapshot của bút toán khác balance_snapshot bút toán trước cộng/trừ amount
+     */
+    BALANCE_SNAPSHOT_CHAIN,
+
+    /**
+     * Transaction COMPLETED không có LedgerEntry
+     */
+    TRANSACTION_ENTRY_MISSING,
+
+    /**
+     * Transaction có nhiều hơn 1 LedgerEntry
+     */
+    TRANSACTION_ENTRY_DUPLICATE,
+
+    /**
+     * LedgerEntry khác Transaction về account, amount hoặc chiều (CREDIT / DEBIT)
+     */
+    TRANSACTION_ENTRY_MISMATCH,
+
+    /**
+     * LedgerEntry không thuộc Transaction nào
+     */
+    LEDGER_ENTRY_ORPHAN,
+
+    /**
+     * TRANSFER_OUT không có TRANSFER_IN với requestId + "-IN" (hoặc ngược lại)
+     */
+    TRANSFER_PAIR_MISSING
+}
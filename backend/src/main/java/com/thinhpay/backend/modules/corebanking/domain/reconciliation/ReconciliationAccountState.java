@@ -0,0 +1,40 @@
+package com.thinhpay.backend.modules.corebanking.domain.reconciliation;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Kết quả đối soát đã cộng dồn của 1 account: tổng CREDIT - DEBIT của mọi bút toán có seq tới lastEntrySeq,
+ * và balance_snapshot của bút toán đó để nối tiếp kiểm tra chuỗi.
+ * Lần incremental sau chỉ đọc bút toán sau vị trí này.
+ */
+@Entity
+@Table(name = "core_reconciliation_account_state")
+@Getter
+@Setter(AccessLevel.PROTECTED)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ReconciliationAccountState {
+
+    @Id
+    @Column(name = "account_id", updatable = false, nullable = false)
+    UUID accountId;
+
+    @Column(name = "ledger_net", nullable = false, precision = 19, scale = 4)
+    BigDecimal ledgerNet;
+
+    @Column(name = "last_entry_seq")
+    Long lastEntrySeq;
+
+    @Column(name = "last_balance_snapshot", precision = 19, scale = 4)
+    BigDecimal lastBalanceSnapshot;
+
+    @Column(name = "updated_at", nullable = false)
+    Instant updatedAt;
+}
@@ -0,0 +1,58 @@
+package com.thinhpay.backend.modules.corebanking.domain.reconciliation;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 1 sai lệch phát hiện bởi lần đối soát runId. Ghi bằng JDBC batch, chỉ đọc qua JPA.
+ */
+@Entity
+@Table(name = "core_reconciliation_mismatches", indexes = {
+        @Index(name = "idx_reconciliation_mismatches_run", columnList = "run_id"),
+        @Index(name = "idx_reconciliation_mismatches_account", columnList = "account_id")
+})
+@Getter
+@Setter(AccessLevel.PROTECTED)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ReconciliationMismatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false, nullable = false)
+    Long id;
+
+    @Column(name = "run_id", nullable = false, updatable = false)
+    Long runId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", nullable = false, length = 40, updatable = false)
+    MismatchKind kind;
+
+    @Column(name = "account_id", updatable = false)
+    UUID accountId;
+
+    @Column(name = "transaction_id", updatable = false)
+    UUID transactionId;
+
+    @Column(name = "ledger_entry_id", updatable = false)
+    UUID ledgerEntryId;
+
+    @Column(name = "expected", precision = 19, scale = 4, updatable = false)
+    BigDecimal expected;
+
+    @Column(name = "actual", precision = 19, scale = 4, updatable = false)
+    BigDecimal actual;
+
+    @Column(name = "detail", columnDefinition = "TEXT", updatable = false)
+    String detail;
+
+    @Column(name = "detected_at", nullable = false, updatable = false)
+    Instant detectedAt;
+}
@@ -0,0 +1,89 @@
+package com.thinhpay.backend.modules.corebanking.domain.reconciliation;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Instant;
+
+/**
+ * 1 lần đối soát sổ cái trên cửa sổ [windowFrom, windowTo).
+ * windowTo (pha transaction) và entrySeqSettled (pha account) của lần COMPLETED gần nhất là checkpoint
+ * của lần incremental kế tiếp.
+ */
+@Entity
+@Table(name = "core_reconciliation_runs")
+@Getter
+@Setter(AccessLevel.PROTECTED)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ReconciliationRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false, nullable = false)
+    Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "mode", nullable = false, length = 20, updatable = false)
+    Mode mode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    Status status;
+
+    @Column(name = "window_from", nullable = false, updatable = false)
+    Instant windowFrom;
+
+    @Column(name = "window_to", nullable = false, updatable = false)
+    Instant windowTo;
+
+    /**
+     * seq lớn nhất đã commit lúc lần chạy bắt đầu
+     */
+    @Column(name = "entry_seq_high", updatable = false)
+    Long entrySeqHigh;
+
+    /**
+     * Mọi bút toán có seq tới giá trị này đã được cộng vào trạng thái account - checkpoint của lần incremental kế tiếp
+     */
+    @Column(name = "entry_seq_settled", updatable = false)
+    Long entrySeqSettled;
+
+    @Column(name = "accounts_checked", nullable = false)
+    long accountsChecked;
+
+    @Column(name = "entries_checked", nullable = false)
+    long entriesChecked;
+
+    @Column(name = "transactions_checked", nullable = false)
+    long transactionsChecked;
+
+    @Column(name = "mismatches", nullable = false)
+    long mismatches;
+
+    @Column(name = "started_at", nullable = false, updatable = false)
+    Instant startedAt;
+
+    @Column(name = "finished_at")
+    Instant finishedAt;
+
+    public enum Mode {
+        /**
+         * Chỉ bút toán / giao dịch từ checkpoint lần trước, account có phát sinh
+         */
+        INCREMENTAL,
+
+        /**
+         * Toàn bộ sổ cái, mọi account, tính lại trạng thái từ đầu
+         */
+        FULL
+    }
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,8 @@
+package com.thinhpay.backend.modules.corebanking.domain.schedule;
+
+public enum ScheduleStatus {
+    ACTIVE,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+}
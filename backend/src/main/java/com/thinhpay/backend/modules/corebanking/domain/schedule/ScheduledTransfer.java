@@ -0,0 +1,232 @@
+package com.thinhpay.backend.modules.corebanking.domain.schedule;
+
+import com.thinhpay.backend.shared.domain.BaseEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.SuperBuilder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Lệnh chuyển tiền định kỳ (lương, thuê bao) hoặc hẹn giờ 1 lần.
+ *
+ * Lần chạy thứ n (occurrence, đếm từ 0) rơi vào startAt + n chu kỳ (UTC, tính từ startAt nên lịch tháng
+ * ngày 31 không bị trôi). Mỗi lần chạy dùng requestId cố định "SCHED-{id}-{occurrence}": unique index của
+ * core_transactions đảm bảo 1 lần chạy không bao giờ trừ tiền 2 lần, kể cả khi lease hết hạn và node khác chạy lại.
+ */
+@Entity
+@Table(name = "core_scheduled_transfers", indexes = {
+        @Index(name = "idx_scheduled_transfers_request_id", columnList = "request_id", unique = true),
+        @Index(name = "idx_scheduled_transfers_due", columnList = "next_run_at"),
+        @Index(name = "idx_scheduled_transfers_sender", columnList = "sender_user_id")
+})
+@Getter
+@Setter(AccessLevel.PROTECTED)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@SuperBuilder
+@ToString(callSuper = true)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ScheduledTransfer extends BaseEntity {
+    public static final String REQUEST_ID_PREFIX = "SCHED-";
+
+    @Size(max = 100)
+    @NotNull
+    @Column(name = "request_id", nullable = false, length = 100, unique = true, updatable = false)
+    String requestId;
+
+    @NotNull
+    @Column(name = "sender_user_id", nullable = false, updatable = false)
+    UUID senderUserId;
+
+    @NotNull
+    @Column(name = "receiver_user_id", nullable = false, updatable = false)
+    UUID receiverUserId;
+
+    @NotNull
+    @Column(name = "currency_code", nullable = false, length = 3, updatable = false)
+    String currencyCode;
+
+    @NotNull
+    @Column(name = "amount", nullable = false, precision = 19, scale = 4, updatable = false)
+    BigDecimal amount;
+
+    @Size(max = 500)
+    @Column(name = "description", length = 500, updatable = false)
+    String description;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "frequency", nullable = false, length = 20, updatable = false)
+    ScheduleFrequency frequency;
+
+    @NotNull
+    @Column(name = "start_at", nullable = false, updatable = false)
+    Instant startAt;
+
+    /**
+     * Không chạy lần nào sau mốc này (null = không giới hạn)
+     */
+    @Column(name = "end_at", updatable = false)
+    Instant endAt;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    @Column(name = "status", nullable = false, length = 20)
+    ScheduleStatus status = ScheduleStatus.ACTIVE;
+
+    /**
+     * Lần chạy đang chờ (đếm từ 0)
+     */
+    @Builder.Default
+    @Column(name = "occurrence", nullable = false)
+    int occurrence = 0;
+
+    /**
+     * Thời điểm lần chạy kế tiếp (hoặc lần thử lại) tới hạn
+     */
+    @NotNull
+    @Column(name = "next_run_at", nullable = false)
+    Instant nextRunAt;
+
+    /**
+     * Số lần đã thử thất bại của occurrence hiện tại
+     */
+    @Builder.Default
+    @Column(name = "attempts", nullable = false)
+    int attempts = 0;
+
+    /**
+     * Node đã claim giữ lệnh tới mốc này; quá hạn (node chết) thì node khác được claim lại
+     */
+    @Column(name = "claimed_until")
+    Instant claimedUntil;
+
+    @Column(name = "last_run_at")
+    Instant lastRunAt;
+
+    @Size(max = 500)
+    @Column(name = "last_error", length = 500)
+    String lastError;
+
+    // ========== Factory Method ========== //
+
+    public static ScheduledTransfer create(String requestId, UUID senderUserId, UUID receiverUserId, String currencyCode,
+                                          BigDecimal amount, String description, ScheduleFrequency frequency,
+                                          Instant startAt, Instant endAt) {
+        if (requestId == null || requestId.isBlank())
+            throw new IllegalArgumentException("Request ID is required");
+        if (senderUserId == null || receiverUserId == null)
+            throw new IllegalArgumentException("Sender and receiver are required");
+        if (senderUserId.equals(receiverUserId))
+            throw new IllegalArgumentException("Sender and receiver must be different");
+        if (amount == null || amount.signum() <= 0)
+            throw new IllegalArgumentException("Amount must be positive");
+        if (frequency == null || startAt == null)
+            throw new IllegalArgumentException("Frequency and start time are required");
+        if (endAt != null && endAt.isBefore(startAt))
+            throw new IllegalArgumentException("End time must not be before start time");
+
+        return ScheduledTransfer.builder()
+                .requestId(requestId)
+                .senderUserId(senderUserId)
+                .receiverUserId(receiverUserId)
+                .currencyCode(currencyCode)
+                .amount(amount)
+                .description(description)
+                .frequency(frequency)
+                .startAt(startAt)
+                .endAt(endAt)
+                .status(ScheduleStatus.ACTIVE)
+                .occurrence(0)
+                .nextRunAt(startAt)
+                .attempts(0)
+                .build();
+    }
+
+    // ========== Domain Methods ========== //
+
+    /**
+     * requestId của giao dịch chuyển tiền cho occurrence cho trước
+     */
+    public String runRequestId(int occurrence) {
+        return REQUEST_ID_PREFIX + getId() + "-" + occurrence;
+    }
+
+    public boolean isActive() {
+        return status == ScheduleStatus.ACTIVE;
+    }
+
+    public void claim(Instant leaseUntil) {
+        this.claimedUntil = leaseUntil;
+    }
+
+    /**
+     * Occurrence hiện tại đã chuyển xong: sang occurrence kế tiếp, hoặc COMPLETED nếu hết lịch.
+     */
+    public void recordSuccess(Instant now) {
+        this.lastRunAt = now;
+        this.lastError = null;
+        advance();
+    }
+
+    /**
+     * Thử lại sau retryDelay; hết maxAttempts thì bỏ qua occurrence này (lệnh 1 lần thì FAILED).
+     */
+    public void recordFailure(String error, Instant now, int maxAttempts, Duration retryDelay) {
+        this.lastRunAt = now;
+        this.lastError = error == null ? null : error.substring(0, Math.min(error.length(), 500));
+        this.attempts++;
+        if (attempts < maxAttempts) {
+            this.nextRunAt = now.plus(retryDelay);
+            this.claimedUntil = null;
+            return;
+        }
+        if (frequency == ScheduleFrequency.ONCE) {
+            this.status = ScheduleStatus.FAILED;
+            this.claimedUntil = null;
+            return;
+        }
+        advance();
+    }
+
+    public void cancel() {
+        if (status != ScheduleStatus.ACTIVE) {
+            throw new IllegalStateException("Scheduled transfer is already " + status);
+        }
+        this.status = ScheduleStatus.CANCELLED;
+        this.claimedUntil = null;
+    }
+
+    /**
+     * Thời điểm của occurrence thứ n
+     */
+    public Instant occurrenceAt(int n) {
+        var start = startAt.atOffset(ZoneOffset.UTC);
+        return switch (frequency) {
+            case ONCE -> startAt;
+            case DAILY -> start.plusDays(n).toInstant();
+            case WEEKLY -> start.plusWeeks(n).toInstant();
+            case MONTHLY -> start.plusMonths(n).toInstant();
+        };
+    }
+
+    private void advance() {
+        this.occurrence++;
+        this.attempts = 0;
+        this.claimedUntil = null;
+        Instant next = occurrenceAt(occurrence);
+        if (frequency == ScheduleFrequency.ONCE || (endAt != null && next.isAfter(endAt))) {
+            this.status = ScheduleStatus.COMPLETED;
+            return;
+        }
+        this.nextRunAt = next;
+    }
+}
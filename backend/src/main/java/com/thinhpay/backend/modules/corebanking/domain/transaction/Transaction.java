@@ -14,7 +14,7 @@ import java.math.BigDecimal;
 @Entity
 @Table(name = "core_transactions", indexes = {
         @Index(name = "idx_trx_request_id", columnList = "request_id", unique = true),
-        @Index(name = "idx_trx_account_id", columnList = "account_id")
+        @Index(name = "idx_trx_account_id", columnList = "account_id, created_at, id")
 })
 @Getter
 @Setter(AccessLevel.PROTECTED)
@@ -84,6 +84,50 @@ public class Transaction extends BaseEntity {
                 .build();
     }
 
+    /**
+     * Chân nhận tiền dùng requestId của lệnh chuyển + hậu tố "-IN" để không đụng unique index.
+     */
+    public static final String TRANSFER_IN_SUFFIX = "-IN";
+
+    public static Transaction createTransferOut(Account account, String requestId, BigDecimal amount, String description) {
+        validateInputs(account, requestId, amount);
+        return Transaction.builder()
+                .account(account)
+                .requestId(requestId)
+                .amount(amount)
+                .type(TransactionType.TRANSFER_OUT)
+                .status(TransactionStatus.PENDING)
+                .description(description)
+                .build();
+    }
+
+    public static Transaction createTransferIn(Account account, String requestId, BigDecimal amount, String description) {
+        validateInputs(account, requestId, amount);
+        return Transaction.builder()
+                .account(account)
+                .requestId(requestId + TRANSFER_IN_SUFFIX)
+                .amount(amount)
+                .type(TransactionType.TRANSFER_IN)
+                .status(TransactionStatus.PENDING)
+                .description(description)
+                .build();
+    }
+
+    /**
+     * Capture 1 phần / toàn bộ authorization hold: trừ tiền thật khỏi balance (tiền đã được giữ trước đó).
+     */
+    public static Transaction createHoldCapture(Account account, String requestId, BigDecimal amount, String description) {
+        validateInputs(account, requestId, amount);
+        return Transaction.builder()
+                .account(account)
+                .requestId(requestId)
+                .amount(amount)
+                .type(TransactionType.HOLD_CAPTURE)
+                .status(TransactionStatus.PENDING)
+                .description(description)
+                .build();
+    }
+
     // ========== Domain Methods ========== //
 
     public void markAsCompleted() {
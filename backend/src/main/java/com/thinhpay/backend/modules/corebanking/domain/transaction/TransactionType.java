@@ -4,5 +4,6 @@ public enum TransactionType {
     DEPOSIT,
     WITHDRAW,
     TRANSFER_IN,
-    TRANSFER_OUT
+    TRANSFER_OUT,
+    HOLD_CAPTURE
 }
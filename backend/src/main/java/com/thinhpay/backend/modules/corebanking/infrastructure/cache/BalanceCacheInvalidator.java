@@ -0,0 +1,39 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.cache;
+
+import com.thinhpay.backend.modules.corebanking.application.service.AccountQueryService;
+import com.thinhpay.backend.modules.corebanking.domain.event.BalanceChangedEvent;
+import com.thinhpay.backend.shared.infrastructure.cache.TwoLevelCacheManager;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Xóa cache số dư của user khi số dư đổi.
+ *
+ * Chạy sau khi transaction commit (đọc lại từ DB sẽ thấy số dư mới); rollback thì không xóa gì.
+ * Với in-memory engine, đó là transaction ghi batch write-behind.
+ * Xóa trực tiếp trên node ghi thay vì chờ outbox relay để số dư mới hiện ra ngay.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class BalanceCacheInvalidator {
+    TwoLevelCacheManager cacheManager;
+
+    @TransactionalEventListener
+    public void onBalanceChanged(BalanceChangedEvent event) {
+        try {
+            cacheManager.evict(AccountQueryService.BALANCE_CACHE,
+                    event.getUserId() + ":" + event.getCurrency(), event.getOccurredAt());
+            cacheManager.evict(AccountQueryService.USER_ACCOUNTS_CACHE,
+                    event.getUserId().toString(), event.getOccurredAt());
+        } catch (RuntimeException e) {
+            // Giao dịch đã commit: không báo lỗi cho caller, cache tự hết hạn theo TTL
+            log.warn("Failed to invalidate balance cache for user {}: {}", event.getUserId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,438 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Core Banking configuration properties.
+ * Maps properties from application.yaml với prefix "thinhpay.core-banking".
+ */
+@Component
+@ConfigurationProperties(prefix = "thinhpay.core-banking")
+@Data
+public class CoreBankingProperties {
+
+    /**
+     * Engine xử lý chuyển/nạp/rút tiền - JPA (mặc định), NATIVE (1 câu SQL / transfer)
+     * hoặc IN_MEMORY (số dư trong RAM, ghi DB write-behind)
+     */
+    private Engine engine = Engine.JPA;
+    private Transfer transfer = new Transfer();
+    private Retry retry = new Retry();
+    private Sharding sharding = new Sharding();
+    private Batch batch = new Batch();
+    private Optimistic optimistic = new Optimistic();
+    private Memory memory = new Memory();
+    private Partitioning partitioning = new Partitioning();
+    private Statement statement = new Statement();
+    private History history = new History();
+    private Snapshot snapshot = new Snapshot();
+    private Reconciliation reconciliation = new Reconciliation();
+    private Exchange exchange = new Exchange();
+    private Holds holds = new Holds();
+    private ScheduledTransfers scheduledTransfers = new ScheduledTransfers();
+
+    @Data
+    public static class Transfer {
+        /**
+         * Cách lock account khi chuyển/nạp/rút tiền - maps from "lock-mode" in YAML
+         */
+        private LockMode lockMode = LockMode.ORDERED;
+    }
+
+    @Data
+    public static class Retry {
+        /**
+         * Số lần thử tối đa (tính cả lần đầu) khi gặp deadlock / serialization failure
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * Backoff của lần retry đầu tiên, nhân đôi sau mỗi lần
+         */
+        private Duration initialBackoff = Duration.ofMillis(20);
+
+        /**
+         * Backoff tối đa giữa 2 lần retry
+         */
+        private Duration maxBackoff = Duration.ofMillis(500);
+    }
+
+    @Data
+    public static class Sharding {
+        /**
+         * Số shard mặc định khi đánh dấu 1 account là hot
+         */
+        private int defaultShardCount = 16;
+
+        /**
+         * Chu kỳ nạp lại danh sách hot account từ DB
+         */
+        private Duration registryRefresh = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Batch {
+        /**
+         * Số transfer tối đa trong 1 lần gọi batch
+         */
+        private int maxItems = 500;
+    }
+
+    @Data
+    public static class Optimistic {
+        /**
+         * ADAPTIVE: tỉ lệ conflict (EWMA) từ ngưỡng này trở lên thì account chuyển sang lock pessimistic
+         */
+        private double conflictRateThreshold = 0.2;
+
+        /**
+         * Số lần ghi tối thiểu trước khi tin vào tỉ lệ conflict của 1 account
+         */
+        private int minSamples = 10;
+
+        /**
+         * Trọng số của lần ghi mới nhất trong EWMA
+         */
+        private double ewmaAlpha = 0.1;
+
+        /**
+         * Account không có giao dịch trong khoảng này thì bị quên thống kê (quay lại optimistic)
+         */
+        private Duration statsTtl = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Memory {
+        /**
+         * Số partition, mỗi partition có 1 thread sequencer sở hữu số dư của các account thuộc nó
+         */
+        private int partitions = 8;
+
+        /**
+         * Số lệnh tối đa chờ trong hàng đợi của 1 partition, đầy thì caller bị chặn (backpressure)
+         */
+        private int queueCapacity = 10_000;
+
+        /**
+         * Thời gian tối đa caller chờ kết quả của 1 lệnh
+         */
+        private Duration requestTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Không bật journal - true: chỉ trả kết quả sau khi Transaction/LedgerEntry đã commit xuống DB (group commit).
+         * false: trả ngay sau khi áp dụng trong RAM, crash trước lần flush kế tiếp sẽ mất bút toán.
+         * Bật journal thì luôn trả kết quả ngay khi bút toán đã nằm trong journal
+         */
+        private boolean awaitPersistence = true;
+
+        /**
+         * Số bút toán tối đa trong 1 lần flush write-behind. Không chờ gom: bút toán dồn lại
+         * trong lúc flush trước đang chạy sẽ đi chung batch kế tiếp
+         */
+        private int writeBatchSize = 500;
+
+        /**
+         * Số requestId gần nhất giữ trong RAM để chặn trùng trước khi chạm DB
+         */
+        private int requestIdCacheSize = 1_000_000;
+
+        private Journal journal = new Journal();
+    }
+
+    @Data
+    public static class Journal {
+        /**
+         * Ghi mỗi bút toán vào journal memory-mapped trước khi báo thành công, replay khi khởi động
+         */
+        private boolean enabled = false;
+
+        private String directory = "data/journal";
+
+        /**
+         * Kích thước 1 file segment, đầy thì mở segment mới
+         */
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        /**
+         * true: force() xuống đĩa (gom nhóm) trước khi báo thành công - an toàn cả khi mất điện.
+         * false: chỉ an toàn khi JVM crash (dữ liệu đã nằm trong page cache)
+         */
+        private boolean fsync = true;
+    }
+
+    @Data
+    public static class Partitioning {
+        /**
+         * Tự tạo trước / tách partition tháng của core_transactions và core_ledger_entries
+         * (chỉ chạy khi bảng đã được partition bởi Liquibase core v5)
+         */
+        private boolean enabled = true;
+
+        /**
+         * Số tháng tới luôn có sẵn partition, tránh dữ liệu mới rơi vào partition default
+         */
+        private int premakeMonths = 3;
+
+        /**
+         * Partition cũ hơn số tháng này bị DETACH khỏi bảng (vẫn giữ thành bảng riêng để lưu trữ).
+         * 0 (mặc định) = không bao giờ tách. Chỉ bật khi chấp nhận mất lịch sử: reconciliation FULL, sao kê,
+         * lịch sử giao dịch và khôi phục số dư của in-memory engine đều chỉ đọc bảng chính.
+         */
+        private int retentionMonths = 0;
+
+        private String maintenanceCron = "0 30 3 * * *";
+    }
+
+    @Data
+    public static class Statement {
+        /**
+         * Số dòng đọc mỗi lần từ cursor khi stream sao kê - giới hạn bộ nhớ của 1 lần export
+         */
+        private int fetchSize = 1000;
+    }
+
+    @Data
+    public static class History {
+        /**
+         * Số giao dịch mỗi trang khi client không truyền limit
+         */
+        private int defaultPageSize = 20;
+
+        private int maxPageSize = 100;
+    }
+
+    @Data
+    public static class Snapshot {
+        /**
+         * Chụp số dư cuối ngày (UTC) của mọi account cho balanceAsOf
+         */
+        private boolean enabled = true;
+
+        /**
+         * Lịch chạy theo giờ UTC, chụp ngày hôm trước. Chạy sau nửa đêm một khoảng để write-behind
+         * của in-memory engine đã ghi xong bút toán cuối ngày
+         */
+        private String cron = "0 15 0 * * *";
+
+        /**
+         * Số account trong 1 câu INSERT ... SELECT
+         */
+        private int chunkSize = 1000;
+
+        /**
+         * Số chunk chạy song song (mỗi chunk giữ 1 connection)
+         */
+        private int parallelism = 4;
+    }
+
+    @Data
+    public static class Reconciliation {
+        /**
+         * Đối soát sổ cái định kỳ (số dư vs bút toán, transaction vs bút toán, cặp chuyển khoản)
+         */
+        private boolean enabled = true;
+
+        /**
+         * Lịch chạy incremental - chỉ kiểm tra phần phát sinh từ checkpoint lần trước
+         */
+        private String cron = "0 5 * * * *";
+
+        /**
+         * Lịch chạy full - kiểm tra lại toàn bộ sổ cái và tính lại trạng thái đối soát
+         */
+        private String fullCron = "0 0 3 * * SUN";
+
+        /**
+         * Số worker của ForkJoinPool (mỗi worker giữ 1 connection khi chạy)
+         */
+        private int parallelism = 4;
+
+        /**
+         * Số account trong 1 task lá
+         */
+        private int chunkSize = 500;
+
+        /**
+         * Bút toán chỉ được chốt vào checkpoint khi seq của nó đã được thấy từ settle-delay trước:
+         * transaction ghi bút toán mở lâu hơn khoảng này mới có thể bị bỏ sót. Cũng là độ trễ cửa sổ pha transaction
+         */
+        private Duration settleDelay = Duration.ofMinutes(5);
+
+        /**
+         * Số bút toán mỗi lần fetch từ cursor
+         */
+        private int fetchSize = 1000;
+
+        /**
+         * Độ dài 1 lát thời gian khi kiểm tra transaction (mỗi lát là 1 task)
+         */
+        private Duration transactionSlice = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class Exchange {
+        /**
+         * Đồng tiền gốc của bảng tỉ giá được tải - tỉ giá các cặp khác suy ra qua đồng này
+         */
+        private String pivotCurrency = "USD";
+
+        /**
+         * Bảng tỉ giá mới hơn ttl là fresh; cũ hơn thì vẫn được dùng (stale) trong khi tải lại nền
+         */
+        private Duration ttl = Duration.ofHours(1);
+
+        /**
+         * Tuổi tối đa của bảng tỉ giá stale còn được dùng (tính từ lúc tải từ API, kể cả bảng nạp
+         * lại từ DB khi khởi động). Quá tuổi này thì request phải chờ tải bảng mới
+         */
+        private Duration maxStaleAge = Duration.ofHours(24);
+
+        /**
+         * Chu kỳ làm mới nền, phải ngắn hơn ttl để bảng được thay trước khi hết hạn
+         */
+        private Duration refreshInterval = Duration.ofMinutes(10);
+
+        /**
+         * Số lần gọi API tỉ giá lỗi liên tiếp thì ngắt (circuit open)
+         */
+        private int circuitFailureThreshold = 5;
+
+        /**
+         * Thời gian ngắt trước khi cho 1 lời gọi thử
+         */
+        private Duration circuitOpenDuration = Duration.ofSeconds(30);
+
+        /**
+         * Làm mới nền (và tải sẵn bảng pivot khi khởi động)
+         */
+        private boolean refreshEnabled = true;
+
+        /**
+         * Thời gian hiệu lực của 1 FX quote (tỉ giá đã chốt cho transfer)
+         */
+        private Duration quoteTtl = Duration.ofSeconds(30);
+
+        /**
+         * Quote hết hạn quá khoảng này thì bị xóa
+         */
+        private Duration quoteRetention = Duration.ofDays(1);
+
+        private Duration quotePurgeInterval = Duration.ofHours(1);
+    }
+
+    @Data
+    public static class Holds {
+        /**
+         * Thời hạn của hold khi request không gửi expiresIn
+         */
+        private Duration defaultTtl = Duration.ofDays(7);
+
+        /**
+         * expiresIn tối đa client được xin
+         */
+        private Duration maxTtl = Duration.ofDays(30);
+
+        /**
+         * Bật job trả lại hold hết hạn
+         */
+        private boolean expiryEnabled = true;
+
+        /**
+         * Chu kỳ chạy job hết hạn
+         */
+        private Duration expiryInterval = Duration.ofMinutes(1);
+
+        /**
+         * Số hold tối đa trong 1 batch (1 transaction)
+         */
+        private int expiryBatchSize = 500;
+
+        /**
+         * Số batch tối đa mỗi lần chạy, phần còn lại để lần sau
+         */
+        private int expiryMaxBatchesPerRun = 20;
+    }
+
+    @Data
+    public static class ScheduledTransfers {
+        /**
+         * Bật lịch quét lệnh chuyển tiền định kỳ tới hạn
+         */
+        private boolean enabled = true;
+
+        private Duration pollInterval = Duration.ofSeconds(10);
+
+        /**
+         * Số lệnh claim trong 1 batch
+         */
+        private int batchSize = 500;
+
+        /**
+         * Số batch tối đa mỗi lần quét, phần còn lại để lần sau (hoặc node khác)
+         */
+        private int maxBatchesPerPoll = 20;
+
+        /**
+         * Số luồng chạy transfer song song mỗi node - phải nhỏ hơn pool connection DB
+         */
+        private int parallelism = 8;
+
+        /**
+         * Node claim giữ lệnh trong khoảng này; quá hạn thì node khác được claim lại
+         */
+        private Duration lease = Duration.ofMinutes(5);
+
+        /**
+         * Số lần thử 1 lần chạy lỗi (không đủ số dư...) trước khi bỏ qua lần đó
+         */
+        private int maxAttempts = 3;
+
+        private Duration retryDelay = Duration.ofMinutes(15);
+    }
+
+    public enum LockMode {
+        /**
+         * Lock sender rồi receiver bằng 2 câu SELECT FOR UPDATE riêng (legacy, dễ deadlock A->B / B->A)
+         */
+        SEQUENTIAL,
+
+        /**
+         * Lock tất cả account trong 1 câu SELECT ... ORDER BY id FOR UPDATE
+         */
+        ORDERED,
+
+        /**
+         * Đọc không lock, UPDATE có điều kiện theo @Version, conflict thì retry
+         */
+        OPTIMISTIC,
+
+        /**
+         * Như OPTIMISTIC, nhưng account có tỉ lệ conflict cao được lock pessimistic
+         */
+        ADAPTIVE
+    }
+
+    public enum Engine {
+        /**
+         * Hibernate: lock, debit/credit trên entity, insert Transaction + LedgerEntry
+         */
+        JPA,
+
+        /**
+         * Toàn bộ bút toán kép trong 1 câu SQL (data-modifying CTE), 1 round-trip tới Postgres
+         */
+        NATIVE,
+
+        /**
+         * Số dư giữ trong RAM, mỗi partition 1 thread ghi tuần tự không lock;
+         * Transaction + LedgerEntry được ghi xuống Postgres theo batch (write-behind)
+         */
+        IN_MEMORY
+    }
+
+}
@@ -0,0 +1,230 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.external;
+
+import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRate;
+import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRateException;
+import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRateService;
+import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRateSnapshot;
+import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRateTable;
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.ExchangeRateSnapshotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Tỉ giá từ bảng tỉ giá đầy đủ của pivot-currency, cache trong bộ nhớ (stale-while-revalidate).
+ *
+ * 1 lần tải bảng pivot là đủ mọi cặp (tỉ giá chốt chéo), thay vì 1 lần gọi API / cache riêng cho từng cặp.
+ * <ul>
+ *   <li>Bảng mới hơn ttl: dùng ngay.</li>
+ *   <li>Cũ hơn ttl nhưng chưa quá max-stale-age: vẫn dùng, đồng thời tải lại nền.</li>
+ *   <li>Chưa có hoặc quá max-stale-age: request chờ tải; các request đồng thời cùng chờ 1 lần tải (single-flight).</li>
+ * </ul>
+ * Bảng được làm mới nền theo refresh-interval và lưu vào core_exchange_rate_snapshots; khi khởi động
+ * bảng đã lưu được nạp lại, nên sau deploy hoặc khi API tỉ giá lỗi vẫn có tỉ giá trong max-stale-age.
+ */
+@Service
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class CachedExchangeRateService implements ExchangeRateService {
+    ExchangeRateApiClient apiClient;
+    ExchangeRateSnapshotRepository snapshotRepository;
+    CoreBankingProperties properties;
+    Executor revalidationExecutor;
+    MeterRegistry meterRegistry;
+    Clock clock;
+    ConcurrentMap<String, ExchangeRateTable> tables = new ConcurrentHashMap<>();
+    ConcurrentMap<String, CompletableFuture<ExchangeRateTable>> inFlight = new ConcurrentHashMap<>();
+    Counter freshCounter;
+    Counter staleCounter;
+    Counter refreshFailureCounter;
+
+    @Autowired
+    public CachedExchangeRateService(ExchangeRateApiClient apiClient,
+                                     ExchangeRateSnapshotRepository snapshotRepository,
+                                     CoreBankingProperties properties,
+                                     @Qualifier("taskExecutor") Executor revalidationExecutor,
+                                     MeterRegistry meterRegistry) {
+        this(apiClient, snapshotRepository, properties, revalidationExecutor, meterRegistry, Clock.systemUTC());
+    }
+
+    CachedExchangeRateService(ExchangeRateApiClient apiClient,
+                              ExchangeRateSnapshotRepository snapshotRepository,
+                              CoreBankingProperties properties,
+                              Executor revalidationExecutor,
+                              MeterRegistry meterRegistry,
+                              Clock clock) {
+        this.apiClient = apiClient;
+        this.snapshotRepository = snapshotRepository;
+        this.properties = properties;
+        this.revalidationExecutor = revalidationExecutor;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.freshCounter = meterRegistry.counter("corebanking.exchange.rate.served", "freshness", "fresh");
+        this.staleCounter = meterRegistry.counter("corebanking.exchange.rate.served", "freshness", "stale");
+        this.refreshFailureCounter = meterRegistry.counter("corebanking.exchange.rate.refresh.failures");
+    }
+
+    @Override
+    public BigDecimal convert(BigDecimal amount, String fromCurrency, String toCurrency) {
+        if (fromCurrency.equals(toCurrency)) {
+            return amount;
+        }
+
+        return getRate(fromCurrency, toCurrency).convert(amount);
+    }
+
+    @Override
+    public ExchangeRate getRate(String fromCurrency, String toCurrency) {
+        return table(properties.getExchange().getPivotCurrency()).rate(fromCurrency, toCurrency);
+    }
+
+    /**
+     * Nạp bảng tỉ giá đã lưu để request đầu tiên sau khởi động không phải chờ API
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadSnapshots() {
+        try {
+            for (ExchangeRateSnapshot snapshot : snapshotRepository.findAll()) {
+                ExchangeRateTable table = snapshot.toTable();
+                tables.merge(table.getBase(), table,
+                        (current, stored) -> current.getFetchedAt().isAfter(stored.getFetchedAt()) ? current : stored);
+                registerAgeGauge(table.getBase());
+                log.info("Loaded exchange rate table {} fetched at {}", table.getBase(), table.getFetchedAt());
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not load stored exchange rate tables: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Refresh-ahead: tải lại các bảng đang cache (và bảng pivot nếu chưa có) trước khi hết ttl.
+     * Lỗi thì giữ bảng cũ (vẫn dùng được tới max-stale-age).
+     */
+    @Scheduled(fixedDelayString = "${thinhpay.core-banking.exchange.refresh-interval:PT10M}")
+    public void refreshTables() {
+        if (!properties.getExchange().isRefreshEnabled()) {
+            return;
+        }
+        Set<String> bases = new HashSet<>(tables.keySet());
+        bases.add(properties.getExchange().getPivotCurrency());
+        for (String base : bases) {
+            try {
+                await(load(base, Runnable::run));
+            } catch (ExchangeRateException e) {
+                // Đã log trong fetchAndStore
+            }
+        }
+    }
+
+    private ExchangeRateTable table(String base) {
+        CoreBankingProperties.Exchange exchange = properties.getExchange();
+        ExchangeRateTable table = tables.get(base);
+        if (table != null) {
+            Duration age = ageOf(table);
+            if (age.compareTo(exchange.getTtl()) <= 0) {
+                freshCounter.increment();
+                return table;
+            }
+            if (age.compareTo(exchange.getMaxStaleAge()) <= 0) {
+                staleCounter.increment();
+                load(base, revalidationExecutor);
+                return table;
+            }
+        }
+        return await(load(base, Runnable::run));
+    }
+
+    /**
+     * Single-flight: chỉ 1 lần tải / base tại 1 thời điểm, các caller khác nhận cùng future
+     */
+    private CompletableFuture<ExchangeRateTable> load(String base, Executor executor) {
+        CompletableFuture<ExchangeRateTable> flight = new CompletableFuture<>();
+        CompletableFuture<ExchangeRateTable> existing = inFlight.putIfAbsent(base, flight);
+        if (existing != null) {
+            return existing;
+        }
+        Runnable task = () -> {
+            try {
+                flight.complete(fetchAndStore(base));
+            } catch (RuntimeException e) {
+                flight.completeExceptionally(e);
+            } finally {
+                inFlight.remove(base, flight);
+            }
+        };
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(base, flight);
+            flight.completeExceptionally(ExchangeRateException.apiError("Revalidation rejected", e));
+        }
+        return flight;
+    }
+
+    private ExchangeRateTable fetchAndStore(String base) {
+        ExchangeRateTable table;
+        try {
+            table = apiClient.fetchTable(base);
+        } catch (ExchangeRateException e) {
+            refreshFailureCounter.increment();
+            log.warn("Fetching exchange rate table {} failed: {}", base, e.getMessage());
+            throw e;
+        }
+        tables.put(base, table);
+        registerAgeGauge(base);
+        try {
+            snapshotRepository.save(ExchangeRateSnapshot.of(table));
+        } catch (DataAccessException e) {
+            log.warn("Could not store exchange rate table {}: {}", base, e.getMessage());
+        }
+        return table;
+    }
+
+    private void registerAgeGauge(String base) {
+        Gauge.builder("corebanking.exchange.rate.age", tables, cached -> {
+                    ExchangeRateTable table = cached.get(base);
+                    return table != null ? ageOf(table).toMillis() / 1000.0 : Double.NaN;
+                })
+                .tag("base", base)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    private Duration ageOf(ExchangeRateTable table) {
+        return Duration.between(table.getFetchedAt(), clock.instant());
+    }
+
+    private static ExchangeRateTable await(CompletableFuture<ExchangeRateTable> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
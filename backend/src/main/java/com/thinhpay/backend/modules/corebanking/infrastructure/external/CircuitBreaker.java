@@ -0,0 +1,74 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.external;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Circuit breaker tối giản cho lời gọi ra hệ thống ngoài.
+ *
+ * CLOSED: cho qua, failure-threshold lần lỗi liên tiếp thì chuyển OPEN.
+ * OPEN: từ chối ngay (không tốn timeout + retry) trong open-duration, sau đó HALF_OPEN.
+ * HALF_OPEN: cho đúng 1 lời gọi thử - thành công thì CLOSED, lỗi thì OPEN lại.
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * @return false nếu lời gọi bị từ chối (OPEN, hoặc HALF_OPEN đang có lời gọi thử)
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration))) {
+            state = State.HALF_OPEN;
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialInFlight) {
+                    yield false;
+                }
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.instant();
+        }
+        trialInFlight = false;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+}
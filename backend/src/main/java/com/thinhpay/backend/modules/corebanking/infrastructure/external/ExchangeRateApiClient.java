@@ -1,50 +1,67 @@
 package com.thinhpay.backend.modules.corebanking.infrastructure.external;
 
-import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRate;
 import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRateException;
-import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRateService;
+import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRateTable;
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.stereotype.Service;
+import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
 import java.math.BigDecimal;
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
 
-@Service
+/**
+ * Tải bảng tỉ giá latest/{base} từ exchangerate-api.com (blocking, có retry), qua circuit breaker:
+ * API lỗi liên tiếp thì các lời gọi sau bị từ chối ngay thay vì chờ timeout.
+ * Chỉ được gọi bởi CachedExchangeRateService - không gọi trực tiếp trên luồng xử lý giao dịch.
+ */
+@Component
 @Slf4j
 @FieldDefaults(level = AccessLevel.PRIVATE)
-public class ExchangeRateApiClient implements ExchangeRateService {
+public class ExchangeRateApiClient {
     static final String API_URL = "https://api.exchangerate-api.com/v4/latest/";
     final WebClient webClient;
+    final CircuitBreaker circuitBreaker;
 
-    public ExchangeRateApiClient(WebClient.Builder webClientBuilder) {
+    public ExchangeRateApiClient(WebClient.Builder webClientBuilder, CoreBankingProperties properties,
+                                 MeterRegistry meterRegistry) {
         this.webClient = webClientBuilder.baseUrl(API_URL).build();
+        this.circuitBreaker = new CircuitBreaker(
+                properties.getExchange().getCircuitFailureThreshold(),
+                properties.getExchange().getCircuitOpenDuration(),
+                Clock.systemUTC());
+        meterRegistry.gauge("corebanking.exchange.circuit.state", circuitBreaker, breaker -> breaker.state().ordinal());
     }
 
-    @Override
-    public BigDecimal convert(BigDecimal amount, String fromCurrency, String toCurrency) {
-        if (fromCurrency.equals(toCurrency)) {
-            return amount;
+    public ExchangeRateTable fetchTable(String baseCurrency) {
+        if (!circuitBreaker.tryAcquire()) {
+            throw ExchangeRateException.circuitOpen();
+        }
+        try {
+            ExchangeRateTable table = doFetchTable(baseCurrency);
+            circuitBreaker.onSuccess();
+            return table;
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            throw e;
         }
-
-        return getRate(fromCurrency, toCurrency).convert(amount);
     }
 
-    @Override
-    @Cacheable(value = "exchangeRates", key = "#fromCurrency + '_' + #toCurrency", unless = "#result == null")
-    public ExchangeRate getRate(String fromCurrency, String toCurrency) {
-        log.info("Getting exchange rate from {} to {}", fromCurrency, toCurrency);
+    private ExchangeRateTable doFetchTable(String baseCurrency) {
+        log.info("Fetching exchange rate table for {}", baseCurrency);
 
         try{
             ExchangeRateResponse response = webClient.get()
-                    .uri(fromCurrency)
+                    .uri(baseCurrency)
                     .retrieve()
                     .onStatus(
                             status -> !status.is2xxSuccessful(),
@@ -60,18 +77,13 @@ public class ExchangeRateApiClient implements ExchangeRateService {
                 throw ExchangeRateException.apiError("Invalid response from API", null);
             }
 
-            BigDecimal rate = response.getRates().get(toCurrency);
-
-            if(rate == null){
-                throw ExchangeRateException.currencyNotSupported(toCurrency);
-            }
-
-            log.info("Exchange rate retrieved: 1 {} = {} {}", fromCurrency, rate, toCurrency);
-            return ExchangeRate.of(fromCurrency, toCurrency, rate);
+            ExchangeRateTable table = ExchangeRateTable.of(baseCurrency, response.getRates(), Instant.now());
+            log.info("Exchange rate table retrieved: {} currencies against {}", table.getRates().size(), baseCurrency);
+            return table;
         } catch(ExchangeRateException e) {
             throw e;
         } catch(Exception e){
-            log.error("Failed to get exchange rate from {} to {}", fromCurrency, toCurrency, e);
+            log.error("Failed to fetch exchange rate table for {}", baseCurrency, e);
             throw ExchangeRateException.apiError(e.getMessage(), e);
         }
     }
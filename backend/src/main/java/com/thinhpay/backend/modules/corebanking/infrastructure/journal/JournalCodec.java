@@ -0,0 +1,112 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.journal;
+
+import com.thinhpay.backend.modules.corebanking.domain.ledger.LedgerEntryType;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionType;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.LedgerPosting;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * Định dạng 1 record trong segment:
+ * <pre>
+ * int  length   (số byte của body, 0 = hết dữ liệu trong segment)
+ * int  crc32c   (của body)
+ * body: long sequence + các field của LedgerPosting
+ * </pre>
+ * Enum được ghi theo tên để đổi thứ tự khai báo không làm hỏng journal cũ.
+ */
+final class JournalCodec {
+    static final int HEADER_BYTES = Integer.BYTES * 2;
+
+    private JournalCodec() {
+    }
+
+    static void encodeBody(long sequence, LedgerPosting posting, ByteBuffer body) {
+        body.putLong(sequence);
+        putUuid(body, posting.transactionId());
+        putUuid(body, posting.ledgerEntryId());
+        putUuid(body, posting.accountId());
+        putString(body, posting.requestId());
+        putDecimal(body, posting.amount());
+        putString(body, posting.transactionType().name());
+        putString(body, posting.entryType().name());
+        putDecimal(body, posting.balanceAfter());
+        putString(body, posting.description());
+        body.putLong(posting.postedAt().getEpochSecond());
+        body.putInt(posting.postedAt().getNano());
+    }
+
+    static JournalRecord decodeBody(ByteBuffer body) {
+        long sequence = body.getLong();
+        LedgerPosting posting = new LedgerPosting(
+                getUuid(body),
+                getUuid(body),
+                getUuid(body),
+                getString(body),
+                getDecimal(body),
+                TransactionType.valueOf(getString(body)),
+                LedgerEntryType.valueOf(getString(body)),
+                getDecimal(body),
+                getString(body),
+                Instant.ofEpochSecond(body.getLong(), body.getInt()));
+        return new JournalRecord(sequence, posting);
+    }
+
+    static int checksum(ByteBuffer body) {
+        CRC32C crc = new CRC32C();
+        crc.update(body.duplicate());
+        return (int) crc.getValue();
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID value) {
+        buffer.putLong(value.getMostSignificantBits());
+        buffer.putLong(value.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * null được ghi với độ dài -1.
+     */
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putDecimal(ByteBuffer buffer, BigDecimal value) {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        buffer.putInt(value.scale());
+        buffer.putInt(unscaled.length);
+        buffer.put(unscaled);
+    }
+
+    private static BigDecimal getDecimal(ByteBuffer buffer) {
+        int scale = buffer.getInt();
+        byte[] unscaled = new byte[buffer.getInt()];
+        buffer.get(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+}
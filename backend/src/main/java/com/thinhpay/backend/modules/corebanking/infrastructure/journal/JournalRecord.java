@@ -0,0 +1,9 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.journal;
+
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.LedgerPosting;
+
+/**
+ * 1 bút toán đọc lại từ journal, sequence tăng liên tục từ 1 qua mọi segment.
+ */
+public record JournalRecord(long sequence, LedgerPosting posting) {
+}
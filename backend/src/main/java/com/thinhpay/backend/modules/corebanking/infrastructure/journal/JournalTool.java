@@ -0,0 +1,112 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.journal;
+
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.LedgerPosting;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.LedgerWriteBehindRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Công cụ dòng lệnh cho journal của in-memory engine, chạy khi ứng dụng đã dừng:
+ * <pre>
+ * verify &lt;dir&gt;                             kiểm tra checksum và tính liên tục của sequence
+ * dump   &lt;dir&gt; [fromSequence]              in từng record
+ * replay &lt;dir&gt; &lt;jdbcUrl&gt; &lt;user&gt; &lt;password&gt; ghi các record sau checkpoint xuống DB
+ * </pre>
+ * replay idempotent theo id nên chạy lại nhiều lần không sao; checkpoint không bị thay đổi,
+ * lần khởi động kế tiếp của engine sẽ replay lại (không ghi thêm gì) và dọn segment.
+ *
+ * Ví dụ: java -cp app.jar -Dloader.main=com.thinhpay.backend.modules.corebanking.infrastructure.journal.JournalTool \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher verify data/journal
+ */
+public final class JournalTool {
+    private static final int REPLAY_BATCH_SIZE = 500;
+
+    private JournalTool() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            usage();
+            return;
+        }
+        Path directory = Path.of(args[1]);
+        switch (args[0]) {
+            case "verify" -> verify(directory);
+            case "dump" -> dump(directory, args.length > 2 ? Long.parseLong(args[2]) : 1);
+            case "replay" -> {
+                if (args.length < 5) {
+                    usage();
+                    return;
+                }
+                replay(directory, args[2], args[3], args[4]);
+            }
+            default -> usage();
+        }
+    }
+
+    private static void verify(Path directory) throws IOException {
+        long checkpoint = PostingJournal.readCheckpoint(directory);
+        long[] range = {0, 0};
+        PostingJournal.ScanResult result = PostingJournal.scan(directory, record -> {
+            if (range[0] == 0) {
+                range[0] = record.sequence();
+            }
+            range[1] = record.sequence();
+        });
+        System.out.printf("records=%d first=%d last=%d checkpoint=%d pending=%d%n",
+                result.records(), range[0], range[1], checkpoint, Math.max(0, range[1] - checkpoint));
+        result.problems().forEach(problem -> System.out.println("PROBLEM " + problem));
+    }
+
+    private static void dump(Path directory, long fromSequence) throws IOException {
+        PostingJournal.scan(directory, record -> {
+            if (record.sequence() < fromSequence) {
+                return;
+            }
+            LedgerPosting p = record.posting();
+            System.out.printf("%d %s %s %s %s %s %s balance=%s tx=%s%n",
+                    record.sequence(), p.postedAt(), p.requestId(), p.accountId(), p.entryType(),
+                    p.transactionType(), p.amount().toPlainString(), p.balanceAfter().toPlainString(),
+                    p.transactionId());
+        }).problems().forEach(problem -> System.out.println("PROBLEM " + problem));
+    }
+
+    private static void replay(Path directory, String jdbcUrl, String user, String password) throws IOException {
+        long checkpoint = PostingJournal.readCheckpoint(directory);
+        LedgerWriteBehindRepository repository = new LedgerWriteBehindRepository(
+                new JdbcTemplate(new DriverManagerDataSource(jdbcUrl, user, password)));
+
+        List<LedgerPosting> batch = new ArrayList<>(REPLAY_BATCH_SIZE);
+        long[] replayed = {0};
+        PostingJournal.ScanResult result = PostingJournal.scan(directory, record -> {
+            if (record.sequence() <= checkpoint) {
+                return;
+            }
+            batch.add(record.posting());
+            if (batch.size() == REPLAY_BATCH_SIZE) {
+                repository.persist(batch);
+                replayed[0] += batch.size();
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            repository.persist(batch);
+            replayed[0] += batch.size();
+        }
+        System.out.printf("replayed=%d after checkpoint=%d%n", replayed[0], checkpoint);
+        result.problems().forEach(problem -> System.out.println("PROBLEM " + problem));
+    }
+
+    private static void usage() {
+        System.out.println("""
+                Usage:
+                  verify <dir>
+                  dump   <dir> [fromSequence]
+                  replay <dir> <jdbcUrl> <user> <password>""");
+    }
+}
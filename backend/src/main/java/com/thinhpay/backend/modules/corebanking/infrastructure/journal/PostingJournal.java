@@ -0,0 +1,351 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.journal;
+
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.LedgerPosting;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Journal append-only trên file memory-mapped: mỗi bút toán được ghi vào đây trước khi
+ * báo thành công cho caller, sau đó mới được ghi xuống Postgres (write-behind).
+ *
+ * - Segment: file kích thước cố định tên theo sequence đầu tiên ({@code 00000000000000000001.journal}),
+ *   đầy thì mở segment mới. Segment mà mọi record đã xuống DB (≤ checkpoint) bị xóa.
+ * - Checksum: CRC32C trên từng record. Khi đọc, record hỏng (ghi dở lúc crash) đánh dấu hết segment.
+ * - Checkpoint: sequence cuối cùng đã commit xuống DB, lưu trong file {@code checkpoint}.
+ *   Lưu trễ chỉ làm replay lặp lại vài bút toán - replay idempotent theo id.
+ * - fsync: ghi vào mmap đã an toàn khi JVM crash (page cache). Bật fsync để an toàn cả khi mất điện:
+ *   1 thread gom các record mới và force() 1 lần cho cả nhóm (group commit).
+ *
+ * Mỗi lần mở luôn bắt đầu segment mới, không ghi tiếp vào đuôi có thể đang hỏng của lần chạy trước.
+ */
+@Slf4j
+public final class PostingJournal implements Closeable {
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final boolean fsync;
+    private final MappedByteBuffer checkpointBuffer;
+    private final List<JournalRecord> pendingRecords;
+    private final Deque<Segment> closedSegments = new ConcurrentLinkedDeque<>();
+    private final ByteBuffer bodyBuffer = ByteBuffer.allocate(MAX_BODY_BYTES);
+
+    // Các field dưới đây được bảo vệ bởi lock của journal (synchronized)
+    private Segment current;
+    private long lastSequence;
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+
+    private final Object syncSignal = new Object();
+    private final Thread syncThread;
+    private volatile long appendedSequence;
+    private volatile boolean open = true;
+
+    private PostingJournal(Path directory, long segmentSize, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+
+        try (FileChannel channel = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            this.checkpointBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES);
+        }
+
+        long checkpoint = checkpoint();
+        List<JournalRecord> pending = new ArrayList<>();
+        long last = checkpoint;
+        for (Path segment : listSegments(directory)) {
+            long[] segmentLast = {firstSequenceOf(segment) - 1};
+            ScanResult scan = scanSegment(segment, record -> {
+                segmentLast[0] = record.sequence();
+                if (record.sequence() > checkpoint) {
+                    pending.add(record);
+                }
+            });
+            scan.problems().forEach(problem -> log.warn("Journal {}: {}", segment.getFileName(), problem));
+            last = Math.max(last, segmentLast[0]);
+            closedSegments.add(new Segment(segment, firstSequenceOf(segment), segmentLast[0], null));
+        }
+        // Segment mang tên last + 1 không chứa record hợp lệ nào: dùng lại làm segment hiện tại
+        long nextSequence = last + 1;
+        closedSegments.removeIf(segment -> segment.firstSequence() == nextSequence);
+        this.pendingRecords = List.copyOf(pending);
+        long lastRecovered = last;
+        this.lastSequence = last;
+        this.appendedSequence = last;
+        this.current = createSegment(nextSequence);
+
+        this.syncThread = Thread.ofPlatform()
+                .name("corebanking-journal-sync")
+                .daemon(true)
+                .unstarted(() -> syncLoop(lastRecovered));
+        if (fsync) {
+            syncThread.start();
+        }
+    }
+
+    public static PostingJournal open(Path directory, long segmentSize, boolean fsync) throws IOException {
+        return new PostingJournal(directory, segmentSize, fsync);
+    }
+
+    /**
+     * Record của lần chạy trước chưa kịp xuống DB (sequence > checkpoint), theo thứ tự ghi.
+     */
+    public List<JournalRecord> pendingRecords() {
+        return pendingRecords;
+    }
+
+    /**
+     * @return sequence của record và future hoàn thành khi record đã bền vững (đã force() nếu bật fsync)
+     */
+    public synchronized Appended append(LedgerPosting posting) {
+        long sequence = lastSequence + 1;
+        bodyBuffer.clear();
+        JournalCodec.encodeBody(sequence, posting, bodyBuffer);
+        bodyBuffer.flip();
+
+        int recordBytes = JournalCodec.HEADER_BYTES + bodyBuffer.remaining();
+        // Chừa 4 byte cho length = 0 đánh dấu hết segment
+        if (current.buffer().remaining() < recordBytes + Integer.BYTES) {
+            roll(sequence);
+            if (current.buffer().remaining() < recordBytes + Integer.BYTES) {
+                throw new IllegalArgumentException("Journal record of " + recordBytes + " bytes exceeds segment size");
+            }
+        }
+
+        MappedByteBuffer buffer = current.buffer();
+        buffer.putInt(bodyBuffer.remaining());
+        buffer.putInt(JournalCodec.checksum(bodyBuffer));
+        buffer.put(bodyBuffer);
+        lastSequence = sequence;
+        appendedSequence = sequence;
+
+        if (!fsync) {
+            return new Appended(sequence, CompletableFuture.completedFuture(null));
+        }
+        CompletableFuture<Void> durable = new CompletableFuture<>();
+        waiters.addLast(new Waiter(sequence, durable));
+        synchronized (syncSignal) {
+            syncSignal.notifyAll();
+        }
+        return new Appended(sequence, durable);
+    }
+
+    /**
+     * Gọi sau khi mọi record ≤ sequence đã commit xuống DB; xóa các segment không còn cần.
+     */
+    public void checkpoint(long sequence) {
+        if (sequence > checkpoint()) {
+            checkpointBuffer.putLong(0, sequence);
+        }
+        while (true) {
+            Segment oldest = closedSegments.peekFirst();
+            if (oldest == null || oldest.lastSequence() > sequence) {
+                break;
+            }
+            closedSegments.pollFirst();
+            try {
+                Files.deleteIfExists(oldest.path());
+            } catch (IOException e) {
+                log.warn("Could not delete journal segment {}: {}", oldest.path(), e.getMessage());
+            }
+        }
+    }
+
+    public long checkpoint() {
+        return checkpointBuffer.getLong(0);
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    @Override
+    public void close() {
+        open = false;
+        synchronized (syncSignal) {
+            syncSignal.notifyAll();
+        }
+        if (fsync) {
+            try {
+                syncThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            current.buffer().force();
+            checkpointBuffer.force();
+        }
+    }
+
+    private void roll(long nextSequence) {
+        current.buffer().force();
+        closedSegments.addLast(new Segment(current.path(), current.firstSequence(), nextSequence - 1, null));
+        current = createSegment(nextSequence);
+        log.debug("Journal rolled to segment {}", current.path().getFileName());
+    }
+
+    /**
+     * File trùng tên (nếu có) được ghi đè: mọi record hợp lệ đều có sequence < firstSequence.
+     */
+    private Segment createSegment(long firstSequence) {
+        Path path = directory.resolve("%020d%s".formatted(firstSequence, SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new Segment(path, firstSequence, firstSequence - 1,
+                    channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create journal segment " + path, e);
+        }
+    }
+
+    /**
+     * Group commit: force() 1 lần cho tất cả record ghi từ lần force trước, rồi báo cho các caller đang chờ.
+     */
+    private void syncLoop(long initialSequence) {
+        long synced = initialSequence;
+        while (true) {
+            synchronized (syncSignal) {
+                while (open && appendedSequence <= synced) {
+                    try {
+                        syncSignal.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+
+            MappedByteBuffer buffer;
+            long target;
+            synchronized (this) {
+                if (!open && waiters.isEmpty()) {
+                    return;
+                }
+                buffer = current.buffer();
+                target = lastSequence;
+            }
+            // Segment cũ đã được force() khi roll, chỉ cần force segment hiện tại
+            buffer.force();
+            synced = target;
+
+            List<Waiter> done = new ArrayList<>();
+            synchronized (this) {
+                while (!waiters.isEmpty() && waiters.peekFirst().sequence() <= target) {
+                    done.add(waiters.pollFirst());
+                }
+            }
+            done.forEach(waiter -> waiter.durable().complete(null));
+        }
+    }
+
+    // ========== Đọc journal (replay, JournalTool) ========== //
+
+    /**
+     * Đọc lần lượt mọi record hợp lệ trong thư mục journal.
+     */
+    public static ScanResult scan(Path directory, Consumer<JournalRecord> consumer) throws IOException {
+        List<String> problems = new ArrayList<>();
+        long count = 0;
+        for (Path segment : listSegments(directory)) {
+            ScanResult result = scanSegment(segment, consumer);
+            count += result.records();
+            result.problems().forEach(problem -> problems.add(segment.getFileName() + ": " + problem));
+        }
+        return new ScanResult(count, problems);
+    }
+
+    public static long readCheckpoint(Path directory) throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        return bytes.length < Long.BYTES ? 0 : ByteBuffer.wrap(bytes).getLong();
+    }
+
+    private static ScanResult scanSegment(Path segment, Consumer<JournalRecord> consumer) throws IOException {
+        List<String> problems = new ArrayList<>();
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            long expected = firstSequenceOf(segment);
+            while (buffer.remaining() >= JournalCodec.HEADER_BYTES) {
+                int position = buffer.position();
+                int length = buffer.getInt();
+                if (length == 0) {
+                    break;
+                }
+                int crc = buffer.getInt();
+                if (length < 0 || length > MAX_BODY_BYTES || length > buffer.remaining()) {
+                    problems.add("invalid record length " + length + " at offset " + position);
+                    break;
+                }
+                ByteBuffer body = buffer.slice(buffer.position(), length);
+                if (JournalCodec.checksum(body) != crc) {
+                    problems.add("checksum mismatch at offset " + position + " (torn write)");
+                    break;
+                }
+                JournalRecord record = JournalCodec.decodeBody(body);
+                if (record.sequence() != expected) {
+                    problems.add("expected sequence " + expected + " but found " + record.sequence()
+                            + " at offset " + position);
+                    break;
+                }
+                consumer.accept(record);
+                buffer.position(buffer.position() + length);
+                expected++;
+                count++;
+            }
+        }
+        return new ScanResult(count, problems);
+    }
+
+    private static List<Path> listSegments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    public record Appended(long sequence, CompletableFuture<Void> durable) {
+    }
+
+    public record ScanResult(long records, List<String> problems) {
+    }
+
+    private record Segment(Path path, long firstSequence, long lastSequence, MappedByteBuffer buffer) {
+    }
+
+    private record Waiter(long sequence, CompletableFuture<Void> durable) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.memory;
+
+import com.thinhpay.backend.modules.corebanking.domain.money.Money;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+
+/**
+ * Số dư của 1 account trong RAM. Chỉ thread sequencer của partition sở hữu account được đọc/ghi,
+ * nên không cần lock hay volatile. Số dư giữ dạng Money (long, Money.LEDGER_SCALE).
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+final class AccountBalance {
+    @Getter
+    final AccountRef account;
+    Money balance;
+    Money heldBalance;
+
+    AccountBalance(AccountRef account, BigDecimal balance, BigDecimal heldBalance) {
+        this.account = account;
+        this.balance = Money.ofLedger(balance);
+        this.heldBalance = Money.ofLedger(heldBalance);
+    }
+
+    BigDecimal getBalance() {
+        return balance.toBigDecimal();
+    }
+
+    BigDecimal getAvailableBalance() {
+        return balance.minus(heldBalance).toBigDecimal();
+    }
+
+    /**
+     * Số dư sau khi credit, chưa áp dụng: engine chỉ {@link #apply} khi bút toán đã vào hàng đợi ghi.
+     */
+    Money creditedBalance(BigDecimal amount) {
+        Money credit = Money.ofLedger(amount);
+        if (credit.signum() <= 0) {
+            throw new IllegalArgumentException("Amount to credit must be positive");
+        }
+        return balance.plus(credit);
+    }
+
+    /**
+     * Số dư sau khi debit, chưa áp dụng. Ném IllegalArgumentException nếu không đủ số dư khả dụng.
+     */
+    Money debitedBalance(BigDecimal amount) {
+        Money debit = Money.ofLedger(amount);
+        if (debit.signum() <= 0) {
+            throw new IllegalArgumentException("Amount to debit must be positive");
+        }
+        if (balance.minus(heldBalance).compareTo(debit) < 0) {
+            throw new IllegalArgumentException("Insufficient available balance");
+        }
+        return balance.minus(debit);
+    }
+
+    void apply(Money newBalance) {
+        balance = newBalance;
+    }
+}
@@ -0,0 +1,9 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.memory;
+
+import java.util.UUID;
+
+/**
+ * Thông tin bất biến của 1 account đã nạp vào in-memory engine.
+ */
+public record AccountRef(UUID accountId, UUID userId, String currencyCode, String status) {
+}
@@ -0,0 +1,131 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.memory;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 1 partition của in-memory engine: 1 thread sequencer chạy lần lượt các lệnh trong hàng đợi
+ * và là thread duy nhất chạm vào số dư của các account thuộc partition.
+ *
+ * Lệnh từ bên ngoài ({@link #submit}) bị giới hạn bởi queue-capacity (backpressure).
+ * Lệnh chuyển giữa các partition ({@link #handoff}, chân credit của transfer) không bị giới hạn,
+ * để 2 partition chuyển tiền cho nhau không thể chặn lẫn nhau.
+ */
+@Slf4j
+final class BalancePartition implements Runnable {
+    private final int index;
+    private final BlockingQueue<Runnable> inbox = new LinkedBlockingQueue<>();
+    private final Semaphore capacity;
+    private final Map<UUID, AccountBalance> balances = new HashMap<>();
+    private final Thread thread;
+    private volatile boolean running;
+
+    BalancePartition(int index, int queueCapacity) {
+        this.index = index;
+        this.capacity = new Semaphore(queueCapacity);
+        this.thread = Thread.ofPlatform()
+                .name("corebanking-partition-" + index)
+                .daemon(true)
+                .unstarted(this);
+    }
+
+    /**
+     * Chỉ gọi trước {@link #start()} (recovery), sau đó map thuộc về thread sequencer.
+     */
+    void restore(AccountBalance balance) {
+        balances.put(balance.getAccount().accountId(), balance);
+    }
+
+    /**
+     * Chỉ gọi từ thread sequencer của partition này.
+     */
+    AccountBalance balance(UUID accountId) {
+        AccountBalance balance = balances.get(accountId);
+        if (balance == null) {
+            throw new IllegalStateException("Account " + accountId + " is not loaded in partition " + index);
+        }
+        return balance;
+    }
+
+    /**
+     * Nạp account mới (mở sau khi engine khởi động). Account đã có trong RAM được giữ nguyên.
+     */
+    CompletableFuture<Void> register(AccountBalance balance) {
+        CompletableFuture<Void> registered = new CompletableFuture<>();
+        handoff(() -> {
+            balances.putIfAbsent(balance.getAccount().accountId(), balance);
+            registered.complete(null);
+        });
+        return registered;
+    }
+
+    void submit(Runnable command, Duration timeout) {
+        try {
+            if (!capacity.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new CompletionException(new TimeoutException("Partition " + index + " queue is full"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+        inbox.add(() -> {
+            try {
+                command.run();
+            } finally {
+                capacity.release();
+            }
+        });
+    }
+
+    void handoff(Runnable command) {
+        inbox.add(command);
+    }
+
+    /**
+     * @return future hoàn thành khi mọi lệnh đã vào hàng đợi trước nó chạy xong
+     */
+    CompletableFuture<Void> barrier() {
+        CompletableFuture<Void> reached = new CompletableFuture<>();
+        handoff(() -> reached.complete(null));
+        return reached;
+    }
+
+    void start() {
+        running = true;
+        thread.start();
+    }
+
+    void stop() throws InterruptedException {
+        handoff(() -> running = false);
+        thread.join();
+    }
+
+    int queueSize() {
+        return inbox.size();
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                inbox.take().run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in partition {}", index, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,488 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.memory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thinhpay.backend.modules.corebanking.domain.event.BalanceChangedEvent;
+import com.thinhpay.backend.modules.corebanking.domain.ledger.LedgerEntryType;
+import com.thinhpay.backend.modules.corebanking.domain.money.Money;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.Transaction;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionType;
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties;
+import com.thinhpay.backend.modules.corebanking.infrastructure.journal.JournalRecord;
+import com.thinhpay.backend.modules.corebanking.infrastructure.journal.PostingJournal;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.LedgerPosting;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.LedgerWriteBehindRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.AccountRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.AccountRepository.RecoveredBalance;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.TransactionRepository;
+import com.thinhpay.backend.shared.domain.UuidV7;
+import com.thinhpay.backend.shared.infrastructure.DomainEventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Single-writer balance engine: số dư của mọi account nằm trong RAM, chia theo account id
+ * vào các {@link BalancePartition}. Mỗi partition có 1 thread áp dụng debit/credit tuần tự,
+ * không cần row lock. Mỗi chân bút toán được đẩy sang {@link WriteBehindWriter} để ghi
+ * Transaction + LedgerEntry + số dư xuống Postgres theo batch.
+ *
+ * Transfer khác partition: debit ở partition của sender, thành công thì giao chân credit sang
+ * partition của receiver. Receiver và số tiền credit được kiểm tra trước khi debit; nếu chân credit
+ * vẫn lỗi (không ghi được vào hàng đợi write-behind), một bút toán credit bù được ghi trả lại sender.
+ *
+ * Bật journal: mỗi bút toán được ghi vào {@link PostingJournal} trước khi báo thành công,
+ * và record chưa kịp xuống DB được replay khi khởi động, trước bước nạp số dư.
+ *
+ * Khởi động: số dư mỗi account = balance_snapshot của LedgerEntry mới nhất (xem
+ * {@link AccountRepository#findAllRecoveredBalances()}). Account mở sau đó được nạp khi dùng lần đầu.
+ * Khi engine bật, mọi thay đổi số dư phải đi qua engine.
+ *
+ * BalanceChangedEvent được publish trong transaction của batch write-behind (không phải lúc báo thành
+ * công cho caller): event vào outbox cùng ledger, và cache số dư (đọc từ DB) chỉ bị xóa khi DB đã có số dư mới.
+ */
+@Component
+@ConditionalOnProperty(prefix = "thinhpay.core-banking", name = "engine", havingValue = "in_memory")
+@Slf4j
+public class InMemoryLedgerEngine implements SmartLifecycle {
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final LedgerWriteBehindRepository writeBehindRepository;
+    private final CoreBankingProperties properties;
+    private final DomainEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Counter failedWrites;
+    private final DistributionSummary batchSize;
+
+    private final Map<AccountKey, AccountRef> accountsByKey = new ConcurrentHashMap<>();
+    private final Map<UUID, List<AccountRef>> accountsByUser = new ConcurrentHashMap<>();
+    private final Map<UUID, AccountRef> accountsById = new ConcurrentHashMap<>();
+    private final Cache<String, Boolean> claimedRequestIds;
+
+    private volatile BalancePartition[] partitions = new BalancePartition[0];
+    private volatile WriteBehindWriter writer;
+    private volatile PostingJournal journal;
+    private volatile boolean running;
+
+    public InMemoryLedgerEngine(AccountRepository accountRepository,
+                                TransactionRepository transactionRepository,
+                                LedgerWriteBehindRepository writeBehindRepository,
+                                CoreBankingProperties properties,
+                                DomainEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.writeBehindRepository = writeBehindRepository;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.claimedRequestIds = Caffeine.newBuilder()
+                .maximumSize(properties.getMemory().getRequestIdCacheSize())
+                .build();
+        this.failedWrites = meterRegistry.counter("corebanking.memory.writebehind.failed");
+        this.batchSize = DistributionSummary.builder("corebanking.memory.writebehind.batch.size")
+                .register(meterRegistry);
+    }
+
+    // ========== Account lookup ========== //
+
+    public Optional<AccountRef> findAccount(UUID userId, String currencyCode) {
+        AccountKey key = new AccountKey(userId, currencyCode);
+        AccountRef account = accountsByKey.get(key);
+        if (account == null) {
+            loadUser(userId);
+            account = accountsByKey.get(key);
+        }
+        return Optional.ofNullable(account);
+    }
+
+    /**
+     * Tương đương AccountRepository#findByUserId: user phải có đúng 1 account.
+     */
+    public Optional<AccountRef> findAccount(UUID userId) {
+        List<AccountRef> accounts = accountsByUser.get(userId);
+        if (accounts == null) {
+            loadUser(userId);
+            accounts = accountsByUser.getOrDefault(userId, List.of());
+        }
+        if (accounts.size() > 1) {
+            throw new IllegalStateException("User " + userId + " has more than one account");
+        }
+        return accounts.stream().findFirst();
+    }
+
+    // ========== Postings ========== //
+
+    public CompletableFuture<Leg> credit(AccountRef account, String requestId, BigDecimal amount,
+                                         TransactionType type, String description) {
+        return post(account, requestId, amount, type, LedgerEntryType.CREDIT, description);
+    }
+
+    public CompletableFuture<Leg> debit(AccountRef account, String requestId, BigDecimal amount,
+                                        TransactionType type, String description) {
+        return post(account, requestId, amount, type, LedgerEntryType.DEBIT, description);
+    }
+
+    public CompletableFuture<TransferLegs> transfer(AccountRef sender, AccountRef receiver, String requestId,
+                                                    BigDecimal debitAmount, BigDecimal creditAmount,
+                                                    String description) {
+        if (creditAmount.signum() <= 0) {
+            throw new IllegalArgumentException("Amount to credit must be positive");
+        }
+        // Receiver phải đã nằm trong partition trước khi debit, để chân credit không thể lỗi vì thiếu account
+        if (findAccount(receiver.userId(), receiver.currencyCode()).isEmpty()) {
+            throw new IllegalStateException("Account " + receiver.accountId() + " is not loaded");
+        }
+        claimRequestId(requestId);
+        BalancePartition from = partitionOf(sender);
+        BalancePartition to = partitionOf(receiver);
+        CompletableFuture<TransferLegs> result = new CompletableFuture<>();
+
+        submit(from, requestId, () -> {
+            Applied debit;
+            try {
+                debit = apply(from, sender, requestId, debitAmount,
+                        TransactionType.TRANSFER_OUT, LedgerEntryType.DEBIT, description);
+            } catch (RuntimeException e) {
+                releaseRequestId(requestId);
+                result.completeExceptionally(e);
+                return;
+            }
+
+            Runnable creditLeg = () -> {
+                try {
+                    Applied credit = apply(to, receiver, requestId + Transaction.TRANSFER_IN_SUFFIX, creditAmount,
+                            TransactionType.TRANSFER_IN, LedgerEntryType.CREDIT, description);
+                    complete(result, new TransferLegs(debit.leg(), credit.leg()),
+                            List.of(debit.acknowledged(), credit.acknowledged()));
+                } catch (RuntimeException e) {
+                    log.error("Credit leg of transfer {} failed after debit was applied, reversing debit", requestId, e);
+                    Runnable reversal = () -> reverseDebit(from, sender, requestId, debitAmount, e, result);
+                    if (from == to) {
+                        reversal.run();
+                    } else {
+                        from.handoff(reversal);
+                    }
+                }
+            };
+            if (from == to) {
+                creditLeg.run();
+            } else {
+                to.handoff(creditLeg);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Chạy trên thread sequencer của sender: credit bù đúng số đã debit, dùng requestId của chân credit
+     * (chân credit thật chưa được ghi) nên ledger vẫn có cặp TRANSFER_OUT / TRANSFER_IN và reconciliation khớp.
+     * Caller nhận lỗi gốc sau khi bút toán bù đã vào hàng đợi ghi.
+     */
+    private void reverseDebit(BalancePartition from, AccountRef sender, String requestId, BigDecimal amount,
+                              RuntimeException cause, CompletableFuture<TransferLegs> result) {
+        try {
+            apply(from, sender, requestId + Transaction.TRANSFER_IN_SUFFIX, amount,
+                    TransactionType.TRANSFER_IN, LedgerEntryType.CREDIT, "Reversal of transfer " + requestId);
+        } catch (RuntimeException e) {
+            log.error("Reversal of transfer {} failed, sender {} is short by {}", requestId, sender.accountId(), amount, e);
+            cause.addSuppressed(e);
+        }
+        result.completeExceptionally(cause);
+    }
+
+    private CompletableFuture<Leg> post(AccountRef account, String requestId, BigDecimal amount,
+                                        TransactionType type, LedgerEntryType entryType, String description) {
+        claimRequestId(requestId);
+        BalancePartition partition = partitionOf(account);
+        CompletableFuture<Leg> result = new CompletableFuture<>();
+
+        submit(partition, requestId, () -> {
+            try {
+                Applied applied = apply(partition, account, requestId, amount, type, entryType, description);
+                complete(result, applied.leg(), List.of(applied.acknowledged()));
+            } catch (RuntimeException e) {
+                releaseRequestId(requestId);
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private void submit(BalancePartition partition, String requestId, Runnable command) {
+        if (!running) {
+            releaseRequestId(requestId);
+            throw new IllegalStateException("In-memory engine is not running");
+        }
+        try {
+            partition.submit(command, properties.getMemory().getRequestTimeout());
+        } catch (RuntimeException e) {
+            releaseRequestId(requestId);
+            throw e;
+        }
+    }
+
+    /**
+     * Chạy trên thread sequencer của partition: tính số dư mới, xếp hàng ghi xuống DB,
+     * và chỉ áp dụng vào RAM khi bút toán đã được writer nhận (enqueue lỗi thì số dư không đổi).
+     */
+    private Applied apply(BalancePartition partition, AccountRef account, String requestId, BigDecimal amount,
+                          TransactionType type, LedgerEntryType entryType, String description) {
+        AccountBalance balance = partition.balance(account.accountId());
+        Money newBalance = entryType == LedgerEntryType.CREDIT
+                ? balance.creditedBalance(amount)
+                : balance.debitedBalance(amount);
+
+        LedgerPosting posting = new LedgerPosting(UuidV7.generate(), UuidV7.generate(), account.accountId(),
+                requestId, amount, type, entryType, newBalance.toBigDecimal(), description, Instant.now());
+        CompletableFuture<Void> acknowledged = writer.enqueue(posting);
+        balance.apply(newBalance);
+        return new Applied(new Leg(posting.transactionId(), account, amount, posting.balanceAfter(), posting.postedAt()),
+                acknowledged);
+    }
+
+    /**
+     * Báo kết quả cho caller khi tất cả chân bút toán được phép xác nhận (xem {@link WriteBehindWriter#enqueue}).
+     */
+    private <T> void complete(CompletableFuture<T> result, T value, List<CompletableFuture<Void>> acknowledged) {
+        CompletableFuture.allOf(acknowledged.toArray(CompletableFuture[]::new)).whenComplete((ignored, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        });
+    }
+
+    // ========== Idempotency ========== //
+
+    /**
+     * RAM chặn request trùng đang/vừa xử lý; requestId cũ hơn lần khởi động được kiểm tra trong DB.
+     */
+    private void claimRequestId(String requestId) {
+        if (claimedRequestIds.asMap().putIfAbsent(requestId, Boolean.TRUE) != null
+                || transactionRepository.existsByRequestId(requestId)) {
+            throw new IllegalStateException("Transaction with request ID " + requestId + " already exists.");
+        }
+    }
+
+    private void releaseRequestId(String requestId) {
+        claimedRequestIds.invalidate(requestId);
+    }
+
+    // ========== Loading ========== //
+
+    private void loadUser(UUID userId) {
+        if (!running) {
+            throw new IllegalStateException("In-memory engine is not running");
+        }
+        List<RecoveredBalance> rows = accountRepository.findRecoveredBalancesByUserId(userId);
+        for (RecoveredBalance row : rows) {
+            AccountBalance balance = toBalance(row);
+            AccountRef account = balance.getAccount();
+            // Nạp vào partition trước khi công bố account, để lệnh đầu tiên luôn thấy số dư
+            partitionOf(account).register(balance).join();
+            index(account);
+        }
+    }
+
+    private void index(AccountRef account) {
+        if (accountsByKey.putIfAbsent(new AccountKey(account.userId(), account.currencyCode()), account) == null) {
+            accountsById.put(account.accountId(), account);
+            accountsByUser.merge(account.userId(), List.of(account),
+                    (existing, added) -> Stream.concat(existing.stream(), added.stream()).toList());
+        }
+    }
+
+    /**
+     * Chạy trên thread write-behind, trong transaction ghi batch. Gộp theo account: batch lớn chỉ sinh
+     * 1 event / account. Bút toán replay lúc khởi động (account chưa được nạp) được bỏ qua.
+     */
+    private void publishPersisted(List<LedgerPosting> postings) {
+        Map<UUID, BalanceChange> changes = new LinkedHashMap<>();
+        for (LedgerPosting posting : postings) {
+            changes.merge(posting.accountId(), BalanceChange.of(posting),
+                    (first, next) -> new BalanceChange(first.oldBalance(), next.last()));
+        }
+        changes.forEach((accountId, change) -> {
+            AccountRef account = accountsById.get(accountId);
+            if (account != null) {
+                eventPublisher.publish(BalanceChangedEvent.of(accountId, account.userId(), change.oldBalance(),
+                        change.last().balanceAfter(), account.currencyCode(), change.last().transactionType().name()));
+            }
+        });
+    }
+
+    private static AccountBalance toBalance(RecoveredBalance row) {
+        AccountRef account = new AccountRef(row.getAccountId(), row.getUserId(), row.getCurrencyCode(), row.getStatus());
+        return new AccountBalance(account, row.getBalance(), row.getHeldBalance());
+    }
+
+    private BalancePartition partitionOf(AccountRef account) {
+        BalancePartition[] current = partitions;
+        return current[Math.floorMod(account.accountId().hashCode(), current.length)];
+    }
+
+    // ========== Lifecycle ========== //
+
+    @Override
+    public synchronized void start() {
+        CoreBankingProperties.Memory memory = properties.getMemory();
+        BalancePartition[] created = new BalancePartition[memory.getPartitions()];
+        for (int i = 0; i < created.length; i++) {
+            created[i] = new BalancePartition(i, memory.getQueueCapacity());
+        }
+        partitions = created;
+        accountsByKey.clear();
+        accountsByUser.clear();
+        accountsById.clear();
+        claimedRequestIds.invalidateAll();
+
+        journal = memory.getJournal().isEnabled() ? openJournal(memory.getJournal()) : null;
+        writer = new WriteBehindWriter(writeBehindRepository, properties, journal, failedWrites, batchSize,
+                this::publishPersisted, transactionTemplate);
+        writer.start();
+        if (journal != null) {
+            replayJournal(journal);
+        }
+
+        // Sau replay, ledger trong DB đã gồm mọi bút toán đã báo thành công cho caller
+        List<RecoveredBalance> rows = accountRepository.findAllRecoveredBalances();
+        for (RecoveredBalance row : rows) {
+            AccountBalance balance = toBalance(row);
+            partitionOf(balance.getAccount()).restore(balance);
+            index(balance.getAccount());
+        }
+        Arrays.stream(created).forEach(BalancePartition::start);
+        registerGauges();
+        running = true;
+        log.info("In-memory engine recovered {} accounts into {} partitions", rows.size(), created.length);
+    }
+
+    /**
+     * Đăng ký ở start() thay vì constructor (không để lộ this khi chưa khởi tạo xong).
+     * Gọi lại sau restart không tạo gauge mới: registry trả về gauge đã có, vẫn đọc từ engine này.
+     */
+    private void registerGauges() {
+        meterRegistry.gauge("corebanking.memory.writebehind.pending", this,
+                engine -> engine.writer == null ? 0 : engine.writer.pendingCount());
+        meterRegistry.gauge("corebanking.memory.partition.queued", this,
+                engine -> Arrays.stream(engine.partitions).mapToInt(BalancePartition::queueSize).sum());
+    }
+
+    /**
+     * Ngừng nhận lệnh mới, chạy hết lệnh đang chờ (2 lượt barrier: lượt 2 bắt các chân credit
+     * được giao sang partition khác trong lượt 1), rồi ghi nốt write-behind.
+     */
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            for (int pass = 0; pass < 2; pass++) {
+                CompletableFuture.allOf(Arrays.stream(partitions)
+                        .map(BalancePartition::barrier)
+                        .toArray(CompletableFuture[]::new)).join();
+            }
+            for (BalancePartition partition : partitions) {
+                partition.stop();
+            }
+            writer.stop();
+            if (journal != null) {
+                journal.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("In-memory engine stopped");
+    }
+
+    private PostingJournal openJournal(CoreBankingProperties.Journal config) {
+        try {
+            return PostingJournal.open(Path.of(config.getDirectory()), config.getSegmentSize().toBytes(), config.isFsync());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open journal at " + config.getDirectory(), e);
+        }
+    }
+
+    /**
+     * Ghi xuống DB các bút toán đã journal nhưng chưa kịp flush ở lần chạy trước.
+     */
+    private void replayJournal(PostingJournal journal) {
+        List<JournalRecord> pending = journal.pendingRecords();
+        List<CompletableFuture<Void>> replayed = pending.stream().map(writer::replay).toList();
+        long failed = replayed.stream().filter(future -> {
+            try {
+                future.join();
+                return false;
+            } catch (CompletionException e) {
+                return true;
+            }
+        }).count();
+        // Dọn các segment cũ kể cả khi không có gì để replay
+        journal.checkpoint(journal.lastSequence());
+        if (!pending.isEmpty()) {
+            log.info("Replayed {} journal records into the database ({} failed)", pending.size(), failed);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Thay đổi số dư của 1 account trong 1 batch write-behind: số dư trước bút toán đầu, bút toán cuối.
+     */
+    private record BalanceChange(BigDecimal oldBalance, LedgerPosting last) {
+        static BalanceChange of(LedgerPosting posting) {
+            BigDecimal oldBalance = posting.entryType() == LedgerEntryType.CREDIT
+                    ? posting.balanceAfter().subtract(posting.amount())
+                    : posting.balanceAfter().add(posting.amount());
+            return new BalanceChange(oldBalance, posting);
+        }
+    }
+
+    private record AccountKey(UUID userId, String currencyCode) {
+    }
+
+    private record Applied(Leg leg, CompletableFuture<Void> acknowledged) {
+    }
+
+    /**
+     * 1 chân bút toán đã áp dụng: id của Transaction và số dư account ngay sau đó.
+     */
+    public record Leg(UUID transactionId, AccountRef account, BigDecimal amount, BigDecimal balanceAfter,
+                      Instant postedAt) {
+    }
+
+    public record TransferLegs(Leg debit, Leg credit) {
+    }
+}
@@ -0,0 +1,260 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.memory;
+
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties;
+import com.thinhpay.backend.modules.corebanking.infrastructure.journal.JournalRecord;
+import com.thinhpay.backend.modules.corebanking.infrastructure.journal.PostingJournal;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.LedgerPosting;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.LedgerWriteBehindRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Thread ghi bút toán của in-memory engine xuống Postgres (write-behind).
+ *
+ * Không chờ gom: mỗi vòng lấy hết những gì đã dồn trong hàng đợi (tối đa write-batch-size) và ghi
+ * trong 1 transaction, nên tải càng cao batch càng lớn. Hàng đợi có giới hạn: DB chậm thì
+ * partition bị chặn khi enqueue, và caller bị chặn theo.
+ *
+ * DB mất kết nối: giữ nguyên batch và thử lại với backoff (thứ tự bút toán không đổi).
+ * Lỗi khác: ghi lại từng bút toán. Bút toán vẫn lỗi không bao giờ bị bỏ qua - số dư trong RAM đã đổi,
+ * UPDATE số dư của bút toán sau ghi giá trị tuyệt đối và checkpoint không được vượt qua nó - nên writer
+ * dừng ở đó (fail-stop) và thử lại với backoff tới khi ghi được. Trong lúc đó hàng đợi đầy dần và
+ * partition bị chặn khi enqueue. Dừng engine khi writer đang kẹt: bút toán chưa ghi ở lại trong journal
+ * (checkpoint chưa tiến) và được replay ở lần khởi động sau.
+ *
+ * Có journal: bút toán được ghi vào {@link PostingJournal} trước khi vào hàng đợi (cùng 1 lock,
+ * nên hàng đợi theo đúng thứ tự sequence), caller được báo ngay khi journal bền vững,
+ * và checkpoint của journal tiến lên sau mỗi batch commit.
+ *
+ * Các bút toán vừa ghi được báo cho onPersisted trong cùng transaction (engine publish BalanceChangedEvent,
+ * event vào outbox cùng lúc với ledger).
+ */
+@Slf4j
+final class WriteBehindWriter implements Runnable {
+    private final LedgerWriteBehindRepository repository;
+    private final CoreBankingProperties properties;
+    private final PostingJournal journal;
+    private final Object appendLock = new Object();
+    private final BlockingQueue<PendingPosting> queue;
+    private final Counter failedCounter;
+    private final DistributionSummary batchSize;
+    private final Consumer<List<LedgerPosting>> onPersisted;
+    private final TransactionTemplate transactionTemplate;
+    private final Thread thread;
+    private volatile boolean running;
+
+    /**
+     * @param journal null nếu không bật journal
+     */
+    WriteBehindWriter(LedgerWriteBehindRepository repository, CoreBankingProperties properties,
+                      PostingJournal journal, Counter failedCounter, DistributionSummary batchSize,
+                      Consumer<List<LedgerPosting>> onPersisted, TransactionTemplate transactionTemplate) {
+        CoreBankingProperties.Memory memory = properties.getMemory();
+        this.repository = repository;
+        this.properties = properties;
+        this.journal = journal;
+        this.queue = new LinkedBlockingQueue<>(memory.getQueueCapacity() * memory.getPartitions());
+        this.failedCounter = failedCounter;
+        this.batchSize = batchSize;
+        this.onPersisted = onPersisted;
+        this.transactionTemplate = transactionTemplate;
+        this.thread = Thread.ofPlatform()
+                .name("corebanking-write-behind")
+                .daemon(true)
+                .unstarted(this);
+    }
+
+    /**
+     * Gọi từ thread sequencer ngay sau khi áp dụng bút toán, nên thứ tự trong hàng đợi
+     * giữ đúng thứ tự áp dụng của từng account.
+     *
+     * @return future hoàn thành khi được phép báo thành công cho caller: journal đã bền vững,
+     * hoặc (không có journal) bút toán đã commit nếu await-persistence, còn lại hoàn thành ngay
+     * @throws RuntimeException bút toán không được nhận (ghi journal lỗi, hoặc bị interrupt khi chờ hàng đợi):
+     * caller không được áp dụng bút toán vào số dư trong RAM
+     */
+    CompletableFuture<Void> enqueue(LedgerPosting posting) {
+        if (journal == null) {
+            PendingPosting pending = new PendingPosting(posting, 0, new CompletableFuture<>());
+            putOrThrow(pending);
+            return properties.getMemory().isAwaitPersistence()
+                    ? pending.persisted()
+                    : CompletableFuture.completedFuture(null);
+        }
+        synchronized (appendLock) {
+            PostingJournal.Appended appended = journal.append(posting);
+            // Đã vào journal là đã được nhận: hàng đợi lỗi thì bút toán vẫn được replay lúc khởi động
+            put(new PendingPosting(posting, appended.sequence(), new CompletableFuture<>()));
+            return appended.durable();
+        }
+    }
+
+    /**
+     * Ghi lại xuống DB 1 record journal của lần chạy trước (không ghi lại vào journal).
+     *
+     * @return future hoàn thành khi record đã commit
+     */
+    CompletableFuture<Void> replay(JournalRecord record) {
+        return put(new PendingPosting(record.posting(), record.sequence(), new CompletableFuture<>()));
+    }
+
+    private void putOrThrow(PendingPosting pending) {
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    private CompletableFuture<Void> put(PendingPosting pending) {
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.persisted().completeExceptionally(e);
+        }
+        return pending.persisted();
+    }
+
+    void start() {
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Ghi nốt những gì còn trong hàng đợi rồi dừng.
+     */
+    void stop() throws InterruptedException {
+        running = false;
+        thread.join();
+    }
+
+    int pendingCount() {
+        return queue.size();
+    }
+
+    @Override
+    public void run() {
+        int maxBatch = properties.getMemory().getWriteBatchSize();
+        List<PendingPosting> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingPosting first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                abandon(batch, e);
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingPosting> batch) throws InterruptedException {
+        List<LedgerPosting> postings = batch.stream().map(PendingPosting::posting).toList();
+        Duration backoff = properties.getRetry().getInitialBackoff();
+        while (true) {
+            try {
+                persist(postings);
+                batchSize.record(batch.size());
+                batch.forEach(p -> p.persisted().complete(null));
+                advanceCheckpoint(batch);
+                return;
+            } catch (TransientDataAccessException | RecoverableDataAccessException | CannotCreateTransactionException e) {
+                log.warn("Write-behind flush of {} postings failed, retrying in {}ms: {}",
+                        batch.size(), backoff.toMillis(), e.getMessage());
+                Thread.sleep(backoff.toMillis());
+                backoff = min(backoff.multipliedBy(2), properties.getRetry().getMaxBackoff());
+            } catch (DataAccessException e) {
+                log.warn("Write-behind flush of {} postings failed, persisting one by one: {}",
+                        batch.size(), e.getMessage());
+                for (PendingPosting pending : batch) {
+                    flushOne(pending);
+                }
+                advanceCheckpoint(batch);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Thử lại tới khi bút toán commit: chỉ thoát sớm khi writer đang dừng, lúc đó ném InterruptedException
+     * để run() dừng luôn mà không ghi bút toán phía sau.
+     */
+    private void flushOne(PendingPosting pending) throws InterruptedException {
+        Duration backoff = properties.getRetry().getInitialBackoff();
+        while (true) {
+            try {
+                persist(List.of(pending.posting()));
+                pending.persisted().complete(null);
+                return;
+            } catch (DataAccessException e) {
+                failedCounter.increment();
+                log.error("Write-behind cannot persist posting {} for account {}, retrying in {}ms: {}",
+                        pending.posting().requestId(), pending.posting().accountId(), backoff.toMillis(), e.getMessage());
+                if (!running) {
+                    log.error("Write-behind stopping with {} unpersisted postings{}", queue.size() + 1,
+                            journal != null ? ", they will be replayed from the journal" : "");
+                    throw new InterruptedException("Write-behind stopped before posting " + pending.posting().requestId()
+                            + " was persisted");
+                }
+                Thread.sleep(backoff.toMillis());
+                backoff = min(backoff.multipliedBy(2), properties.getRetry().getMaxBackoff());
+            }
+        }
+    }
+
+    /**
+     * Writer dừng khi còn bút toán chưa ghi: báo lỗi cho caller đang chờ, không tiến checkpoint.
+     */
+    private void abandon(List<PendingPosting> batch, InterruptedException cause) {
+        queue.drainTo(batch);
+        batch.forEach(p -> p.persisted().completeExceptionally(cause));
+    }
+
+    private void persist(List<LedgerPosting> postings) {
+        transactionTemplate.executeWithoutResult(status -> {
+            repository.persist(postings);
+            onPersisted.accept(postings);
+        });
+    }
+
+    private void advanceCheckpoint(List<PendingPosting> batch) {
+        if (journal != null) {
+            journal.checkpoint(batch.get(batch.size() - 1).sequence());
+        }
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    /**
+     * @param sequence sequence trong journal, 0 nếu không bật journal
+     */
+    private record PendingPosting(LedgerPosting posting, long sequence, CompletableFuture<Void> persisted) {
+    }
+}
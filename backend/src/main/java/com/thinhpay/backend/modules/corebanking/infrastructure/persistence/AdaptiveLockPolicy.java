@@ -0,0 +1,101 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties;
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties.LockMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chọn lock cho từng account khi lock-mode là OPTIMISTIC / ADAPTIVE.
+ *
+ * Mỗi account có tỉ lệ conflict (EWMA của kết quả mỗi lần ghi: 1 = conflict, 0 = thành công).
+ * ADAPTIVE: account vượt ngưỡng được lock pessimistic cho tới khi tỉ lệ giảm xuống
+ * hoặc thống kê hết hạn (không có giao dịch trong stats-ttl).
+ */
+@Component
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AdaptiveLockPolicy {
+    CoreBankingProperties properties;
+    Cache<UUID, ConflictStats> statsByAccount;
+    Counter successCounter;
+    Counter conflictCounter;
+    AtomicLong globalRateMillis = new AtomicLong();
+
+    public AdaptiveLockPolicy(CoreBankingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.statsByAccount = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterAccess(properties.getOptimistic().getStatsTtl())
+                .build();
+        this.successCounter = meterRegistry.counter("corebanking.optimistic.writes", "outcome", "success");
+        this.conflictCounter = meterRegistry.counter("corebanking.optimistic.writes", "outcome", "conflict");
+        meterRegistry.gauge("corebanking.optimistic.conflict.rate", globalRateMillis, rate -> rate.get() / 1000.0);
+        meterRegistry.gauge("corebanking.optimistic.contended.accounts", statsByAccount, cache -> cache.asMap().values()
+                .stream()
+                .filter(this::isContended)
+                .count());
+    }
+
+    public boolean isOptimistic() {
+        LockMode lockMode = properties.getTransfer().getLockMode();
+        return lockMode == LockMode.OPTIMISTIC || lockMode == LockMode.ADAPTIVE;
+    }
+
+    /**
+     * @return true nếu account nên được lock pessimistic dù đang ở chế độ optimistic
+     */
+    public boolean shouldLock(UUID accountId) {
+        if (properties.getTransfer().getLockMode() != LockMode.ADAPTIVE) {
+            return false;
+        }
+        ConflictStats stats = statsByAccount.getIfPresent(accountId);
+        return stats != null && isContended(stats);
+    }
+
+    public void recordSuccess(Collection<UUID> accountIds) {
+        successCounter.increment();
+        accountIds.forEach(id -> record(id, 0.0));
+        updateGlobalRate(0.0);
+    }
+
+    public void recordConflict(UUID accountId) {
+        conflictCounter.increment();
+        ConflictStats stats = record(accountId, 1.0);
+        updateGlobalRate(1.0);
+        if (isContended(stats)) {
+            log.debug("Account {} conflict rate {} - using pessimistic lock", accountId, stats.rate());
+        }
+    }
+
+    private ConflictStats record(UUID accountId, double outcome) {
+        double alpha = properties.getOptimistic().getEwmaAlpha();
+        return statsByAccount.asMap().compute(accountId, (id, stats) -> stats == null
+                ? new ConflictStats(outcome, 1)
+                : new ConflictStats(stats.rate() + alpha * (outcome - stats.rate()), stats.samples() + 1));
+    }
+
+    private void updateGlobalRate(double outcome) {
+        double alpha = properties.getOptimistic().getEwmaAlpha();
+        globalRateMillis.updateAndGet(current -> Math.round(current + alpha * (outcome * 1000 - current)));
+    }
+
+    private boolean isContended(ConflictStats stats) {
+        CoreBankingProperties.Optimistic optimistic = properties.getOptimistic();
+        return stats.samples() >= optimistic.getMinSamples()
+                && stats.rate() >= optimistic.getConflictRateThreshold();
+    }
+
+    private record ConflictStats(double rate, long samples) {
+    }
+}
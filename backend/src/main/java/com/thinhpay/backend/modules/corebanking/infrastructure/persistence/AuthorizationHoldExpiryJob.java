@@ -0,0 +1,99 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence;
+
+import com.thinhpay.backend.modules.corebanking.domain.account.Account;
+import com.thinhpay.backend.modules.corebanking.domain.hold.AuthorizationHold;
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.AccountRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.AuthorizationHoldRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Trả lại held_balance của các authorization hold đã hết hạn.
+ *
+ * Mỗi batch là 1 transaction: claim tối đa expiry-batch-size hold (FOR UPDATE SKIP LOCKED, theo partial index
+ * trên expires_at của hold ACTIVE), cộng dồn số tiền trả lại theo account, lock các account theo thứ tự id
+ * rồi trừ held_balance 1 lần / account. Mỗi lần chạy tối đa expiry-max-batches-per-run batch, phần còn lại để
+ * lần sau. Nhiều instance chạy cùng lúc thì mỗi instance lấy 1 phần khác nhau.
+ */
+@Component
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AuthorizationHoldExpiryJob {
+    AuthorizationHoldRepository holdRepository;
+    AccountRepository accountRepository;
+    CoreBankingProperties.Holds settings;
+    TransactionTemplate transactionTemplate;
+    Counter expiredCounter;
+
+    public AuthorizationHoldExpiryJob(AuthorizationHoldRepository holdRepository, AccountRepository accountRepository,
+                                      CoreBankingProperties properties, PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry) {
+        this.holdRepository = holdRepository;
+        this.accountRepository = accountRepository;
+        this.settings = properties.getHolds();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expiredCounter = meterRegistry.counter("corebanking.holds.expired");
+    }
+
+    @Scheduled(fixedDelayString = "${thinhpay.core-banking.holds.expiry-interval:PT1M}")
+    public void releaseExpired() {
+        if (!settings.isExpiryEnabled()) {
+            return;
+        }
+        try {
+            int released = 0;
+            for (int i = 0; i < settings.getExpiryMaxBatchesPerRun(); i++) {
+                int batch = releaseBatch(Instant.now());
+                released += batch;
+                if (batch < settings.getExpiryBatchSize()) {
+                    break;
+                }
+            }
+            if (released > 0) {
+                log.info("Released {} expired authorization holds", released);
+            }
+        } catch (DataAccessException e) {
+            log.error("Releasing expired authorization holds failed", e);
+        }
+    }
+
+    /**
+     * @return số hold đã trả lại trong batch
+     */
+    public int releaseBatch(Instant now) {
+        Integer released = transactionTemplate.execute(status -> {
+            List<AuthorizationHold> holds = holdRepository.claimExpired(now, settings.getExpiryBatchSize());
+            if (holds.isEmpty()) {
+                return 0;
+            }
+
+            Map<UUID, BigDecimal> releasedByAccount = new HashMap<>();
+            for (AuthorizationHold hold : holds) {
+                releasedByAccount.merge(hold.getAccount().getId(), hold.expire(), BigDecimal::add);
+            }
+            // Lock account sau hold, theo thứ tự id (giống capture / release)
+            for (Account account : accountRepository.findAllByIdInWithLock(releasedByAccount.keySet())) {
+                account.releaseHold(releasedByAccount.get(account.getId()));
+            }
+            return holds.size();
+        });
+        expiredCounter.increment(released);
+        return released;
+    }
+}
@@ -0,0 +1,40 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence;
+
+import com.thinhpay.backend.modules.corebanking.domain.currency.Currency;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener của {@link Currency} (Hibernate tạo qua Spring bean container).
+ * Invalidate CurrencyRegistry sau commit - invalidate trước commit thì luồng khác có thể nạp lại bản cũ.
+ * Registry lấy lazy qua ObjectProvider: listener được tạo cùng EntityManagerFactory, trước CurrencyRepository.
+ */
+@RequiredArgsConstructor
+public class CurrencyChangeListener {
+    private final ObjectProvider<CurrencyRegistry> currencyRegistry;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onCurrencyChanged(Currency currency) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate();
+            }
+        });
+    }
+
+    private void invalidate() {
+        currencyRegistry.ifAvailable(CurrencyRegistry::invalidate);
+    }
+}
@@ -0,0 +1,70 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence;
+
+import com.thinhpay.backend.modules.corebanking.domain.currency.Currency;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.CurrencyRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bảng core_currencies nạp 1 lần vào Map bất biến, tra theo mã O(1) không chạm DB.
+ *
+ * Nạp khi khởi động (hoặc lần truy cập đầu tiên). Ghi Currency qua JPA thì {@link CurrencyChangeListener}
+ * gọi invalidate sau commit, lần truy cập kế tiếp nạp lại. Đổi trực tiếp bằng SQL/migration thì cần khởi động lại
+ * hoặc gọi reload().
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CurrencyRegistry {
+    final CurrencyRepository currencyRepository;
+
+    volatile Map<String, Currency> currencies;
+
+    public Optional<Currency> find(String code) {
+        return Optional.ofNullable(current().get(code));
+    }
+
+    public boolean contains(String code) {
+        return current().containsKey(code);
+    }
+
+    public Collection<Currency> all() {
+        return current().values();
+    }
+
+    public void invalidate() {
+        currencies = null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        currencies = currencyRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(Currency::getCode, Function.identity()));
+        log.info("Loaded {} currencies", currencies.size());
+    }
+
+    private Map<String, Currency> current() {
+        Map<String, Currency> current = currencies;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (currencies == null) {
+                reload();
+            }
+            return currencies;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence;
+
+import com.thinhpay.backend.modules.corebanking.domain.account.DailyBalanceSnapshot;
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chụp số dư cuối ngày của mọi account vào core_daily_balance_snapshots.
+ *
+ * Account được chia chunk theo id (keyset), mỗi chunk là 1 câu INSERT ... SELECT chạy song song.
+ * Số dư cuối ngày = tổng số dư hiện tại - biến động của các bút toán từ mốc cutoff tới giờ: cả 2 được
+ * đọc trong cùng 1 câu lệnh (cùng snapshot MVCC) nên không lệch nhau dù giao dịch vẫn đang chạy, và
+ * chỉ phải quét bút toán sau cutoff (vài phút - vài giờ gần nhất).
+ * Idempotent (ON CONFLICT DO NOTHING): nhiều instance cùng chạy hoặc chạy lại đều an toàn.
+ */
+@Component
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class DailyBalanceSnapshotJob {
+    private static final UUID MIN_UUID = new UUID(0, 0);
+
+    private static final String NEXT_ACCOUNT_IDS = """
+            SELECT id FROM core_accounts WHERE id > ? ORDER BY id LIMIT ?
+            """;
+
+    private static final String INSERT_SNAPSHOTS = """
+            INSERT INTO core_daily_balance_snapshots (account_id, snapshot_date, balance, created_at)
+            SELECT a.id, ?,
+                   a.balance
+                   + COALESCE((SELECT sum(s.balance) FROM core_account_balance_shards s WHERE s.account_id = a.id), 0)
+                   - COALESCE((SELECT sum(CASE WHEN e.entry_type = 'CREDIT' THEN e.amount ELSE -e.amount END)
+                               FROM core_ledger_entries e
+                               WHERE e.account_id = a.id AND e.created_at >= ?), 0),
+                   now()
+            FROM core_accounts a
+            WHERE a.id BETWEEN ? AND ?
+              AND (a.created_at IS NULL OR a.created_at < ?)
+            ON CONFLICT (account_id, snapshot_date) DO NOTHING
+            """;
+
+    JdbcTemplate jdbcTemplate;
+    CoreBankingProperties properties;
+    Timer runTimer;
+    Counter snapshotCounter;
+
+    public DailyBalanceSnapshotJob(JdbcTemplate jdbcTemplate, CoreBankingProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.runTimer = meterRegistry.timer("corebanking.balance.snapshot.duration");
+        this.snapshotCounter = meterRegistry.counter("corebanking.balance.snapshot.created");
+    }
+
+    @Scheduled(cron = "${thinhpay.core-banking.snapshot.cron:0 15 0 * * *}", zone = "UTC")
+    public void snapshotPreviousDay() {
+        if (!properties.getSnapshot().isEnabled()) {
+            return;
+        }
+        snapshotDay(LocalDate.now(ZoneOffset.UTC).minusDays(1));
+    }
+
+    /**
+     * @return số snapshot được tạo mới
+     */
+    public int snapshotDay(LocalDate day) {
+        if (!day.isBefore(LocalDate.now(ZoneOffset.UTC))) {
+            throw new IllegalArgumentException("Can only snapshot a day that has ended (UTC): " + day);
+        }
+        return runTimer.record(() -> {
+            CoreBankingProperties.Snapshot snapshot = properties.getSnapshot();
+            Instant cutoff = DailyBalanceSnapshot.cutoffOf(day);
+            AtomicInteger created = new AtomicInteger();
+            AtomicInteger failedChunks = new AtomicInteger();
+            List<CompletableFuture<Void>> chunks = new ArrayList<>();
+
+            ExecutorService executor = Executors.newFixedThreadPool(snapshot.getParallelism(),
+                    Thread.ofPlatform().name("balance-snapshot-", 0).factory());
+            try {
+                UUID after = MIN_UUID;
+                List<UUID> ids;
+                do {
+                    ids = jdbcTemplate.queryForList(NEXT_ACCOUNT_IDS, UUID.class, after, snapshot.getChunkSize());
+                    if (ids.isEmpty()) {
+                        break;
+                    }
+                    UUID first = ids.get(0);
+                    UUID last = ids.get(ids.size() - 1);
+                    chunks.add(CompletableFuture.runAsync(() -> created.addAndGet(jdbcTemplate.update(INSERT_SNAPSHOTS,
+                                    Date.valueOf(day), Timestamp.from(cutoff), first, last, Timestamp.from(cutoff))), executor)
+                            .exceptionally(e -> {
+                                failedChunks.incrementAndGet();
+                                log.error("Balance snapshot of {} failed for accounts {}..{}", day, first, last, e);
+                                return null;
+                            }));
+                    after = last;
+                } while (ids.size() == snapshot.getChunkSize());
+                CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+            } finally {
+                executor.shutdown();
+            }
+
+            snapshotCounter.increment(created.get());
+            log.info("Balance snapshot of {}: {} created in {} chunks ({} failed)",
+                    day, created.get(), chunks.size(), failedChunks.get());
+            return created.get();
+        });
+    }
+}
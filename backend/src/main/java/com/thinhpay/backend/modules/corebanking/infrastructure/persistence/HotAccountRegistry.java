@@ -0,0 +1,79 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence;
+
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.AccountRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Danh sách hot account, nạp lại định kỳ từ DB.
+ *
+ * Dùng để quyết định có bỏ qua row lock của core_accounts khi credit hay không.
+ * Vì cờ hot chỉ bật một chiều nên snapshot cũ chỉ có thể thiếu account (an toàn: vẫn lock row),
+ * không bao giờ báo nhầm 1 account thường là hot.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class HotAccountRegistry {
+    final AccountRepository accountRepository;
+    final CoreBankingProperties properties;
+
+    volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public boolean isHot(UUID userId, String currencyCode) {
+        return current().accountKeys().contains(key(userId, currencyCode));
+    }
+
+    public boolean isHotUser(UUID userId) {
+        return current().userIds().contains(userId);
+    }
+
+    public void invalidate() {
+        snapshot = Snapshot.EMPTY;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current.loadedAt().plus(properties.getSharding().getRegistryRefresh()).isAfter(Instant.now())) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == current) {
+                snapshot = load();
+            }
+            return snapshot;
+        }
+    }
+
+    private Snapshot load() {
+        var hotAccounts = accountRepository.findAllHotAccountKeys();
+        log.debug("Loaded {} hot accounts", hotAccounts.size());
+        return new Snapshot(
+                hotAccounts.stream()
+                        .map(a -> key(a.getUserId(), a.getCurrencyCode()))
+                        .collect(Collectors.toUnmodifiableSet()),
+                hotAccounts.stream()
+                        .map(AccountRepository.HotAccountKey::getUserId)
+                        .collect(Collectors.toUnmodifiableSet()),
+                Instant.now()
+        );
+    }
+
+    private static String key(UUID userId, String currencyCode) {
+        return userId + ":" + currencyCode;
+    }
+
+    private record Snapshot(Set<String> accountKeys, Set<UUID> userIds, Instant loadedAt) {
+        static final Snapshot EMPTY = new Snapshot(Set.of(), Set.of(), Instant.EPOCH);
+    }
+}
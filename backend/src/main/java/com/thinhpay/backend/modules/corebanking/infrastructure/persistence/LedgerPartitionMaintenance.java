@@ -0,0 +1,77 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence;
+
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Bảo trì partition tháng (theo created_at, UTC) của core_transactions và core_ledger_entries.
+ *
+ * Khi khởi động và mỗi ngày: tạo trước partition cho premake-months tháng tới, và (chỉ khi retention-months > 0)
+ * DETACH các partition cũ hơn retention-months (bảng con vẫn còn, có thể dump / DROP riêng mà không khóa bảng chính).
+ * Bảng chưa được partition (vd. schema do Hibernate tạo trong test) thì bỏ qua.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class LedgerPartitionMaintenance {
+    static final List<String> PARTITIONED_TABLES = List.of("core_transactions", "core_ledger_entries");
+
+    private static final String IS_PARTITIONED = """
+            SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))
+            """;
+
+    JdbcTemplate jdbcTemplate;
+    CoreBankingProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${thinhpay.core-banking.partitioning.maintenance-cron:0 30 3 * * *}")
+    public void maintain() {
+        CoreBankingProperties.Partitioning partitioning = properties.getPartitioning();
+        if (!partitioning.isEnabled()) {
+            return;
+        }
+        LocalDate currentMonth = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1);
+        for (String table : PARTITIONED_TABLES) {
+            try {
+                if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED, Boolean.class, table))) {
+                    log.debug("Table {} is not partitioned - skipping partition maintenance", table);
+                    continue;
+                }
+                Integer created = jdbcTemplate.queryForObject(
+                        "SELECT core_ensure_monthly_partitions(?, ?, ?)", Integer.class,
+                        table, currentMonth, currentMonth.plusMonths(partitioning.getPremakeMonths()));
+                if (created != null && created > 0) {
+                    log.info("Created {} monthly partitions for {}", created, table);
+                }
+                if (partitioning.getRetentionMonths() > 0) {
+                    List<String> detached = jdbcTemplate.queryForList(
+                            "SELECT core_detach_monthly_partitions(?, ?)", String.class,
+                            table, currentMonth.minusMonths(partitioning.getRetentionMonths()));
+                    if (!detached.isEmpty()) {
+                        log.info("Detached partitions {} from {}", detached, table);
+                    }
+                }
+            } catch (DataAccessException e) {
+                log.error("Partition maintenance failed for {}", table, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence;
+
+import com.thinhpay.backend.modules.corebanking.domain.ledger.LedgerEntryType;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 1 chân bút toán đã áp dụng trong RAM, chờ ghi xuống DB: 1 Transaction (COMPLETED) + 1 LedgerEntry,
+ * kèm số dư của account ngay sau bút toán.
+ */
+public record LedgerPosting(
+        UUID transactionId,
+        UUID ledgerEntryId,
+        UUID accountId,
+        String requestId,
+        BigDecimal amount,
+        TransactionType transactionType,
+        LedgerEntryType entryType,
+        BigDecimal balanceAfter,
+        String description,
+        Instant postedAt
+) {
+}
@@ -0,0 +1,61 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence;
+
+import com.thinhpay.backend.modules.corebanking.domain.ledger.LedgerEntryType;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Đọc bút toán của 1 account theo khoảng thời gian bằng cursor JDBC forward-only.
+ *
+ * Postgres JDBC chỉ dùng cursor phía server (đọc fetchSize dòng mỗi lần) khi connection không
+ * autocommit, nên query chạy trong 1 transaction read-only: bộ nhớ giữ tối đa fetchSize dòng
+ * dù account có bao nhiêu bút toán. Điều kiện created_at giúp Postgres chỉ quét partition tháng liên quan.
+ */
+@Repository
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class LedgerStatementRepository {
+    private static final String SELECT_ENTRIES = """
+            SELECT id, transaction_id, entry_type, amount, balance_snapshot, created_at
+            FROM core_ledger_entries
+            WHERE account_id = ? AND created_at >= ? AND created_at < ?
+            ORDER BY created_at, id
+            """;
+
+    JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param consumer nhận từng dòng theo thứ tự (created_at, id); ném exception để hủy query giữa chừng
+     */
+    @Transactional(readOnly = true)
+    public void streamEntries(UUID accountId, Instant from, Instant to, int fetchSize, Consumer<StatementLine> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    SELECT_ENTRIES, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setObject(1, accountId);
+            statement.setTimestamp(2, Timestamp.from(from));
+            statement.setTimestamp(3, Timestamp.from(to));
+            return statement;
+        }, rs -> {
+            consumer.accept(new StatementLine(
+                    rs.getObject("id", UUID.class),
+                    rs.getObject("transaction_id", UUID.class),
+                    LedgerEntryType.valueOf(rs.getString("entry_type")),
+                    rs.getBigDecimal("amount"),
+                    rs.getBigDecimal("balance_snapshot"),
+                    rs.getTimestamp("created_at").toInstant()));
+        });
+    }
+}
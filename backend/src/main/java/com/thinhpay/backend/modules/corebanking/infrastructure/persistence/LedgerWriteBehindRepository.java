@@ -0,0 +1,82 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Ghi 1 batch bút toán của in-memory engine trong 1 transaction bằng JDBC batch:
+ * INSERT Transaction, INSERT LedgerEntry, rồi UPDATE số dư cuối cùng của mỗi account.
+ *
+ * Idempotent theo id (ON CONFLICT DO NOTHING, số dư là giá trị tuyệt đối) để replay
+ * journal có thể ghi lại bút toán đã xuống DB trước lần checkpoint cuối.
+ * Không chỉ định cột conflict: bảng partition có khóa chính (id, created_at), replay giữ nguyên created_at.
+ */
+@Repository
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class LedgerWriteBehindRepository {
+    private static final String INSERT_TRANSACTION = """
+            INSERT INTO core_transactions
+                (id, account_id, request_id, amount, type, status, description, created_at, updated_at, version)
+            VALUES (?, ?, ?, ?, ?, 'COMPLETED', ?, ?, ?, 0)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String INSERT_LEDGER_ENTRY = """
+            INSERT INTO core_ledger_entries
+                (id, transaction_id, account_id, amount, balance_snapshot, entry_type, created_at, updated_at, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)
+            ON CONFLICT DO NOTHING
+            """;
+
+    /**
+     * Số dư trong RAM là tổng balance (gồm shard của hot account): phần nằm trong shard được trừ ra.
+     */
+    private static final String UPDATE_BALANCE = """
+            UPDATE core_accounts a
+            SET balance = CAST(? AS NUMERIC) - (SELECT COALESCE(sum(s.balance), 0)
+                                                 FROM core_account_balance_shards s
+                                                 WHERE s.account_id = a.id),
+                version = a.version + 1,
+                updated_at = now()
+            WHERE a.id = ?
+            """;
+
+    JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param postings theo đúng thứ tự áp dụng trong RAM của từng account
+     */
+    @Transactional
+    public void persist(List<LedgerPosting> postings) {
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION, postings.stream()
+                .map(p -> new Object[]{
+                        p.transactionId(), p.accountId(), p.requestId(), p.amount(), p.transactionType().name(),
+                        p.description(), Timestamp.from(p.postedAt()), Timestamp.from(p.postedAt())})
+                .toList());
+
+        jdbcTemplate.batchUpdate(INSERT_LEDGER_ENTRY, postings.stream()
+                .map(p -> new Object[]{
+                        p.ledgerEntryId(), p.transactionId(), p.accountId(), p.amount(), p.balanceAfter(),
+                        p.entryType().name(), Timestamp.from(p.postedAt()), Timestamp.from(p.postedAt())})
+                .toList());
+
+        // Mỗi account chỉ cần 1 UPDATE với số dư sau bút toán cuối cùng trong batch
+        Map<UUID, BigDecimal> latestBalances = new LinkedHashMap<>();
+        postings.forEach(p -> latestBalances.put(p.accountId(), p.balanceAfter()));
+        jdbcTemplate.batchUpdate(UPDATE_BALANCE, latestBalances.entrySet().stream()
+                .map(e -> new Object[]{e.getValue(), e.getKey()})
+                .toList());
+    }
+}
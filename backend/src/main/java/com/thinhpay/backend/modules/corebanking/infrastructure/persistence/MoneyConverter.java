@@ -0,0 +1,37 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence;
+
+import com.thinhpay.backend.modules.corebanking.domain.money.Money;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Money <-> cột NUMERIC(19,4) hiện có. Giá trị đọc lên luôn ở Money.LEDGER_SCALE;
+ * Money có scale lớn hơn 4 phải được làm tròn trước khi ghi.
+ *
+ * Money là long ở scale 4 nên chỉ chứa được tới ±922337203685477.5807, nhỏ hơn giới hạn ~1e15 của NUMERIC(19,4):
+ * các cột dùng converter này có CHECK cùng khoảng (core/v15-money-range-checks.sql), giá trị ngoài khoảng bị từ chối.
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+    static final BigDecimal MIN_VALUE = BigDecimal.valueOf(Long.MIN_VALUE, Money.LEDGER_SCALE);
+    static final BigDecimal MAX_VALUE = BigDecimal.valueOf(Long.MAX_VALUE, Money.LEDGER_SCALE);
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        return money == null ? null : money.rescale(Money.LEDGER_SCALE).toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.compareTo(MIN_VALUE) < 0 || value.compareTo(MAX_VALUE) > 0) {
+            throw new IllegalArgumentException("Stored amount " + value.toPlainString()
+                    + " is outside the supported range [" + MIN_VALUE + ", " + MAX_VALUE + "]");
+        }
+        return Money.ofLedger(value);
+    }
+}
@@ -0,0 +1,20 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence;
+
+import com.thinhpay.backend.modules.corebanking.domain.ledger.LedgerEntryType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 1 dòng sao kê: 1 LedgerEntry của account, kèm số dư ngay sau bút toán (balance_snapshot).
+ */
+public record StatementLine(
+        UUID entryId,
+        UUID transactionId,
+        LedgerEntryType entryType,
+        BigDecimal amount,
+        BigDecimal balanceSnapshot,
+        Instant createdAt
+) {
+}
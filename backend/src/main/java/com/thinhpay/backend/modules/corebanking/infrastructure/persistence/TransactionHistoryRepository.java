@@ -0,0 +1,84 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence;
+
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionStatus;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionType;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Lịch sử giao dịch của 1 account, phân trang keyset trên (created_at, id) giảm dần.
+ *
+ * Trang sau bắt đầu bằng điều kiện (created_at, id) < (cursor) thay vì OFFSET: Postgres đi thẳng
+ * tới vị trí cursor trong index (account_id, created_at, id) nên trang thứ N tốn như trang đầu,
+ * và chỉ quét các partition tháng không mới hơn cursor. id phá hòa khi trùng created_at nên thứ tự ổn định.
+ */
+@Repository
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TransactionHistoryRepository {
+    JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param after (createdAt, id) của dòng cuối trang trước, null = trang đầu
+     */
+    public List<TransactionHistoryRow> findPage(UUID accountId, Filter filter, Position after, int limit) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT id, request_id, type, status, amount, description, created_at
+                FROM core_transactions
+                WHERE account_id = ?
+                """);
+        List<Object> args = new ArrayList<>();
+        args.add(accountId);
+        if (filter.type() != null) {
+            sql.append(" AND type = ?");
+            args.add(filter.type().name());
+        }
+        if (filter.status() != null) {
+            sql.append(" AND status = ?");
+            args.add(filter.status().name());
+        }
+        if (filter.minAmount() != null) {
+            sql.append(" AND amount >= ?");
+            args.add(filter.minAmount());
+        }
+        if (filter.maxAmount() != null) {
+            sql.append(" AND amount <= ?");
+            args.add(filter.maxAmount());
+        }
+        if (after != null) {
+            sql.append(" AND (created_at, id) < (?, ?)");
+            args.add(Timestamp.from(after.createdAt()));
+            args.add(after.id());
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new TransactionHistoryRow(
+                rs.getObject("id", UUID.class),
+                rs.getString("request_id"),
+                TransactionType.valueOf(rs.getString("type")),
+                TransactionStatus.valueOf(rs.getString("status")),
+                rs.getBigDecimal("amount"),
+                rs.getString("description"),
+                rs.getTimestamp("created_at").toInstant()), args.toArray());
+    }
+
+    /**
+     * Các điều kiện lọc, null = không lọc theo trường đó
+     */
+    public record Filter(TransactionType type, TransactionStatus status, BigDecimal minAmount, BigDecimal maxAmount) {
+    }
+
+    public record Position(Instant createdAt, UUID id) {
+    }
+}
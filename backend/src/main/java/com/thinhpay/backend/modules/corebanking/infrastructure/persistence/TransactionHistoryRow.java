@@ -0,0 +1,19 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence;
+
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionStatus;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record TransactionHistoryRow(
+        UUID id,
+        String requestId,
+        TransactionType type,
+        TransactionStatus status,
+        BigDecimal amount,
+        String description,
+        Instant createdAt
+) {
+}
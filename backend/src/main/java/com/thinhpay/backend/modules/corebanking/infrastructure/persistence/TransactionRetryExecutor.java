@@ -0,0 +1,133 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence;
+
+import com.thinhpay.backend.modules.corebanking.domain.account.Account;
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Chạy một unit of work trong transaction riêng và tự retry khi Postgres abort
+ * transaction vì deadlock (40P01), serialization failure (40001) hoặc lock conflict.
+ *
+ * Optimistic lock (version check thất bại) cũng được retry như lock conflict.
+ * Backoff tăng theo cấp số nhân, có jitter và bị chặn bởi max-backoff.
+ * Nếu caller đã mở transaction thì không retry (transaction ngoài đã bị abort, không thể làm lại).
+ */
+@Component
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class TransactionRetryExecutor {
+    static final String SQL_STATE_SERIALIZATION_FAILURE = "40001";
+    static final String SQL_STATE_DEADLOCK_DETECTED = "40P01";
+
+    TransactionTemplate transactionTemplate;
+    CoreBankingProperties properties;
+    MeterRegistry meterRegistry;
+    AdaptiveLockPolicy lockPolicy;
+
+    public TransactionRetryExecutor(PlatformTransactionManager transactionManager,
+                                    CoreBankingProperties properties,
+                                    MeterRegistry meterRegistry,
+                                    AdaptiveLockPolicy lockPolicy) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.lockPolicy = lockPolicy;
+    }
+
+    public <T> T execute(String operation, Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+
+        CoreBankingProperties.Retry retry = properties.getRetry();
+        int attempt = 1;
+        while (true) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (RuntimeException ex) {
+                String reason = retryReason(ex);
+                if (reason == null) {
+                    throw ex;
+                }
+                recordOptimisticConflict(ex);
+                if (attempt >= retry.getMaxAttempts()) {
+                    meterRegistry.counter("corebanking.transaction.retries.exhausted",
+                            "operation", operation, "reason", reason).increment();
+                    log.error("{} failed after {} attempts ({})", operation, attempt, reason);
+                    throw ex;
+                }
+
+                long backoffMillis = backoffMillis(attempt, retry);
+                meterRegistry.counter("corebanking.transaction.retries",
+                        "operation", operation, "reason", reason).increment();
+                log.warn("{} aborted by {} (attempt {}/{}), retrying in {} ms",
+                        operation, reason, attempt, retry.getMaxAttempts(), backoffMillis);
+
+                sleep(backoffMillis, ex);
+                attempt++;
+            }
+        }
+    }
+
+    /**
+     * @return "deadlock", "serialization", "lock-conflict" nếu có thể retry, ngược lại null
+     */
+    private String retryReason(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                if (SQL_STATE_DEADLOCK_DETECTED.equals(sqlException.getSQLState())) {
+                    return "deadlock";
+                }
+                if (SQL_STATE_SERIALIZATION_FAILURE.equals(sqlException.getSQLState())) {
+                    return "serialization";
+                }
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return ex instanceof ConcurrencyFailureException ? "lock-conflict" : null;
+    }
+
+    /**
+     * Version check thất bại (optimistic lock): ghi nhận conflict cho account để AdaptiveLockPolicy quyết định lock.
+     */
+    private void recordOptimisticConflict(RuntimeException ex) {
+        if (ex instanceof ObjectOptimisticLockingFailureException optimistic
+                && Account.class.getName().equals(optimistic.getPersistentClassName())
+                && optimistic.getIdentifier() instanceof UUID accountId) {
+            lockPolicy.recordConflict(accountId);
+        }
+    }
+
+    private long backoffMillis(int attempt, CoreBankingProperties.Retry retry) {
+        long initial = Math.max(1, retry.getInitialBackoff().toMillis());
+        long max = Math.max(initial, retry.getMaxBackoff().toMillis());
+        long ceiling = Math.min(max, initial << Math.min(attempt - 1, 20));
+        // Equal jitter: [ceiling/2, ceiling] để 2 transaction đụng nhau không retry cùng lúc
+        return ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+    }
+
+    private void sleep(long millis, RuntimeException original) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw original;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa;
+
+import com.thinhpay.backend.modules.corebanking.domain.account.AccountBalanceShard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AccountBalanceShardRepository extends JpaRepository<AccountBalanceShard, UUID> {
+
+    /**
+     * Lock 1 shard chưa bị transaction khác lock, bắt đầu quét từ {@code startIndex} để
+     * các credit đồng thời tản ra nhiều shard.
+     * Chỉ trả về id: shard có thể đã được nạp không lock vào persistence context, caller tự refresh sau khi giữ lock.
+     */
+    @Query(value = """
+            SELECT id FROM core_account_balance_shards
+            WHERE account_id = :accountId
+            ORDER BY (shard_index + :shardCount - :startIndex) % :shardCount
+            LIMIT 1
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    Optional<UUID> lockFirstUnlockedShardId(
+            @Param("accountId") UUID accountId,
+            @Param("startIndex") int startIndex,
+            @Param("shardCount") int shardCount
+    );
+
+    @Query(value = """
+            SELECT id FROM core_account_balance_shards
+            WHERE account_id = :accountId AND shard_index = :shardIndex
+            FOR UPDATE
+            """, nativeQuery = true)
+    Optional<UUID> lockShardId(
+            @Param("accountId") UUID accountId,
+            @Param("shardIndex") int shardIndex
+    );
+
+    @Query(value = """
+            SELECT id FROM core_account_balance_shards
+            WHERE account_id = :accountId
+            ORDER BY shard_index
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<UUID> lockAllShardIds(@Param("accountId") UUID accountId);
+}
@@ -10,6 +10,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,20 +22,141 @@ public interface AccountRepository extends JpaRepository<Account, UUID> {
 
     boolean existsByUserId(UUID userId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findByIdWithLock(@Param("id") UUID id);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT a FROM Account a WHERE a.userId = :userId")
     Optional<Account> findByUserIdWithLock(@Param("userId") UUID userId);
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT a FROM Account a WHERE a.userId = :userId AND a.currency.code = :currencyCode")
+    @Query("SELECT a FROM Account a WHERE a.userId = :userId AND a.currencyCode = :currencyCode")
     Optional<Account> findByUserIdAndCurrencyCodeWithLock(
             @Param("userId") UUID userId,
             @Param("currencyCode") String currencyCode
     );
 
-    Optional<Account> findByUserIdAndCurrency_Code(UUID userId, String currencyCode);
+    /**
+     * Lock nhiều account trong 1 statement, luôn theo thứ tự id để 2 transfer ngược chiều
+     * (A->B và B->A) xin lock cùng thứ tự và không thể deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.userId IN :userIds AND a.currencyCode = :currencyCode ORDER BY a.id")
+    List<Account> findAllByUserIdInAndCurrencyCodeWithLock(
+            @Param("userIds") Collection<UUID> userIds,
+            @Param("currencyCode") String currencyCode
+    );
+
+    /**
+     * Id của đúng 2 account (userId, currency) mà không nạp entity: caller lock bằng
+     * findAllByIdInWithLock, không lock thêm account khác loại tiền của cùng user.
+     */
+    @Query("""
+            SELECT a.id FROM Account a
+            WHERE (a.userId = :firstUserId AND a.currencyCode = :firstCurrency)
+               OR (a.userId = :secondUserId AND a.currencyCode = :secondCurrency)
+            """)
+    List<UUID> findIdsOfPair(@Param("firstUserId") UUID firstUserId,
+                             @Param("firstCurrency") String firstCurrency,
+                             @Param("secondUserId") UUID secondUserId,
+                             @Param("secondCurrency") String secondCurrency);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id IN :ids ORDER BY a.id")
+    List<Account> findAllByIdInWithLock(@Param("ids") Collection<UUID> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.userId IN :userIds AND a.currencyCode IN :currencyCodes ORDER BY a.id")
+    List<Account> findAllByUserIdInAndCurrencyCodeInWithLock(
+            @Param("userIds") Collection<UUID> userIds,
+            @Param("currencyCodes") Collection<String> currencyCodes
+    );
+
+    Optional<Account> findByUserIdAndCurrencyCode(UUID userId, String currencyCode);
+
+    @Query("SELECT a.userId AS userId, a.currencyCode AS currencyCode FROM Account a WHERE a.hot = true")
+    List<HotAccountKey> findAllHotAccountKeys();
 
     List<Account> findAllByUserId(UUID userId);
 
+    /**
+     * Select list của {@link AccountView}: tổng shard tính trong SQL, chỉ hot account mới chạy subquery shard.
+     */
+    String ACCOUNT_VIEW_SELECT = """
+            SELECT new com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.AccountView(
+                a.id,
+                a.currencyCode,
+                a.balance,
+                CASE WHEN a.hot = true
+                     THEN COALESCE((SELECT SUM(s.balance) FROM AccountBalanceShard s WHERE s.account.id = a.id), 0)
+                     ELSE 0 END,
+                a.status)
+            FROM Account a
+            """;
+
+    @Query(ACCOUNT_VIEW_SELECT + "WHERE a.userId = :userId ORDER BY a.id")
+    List<AccountView> findViewsByUserId(@Param("userId") UUID userId);
+
+    @Query(value = ACCOUNT_VIEW_SELECT + "WHERE a.userId = :userId",
+            countQuery = "SELECT count(a) FROM Account a WHERE a.userId = :userId")
+    Page<AccountView> findViewsByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query(ACCOUNT_VIEW_SELECT + "WHERE a.userId = :userId AND a.currencyCode = :currencyCode")
+    Optional<AccountView> findViewByUserIdAndCurrencyCode(
+            @Param("userId") UUID userId,
+            @Param("currencyCode") String currencyCode
+    );
+
     Page<Account> findAllByUserId(UUID userId, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Số dư khởi tạo cho in-memory engine: balance_snapshot của LedgerEntry mới nhất,
+     * account chưa có bút toán (hoặc hot account - balance_snapshot chỉ xấp xỉ) thì lấy balance gốc cộng các shard.
+     */
+    String RECOVERED_BALANCE_QUERY = """
+            SELECT a.id AS "accountId",
+                   a.user_id AS "userId",
+                   a.currency_code AS "currencyCode",
+                   a.status AS "status",
+                   a.held_balance AS "heldBalance",
+                   COALESCE(CASE WHEN a.hot THEN NULL ELSE l.balance_snapshot END,
+                            a.balance + (SELECT COALESCE(sum(s.balance), 0)
+                                         FROM core_account_balance_shards s
+                                         WHERE s.account_id = a.id)) AS "balance"
+            FROM core_accounts a
+            LEFT JOIN LATERAL (
+                SELECT e.balance_snapshot
+                FROM core_ledger_entries e
+                WHERE e.account_id = a.id
+                ORDER BY e.created_at DESC, e.id DESC
+                LIMIT 1
+            ) l ON TRUE
+            """;
+
+    @Query(value = RECOVERED_BALANCE_QUERY, nativeQuery = true)
+    List<RecoveredBalance> findAllRecoveredBalances();
+
+    @Query(value = RECOVERED_BALANCE_QUERY + "WHERE a.user_id = :userId", nativeQuery = true)
+    List<RecoveredBalance> findRecoveredBalancesByUserId(@Param("userId") UUID userId);
+
+    interface HotAccountKey {
+        UUID getUserId();
+
+        String getCurrencyCode();
+    }
+
+    interface RecoveredBalance {
+        UUID getAccountId();
+
+        UUID getUserId();
+
+        String getCurrencyCode();
+
+        String getStatus();
+
+        BigDecimal getHeldBalance();
+
+        BigDecimal getBalance();
+    }
+}
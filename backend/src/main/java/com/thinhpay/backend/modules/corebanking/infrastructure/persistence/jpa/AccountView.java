@@ -0,0 +1,27 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa;
+
+import com.thinhpay.backend.modules.corebanking.domain.account.AccountStatus;
+import com.thinhpay.backend.modules.corebanking.domain.money.Money;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Projection chỉ đọc của account (constructor expression trong JPQL): không vào persistence context,
+ * không proxy Currency. totalBalance đã cộng các shard của hot account.
+ */
+public record AccountView(
+        UUID id,
+        String currencyCode,
+        BigDecimal totalBalance,
+        AccountStatus status
+) {
+    /**
+     * Constructor của JPQL: balance là Money (cột qua MoneyConverter), shardBalance là tổng các shard
+     */
+    public AccountView(UUID id, String currencyCode, Money balance, BigDecimal shardBalance, AccountStatus status) {
+        this(id, currencyCode, shardBalance.signum() == 0
+                ? balance.toBigDecimal()
+                : balance.plus(Money.ofLedger(shardBalance)).toBigDecimal(), status);
+    }
+}
@@ -0,0 +1,36 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa;
+
+import com.thinhpay.backend.modules.corebanking.domain.hold.AuthorizationHold;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AuthorizationHoldRepository extends JpaRepository<AuthorizationHold, UUID> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM AuthorizationHold h WHERE h.id = :id")
+    Optional<AuthorizationHold> findByIdWithLock(@Param("id") UUID id);
+
+    /**
+     * Claim hold ACTIVE đã hết hạn, cũ nhất trước. Chỉ đọc partial index (expires_at) WHERE status = 'ACTIVE'
+     * tới limit dòng, không quét các hold đang mở. Hold đang bị capture / release / job khác giữ
+     * được bỏ qua (SKIP LOCKED). Phải chạy trong transaction của job.
+     */
+    @Query(value = """
+            SELECT * FROM core_authorization_holds
+            WHERE status = 'ACTIVE' AND expires_at <= :now
+            ORDER BY expires_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<AuthorizationHold> claimExpired(@Param("now") Instant now, @Param("limit") int limit);
+}
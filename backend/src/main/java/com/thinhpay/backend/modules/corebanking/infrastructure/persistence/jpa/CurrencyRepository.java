@@ -1,7 +1,19 @@
 package com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa;
 
 import com.thinhpay.backend.modules.corebanking.domain.currency.Currency;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
 
 public interface CurrencyRepository extends JpaRepository<Currency, String> {
+
+    /**
+     * Kết quả nằm trong query cache, entity trong region currencies - nạp lại registry không cần tới DB
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Currency> findAll();
 }
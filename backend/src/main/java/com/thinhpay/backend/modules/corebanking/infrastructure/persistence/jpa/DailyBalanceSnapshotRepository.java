@@ -0,0 +1,25 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa;
+
+import com.thinhpay.backend.modules.corebanking.domain.account.DailyBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface DailyBalanceSnapshotRepository extends JpaRepository<DailyBalanceSnapshot, DailyBalanceSnapshot.Key> {
+
+    /**
+     * Snapshot gần nhất không muộn hơn date (dùng khóa chính (account_id, snapshot_date))
+     */
+    Optional<DailyBalanceSnapshot> findFirstByAccountIdAndSnapshotDateLessThanEqualOrderBySnapshotDateDesc(
+            UUID accountId, LocalDate date);
+
+    Optional<DailyBalanceSnapshot> findFirstByAccountIdAndSnapshotDateGreaterThanEqualOrderBySnapshotDateAsc(
+            UUID accountId, LocalDate date);
+
+    List<DailyBalanceSnapshot> findByAccountIdOrderBySnapshotDate(UUID accountId);
+}
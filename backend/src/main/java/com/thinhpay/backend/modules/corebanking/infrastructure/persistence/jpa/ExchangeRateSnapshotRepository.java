@@ -0,0 +1,9 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa;
+
+import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRateSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ExchangeRateSnapshotRepository extends JpaRepository<ExchangeRateSnapshot, String> {
+}
@@ -0,0 +1,29 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa;
+
+import com.thinhpay.backend.modules.corebanking.domain.exchange.FxQuote;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Repository
+public interface FxQuoteRepository extends JpaRepository<FxQuote, UUID> {
+
+    /**
+     * Đánh dấu quote đã dùng; 0 dòng = quote đã được transfer khác dùng (hoặc không còn).
+     * Chạy trong transaction của transfer nên transfer rollback thì quote dùng lại được.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE FxQuote q SET q.usedAt = :now WHERE q.id = :id AND q.usedAt IS NULL")
+    int markUsed(@Param("id") UUID id, @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM FxQuote q WHERE q.expiresAt < :before")
+    int deleteExpiredBefore(@Param("before") Instant before);
+}
@@ -2,14 +2,44 @@ package com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa;
 
 import com.thinhpay.backend.modules.corebanking.domain.ledger.LedgerEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * core_ledger_entries được partition theo tháng trên created_at: truy vấn có điều kiện
+ * created_at chỉ quét các partition trong khoảng đó.
+ */
 @Repository
 public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, UUID> {
     List<LedgerEntry> findByTransactionId(UUID transactionId);
 
     int countByAccountId(UUID accountId);
+
+    /**
+     * Biến động số dư (CREDIT - DEBIT) của các bút toán có from <= created_at < to
+     */
+    @Query("""
+            SELECT COALESCE(SUM(CASE WHEN e.type = com.thinhpay.backend.modules.corebanking.domain.ledger.LedgerEntryType.CREDIT
+                                     THEN e.amount ELSE -e.amount END), 0)
+            FROM LedgerEntry e
+            WHERE e.account.id = :accountId AND e.createdAt >= :from AND e.createdAt < :to
+            """)
+    BigDecimal sumNetChange(@Param("accountId") UUID accountId, @Param("from") Instant from, @Param("to") Instant to);
+
+    /**
+     * Biến động số dư của các bút toán có created_at >= from
+     */
+    @Query("""
+            SELECT COALESCE(SUM(CASE WHEN e.type = com.thinhpay.backend.modules.corebanking.domain.ledger.LedgerEntryType.CREDIT
+                                     THEN e.amount ELSE -e.amount END), 0)
+            FROM LedgerEntry e
+            WHERE e.account.id = :accountId AND e.createdAt >= :from
+            """)
+    BigDecimal sumNetChangeSince(@Param("accountId") UUID accountId, @Param("from") Instant from);
 }
@@ -0,0 +1,37 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa;
+
+import com.thinhpay.backend.modules.corebanking.domain.schedule.ScheduledTransfer;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ScheduledTransferRepository extends JpaRepository<ScheduledTransfer, UUID> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ScheduledTransfer s WHERE s.id = :id")
+    Optional<ScheduledTransfer> findByIdWithLock(@Param("id") UUID id);
+
+    /**
+     * Claim lệnh ACTIVE đã tới hạn và không bị node khác giữ lease, tới hạn sớm nhất trước.
+     * Đọc partial index (next_run_at) WHERE status = 'ACTIVE'; dòng đang bị node khác claim cùng lúc
+     * được bỏ qua (SKIP LOCKED). Phải chạy trong transaction ghi claimed_until.
+     */
+    @Query(value = """
+            SELECT * FROM core_scheduled_transfers
+            WHERE status = 'ACTIVE' AND next_run_at <= :now
+              AND (claimed_until IS NULL OR claimed_until < :now)
+            ORDER BY next_run_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<ScheduledTransfer> claimDue(@Param("now") Instant now, @Param("limit") int limit);
+}
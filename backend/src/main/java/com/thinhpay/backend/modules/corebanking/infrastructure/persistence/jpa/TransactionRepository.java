@@ -4,16 +4,28 @@ import com.thinhpay.backend.modules.corebanking.domain.transaction.Transaction;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * core_transactions được partition theo tháng trên created_at: truy vấn có điều kiện
+ * created_at chỉ quét các partition trong khoảng đó. Tra cứu theo requestId không có mốc
+ * thời gian nên vẫn dùng index request_id của mọi partition.
+ */
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
     Optional<Transaction> findByRequestId(String requestId);
 
     boolean existsByRequestId(String requestId);
 
+    @Query("SELECT t.requestId FROM Transaction t WHERE t.requestId IN :requestIds")
+    List<String> findExistingRequestIds(@Param("requestIds") Collection<String> requestIds);
+
     Page<Transaction> findByAccountId(UUID accountId, Pageable pageable);
 }
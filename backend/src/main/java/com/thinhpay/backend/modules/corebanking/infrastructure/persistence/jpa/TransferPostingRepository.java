@@ -0,0 +1,126 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa;
+
+import com.thinhpay.backend.modules.corebanking.domain.account.Account;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Bút toán chuyển tiền cùng loại tiền trong 1 câu SQL (data-modifying CTE):
+ * lock 2 account theo thứ tự id → debit có điều kiện đủ số dư → credit →
+ * insert 2 Transaction + 2 LedgerEntry. Debit không thỏa thì không có dòng nào được ghi.
+ * created_at dùng clock_timestamp() (thời điểm ghi, sau khi đã lock account) thay vì now() (lúc bắt đầu
+ * transaction) để thứ tự (created_at, id) của bút toán khớp thứ tự áp dụng vào số dư.
+ */
+public interface TransferPostingRepository extends org.springframework.data.repository.Repository<Account, UUID> {
+
+    /**
+     * guard: đếm đủ tất cả account đã lock trước khi UPDATE chạy, để 2 dòng luôn bị lock theo thứ tự id
+     * (tránh deadlock A->B / B->A). Hot account không được đụng tới ở đây (hotCount > 0).
+     */
+    @Transactional
+    @Query(value = """
+            WITH accts AS MATERIALIZED (
+                SELECT id, user_id, hot
+                FROM core_accounts
+                WHERE currency_code = :currency
+                  AND user_id IN (:senderUserId, :receiverUserId)
+                ORDER BY id
+                FOR UPDATE
+            ),
+            guard AS (
+                SELECT count(*) AS located, count(*) FILTER (WHERE hot) AS hot_count
+                FROM accts
+            ),
+            debit AS (
+                UPDATE core_accounts a
+                SET balance = a.balance - CAST(:amount AS NUMERIC),
+                    version = a.version + 1,
+                    updated_at = now()
+                FROM accts s, guard g
+                WHERE a.id = s.id
+                  AND s.user_id = :senderUserId
+                  AND g.located = 2
+                  AND g.hot_count = 0
+                  AND a.balance - a.held_balance >= CAST(:amount AS NUMERIC)
+                RETURNING a.id, a.balance
+            ),
+            credit AS (
+                UPDATE core_accounts a
+                SET balance = a.balance + CAST(:amount AS NUMERIC),
+                    version = a.version + 1,
+                    updated_at = now()
+                FROM accts r, debit d
+                WHERE a.id = r.id
+                  AND r.user_id = :receiverUserId
+                RETURNING a.id, a.balance
+            ),
+            transactions AS (
+                INSERT INTO core_transactions
+                    (id, account_id, request_id, amount, type, status, description, created_at, updated_at, version)
+                SELECT CAST(:senderTransactionId AS UUID), d.id, CAST(:requestId AS VARCHAR), CAST(:amount AS NUMERIC),
+                       'TRANSFER_OUT', 'COMPLETED', CAST(:description AS VARCHAR), clock_timestamp(), clock_timestamp(), 0
+                FROM debit d
+                UNION ALL
+                SELECT CAST(:receiverTransactionId AS UUID), c.id, CAST(:receiverRequestId AS VARCHAR), CAST(:amount AS NUMERIC),
+                       'TRANSFER_IN', 'COMPLETED', CAST(:description AS VARCHAR), clock_timestamp(), clock_timestamp(), 0
+                FROM credit c
+            ),
+            ledger AS (
+                INSERT INTO core_ledger_entries
+                    (id, transaction_id, account_id, amount, balance_snapshot, entry_type, created_at, updated_at, version)
+                SELECT CAST(:senderLedgerId AS UUID), CAST(:senderTransactionId AS UUID), d.id, CAST(:amount AS NUMERIC),
+                       d.balance, 'DEBIT', clock_timestamp(), clock_timestamp(), 0
+                FROM debit d
+                UNION ALL
+                SELECT CAST(:receiverLedgerId AS UUID), CAST(:receiverTransactionId AS UUID), c.id, CAST(:amount AS NUMERIC),
+                       c.balance, 'CREDIT', clock_timestamp(), clock_timestamp(), 0
+                FROM credit c
+            )
+            SELECT g.located AS "located",
+                   g.hot_count AS "hotCount",
+                   d.id AS "senderAccountId",
+                   d.balance AS "senderBalance",
+                   c.id AS "receiverAccountId",
+                   c.balance AS "receiverBalance"
+            FROM guard g
+            LEFT JOIN debit d ON TRUE
+            LEFT JOIN credit c ON TRUE
+            """, nativeQuery = true)
+    TransferPosting postTransfer(@Param("senderUserId") UUID senderUserId,
+                                 @Param("receiverUserId") UUID receiverUserId,
+                                 @Param("currency") String currency,
+                                 @Param("amount") BigDecimal amount,
+                                 @Param("requestId") String requestId,
+                                 @Param("receiverRequestId") String receiverRequestId,
+                                 @Param("description") String description,
+                                 @Param("senderTransactionId") UUID senderTransactionId,
+                                 @Param("receiverTransactionId") UUID receiverTransactionId,
+                                 @Param("senderLedgerId") UUID senderLedgerId,
+                                 @Param("receiverLedgerId") UUID receiverLedgerId);
+
+    /**
+     * Kết quả posting. senderAccountId == null nghĩa là không có gì được ghi:
+     * thiếu account (located < 2), đụng hot account (hotCount > 0) hoặc không đủ số dư.
+     */
+    interface TransferPosting {
+        Long getLocated();
+
+        Long getHotCount();
+
+        UUID getSenderAccountId();
+
+        BigDecimal getSenderBalance();
+
+        UUID getReceiverAccountId();
+
+        BigDecimal getReceiverBalance();
+
+        default boolean isPosted() {
+            return getSenderAccountId() != null;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.reconciliation;
+
+import com.thinhpay.backend.modules.corebanking.domain.reconciliation.MismatchKind;
+import com.thinhpay.backend.modules.corebanking.domain.reconciliation.ReconciliationRun;
+import com.thinhpay.backend.modules.corebanking.domain.reconciliation.ReconciliationRun.Mode;
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.ReconciliationRunRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.reconciliation.LedgerReconciliationRepository.AccountBalance;
+import com.thinhpay.backend.modules.corebanking.infrastructure.reconciliation.LedgerReconciliationRepository.AccountState;
+import com.thinhpay.backend.modules.corebanking.infrastructure.reconciliation.LedgerReconciliationRepository.EntryRow;
+import com.thinhpay.backend.modules.corebanking.infrastructure.reconciliation.LedgerReconciliationRepository.MismatchRecord;
+import com.thinhpay.backend.modules.corebanking.infrastructure.reconciliation.LedgerReconciliationRepository.OpeningBalance;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+/**
+ * Đối soát sổ cái song song, incremental theo checkpoint, gồm 2 pha chạy trên ForkJoinPool:
+ * <ul>
+ *   <li>Account (chia theo chunk account): chuỗi balance_snapshot của bút toán liên tiếp, và tổng số dư
+ *       (balance + shard) so với tổng bút toán. Tổng bút toán đã đối soát được lưu theo từng account
+ *       (core_reconciliation_account_state, kèm watermark seq) nên chỉ phải đọc bút toán có seq sau checkpoint;
+ *       bút toán đã qua watermark bị bỏ qua nên đọc lại không đếm trùng.
+ *       seq do DB cấp lúc insert, còn created_at do ứng dụng gán (in-memory engine ghi sau, có thể trễ tùy ý)
+ *       nên watermark không dựa vào created_at. Lần chạy chỉ chốt bút toán tới entry_seq_settled - seq cao nhất
+ *       đã thấy từ settle-delay trước - phần sau chỉ tính vào tổng và được đọc lại ở lần sau, nên transaction
+ *       commit trễ (ngắn hơn settle-delay) không bị bỏ sót.</li>
+ *   <li>Transaction (chia theo lát thời gian [from, to), from = windowTo của lần COMPLETED gần nhất,
+ *       to = now - settle-delay): transaction COMPLETED có đúng 1 bút toán khớp, bút toán mồ côi,
+ *       TRANSFER_OUT / TRANSFER_IN đủ cặp.</li>
+ * </ul>
+ * FULL tính lại từ đầu; khi partition cũ đã bị tách (partitioning.retention-months > 0) thì bắt đầu từ
+ * snapshot cuối ngày gần nhất trước mốc tách thay vì từ bút toán đầu tiên.
+ * Mỗi task account đọc trong 1 transaction REPEATABLE READ để số dư và bút toán cùng 1 snapshot.
+ * Chỉ 1 instance chạy tại 1 thời điểm (session advisory lock); lần chạy đầu tiên luôn là FULL.
+ */
+@Component
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class LedgerReconciliationJob {
+    private static final String LOCK_KEY = "core_reconciliation";
+    private static final UUID MIN_UUID = new UUID(0, 0);
+
+    JdbcTemplate jdbcTemplate;
+    LedgerReconciliationRepository repository;
+    ReconciliationRunRepository runRepository;
+    TransactionTemplate snapshotTransaction;
+    CoreBankingProperties properties;
+    MeterRegistry meterRegistry;
+
+    public LedgerReconciliationJob(JdbcTemplate jdbcTemplate,
+                                   LedgerReconciliationRepository repository,
+                                   ReconciliationRunRepository runRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   CoreBankingProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.repository = repository;
+        this.runRepository = runRepository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(cron = "${thinhpay.core-banking.reconciliation.cron:0 5 * * * *}")
+    public void runIncremental() {
+        if (properties.getReconciliation().isEnabled()) {
+            run(Mode.INCREMENTAL);
+        }
+    }
+
+    @Scheduled(cron = "${thinhpay.core-banking.reconciliation.full-cron:0 0 3 * * SUN}")
+    public void runFull() {
+        if (properties.getReconciliation().isEnabled()) {
+            run(Mode.FULL);
+        }
+    }
+
+    /**
+     * @return empty nếu instance khác đang đối soát hoặc cửa sổ rỗng
+     */
+    public Optional<ReconciliationReport> run(Mode requestedMode) {
+        return jdbcTemplate.execute((ConnectionCallback<Optional<ReconciliationReport>>) connection -> {
+            if (!advisoryLock(connection, "pg_try_advisory_lock")) {
+                log.info("Ledger reconciliation is already running elsewhere - skipping");
+                return Optional.empty();
+            }
+            try {
+                return execute(requestedMode);
+            } finally {
+                advisoryLock(connection, "pg_advisory_unlock");
+            }
+        });
+    }
+
+    private Optional<ReconciliationReport> execute(Mode requestedMode) {
+        CoreBankingProperties.Reconciliation config = properties.getReconciliation();
+        Optional<ReconciliationRun> checkpoint = runRepository.findFirstByStatusOrderByIdDesc(ReconciliationRun.Status.COMPLETED);
+        Mode mode = checkpoint.isEmpty() || checkpoint.get().getEntrySeqSettled() == null ? Mode.FULL : requestedMode;
+        Instant from = mode == Mode.FULL ? Instant.EPOCH : checkpoint.get().getWindowTo();
+        Instant to = Instant.now().minus(config.getSettleDelay()).truncatedTo(ChronoUnit.MICROS);
+        if (!to.isAfter(from)) {
+            log.debug("Reconciliation window [{}, {}) is empty", from, to);
+            return Optional.empty();
+        }
+
+        long runId = repository.insertRun(mode, from, to, repository.findMaxEntrySeq());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        ForkJoinPool pool = new ForkJoinPool(config.getParallelism());
+        try {
+            long afterSeq = mode == Mode.FULL ? 0 : checkpoint.get().getEntrySeqSettled();
+            long settledSeq = repository.markSettledSeq(runId, config.getSettleDelay());
+            Optional<LocalDate> retentionBoundary = retentionBoundary();
+            ReconciliationTally tally = reconcileAccounts(pool, runId, mode, afterSeq, settledSeq, retentionBoundary)
+                    .merge(reconcileTransactions(pool, runId, mode, from, to, retentionBoundary));
+            repository.finishRun(runId, ReconciliationRun.Status.COMPLETED, tally);
+            tally.mismatches().forEach((kind, count) -> meterRegistry
+                    .counter("corebanking.reconciliation.mismatches", "kind", kind.name()).increment(count));
+            if (tally.totalMismatches() > 0) {
+                log.warn("Reconciliation run {} [{}, {}) found mismatches {}", runId, from, to, tally.mismatches());
+            } else {
+                log.info("Reconciliation run {} [{}, {}) clean: {} accounts, {} entries, {} transactions",
+                        runId, from, to, tally.accounts(), tally.entries(), tally.transactions());
+            }
+            return Optional.of(new ReconciliationReport(runId, mode, from, to, tally));
+        } catch (RuntimeException e) {
+            log.error("Reconciliation run {} failed", runId, e);
+            repository.finishRun(runId, ReconciliationRun.Status.FAILED, ReconciliationTally.EMPTY);
+            throw e;
+        } finally {
+            pool.shutdown();
+            sample.stop(meterRegistry.timer("corebanking.reconciliation.duration", "mode", mode.name()));
+        }
+    }
+
+    // ========== Account ========== //
+
+    /**
+     * Tháng đầu tiên còn trong bảng chính khi partition cũ bị tách (cùng cách tính với LedgerPartitionMaintenance)
+     */
+    private Optional<LocalDate> retentionBoundary() {
+        CoreBankingProperties.Partitioning partitioning = properties.getPartitioning();
+        if (!partitioning.isEnabled() || partitioning.getRetentionMonths() <= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1).minusMonths(partitioning.getRetentionMonths()));
+    }
+
+    private ReconciliationTally reconcileAccounts(ForkJoinPool pool, long runId, Mode mode, long afterSeq, long settledSeq,
+                                                  Optional<LocalDate> retentionBoundary) {
+        int chunkSize = properties.getReconciliation().getChunkSize();
+        Function<List<UUID>, ReconciliationTally> leaf = accountIds ->
+                reconcileAccountChunk(runId, mode, accountIds, afterSeq, settledSeq, retentionBoundary);
+        if (mode == Mode.INCREMENTAL) {
+            List<UUID> accountIds = repository.findActiveAccountIds(afterSeq);
+            return accountIds.isEmpty() ? ReconciliationTally.EMPTY : pool.invoke(new SplitTask<>(accountIds, chunkSize, leaf));
+        }
+        // FULL: duyệt mọi account theo trang (keyset), mỗi trang đủ việc cho cả pool
+        int pageSize = chunkSize * properties.getReconciliation().getParallelism() * 4;
+        ReconciliationTally tally = ReconciliationTally.EMPTY;
+        UUID after = MIN_UUID;
+        while (true) {
+            List<UUID> page = repository.findAccountIdsAfter(after, pageSize);
+            if (page.isEmpty()) {
+                return tally;
+            }
+            tally = tally.merge(pool.invoke(new SplitTask<>(page, chunkSize, leaf)));
+            after = page.getLast();
+        }
+    }
+
+    private ReconciliationTally reconcileAccountChunk(long runId, Mode mode, List<UUID> accountIds, long afterSeq,
+                                                      long settledSeq, Optional<LocalDate> retentionBoundary) {
+        int fetchSize = properties.getReconciliation().getFetchSize();
+        return Objects.requireNonNull(snapshotTransaction.execute(status -> {
+            // FULL tính lại từ đầu (hoặc từ số dư mở đầu ở mốc tách partition), bỏ qua trạng thái cũ
+            Map<UUID, AccountState> states = mode == Mode.FULL ? Map.of() : repository.loadStates(accountIds);
+            Map<UUID, OpeningBalance> openings = mode == Mode.FULL && retentionBoundary.isPresent()
+                    ? repository.loadOpeningBalances(accountIds, retentionBoundary.get())
+                    : Map.of();
+            Map<UUID, AccountBalance> balances = repository.loadBalances(accountIds);
+            Map<UUID, AccountProgress> progressByAccount = new HashMap<>();
+            Function<UUID, AccountProgress> newProgress = id -> new AccountProgress(states.get(id), openings.get(id));
+            List<MismatchRecord> mismatches = new ArrayList<>();
+            long[] entries = {0};
+
+            repository.streamEntries(accountIds, afterSeq, fetchSize, entry -> {
+                AccountProgress progress = progressByAccount.computeIfAbsent(entry.accountId(), newProgress);
+                if (!progress.isAfterWatermark(entry)) {
+                    return;
+                }
+                entries[0]++;
+                progress.pendingNet = progress.pendingNet.add(entry.signedAmount());
+                if (entry.seq() > settledSeq) {
+                    // Transaction cùng thời có thể chưa commit bút toán seq nhỏ hơn: chỉ tính vào tổng, chốt ở lần chạy sau
+                    return;
+                }
+                AccountBalance balance = balances.get(entry.accountId());
+                // Hot account: các shard ghi song song nên balance_snapshot không tạo thành 1 chuỗi
+                if (progress.lastSnapshot != null && balance != null && !balance.hot()) {
+                    BigDecimal expected = progress.lastSnapshot.add(entry.signedAmount());
+                    if (expected.compareTo(entry.balanceSnapshot()) != 0) {
+                        mismatches.add(new MismatchRecord(MismatchKind.BALANCE_SNAPSHOT_CHAIN, entry.accountId(),
+                                entry.transactionId(), entry.id(), expected, entry.balanceSnapshot(), null));
+                    }
+                }
+                progress.settle(entry);
+            });
+
+            List<AccountState> newStates = new ArrayList<>();
+            for (UUID accountId : accountIds) {
+                AccountBalance balance = balances.get(accountId);
+                AccountProgress progress = progressByAccount.computeIfAbsent(accountId, newProgress);
+                if (balance != null && progress.ledgerTotal().compareTo(balance.total()) != 0) {
+                    mismatches.add(new MismatchRecord(MismatchKind.BALANCE_MISMATCH, accountId, null, null,
+                            progress.ledgerTotal(), balance.total(), null));
+                }
+                // FULL ghi đè trạng thái của mọi account, kể cả account chưa chốt được bút toán nào
+                if (progress.settled || mode == Mode.FULL) {
+                    newStates.add(progress.toState(accountId));
+                }
+            }
+            repository.saveStates(newStates);
+            repository.insertMismatches(runId, mismatches);
+            return ReconciliationTally.of(accountIds.size(), entries[0], 0, mismatches);
+        }));
+    }
+
+    // ========== Transaction ========== //
+
+    private ReconciliationTally reconcileTransactions(ForkJoinPool pool, long runId, Mode mode, Instant from, Instant to,
+                                                      Optional<LocalDate> retentionBoundary) {
+        Instant start = from;
+        if (mode == Mode.FULL) {
+            start = repository.findEarliestAccountCreatedAt().orElse(to);
+            // Bút toán trước mốc tách không còn trong bảng chính: transaction trước đó sẽ bị báo thiếu bút toán
+            Instant boundary = retentionBoundary.map(date -> date.atStartOfDay(ZoneOffset.UTC).toInstant()).orElse(start);
+            if (boundary.isAfter(start)) {
+                start = boundary;
+            }
+        }
+        List<TimeSlice> slices = new ArrayList<>();
+        for (Instant sliceFrom = start; sliceFrom.isBefore(to); ) {
+            Instant sliceTo = sliceFrom.plus(properties.getReconciliation().getTransactionSlice());
+            if (sliceTo.isAfter(to)) {
+                sliceTo = to;
+            }
+            slices.add(new TimeSlice(sliceFrom, sliceTo));
+            sliceFrom = sliceTo;
+        }
+        if (slices.isEmpty()) {
+            return ReconciliationTally.EMPTY;
+        }
+        return pool.invoke(new SplitTask<>(slices, 1, leaf -> {
+            TimeSlice slice = leaf.getFirst();
+            List<MismatchRecord> mismatches = new ArrayList<>(repository.findTransactionEntryMismatches(slice.from(), slice.to()));
+            mismatches.addAll(repository.findOrphanEntries(slice.from(), slice.to()));
+            mismatches.addAll(repository.findUnpairedTransfers(slice.from(), slice.to()));
+            repository.insertMismatches(runId, mismatches);
+            return ReconciliationTally.of(0, 0, repository.countTransactions(slice.from(), slice.to()), mismatches);
+        }));
+    }
+
+    private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT " + function + "(hashtext('" + LOCK_KEY + "'))")) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    private record TimeSlice(Instant from, Instant to) {
+    }
+
+    /**
+     * Tiến độ đối soát của 1 account trong 1 task
+     */
+    private static final class AccountProgress {
+        final BigDecimal ledgerNet;
+        final Instant openingCutoff;
+        Long lastSeq;
+        BigDecimal lastSnapshot;
+        BigDecimal settledNet = BigDecimal.ZERO;
+        BigDecimal pendingNet = BigDecimal.ZERO;
+        boolean settled;
+
+        AccountProgress(AccountState state, OpeningBalance opening) {
+            if (state != null) {
+                this.ledgerNet = state.ledgerNet();
+                this.lastSeq = state.lastEntrySeq();
+                this.lastSnapshot = state.lastBalanceSnapshot();
+                this.openingCutoff = null;
+            } else if (opening != null) {
+                this.ledgerNet = opening.balance();
+                this.lastSnapshot = opening.balance();
+                this.openingCutoff = opening.cutoff();
+            } else {
+                this.ledgerNet = BigDecimal.ZERO;
+                this.openingCutoff = null;
+            }
+        }
+
+        boolean isAfterWatermark(EntryRow entry) {
+            if (openingCutoff != null && entry.createdAt().isBefore(openingCutoff)) {
+                // Đã nằm trong số dư mở đầu
+                return false;
+            }
+            return lastSeq == null || entry.seq() > lastSeq;
+        }
+
+        void settle(EntryRow entry) {
+            settledNet = settledNet.add(entry.signedAmount());
+            lastSeq = entry.seq();
+            lastSnapshot = entry.balanceSnapshot();
+            settled = true;
+        }
+
+        /**
+         * Tổng bút toán tới hiện tại (cả phần chưa qua settle delay) - để so với số dư cùng snapshot
+         */
+        BigDecimal ledgerTotal() {
+            return ledgerNet.add(pendingNet);
+        }
+
+        AccountState toState(UUID accountId) {
+            return new AccountState(accountId, ledgerNet.add(settledNet), lastSeq, lastSnapshot);
+        }
+    }
+
+    /**
+     * Chia đôi danh sách tới khi còn leafSize phần tử, chạy lá song song rồi gộp kết quả
+     */
+    private static final class SplitTask<T> extends RecursiveTask<ReconciliationTally> {
+        final List<T> items;
+        final int leafSize;
+        final Function<List<T>, ReconciliationTally> leaf;
+
+        SplitTask(List<T> items, int leafSize, Function<List<T>, ReconciliationTally> leaf) {
+            this.items = items;
+            this.leafSize = leafSize;
+            this.leaf = leaf;
+        }
+
+        @Override
+        protected ReconciliationTally compute() {
+            if (items.size() <= leafSize) {
+                return leaf.apply(items);
+            }
+            int middle = items.size() / 2;
+            SplitTask<T> left = new SplitTask<>(items.subList(0, middle), leafSize, leaf);
+            left.fork();
+            ReconciliationTally right = new SplitTask<>(items.subList(middle, items.size()), leafSize, leaf).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.reconciliation;
+
+import com.thinhpay.backend.modules.corebanking.domain.account.DailyBalanceSnapshot;
+import com.thinhpay.backend.modules.corebanking.domain.ledger.LedgerEntryType;
+import com.thinhpay.backend.modules.corebanking.domain.reconciliation.MismatchKind;
+import com.thinhpay.backend.modules.corebanking.domain.reconciliation.ReconciliationRun;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.Transaction;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Truy vấn JDBC của đối soát sổ cái. Pha transaction lọc theo created_at để Postgres chỉ quét
+ * partition tháng liên quan (và BRIN index created_at trong partition); pha account đọc theo seq
+ * (index (account_id, seq) / (seq) trong từng partition).
+ */
+@Repository
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class LedgerReconciliationRepository {
+    /**
+     * Biên thời gian khi nối Transaction với LedgerEntry của nó: 2 dòng được ghi cùng lúc,
+     * biên này chỉ để Postgres loại được partition không liên quan
+     */
+    private static final String JOIN_MARGIN = "1 day";
+
+    private static final String EXPECTED_ENTRY_TYPE = """
+            CASE WHEN t.type IN ('DEPOSIT', 'TRANSFER_IN') THEN 'CREDIT' ELSE 'DEBIT' END""";
+
+    JdbcTemplate jdbcTemplate;
+
+    // ========== Run ========== //
+
+    public long insertRun(ReconciliationRun.Mode mode, Instant from, Instant to, long entrySeqHigh) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO core_reconciliation_runs
+                    (mode, status, window_from, window_to, entry_seq_high, accounts_checked, entries_checked,
+                     transactions_checked, mismatches, started_at)
+                VALUES (?, 'RUNNING', ?, ?, ?, 0, 0, 0, 0, now())
+                RETURNING id
+                """, Long.class, mode.name(), Timestamp.from(from), Timestamp.from(to), entrySeqHigh);
+    }
+
+    /**
+     * Ghi watermark lần chạy sẽ chốt tới: lớn nhất trong các entry_seq_high được ghi nhận từ settleDelay trước trở về trước
+     * (gồm cả lần chạy này khi settleDelay = 0). Bút toán có seq tới đó đã được insert từ ít nhất settleDelay trước,
+     * transaction ghi nó nếu chưa commit thì đã mở lâu hơn settleDelay.
+     */
+    public long markSettledSeq(long runId, Duration settleDelay) {
+        return jdbcTemplate.queryForObject("""
+                UPDATE core_reconciliation_runs
+                SET entry_seq_settled = (SELECT COALESCE(max(r.entry_seq_high), 0) FROM core_reconciliation_runs r
+                                         WHERE r.started_at <= now() - CAST(? AS INTERVAL))
+                WHERE id = ?
+                RETURNING entry_seq_settled
+                """, Long.class, settleDelay.toMillis() + " milliseconds", runId);
+    }
+
+    public void finishRun(long runId, ReconciliationRun.Status status, ReconciliationTally tally) {
+        jdbcTemplate.update("""
+                UPDATE core_reconciliation_runs
+                SET status = ?, accounts_checked = ?, entries_checked = ?, transactions_checked = ?,
+                    mismatches = ?, finished_at = now()
+                WHERE id = ?
+                """, status.name(), tally.accounts(), tally.entries(), tally.transactions(),
+                tally.totalMismatches(), runId);
+    }
+
+    public void insertMismatches(long runId, List<MismatchRecord> mismatches) {
+        if (mismatches.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO core_reconciliation_mismatches
+                    (run_id, kind, account_id, transaction_id, ledger_entry_id, expected, actual, detail, detected_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, now())
+                """, mismatches.stream()
+                .map(m -> new Object[]{runId, m.kind().name(), m.accountId(), m.transactionId(), m.ledgerEntryId(),
+                        m.expected(), m.actual(), m.detail()})
+                .toList());
+    }
+
+    // ========== Account ========== //
+
+    public List<UUID> findAccountIdsAfter(UUID after, int limit) {
+        return jdbcTemplate.queryForList("SELECT id FROM core_accounts WHERE id > ? ORDER BY id LIMIT ?",
+                UUID.class, after, limit);
+    }
+
+    /**
+     * seq lớn nhất đã commit tại thời điểm gọi
+     */
+    public long findMaxEntrySeq() {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(max(seq), 0) FROM core_ledger_entries", Long.class);
+    }
+
+    /**
+     * Account có bút toán sau seq (gồm cả bút toán chưa được chốt)
+     */
+    public List<UUID> findActiveAccountIds(long afterSeq) {
+        return jdbcTemplate.queryForList("""
+                SELECT DISTINCT account_id FROM core_ledger_entries
+                WHERE seq > ? AND account_id IS NOT NULL
+                ORDER BY account_id
+                """, UUID.class, afterSeq);
+    }
+
+    public Optional<Instant> findEarliestAccountCreatedAt() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject("SELECT min(created_at) FROM core_accounts", Timestamp.class))
+                .map(Timestamp::toInstant);
+    }
+
+    public Map<UUID, AccountBalance> loadBalances(List<UUID> accountIds) {
+        Map<UUID, AccountBalance> balances = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT a.id, a.hot,
+                       a.balance + COALESCE((SELECT sum(s.balance) FROM core_account_balance_shards s
+                                             WHERE s.account_id = a.id), 0) AS total
+                FROM core_accounts a
+                WHERE a.id IN (%s)
+                """.formatted(placeholders(accountIds.size())), rs -> {
+            UUID id = rs.getObject("id", UUID.class);
+            balances.put(id, new AccountBalance(rs.getBoolean("hot"), rs.getBigDecimal("total")));
+        }, accountIds.toArray());
+        return balances;
+    }
+
+    public Map<UUID, AccountState> loadStates(List<UUID> accountIds) {
+        Map<UUID, AccountState> states = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT account_id, ledger_net, last_entry_seq, last_balance_snapshot
+                FROM core_reconciliation_account_state
+                WHERE account_id IN (%s)
+                """.formatted(placeholders(accountIds.size())), rs -> {
+            AccountState state = new AccountState(
+                    rs.getObject("account_id", UUID.class),
+                    rs.getBigDecimal("ledger_net"),
+                    rs.getObject("last_entry_seq", Long.class),
+                    rs.getBigDecimal("last_balance_snapshot"));
+            states.put(state.accountId(), state);
+        }, accountIds.toArray());
+        return states;
+    }
+
+    public void saveStates(List<AccountState> states) {
+        if (states.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO core_reconciliation_account_state
+                    (account_id, ledger_net, last_entry_seq, last_balance_snapshot, updated_at)
+                VALUES (?, ?, ?, ?, now())
+                ON CONFLICT (account_id) DO UPDATE
+                SET ledger_net = EXCLUDED.ledger_net,
+                    last_entry_seq = EXCLUDED.last_entry_seq,
+                    last_balance_snapshot = EXCLUDED.last_balance_snapshot,
+                    updated_at = now()
+                """, states.stream()
+                .map(s -> new Object[]{s.accountId(), s.ledgerNet(), s.lastEntrySeq(), s.lastBalanceSnapshot()})
+                .toList());
+    }
+
+    /**
+     * Số dư mở đầu cho FULL khi partition cũ đã bị tách: snapshot cuối ngày gần nhất trước boundary.
+     * Snapshot ngày d gồm mọi bút toán created_at trước d+1 00:00 UTC (cutoff).
+     */
+    public Map<UUID, OpeningBalance> loadOpeningBalances(List<UUID> accountIds, LocalDate boundary) {
+        Map<UUID, OpeningBalance> openings = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT DISTINCT ON (account_id) account_id, snapshot_date, balance
+                FROM core_daily_balance_snapshots
+                WHERE account_id IN (%s) AND snapshot_date < ?
+                ORDER BY account_id, snapshot_date DESC
+                """.formatted(placeholders(accountIds.size())), rs -> {
+            openings.put(rs.getObject("account_id", UUID.class), new OpeningBalance(
+                    rs.getBigDecimal("balance"),
+                    DailyBalanceSnapshot.cutoffOf(rs.getObject("snapshot_date", LocalDate.class))));
+        }, append(accountIds.toArray(), boundary));
+        return openings;
+    }
+
+    /**
+     * Stream bút toán có seq sau afterSeq của các account theo thứ tự (account_id, seq) bằng cursor - phải gọi trong transaction
+     */
+    public void streamEntries(List<UUID> accountIds, long afterSeq, int fetchSize, Consumer<EntryRow> consumer) {
+        String sql = """
+                SELECT id, seq, transaction_id, account_id, amount, balance_snapshot, entry_type, created_at
+                FROM core_ledger_entries
+                WHERE account_id IN (%s) AND seq > ?
+                ORDER BY account_id, seq
+                """.formatted(placeholders(accountIds.size()));
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            int index = 1;
+            for (UUID accountId : accountIds) {
+                statement.setObject(index++, accountId);
+            }
+            statement.setLong(index, afterSeq);
+            return statement;
+        }, rs -> {
+            consumer.accept(new EntryRow(
+                    rs.getObject("id", UUID.class),
+                    rs.getLong("seq"),
+                    rs.getObject("transaction_id", UUID.class),
+                    rs.getObject("account_id", UUID.class),
+                    LedgerEntryType.valueOf(rs.getString("entry_type")),
+                    rs.getBigDecimal("amount"),
+                    rs.getBigDecimal("balance_snapshot"),
+                    rs.getTimestamp("created_at").toInstant()));
+        });
+    }
+
+    // ========== Transaction ========== //
+
+    public long countTransactions(Instant from, Instant to) {
+        return jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM core_transactions WHERE created_at >= ? AND created_at < ?
+                """, Long.class, Timestamp.from(from), Timestamp.from(to));
+    }
+
+    /**
+     * Transaction COMPLETED trong [from, to) không có đúng 1 LedgerEntry khớp account / amount / chiều
+     */
+    public List<MismatchRecord> findTransactionEntryMismatches(Instant from, Instant to) {
+        return jdbcTemplate.query("""
+                SELECT t.id, t.account_id, t.amount, count(e.id) AS entry_count
+                FROM core_transactions t
+                LEFT JOIN core_ledger_entries e
+                       ON e.transaction_id = t.id
+                      AND e.created_at >= CAST(? AS TIMESTAMPTZ) - CAST(? AS INTERVAL)
+                      AND e.created_at < CAST(? AS TIMESTAMPTZ) + CAST(? AS INTERVAL)
+                WHERE t.created_at >= ? AND t.created_at < ? AND t.status = 'COMPLETED'
+                GROUP BY t.id, t.account_id, t.amount
+                HAVING count(e.id) <> 1
+                    OR bool_and(e.account_id = t.account_id AND e.amount = t.amount
+                                AND e.entry_type = %s) IS NOT TRUE
+                """.formatted(EXPECTED_ENTRY_TYPE), (rs, rowNum) -> {
+            long entryCount = rs.getLong("entry_count");
+            UUID transactionId = rs.getObject("id", UUID.class);
+            UUID accountId = rs.getObject("account_id", UUID.class);
+            if (entryCount == 0) {
+                return new MismatchRecord(MismatchKind.TRANSACTION_ENTRY_MISSING, accountId, transactionId, null,
+                        BigDecimal.ONE, BigDecimal.ZERO, null);
+            }
+            if (entryCount > 1) {
+                return new MismatchRecord(MismatchKind.TRANSACTION_ENTRY_DUPLICATE, accountId, transactionId, null,
+                        BigDecimal.ONE, BigDecimal.valueOf(entryCount), null);
+            }
+            return new MismatchRecord(MismatchKind.TRANSACTION_ENTRY_MISMATCH, accountId, transactionId, null,
+                    rs.getBigDecimal("amount"), null, "Ledger entry account, amount or direction differs from transaction");
+        }, Timestamp.from(from), JOIN_MARGIN, Timestamp.from(to), JOIN_MARGIN, Timestamp.from(from), Timestamp.from(to));
+    }
+
+    /**
+     * LedgerEntry trong [from, to) không có Transaction tương ứng
+     */
+    public List<MismatchRecord> findOrphanEntries(Instant from, Instant to) {
+        return jdbcTemplate.query("""
+                SELECT e.id, e.account_id, e.transaction_id, e.amount
+                FROM core_ledger_entries e
+                WHERE e.created_at >= ? AND e.created_at < ?
+                  AND NOT EXISTS (SELECT 1 FROM core_transactions t
+                                  WHERE t.id = e.transaction_id
+                                    AND t.created_at >= CAST(? AS TIMESTAMPTZ) - CAST(? AS INTERVAL)
+                                    AND t.created_at < CAST(? AS TIMESTAMPTZ) + CAST(? AS INTERVAL))
+                """, (rs, rowNum) -> new MismatchRecord(MismatchKind.LEDGER_ENTRY_ORPHAN,
+                        rs.getObject("account_id", UUID.class), rs.getObject("transaction_id", UUID.class),
+                        rs.getObject("id", UUID.class), null, rs.getBigDecimal("amount"), null),
+                Timestamp.from(from), Timestamp.from(to), Timestamp.from(from), JOIN_MARGIN, Timestamp.from(to), JOIN_MARGIN);
+    }
+
+    /**
+     * TRANSFER_OUT trong [from, to) thiếu TRANSFER_IN (requestId + "-IN"), và TRANSFER_IN thiếu TRANSFER_OUT
+     */
+    public List<MismatchRecord> findUnpairedTransfers(Instant from, Instant to) {
+        String suffix = Transaction.TRANSFER_IN_SUFFIX;
+        List<MismatchRecord> unpaired = new ArrayList<>(jdbcTemplate.query("""
+                SELECT t.id, t.account_id, t.request_id
+                FROM core_transactions t
+                WHERE t.created_at >= ? AND t.created_at < ? AND t.status = 'COMPLETED' AND t.type = 'TRANSFER_OUT'
+                  AND NOT EXISTS (SELECT 1 FROM core_transactions p
+                                  WHERE p.request_id = t.request_id || ?
+                                    AND p.type = 'TRANSFER_IN'
+                                    AND p.created_at >= t.created_at - CAST(? AS INTERVAL)
+                                    AND p.created_at < t.created_at + CAST(? AS INTERVAL))
+                """, (rs, rowNum) -> unpaired(rs, "TRANSFER_IN " + rs.getString("request_id") + suffix + " not found"),
+                Timestamp.from(from), Timestamp.from(to), suffix, JOIN_MARGIN, JOIN_MARGIN));
+        unpaired.addAll(jdbcTemplate.query("""
+                SELECT t.id, t.account_id, t.request_id
+                FROM core_transactions t
+                WHERE t.created_at >= ? AND t.created_at < ? AND t.status = 'COMPLETED' AND t.type = 'TRANSFER_IN'
+                  AND NOT (right(t.request_id, length(?)) = ?
+                           AND EXISTS (SELECT 1 FROM core_transactions p
+                                       WHERE p.request_id = left(t.request_id, -length(?))
+                                         AND p.type = 'TRANSFER_OUT'
+                                         AND p.created_at >= t.created_at - CAST(? AS INTERVAL)
+                                         AND p.created_at < t.created_at + CAST(? AS INTERVAL)))
+                """, (rs, rowNum) -> unpaired(rs, "TRANSFER_OUT for " + rs.getString("request_id") + " not found"),
+                Timestamp.from(from), Timestamp.from(to), suffix, suffix, suffix, JOIN_MARGIN, JOIN_MARGIN));
+        return unpaired;
+    }
+
+    private static MismatchRecord unpaired(ResultSet rs, String detail) throws SQLException {
+        return new MismatchRecord(MismatchKind.TRANSFER_PAIR_MISSING, rs.getObject("account_id", UUID.class),
+                rs.getObject("id", UUID.class), null, null, null, detail);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static Object[] append(Object[] args, Object last) {
+        Object[] all = Arrays.copyOf(args, args.length + 1);
+        all[args.length] = last;
+        return all;
+    }
+
+    public record AccountBalance(boolean hot, BigDecimal total) {
+    }
+
+    /**
+     * Trạng thái đã đối soát của 1 account (xem ReconciliationAccountState)
+     */
+    public record AccountState(UUID accountId, BigDecimal ledgerNet, Long lastEntrySeq, BigDecimal lastBalanceSnapshot) {
+    }
+
+    /**
+     * Số dư đã gồm mọi bút toán created_at trước cutoff
+     */
+    public record OpeningBalance(BigDecimal balance, Instant cutoff) {
+    }
+
+    public record EntryRow(UUID id, long seq, UUID transactionId, UUID accountId, LedgerEntryType entryType, BigDecimal amount,
+                           BigDecimal balanceSnapshot, Instant createdAt) {
+
+        public BigDecimal signedAmount() {
+            return entryType == LedgerEntryType.CREDIT ? amount : amount.negate();
+        }
+    }
+
+    public record MismatchRecord(MismatchKind kind, UUID accountId, UUID transactionId, UUID ledgerEntryId,
+                                 BigDecimal expected, BigDecimal actual, String detail) {
+    }
+}
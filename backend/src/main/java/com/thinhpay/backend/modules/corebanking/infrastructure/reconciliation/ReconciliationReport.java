@@ -0,0 +1,9 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.reconciliation;
+
+import com.thinhpay.backend.modules.corebanking.domain.reconciliation.ReconciliationRun;
+
+import java.time.Instant;
+
+public record ReconciliationReport(long runId, ReconciliationRun.Mode mode, Instant windowFrom, Instant windowTo,
+                                   ReconciliationTally tally) {
+}
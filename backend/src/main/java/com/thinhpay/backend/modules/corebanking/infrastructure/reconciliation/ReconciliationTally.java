@@ -0,0 +1,41 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.reconciliation;
+
+import com.thinhpay.backend.modules.corebanking.domain.reconciliation.MismatchKind;
+import com.thinhpay.backend.modules.corebanking.infrastructure.reconciliation.LedgerReconciliationRepository.MismatchRecord;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Kết quả (bất biến) của 1 task đối soát, gộp dần lên khi các task ForkJoin join lại
+ */
+public record ReconciliationTally(long accounts, long entries, long transactions, Map<MismatchKind, Long> mismatches) {
+    public static final ReconciliationTally EMPTY = new ReconciliationTally(0, 0, 0, Map.of());
+
+    public ReconciliationTally {
+        mismatches = Collections.unmodifiableMap(mismatches.isEmpty()
+                ? new EnumMap<>(MismatchKind.class)
+                : new EnumMap<>(mismatches));
+    }
+
+    public static ReconciliationTally of(long accounts, long entries, long transactions,
+                                         Collection<MismatchRecord> records) {
+        Map<MismatchKind, Long> byKind = new EnumMap<>(MismatchKind.class);
+        records.forEach(record -> byKind.merge(record.kind(), 1L, Long::sum));
+        return new ReconciliationTally(accounts, entries, transactions, byKind);
+    }
+
+    public ReconciliationTally merge(ReconciliationTally other) {
+        Map<MismatchKind, Long> merged = new EnumMap<>(MismatchKind.class);
+        merged.putAll(mismatches);
+        other.mismatches.forEach((kind, count) -> merged.merge(kind, count, Long::sum));
+        return new ReconciliationTally(accounts + other.accounts, entries + other.entries,
+                transactions + other.transactions, merged);
+    }
+
+    public long totalMismatches() {
+        return mismatches.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
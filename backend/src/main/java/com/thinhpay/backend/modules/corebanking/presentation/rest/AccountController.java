@@ -1,21 +1,41 @@
 package com.thinhpay.backend.modules.corebanking.presentation.rest;
 
+import com.thinhpay.backend.modules.corebanking.application.dto.request.BatchTransferRequest;
 import com.thinhpay.backend.modules.corebanking.application.dto.request.DepositRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.StatementFormat;
 import com.thinhpay.backend.modules.corebanking.application.dto.request.TransferRequest;
 import com.thinhpay.backend.modules.corebanking.application.dto.request.WithdrawRequest;
 import com.thinhpay.backend.modules.corebanking.application.dto.response.AccountResponse;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.BalanceAsOfResponse;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.BatchTransferResponse;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.TransactionHistoryResponse;
 import com.thinhpay.backend.modules.corebanking.application.dto.response.TransferResponse;
+import com.thinhpay.backend.modules.corebanking.application.port.in.BatchTransferUseCase;
 import com.thinhpay.backend.modules.corebanking.application.port.in.DepositUseCase;
 import com.thinhpay.backend.modules.corebanking.application.port.in.TransferUseCase;
 import com.thinhpay.backend.modules.corebanking.application.port.in.WithdrawUseCase;
 import com.thinhpay.backend.modules.corebanking.application.service.AccountQueryService;
+import com.thinhpay.backend.modules.corebanking.application.service.AccountStatementService;
+import com.thinhpay.backend.modules.corebanking.application.service.BalanceHistoryService;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionStatus;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionType;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.TransactionHistoryRepository;
+import com.thinhpay.backend.shared.infrastructure.idempotency.IdempotencyService;
 import com.thinhpay.backend.shared.presentation.ApiResponse;
 import jakarta.validation.Valid;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,23 +47,62 @@ public class AccountController {
     DepositUseCase depositUseCase;
     WithdrawUseCase withdrawUseCase;
     TransferUseCase transferUseCase;
+    BatchTransferUseCase batchTransferUseCase;
     AccountQueryService accountQueryService;
+    AccountStatementService accountStatementService;
+    BalanceHistoryService balanceHistoryService;
+    IdempotencyService idempotencyService;
 
+    /**
+     * Idempotency-Key header là tùy chọn: nếu không gửi thì dùng requestId trong body làm key.
+     * Request trùng key nhận lại đúng response của lần đầu.
+     */
     @PostMapping("/deposit")
-    public ApiResponse<AccountResponse> deposit(@RequestBody @Valid DepositRequest depositRequest) {
-        AccountResponse accountResponse = depositUseCase.deposit(depositRequest);
-        return ApiResponse.success(accountResponse, "Deposit successful");
+    public ApiResponse<AccountResponse> deposit(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody @Valid DepositRequest depositRequest
+    ) {
+        return idempotencyService.execute("deposit", keyOrRequestId(idempotencyKey, depositRequest.getRequestId()),
+                depositRequest, AccountResponse.class, () -> {
+                    AccountResponse accountResponse = depositUseCase.deposit(depositRequest);
+                    return ApiResponse.success(accountResponse, "Deposit successful");
+                });
     }
 
 
     @PostMapping("/withdraw")
-    public ApiResponse<AccountResponse> withdraw(@RequestBody @Valid WithdrawRequest request) {
-        return ApiResponse.success(withdrawUseCase.withdraw(request), "Withdraw successful");
+    public ApiResponse<AccountResponse> withdraw(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody @Valid WithdrawRequest request
+    ) {
+        return idempotencyService.execute("withdraw", keyOrRequestId(idempotencyKey, request.getRequestId()),
+                request, AccountResponse.class,
+                () -> ApiResponse.success(withdrawUseCase.withdraw(request), "Withdraw successful"));
     }
 
     @PostMapping("/transfer")
-    public ApiResponse<TransferResponse> transfer(@RequestBody @Valid TransferRequest request) {
-        return ApiResponse.success(transferUseCase.transfer(request), "Transfer completed");
+    public ApiResponse<TransferResponse> transfer(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody @Valid TransferRequest request
+    ) {
+        return idempotencyService.execute("transfer", keyOrRequestId(idempotencyKey, request.getRequestId()),
+                request, TransferResponse.class,
+                () -> ApiResponse.success(transferUseCase.transfer(request), "Transfer completed"));
+    }
+
+    /**
+     * Batch chỉ idempotent khi client gửi Idempotency-Key (mỗi item đã có requestId riêng).
+     */
+    @PostMapping("/transfers/batch")
+    public ApiResponse<BatchTransferResponse> transferBatch(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody @Valid BatchTransferRequest request
+    ) {
+        return idempotencyService.execute("transfer-batch", idempotencyKey, request, BatchTransferResponse.class, () -> {
+            BatchTransferResponse response = batchTransferUseCase.transferBatch(request);
+            return ApiResponse.success(response, "Batch processed: "
+                    + response.getSuccessCount() + " succeeded, " + response.getFailedCount() + " failed");
+        });
     }
 
     @GetMapping("/users/{userId}")
@@ -58,4 +117,58 @@ public class AccountController {
     ) {
         return ApiResponse.success(accountQueryService.getAccountBalance(userId, currency));
     }
+
+    /**
+     * Số dư tại 1 thời điểm trong quá khứ (ISO-8601, vd. 2026-01-31T23:59:59Z)
+     */
+    @GetMapping("/users/{userId}/balance/as-of")
+    public ApiResponse<BalanceAsOfResponse> getBalanceAsOf(
+            @PathVariable UUID userId,
+            @RequestParam String currency,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant at
+    ) {
+        return ApiResponse.success(balanceHistoryService.getBalanceAsOf(userId, currency, at));
+    }
+
+    /**
+     * Lịch sử giao dịch mới nhất trước. Trang kế tiếp: gửi lại nextCursor của trang trước trong tham số cursor
+     * (giữ nguyên các bộ lọc).
+     */
+    @GetMapping("/users/{userId}/transactions")
+    public ApiResponse<TransactionHistoryResponse> getTransactionHistory(
+            @PathVariable UUID userId,
+            @RequestParam String currency,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) TransactionStatus status,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        var filter = new TransactionHistoryRepository.Filter(type, status, minAmount, maxAmount);
+        return ApiResponse.success(accountQueryService.getTransactionHistory(userId, currency, filter, cursor, limit));
+    }
+
+    /**
+     * Sao kê bút toán trong [from, to] (ngày UTC, tính cả 2 đầu) theo thứ tự thời gian, stream thẳng ra response.
+     */
+    @GetMapping("/users/{userId}/statement")
+    public ResponseEntity<StreamingResponseBody> getStatement(
+            @PathVariable UUID userId,
+            @RequestParam String currency,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "NDJSON") StatementFormat format
+    ) {
+        AccountStatementService.StatementQuery query = accountStatementService.prepare(userId, currency, from, to);
+        String fileName = "statement-" + currency + "-" + from + "-" + to + "." + format.getFileExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(out -> accountStatementService.writeStatement(query, format, out));
+    }
+
+    private static String keyOrRequestId(String idempotencyKey, String requestId) {
+        return idempotencyKey != null && !idempotencyKey.isBlank() ? idempotencyKey : requestId;
+    }
 }
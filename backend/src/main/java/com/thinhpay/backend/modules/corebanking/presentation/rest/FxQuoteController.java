@@ -0,0 +1,30 @@
+package com.thinhpay.backend.modules.corebanking.presentation.rest;
+
+import com.thinhpay.backend.modules.corebanking.application.dto.request.FxQuoteRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.FxQuoteResponse;
+import com.thinhpay.backend.modules.corebanking.application.service.FxQuoteService;
+import com.thinhpay.backend.shared.presentation.ApiResponse;
+import jakarta.validation.Valid;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/fx")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class FxQuoteController {
+    FxQuoteService fxQuoteService;
+
+    /**
+     * Chốt tỉ giá trong quote-ttl; gửi quoteId trong POST /api/v1/accounts/transfer để chuyển khác loại tiền
+     */
+    @PostMapping("/quotes")
+    public ApiResponse<FxQuoteResponse> createQuote(@RequestBody @Valid FxQuoteRequest request) {
+        return ApiResponse.success(fxQuoteService.createQuote(request), "Quote created");
+    }
+}
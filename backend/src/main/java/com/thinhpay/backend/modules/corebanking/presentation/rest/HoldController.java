@@ -0,0 +1,71 @@
+package com.thinhpay.backend.modules.corebanking.presentation.rest;
+
+import com.thinhpay.backend.modules.corebanking.application.dto.request.CaptureHoldRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.PlaceHoldRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.HoldResponse;
+import com.thinhpay.backend.modules.corebanking.application.port.in.CaptureHoldUseCase;
+import com.thinhpay.backend.modules.corebanking.application.port.in.PlaceHoldUseCase;
+import com.thinhpay.backend.modules.corebanking.application.port.in.ReleaseHoldUseCase;
+import com.thinhpay.backend.shared.infrastructure.idempotency.IdempotencyService;
+import com.thinhpay.backend.shared.presentation.ApiResponse;
+import jakarta.validation.Valid;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/holds")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class HoldController {
+    PlaceHoldUseCase placeHoldUseCase;
+    CaptureHoldUseCase captureHoldUseCase;
+    ReleaseHoldUseCase releaseHoldUseCase;
+    IdempotencyService idempotencyService;
+
+    /**
+     * Giữ tiền tới expiresIn (mặc định holds.default-ttl); hết hạn mà chưa capture thì tự được trả lại
+     */
+    @PostMapping
+    public ApiResponse<HoldResponse> placeHold(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody @Valid PlaceHoldRequest request
+    ) {
+        return idempotencyService.execute("hold", keyOrRequestId(idempotencyKey, request.getRequestId()),
+                request, HoldResponse.class,
+                () -> ApiResponse.success(placeHoldUseCase.placeHold(request), "Hold placed"));
+    }
+
+    /**
+     * Capture 1 phần hoặc toàn bộ số còn giữ, có thể gọi nhiều lần (mỗi lần 1 requestId)
+     */
+    @PostMapping("/{holdId}/capture")
+    public ApiResponse<HoldResponse> captureHold(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @PathVariable UUID holdId,
+            @RequestBody @Valid CaptureHoldRequest request
+    ) {
+        return idempotencyService.execute("hold-capture", keyOrRequestId(idempotencyKey, request.getRequestId()),
+                request, HoldResponse.class,
+                () -> ApiResponse.success(captureHoldUseCase.captureHold(holdId, request), "Hold captured"));
+    }
+
+    /**
+     * Trả lại phần còn giữ. Chỉ idempotent khi client gửi Idempotency-Key
+     */
+    @PostMapping("/{holdId}/release")
+    public ApiResponse<HoldResponse> releaseHold(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @PathVariable UUID holdId
+    ) {
+        return idempotencyService.execute("hold-release", idempotencyKey, holdId, HoldResponse.class,
+                () -> ApiResponse.success(releaseHoldUseCase.releaseHold(holdId), "Hold released"));
+    }
+
+    private static String keyOrRequestId(String idempotencyKey, String requestId) {
+        return idempotencyKey != null && !idempotencyKey.isBlank() ? idempotencyKey : requestId;
+    }
+}
@@ -0,0 +1,52 @@
+package com.thinhpay.backend.modules.corebanking.presentation.rest;
+
+import com.thinhpay.backend.modules.corebanking.application.dto.request.ScheduleTransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.ScheduledTransferResponse;
+import com.thinhpay.backend.modules.corebanking.application.port.in.ScheduleTransferUseCase;
+import com.thinhpay.backend.modules.corebanking.application.service.ScheduledTransferService;
+import com.thinhpay.backend.shared.infrastructure.idempotency.IdempotencyService;
+import com.thinhpay.backend.shared.presentation.ApiResponse;
+import jakarta.validation.Valid;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/scheduled-transfers")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ScheduledTransferController {
+    ScheduleTransferUseCase scheduleTransferUseCase;
+    ScheduledTransferService scheduledTransferService;
+    IdempotencyService idempotencyService;
+
+    /**
+     * Hẹn giờ (ONCE) hoặc chuyển định kỳ DAILY / WEEKLY / MONTHLY từ startAt, cùng loại tiền
+     */
+    @PostMapping
+    public ApiResponse<ScheduledTransferResponse> schedule(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody @Valid ScheduleTransferRequest request
+    ) {
+        return idempotencyService.execute("transfer-schedule", keyOrRequestId(idempotencyKey, request.getRequestId()),
+                request, ScheduledTransferResponse.class,
+                () -> ApiResponse.success(scheduleTransferUseCase.schedule(request), "Transfer scheduled"));
+    }
+
+    @GetMapping("/{scheduleId}")
+    public ApiResponse<ScheduledTransferResponse> getScheduledTransfer(@PathVariable UUID scheduleId) {
+        return ApiResponse.success(scheduledTransferService.getScheduledTransfer(scheduleId));
+    }
+
+    @PostMapping("/{scheduleId}/cancel")
+    public ApiResponse<ScheduledTransferResponse> cancel(@PathVariable UUID scheduleId) {
+        return ApiResponse.success(scheduleTransferUseCase.cancel(scheduleId), "Scheduled transfer cancelled");
+    }
+
+    private static String keyOrRequestId(String idempotencyKey, String requestId) {
+        return idempotencyKey != null && !idempotencyKey.isBlank() ? idempotencyKey : requestId;
+    }
+}
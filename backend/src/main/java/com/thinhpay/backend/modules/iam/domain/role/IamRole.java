@@ -1,9 +1,12 @@
 package com.thinhpay.backend.modules.iam.domain.role;
 
+import com.thinhpay.backend.shared.infrastructure.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 
@@ -18,9 +21,12 @@ import java.time.Instant;
  *
  * Note: Đây là reference data table - seed data cố định, ít khi thay đổi.
  * Permissions được lưu dạng JSON array trong TEXT field.
+ * Cache trong Hibernate second-level cache (nonstrict-read-write: vẫn cho phép sửa, node khác thấy sau TTL).
  */
 @Entity
 @Table(name = "iam_roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = HibernateCacheConfig.IAM_ROLE_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
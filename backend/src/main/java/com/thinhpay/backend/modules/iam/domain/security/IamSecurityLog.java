@@ -1,10 +1,12 @@
 package com.thinhpay.backend.modules.iam.domain.security;
 
+import com.thinhpay.backend.shared.infrastructure.persistence.UuidV7Generator;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -35,7 +37,8 @@ import java.util.UUID;
 public class IamSecurityLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Column(name = "id", updatable = false, nullable = false)
     UUID id;
 
@@ -1,8 +1,12 @@
 package com.thinhpay.backend.modules.iam.infrastructure.persistence.jpa;
 
 import com.thinhpay.backend.modules.iam.domain.role.IamRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface IamRoleRepository extends JpaRepository<IamRole, String> {
@@ -18,4 +22,11 @@ public interface IamRoleRepository extends JpaRepository<IamRole, String> {
      * Dùng để validate khi assign role cho user.
      */
     boolean existsById(String id);
+
+    /**
+     * Danh sách role đọc từ query cache (entity trong region iamRoles).
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<IamRole> findAll();
 }
@@ -4,6 +4,10 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * ThinhPay application configuration properties.
  * Maps properties from application.yaml với prefix "thinhpay".
@@ -15,6 +19,9 @@ public class ThinhPayProperties {
 
     private App app = new App();
     private Email email = new Email();
+    private Idempotency idempotency = new Idempotency();
+    private Cache cache = new Cache();
+    private Outbox outbox = new Outbox();
 
     @Data
     public static class App {
@@ -41,4 +48,109 @@ public class ThinhPayProperties {
          */
         private String fromName;
     }
+
+    @Data
+    public static class Idempotency {
+        /**
+         * Thời gian giữ response đã hoàn tất để replay
+         */
+        private Duration ttl = Duration.ofHours(24);
+
+        /**
+         * Claim IN_PROGRESS quá thời gian này được coi là bị bỏ dở và có thể claim lại
+         */
+        private Duration inFlightTimeout = Duration.ofSeconds(30);
+
+        /**
+         * Chu kỳ dọn key hết hạn - maps from "purge-interval" in YAML
+         */
+        private Duration purgeInterval = Duration.ofMinutes(10);
+
+        /**
+         * Số response giữ trong Caffeine (local) trước khi phải đọc Postgres
+         */
+        private long localCacheSize = 10_000;
+
+        private Duration localCacheTtl = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Cache {
+        /**
+         * Cache có thêm tầng L1 Caffeine (local) trước cache manager chính (Redis) - maps from "two-level"
+         */
+        private List<String> twoLevel = new ArrayList<>(List.of("accountBalances", "userAccounts"));
+
+        private long localMaximumSize = 100_000;
+
+        /**
+         * TTL của L1: chặn trên thời gian stale nếu node lỡ mất message invalidation
+         */
+        private Duration localTtl = Duration.ofSeconds(30);
+
+        /**
+         * Redis pub/sub channel báo các node khác xóa L1
+         */
+        private String invalidationChannel = "thinhpay:cache:invalidation";
+
+        /**
+         * Số entry tối đa mỗi region của Hibernate second-level cache (reference entity, query cache)
+         */
+        private long entityMaximumSize = 10_000;
+
+        /**
+         * TTL của region second-level cache: chặn trên thời gian stale giữa các node (không có invalidation chéo node)
+         */
+        private Duration entityTtl = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Outbox {
+        /**
+         * Bật relay trên node này (tắt nếu chỉ muốn ghi outbox, để node khác relay)
+         */
+        private boolean relayEnabled = true;
+
+        /**
+         * Bật lịch poll nền của relay; tắt thì relay chỉ chạy khi được gọi trực tiếp (relayBatch)
+         */
+        private boolean pollingEnabled = true;
+
+        private Duration pollInterval = Duration.ofMillis(200);
+
+        /**
+         * Số record claim trong 1 transaction của relay
+         */
+        private int batchSize = 200;
+
+        /**
+         * Số batch tối đa trong 1 lần poll khi outbox đang dồn
+         */
+        private int maxBatchesPerPoll = 20;
+
+        /**
+         * Record đã publish được giữ lại để tra cứu trước khi bị xóa
+         */
+        private Duration retention = Duration.ofDays(1);
+
+        private Duration purgeInterval = Duration.ofMinutes(10);
+
+        private Publisher publisher = Publisher.APPLICATION;
+
+        /**
+         * Redis stream nhận event khi publisher = REDIS_STREAM
+         */
+        private String stream = "thinhpay:outbox";
+    }
+
+    public enum Publisher {
+        /**
+         * Publish OutboxMessage qua ApplicationEventPublisher (listener trong cùng JVM)
+         */
+        APPLICATION,
+        /**
+         * XADD vào Redis stream (consumer group ở service khác)
+         */
+        REDIS_STREAM
+    }
 }
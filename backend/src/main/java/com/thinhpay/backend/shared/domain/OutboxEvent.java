@@ -0,0 +1,20 @@
+package com.thinhpay.backend.shared.domain;
+
+/**
+ * Domain event cần đi ra ngoài JVM (cache, notification, analytics...).
+ *
+ * DomainEventPublisher ghi event này vào outbox trong cùng transaction với thay đổi gây ra nó;
+ * relay publish lần lượt theo thứ tự của từng aggregate.
+ */
+public interface OutboxEvent {
+
+    /**
+     * Ví dụ: "Account"
+     */
+    String getAggregateType();
+
+    /**
+     * Event cùng aggregate được publish đúng thứ tự ghi
+     */
+    String getAggregateId();
+}
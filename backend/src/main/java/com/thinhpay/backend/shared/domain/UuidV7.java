@@ -0,0 +1,60 @@
+package com.thinhpay.backend.shared.domain;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUID version 7 (RFC 9562): 48 bit unix epoch millis + 12 bit counter + 62 bit random.
+ *
+ * Id tăng dần theo thời gian nên INSERT luôn rơi vào trang cuối của B-tree index,
+ * tránh page split và giữ các trang nóng trong cache (khác với UUID v4 ngẫu nhiên).
+ * Trong cùng 1 millisecond, counter 12 bit đảm bảo id vẫn tăng đơn điệu trên 1 JVM.
+ */
+public final class UuidV7 {
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC_4122 = 0x8000000000000000L;
+    private static final long COUNTER_MASK = 0xFFFL;
+
+    /**
+     * (timestamp << 12) | counter của id được cấp gần nhất
+     */
+    private static final AtomicLong LAST_STATE = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID generate() {
+        return generate(System.currentTimeMillis());
+    }
+
+    static UUID generate(long epochMillis) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long state;
+        while (true) {
+            long last = LAST_STATE.get();
+            // Counter khởi tạo ngẫu nhiên ở nửa dưới để còn chỗ tăng trong cùng millisecond
+            long candidate = (epochMillis << 12) | random.nextLong(COUNTER_MASK >> 1);
+            // Đồng hồ lùi hoặc cùng millisecond: tăng counter (tràn counter thì mượn millisecond kế tiếp)
+            state = candidate > last ? candidate : last + 1;
+            if (LAST_STATE.compareAndSet(last, state)) {
+                break;
+            }
+        }
+
+        long mostSigBits = ((state >>> 12) << 16) | VERSION_7 | (state & COUNTER_MASK);
+        long leastSigBits = (random.nextLong() >>> 2) | VARIANT_RFC_4122;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Thời điểm được mã hóa trong 48 bit đầu của UUID v7.
+     */
+    public static Instant timestampOf(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+        }
+        return Instant.ofEpochMilli(uuid.getMostSignificantBits() >>> 16);
+    }
+}
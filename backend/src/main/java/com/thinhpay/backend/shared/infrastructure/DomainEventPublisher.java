@@ -1,18 +1,28 @@
 package com.thinhpay.backend.shared.infrastructure;
 
+import com.thinhpay.backend.shared.domain.OutboxEvent;
+import com.thinhpay.backend.shared.infrastructure.outbox.OutboxWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
+/**
+ * Publish domain event cho listener trong JVM (thường là @TransactionalEventListener chạy sau commit).
+ * {@link OutboxEvent} còn được ghi vào outbox trong transaction hiện tại để relay gửi ra ngoài.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class DomainEventPublisher {
     private final ApplicationEventPublisher eventPublisher;
+    private final OutboxWriter outboxWriter;
 
     public void publish(Object event) {
         log.debug("Publishing domain event: {}", event.getClass().getSimpleName());
+        if (event instanceof OutboxEvent outboxEvent) {
+            outboxWriter.append(outboxEvent);
+        }
         eventPublisher.publishEvent(event);
     }
 }
@@ -0,0 +1,21 @@
+package com.thinhpay.backend.shared.infrastructure.cache;
+
+import java.time.Instant;
+
+/**
+ * Báo các node khác xóa L1 của {@link TwoLevelCache} sau khi node này evict.
+ */
+public interface CacheInvalidationBroadcaster {
+
+    /**
+     * Không có Redis (test / chạy 1 node): không cần báo ai.
+     */
+    CacheInvalidationBroadcaster NONE = (cacheName, key, changedAt) -> {
+    };
+
+    /**
+     * @param key       key đã evict, null nếu xóa cả cache
+     * @param changedAt thời điểm dữ liệu gốc thay đổi (để đo độ trễ invalidation ở node nhận)
+     */
+    void broadcast(String cacheName, String key, Instant changedAt);
+}
@@ -0,0 +1,58 @@
+package com.thinhpay.backend.shared.infrastructure.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Invalidation L1 giữa các node qua Redis pub/sub.
+ *
+ * Message: {@code nodeId|changedAtMillis|cacheName|key} (key rỗng = xóa cả cache).
+ * Node bỏ qua message do chính nó gửi. Mất message (Redis pub/sub không bền vững) chỉ làm
+ * L1 của node nhận stale tối đa thinhpay.cache.local-ttl.
+ */
+@Slf4j
+public class RedisCacheInvalidationBroadcaster implements CacheInvalidationBroadcaster, MessageListener {
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final TwoLevelCacheManager cacheManager;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public RedisCacheInvalidationBroadcaster(StringRedisTemplate redisTemplate, String channel,
+                                             TwoLevelCacheManager cacheManager) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void broadcast(String cacheName, String key, Instant changedAt) {
+        String message = String.join("|", nodeId, Long.toString(changedAt.toEpochMilli()), cacheName,
+                key == null ? "" : key);
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (RuntimeException e) {
+            // Dữ liệu gốc đã commit: không làm hỏng request vì Redis, node khác tự hết hạn L1
+            log.warn("Failed to broadcast invalidation of {}[{}]: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 4) {
+            log.warn("Ignoring malformed cache invalidation message on {}", channel);
+            return;
+        }
+        if (nodeId.equals(parts[0])) {
+            return;
+        }
+        cacheManager.evictFromPeer(parts[2], parts[3].isEmpty() ? null : parts[3],
+                Instant.ofEpochMilli(Long.parseLong(parts[1])));
+    }
+}
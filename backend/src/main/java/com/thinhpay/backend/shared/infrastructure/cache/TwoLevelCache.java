@@ -0,0 +1,221 @@
+package com.thinhpay.backend.shared.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache 2 tầng: L1 Caffeine trong JVM trước L2 (cache của cache manager chính, Redis ở dev/prod).
+ *
+ * Đọc: L1 -> L2 -> loader; giá trị lấy từ L2 / loader được đưa vào L1. Với @Cacheable(sync = true),
+ * mỗi key chỉ có 1 lần load tại 1 thời điểm trên mỗi node.
+ *
+ * Evict: xóa L1 trước (Caffeine chặn tới khi lần load đang chạy của key đó xong, nên giá trị cũ
+ * vừa load không sống sót), rồi L2, rồi báo các node khác xóa L1 của họ. Node nhận message cũng
+ * xóa L2 nếu chính nó vừa ghi key đó vào L2: giá trị đó có thể được đọc từ DB trước khi commit.
+ *
+ * Key của L1 là String.valueOf(key) để khớp với key trong message invalidation.
+ */
+final class TwoLevelCache implements Cache {
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Boolean> recentRemoteWrites;
+    private final Cache remote;
+    private final CacheInvalidationBroadcaster broadcaster;
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder localMisses = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder remoteMisses = new LongAdder();
+    private final Timer localInvalidationLag;
+    private final Timer remoteInvalidationLag;
+
+    TwoLevelCache(String name, Cache remote, long maximumSize, Duration localTtl,
+                  CacheInvalidationBroadcaster broadcaster, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.remote = remote;
+        this.broadcaster = broadcaster;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(localTtl)
+                .build();
+        this.recentRemoteWrites = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(localTtl)
+                .build();
+
+        registerTier(meterRegistry, "l1", localHits, localMisses);
+        registerTier(meterRegistry, "l2", remoteHits, remoteMisses);
+        this.localInvalidationLag = invalidationLag(meterRegistry, "local");
+        this.remoteInvalidationLag = invalidationLag(meterRegistry, "remote");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            localHits.increment();
+            return new SimpleValueWrapper(value);
+        }
+        localMisses.increment();
+
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper == null || wrapper.get() == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        local.put(localKey, wrapper.get());
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            localHits.increment();
+            return (T) value;
+        }
+        localMisses.increment();
+        return (T) local.get(localKey, k -> load(key, k, valueLoader));
+    }
+
+    private Object load(Object key, String localKey, Callable<?> valueLoader) {
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            remoteHits.increment();
+            return wrapper.get();
+        }
+        remoteMisses.increment();
+
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null) {
+            remote.put(key, value);
+            recentRemoteWrites.put(localKey, Boolean.TRUE);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        String localKey = localKey(key);
+        remote.put(key, value);
+        recentRemoteWrites.put(localKey, Boolean.TRUE);
+        local.put(localKey, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        evict(key, Instant.now());
+    }
+
+    /**
+     * @param changedAt thời điểm dữ liệu gốc thay đổi, dùng cho metric cache.invalidation.lag
+     */
+    void evict(Object key, Instant changedAt) {
+        String localKey = localKey(key);
+        local.invalidate(localKey);
+        remote.evict(key);
+        recentRemoteWrites.invalidate(localKey);
+        localInvalidationLag.record(lagSince(changedAt));
+        broadcaster.broadcast(name, localKey, changedAt);
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        remote.clear();
+        recentRemoteWrites.invalidateAll();
+        broadcaster.broadcast(name, null, Instant.now());
+    }
+
+    /**
+     * Xử lý message invalidation từ node khác (L2 đã được node gửi xóa).
+     *
+     * @param key null nếu node gửi xóa cả cache
+     */
+    void evictFromPeer(String key, Instant changedAt) {
+        if (key == null) {
+            local.invalidateAll();
+            return;
+        }
+        local.invalidate(key);
+        if (recentRemoteWrites.asMap().remove(key) != null) {
+            remote.evict(key);
+        }
+        remoteInvalidationLag.record(lagSince(changedAt));
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private static Duration lagSince(Instant changedAt) {
+        Duration lag = Duration.between(changedAt, Instant.now());
+        return lag.isNegative() ? Duration.ZERO : lag;
+    }
+
+    private void registerTier(MeterRegistry meterRegistry, String tier, LongAdder hits, LongAdder misses) {
+        FunctionCounter.builder("cache.tier.gets", hits, LongAdder::sum)
+                .tags("cache", name, "tier", tier, "result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.tier.gets", misses, LongAdder::sum)
+                .tags("cache", name, "tier", tier, "result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("cache.tier.hit.ratio", () -> {
+                    long hit = hits.sum();
+                    long total = hit + misses.sum();
+                    return total == 0 ? 0.0 : (double) hit / total;
+                })
+                .tags("cache", name, "tier", tier)
+                .register(meterRegistry);
+    }
+
+    private Timer invalidationLag(MeterRegistry meterRegistry, String source) {
+        return Timer.builder("cache.invalidation.lag")
+                .description("Thời gian từ lúc dữ liệu gốc thay đổi tới lúc L1 của node này bị xóa")
+                .tags("cache", name, "source", source)
+                .register(meterRegistry);
+    }
+}
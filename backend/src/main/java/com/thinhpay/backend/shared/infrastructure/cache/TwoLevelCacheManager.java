@@ -0,0 +1,84 @@
+package com.thinhpay.backend.shared.infrastructure.cache;
+
+import com.thinhpay.backend.shared.config.ThinhPayProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache manager chính của ứng dụng: cache có tên trong thinhpay.cache.two-level được bọc
+ * thành {@link TwoLevelCache} (L1 Caffeine + L2 từ cache manager bên dưới), các cache khác
+ * đi thẳng xuống cache manager bên dưới như cũ.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+    private final CacheManager remote;
+    private final ThinhPayProperties.Cache settings;
+    private final ObjectProvider<CacheInvalidationBroadcaster> broadcaster;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, TwoLevelCache> twoLevelCaches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remote, ThinhPayProperties.Cache settings,
+                                ObjectProvider<CacheInvalidationBroadcaster> broadcaster,
+                                MeterRegistry meterRegistry) {
+        this.remote = remote;
+        this.settings = settings;
+        this.broadcaster = broadcaster;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        if (!settings.getTwoLevel().contains(name)) {
+            return remote.getCache(name);
+        }
+        return twoLevelCaches.computeIfAbsent(name, this::createTwoLevelCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        Set<String> names = new LinkedHashSet<>(remote.getCacheNames());
+        names.addAll(twoLevelCaches.keySet());
+        return names;
+    }
+
+    /**
+     * Evict kèm thời điểm dữ liệu gốc thay đổi (đo độ trễ invalidation).
+     */
+    public void evict(String cacheName, Object key, Instant changedAt) {
+        Cache cache = getCache(cacheName);
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            twoLevelCache.evict(key, changedAt);
+        } else if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    /**
+     * Message invalidation từ node khác. Cache chưa từng được dùng trên node này thì không có gì để xóa.
+     *
+     * @param key null nếu node gửi xóa cả cache
+     */
+    public void evictFromPeer(String cacheName, String key, Instant changedAt) {
+        TwoLevelCache cache = twoLevelCaches.get(cacheName);
+        if (cache != null) {
+            cache.evictFromPeer(key, changedAt);
+        }
+    }
+
+    private TwoLevelCache createTwoLevelCache(String name) {
+        Cache remoteCache = remote.getCache(name);
+        if (remoteCache == null) {
+            throw new IllegalStateException("Cache '" + name + "' is not available in " + remote.getClass().getSimpleName());
+        }
+        return new TwoLevelCache(name, remoteCache, settings.getLocalMaximumSize(), settings.getLocalTtl(),
+                broadcaster.getIfAvailable(() -> CacheInvalidationBroadcaster.NONE), meterRegistry);
+    }
+}
@@ -1,13 +1,25 @@
 package com.thinhpay.backend.shared.infrastructure.config;
 
+import com.thinhpay.backend.shared.config.ThinhPayProperties;
+import com.thinhpay.backend.shared.infrastructure.cache.CacheInvalidationBroadcaster;
+import com.thinhpay.backend.shared.infrastructure.cache.RedisCacheInvalidationBroadcaster;
+import com.thinhpay.backend.shared.infrastructure.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 
@@ -35,4 +47,41 @@ public class CacheConfig {
                 .cacheDefaults(config)
                 .build();
     }
+
+    /**
+     * Cache manager dùng cho @Cacheable: thêm L1 Caffeine cho các cache trong thinhpay.cache.two-level.
+     * Không có Redis (spring.cache.type=simple) thì L2 là ConcurrentMapCacheManager.
+     */
+    @Bean
+    @Primary
+    public TwoLevelCacheManager cacheManager(@Qualifier("redisCacheManager") ObjectProvider<CacheManager> redisCacheManager,
+                                             ThinhPayProperties properties,
+                                             ObjectProvider<CacheInvalidationBroadcaster> broadcaster,
+                                             MeterRegistry meterRegistry) {
+        return new TwoLevelCacheManager(
+                redisCacheManager.getIfAvailable(ConcurrentMapCacheManager::new),
+                properties.getCache(),
+                broadcaster,
+                meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
+    public RedisCacheInvalidationBroadcaster cacheInvalidationBroadcaster(StringRedisTemplate redisTemplate,
+                                                                          ThinhPayProperties properties,
+                                                                          TwoLevelCacheManager cacheManager) {
+        return new RedisCacheInvalidationBroadcaster(
+                redisTemplate, properties.getCache().getInvalidationChannel(), cacheManager);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            RedisCacheInvalidationBroadcaster broadcaster,
+                                                                            ThinhPayProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(broadcaster, new ChannelTopic(properties.getCache().getInvalidationChannel()));
+        return container;
+    }
 }
@@ -0,0 +1,67 @@
+package com.thinhpay.backend.shared.infrastructure.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.thinhpay.backend.shared.config.ThinhPayProperties;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache (JCache trên Caffeine, local từng node) cho reference entity ít thay đổi
+ * như Currency, IamRole và query cache của chúng.
+ *
+ * Region được tạo sẵn với giới hạn kích thước và TTL (thinhpay.cache.entity-*); riêng region timestamps
+ * của query cache không được hết hạn. Thống kê bật để HibernateMetrics đẩy hit/miss từng region ra Actuator
+ * (hibernate.second.level.cache.requests{region, result}).
+ */
+@Configuration
+public class HibernateCacheConfig {
+    public static final String CURRENCY_REGION = "currencies";
+    public static final String IAM_ROLE_REGION = "iamRoles";
+
+    static final List<String> ENTITY_REGIONS = List.of(
+            CURRENCY_REGION, IAM_ROLE_REGION, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    /**
+     * Mỗi ApplicationContext 1 CacheManager riêng (URI riêng): nhiều context trong cùng JVM (test)
+     * không dùng chung region, đóng context thì đóng luôn cache.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(ThinhPayProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("thinhpay-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        ThinhPayProperties.Cache cache = properties.getCache();
+        for (String region : ENTITY_REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(cache.getEntityMaximumSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(cache.getEntityTtl().toNanos()));
+            cacheManager.createCache(region, configuration);
+        }
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+}
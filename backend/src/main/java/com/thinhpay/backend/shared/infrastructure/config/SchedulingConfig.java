@@ -0,0 +1,13 @@
+package com.thinhpay.backend.shared.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling Configuration - Enable @Scheduled jobs.
+ * Sử dụng cho các job dọn dẹp định kỳ (idempotency key hết hạn...).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -2,6 +2,7 @@ package com.thinhpay.backend.shared.infrastructure.health;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.autoconfigure.health.ConditionalOnEnabledHealthIndicator;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -11,8 +12,10 @@ import org.springframework.stereotype.Component;
  * Custom Health Indicator for Redis.
  *
  * Checks if Redis is up and responsive.
+ * Tắt bằng management.health.redis.enabled=false (test profile không có Redis).
  */
 @Component
+@ConditionalOnEnabledHealthIndicator("redis")
 @Slf4j
 @RequiredArgsConstructor
 public class RedisHealthIndicator implements HealthIndicator {
@@ -0,0 +1,23 @@
+package com.thinhpay.backend.shared.infrastructure.idempotency;
+
+import com.thinhpay.backend.shared.exception.DomainException;
+
+/**
+ * Idempotency-Key đang được xử lý bởi request khác, hoặc bị dùng lại với payload khác.
+ */
+public class IdempotencyKeyConflictException extends DomainException {
+
+    private IdempotencyKeyConflictException(String message, String errorCode) {
+        super(message, errorCode);
+    }
+
+    public static IdempotencyKeyConflictException inProgress(String key) {
+        return new IdempotencyKeyConflictException(
+                "Request with idempotency key " + key + " is still being processed", "IDEMPOTENCY_IN_PROGRESS");
+    }
+
+    public static IdempotencyKeyConflictException payloadMismatch(String key) {
+        return new IdempotencyKeyConflictException(
+                "Idempotency key " + key + " was already used with a different request payload", "IDEMPOTENCY_KEY_REUSED");
+    }
+}
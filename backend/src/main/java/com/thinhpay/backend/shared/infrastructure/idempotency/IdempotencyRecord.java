@@ -0,0 +1,76 @@
+package com.thinhpay.backend.shared.infrastructure.idempotency;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Một Idempotency-Key đã được claim, thuộc về 1 user (key chỉ duy nhất trong phạm vi user đó).
+ *
+ * - IN_PROGRESS: request đầu tiên đang xử lý, expiresAt = thời hạn giữ claim
+ * - COMPLETED: đã xử lý xong, responseBody là ApiResponse (JSON) để replay, expiresAt = TTL
+ *
+ * Ghi/đọc chủ yếu qua native query trong {@link IdempotencyRecordRepository}.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at")
+})
+@IdClass(IdempotencyRecord.Key.class)
+@Getter
+@Setter(AccessLevel.PROTECTED)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(exclude = "responseBody")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "user_id", updatable = false, nullable = false)
+    UUID userId;
+
+    @Id
+    @Column(name = "idempotency_key", length = 150, updatable = false, nullable = false)
+    String key;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    IdempotencyStatus status;
+
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    String responseBody;
+
+    @Column(name = "expires_at", nullable = false)
+    Instant expiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    Instant updatedAt;
+
+    public boolean isCompleted() {
+        return status == IdempotencyStatus.COMPLETED;
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt.isBefore(now);
+    }
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    @ToString
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Key implements Serializable {
+        UUID userId;
+        String key;
+    }
+}
@@ -0,0 +1,74 @@
+package com.thinhpay.backend.shared.infrastructure.idempotency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, IdempotencyRecord.Key> {
+
+    /**
+     * Claim key bằng 1 câu lệnh atomic: insert mới, hoặc chiếm lại key đã hết hạn
+     * (claim IN_PROGRESS bị bỏ dở hoặc response đã quá TTL).
+     *
+     * @return 1 nếu claim thành công, 0 nếu key đang được giữ bởi request khác
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO idempotency_keys (user_id, idempotency_key, request_hash, status, expires_at, created_at, updated_at)
+            VALUES (:userId, :key, :requestHash, 'IN_PROGRESS', :expiresAt, :now, :now)
+            ON CONFLICT (user_id, idempotency_key) DO UPDATE
+            SET request_hash = EXCLUDED.request_hash,
+                status = 'IN_PROGRESS',
+                response_body = NULL,
+                expires_at = EXCLUDED.expires_at,
+                created_at = EXCLUDED.created_at,
+                updated_at = EXCLUDED.updated_at
+            WHERE idempotency_keys.expires_at < :now
+            """, nativeQuery = true)
+    int claim(@Param("userId") UUID userId,
+              @Param("key") String key,
+              @Param("requestHash") String requestHash,
+              @Param("expiresAt") Instant expiresAt,
+              @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE IdempotencyRecord r
+            SET r.status = com.thinhpay.backend.shared.infrastructure.idempotency.IdempotencyStatus.COMPLETED,
+                r.responseBody = :responseBody,
+                r.expiresAt = :expiresAt,
+                r.updatedAt = :now
+            WHERE r.userId = :userId
+              AND r.key = :key
+              AND r.status = com.thinhpay.backend.shared.infrastructure.idempotency.IdempotencyStatus.IN_PROGRESS
+            """)
+    int complete(@Param("userId") UUID userId,
+                 @Param("key") String key,
+                 @Param("responseBody") String responseBody,
+                 @Param("expiresAt") Instant expiresAt,
+                 @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            DELETE FROM IdempotencyRecord r
+            WHERE r.userId = :userId
+              AND r.key = :key
+              AND r.status = com.thinhpay.backend.shared.infrastructure.idempotency.IdempotencyStatus.IN_PROGRESS
+            """)
+    int release(@Param("userId") UUID userId, @Param("key") String key);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
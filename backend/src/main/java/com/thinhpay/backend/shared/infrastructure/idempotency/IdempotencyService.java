@@ -0,0 +1,208 @@
+package com.thinhpay.backend.shared.infrastructure.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thinhpay.backend.shared.config.ThinhPayProperties;
+import com.thinhpay.backend.shared.presentation.ApiResponse;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency theo request: request trùng key được trả lại đúng ApiResponse đã lưu,
+ * không chạy lại nghiệp vụ (không đụng tới ledger). Key thuộc về user đã xác thực:
+ * 2 user gửi cùng key là 2 request khác nhau, không replay response của nhau.
+ *
+ * Luồng xử lý:
+ * 1. Caffeine (local) → replay nếu key đã COMPLETED
+ * 2. Claim key trong Postgres (INSERT ... ON CONFLICT) → chỉ 1 request thắng
+ * 3. Request thua: replay nếu COMPLETED, báo conflict nếu còn IN_PROGRESS
+ * 4. Chạy nghiệp vụ → lưu response (COMPLETED); lỗi thì nhả claim để client retry được
+ *
+ * Claim IN_PROGRESS bị bỏ dở (crash giữa chừng) sẽ được chiếm lại sau in-flight-timeout.
+ * Unique index trên request_id của ledger vẫn là chốt chặn cuối cùng.
+ */
+@Component
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class IdempotencyService {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final int MAX_KEY_LENGTH = 150;
+    /**
+     * Chủ của key khi không có user đã xác thực (job nội bộ, endpoint permitAll)
+     */
+    static final UUID ANONYMOUS_USER_ID = new UUID(0, 0);
+
+    IdempotencyRecordRepository repository;
+    ObjectMapper objectMapper;
+    ThinhPayProperties.Idempotency properties;
+    Cache<IdempotencyRecord.Key, CompletedResponse> completedResponses;
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              ObjectMapper objectMapper,
+                              ThinhPayProperties thinhPayProperties) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.properties = thinhPayProperties.getIdempotency();
+        this.completedResponses = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalCacheSize())
+                .expireAfterWrite(properties.getLocalCacheTtl())
+                .build();
+    }
+
+    /**
+     * @param scope    tên thao tác (deposit, transfer...) để key của các API khác nhau không đụng nhau
+     * @param key      Idempotency-Key; null thì chạy thẳng, không idempotent
+     * @param request  payload, dùng để phát hiện key bị dùng lại với request khác
+     * @param dataType kiểu của ApiResponse.data, dùng khi replay
+     */
+    public <T> ApiResponse<T> execute(String scope, String key, Object request, Class<T> dataType,
+                                      Supplier<ApiResponse<T>> work) {
+        if (key == null || key.isBlank()) {
+            return work.get();
+        }
+
+        IdempotencyRecord.Key id = new IdempotencyRecord.Key(currentUserId(), scopedKey(scope, key));
+        String requestHash = hash(request);
+
+        CompletedResponse cached = completedResponses.getIfPresent(id);
+        if (cached != null) {
+            return replay(id, cached, requestHash, dataType);
+        }
+
+        Instant now = Instant.now();
+        if (repository.claim(id.getUserId(), id.getKey(), requestHash,
+                now.plus(properties.getInFlightTimeout()), now) == 0) {
+            return handleExistingKey(id, requestHash, dataType);
+        }
+
+        ApiResponse<T> response;
+        boolean succeeded = false;
+        try {
+            response = work.get();
+            succeeded = true;
+        } finally {
+            // Mọi lỗi (kể cả Error như OOM, StackOverflow) đều nhả claim, không để key kẹt IN_PROGRESS
+            if (!succeeded) {
+                release(id);
+            }
+        }
+
+        store(id, requestHash, response);
+        return response;
+    }
+
+    /**
+     * Dọn các key đã hết hạn (TTL của response, hoặc claim IN_PROGRESS bị bỏ dở).
+     */
+    @Scheduled(fixedDelayString = "${thinhpay.idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        int deleted = repository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    private <T> ApiResponse<T> handleExistingKey(IdempotencyRecord.Key id, String requestHash, Class<T> dataType) {
+        Optional<IdempotencyRecord> existing = repository.findById(id);
+        if (existing.isEmpty()) {
+            // Request đầu tiên vừa lỗi và nhả claim giữa 2 câu lệnh → để client gửi lại
+            throw IdempotencyKeyConflictException.inProgress(id.getKey());
+        }
+
+        IdempotencyRecord record = existing.get();
+        if (!record.isCompleted()) {
+            if (!record.getRequestHash().equals(requestHash)) {
+                throw IdempotencyKeyConflictException.payloadMismatch(id.getKey());
+            }
+            throw IdempotencyKeyConflictException.inProgress(id.getKey());
+        }
+
+        CompletedResponse completed = new CompletedResponse(record.getRequestHash(), record.getResponseBody());
+        completedResponses.put(id, completed);
+        return replay(id, completed, requestHash, dataType);
+    }
+
+    private <T> ApiResponse<T> replay(IdempotencyRecord.Key id, CompletedResponse completed,
+                                      String requestHash, Class<T> dataType) {
+        if (!completed.requestHash().equals(requestHash)) {
+            throw IdempotencyKeyConflictException.payloadMismatch(id.getKey());
+        }
+
+        log.info("Replaying stored response for idempotency key {} of user {}", id.getKey(), id.getUserId());
+        JavaType type = objectMapper.getTypeFactory().constructParametricType(ApiResponse.class, dataType);
+        try {
+            return objectMapper.readValue(completed.responseBody(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response for idempotency key " + id.getKey() + " is unreadable", e);
+        }
+    }
+
+    private void release(IdempotencyRecord.Key id) {
+        try {
+            repository.release(id.getUserId(), id.getKey());
+        } catch (RuntimeException e) {
+            // Không che lỗi gốc của nghiệp vụ; claim sẽ hết hạn sau in-flight-timeout
+            log.error("Failed to release idempotency key {}", id, e);
+        }
+    }
+
+    private void store(IdempotencyRecord.Key id, String requestHash, ApiResponse<?> response) {
+        try {
+            String body = objectMapper.writeValueAsString(response);
+            Instant now = Instant.now();
+            repository.complete(id.getUserId(), id.getKey(), body, now.plus(properties.getTtl()), now);
+            completedResponses.put(id, new CompletedResponse(requestHash, body));
+        } catch (RuntimeException | JsonProcessingException e) {
+            // Nghiệp vụ đã commit: không làm fail request, claim sẽ hết hạn sau in-flight-timeout
+            log.error("Failed to store response for idempotency key {}", id, e);
+        }
+    }
+
+    /**
+     * userId do JwtAuthenticationFilter đặt làm principal
+     */
+    private static UUID currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UUID userId) {
+            return userId;
+        }
+        return ANONYMOUS_USER_ID;
+    }
+
+    private String scopedKey(String scope, String key) {
+        String scopedKey = scope + ":" + key;
+        if (scopedKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key must not exceed "
+                    + (MAX_KEY_LENGTH - scope.length() - 1) + " characters");
+        }
+        return scopedKey;
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint request for idempotency check", e);
+        }
+    }
+
+    private record CompletedResponse(String requestHash, String responseBody) {
+    }
+}
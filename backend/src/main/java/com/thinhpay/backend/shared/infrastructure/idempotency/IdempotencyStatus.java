@@ -0,0 +1,6 @@
+package com.thinhpay.backend.shared.infrastructure.idempotency;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
@@ -0,0 +1,26 @@
+package com.thinhpay.backend.shared.infrastructure.outbox;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publish {@link OutboxMessage} cho @EventListener trong cùng JVM, trên thread của relay.
+ */
+@Component
+@ConditionalOnProperty(prefix = "thinhpay.outbox", name = "publisher", havingValue = "application", matchIfMissing = true)
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ApplicationEventOutboxPublisher implements OutboxPublisher {
+    ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        messages.forEach(eventPublisher::publishEvent);
+    }
+}
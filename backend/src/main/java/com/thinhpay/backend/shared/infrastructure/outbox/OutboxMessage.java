@@ -0,0 +1,20 @@
+package com.thinhpay.backend.shared.infrastructure.outbox;
+
+import java.time.Instant;
+
+/**
+ * Event đọc từ outbox, gửi cho {@link OutboxPublisher}. payload là JSON của domain event gốc,
+ * eventType là tên class của nó.
+ */
+public record OutboxMessage(long id,
+                            String aggregateType,
+                            String aggregateId,
+                            String eventType,
+                            String payload,
+                            Instant createdAt) {
+
+    static OutboxMessage from(OutboxRecord record) {
+        return new OutboxMessage(record.getId(), record.getAggregateType(), record.getAggregateId(),
+                record.getEventType(), record.getPayload(), record.getCreatedAt());
+    }
+}
@@ -0,0 +1,17 @@
+package com.thinhpay.backend.shared.infrastructure.outbox;
+
+import java.util.List;
+
+/**
+ * Đích của outbox relay, chọn bằng thinhpay.outbox.publisher.
+ *
+ * Giao hàng at-least-once: relay chỉ đánh dấu published sau khi publish trả về, nên lỗi giữa
+ * chừng làm cả batch được gửi lại. Consumer khử trùng theo {@link OutboxMessage#id()}.
+ */
+public interface OutboxPublisher {
+
+    /**
+     * @param messages theo thứ tự id; lỗi thì ném exception, cả batch sẽ được thử lại
+     */
+    void publish(List<OutboxMessage> messages);
+}
@@ -0,0 +1,49 @@
+package com.thinhpay.backend.shared.infrastructure.outbox;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Instant;
+
+/**
+ * 1 domain event chờ relay publish (publishedAt = null) hoặc đã publish (giữ lại tới hết retention).
+ *
+ * id tăng dần theo thứ tự ghi: relay publish event của cùng aggregate theo thứ tự id.
+ * Ghi qua JDBC batch trong {@link OutboxWriter}, claim qua native query trong {@link OutboxRecordRepository}.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_pending_aggregate", columnList = "aggregate_id, id"),
+        @Index(name = "idx_outbox_events_published_at", columnList = "published_at")
+})
+@Getter
+@Setter(AccessLevel.PROTECTED)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(exclude = "payload")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OutboxRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false, nullable = false)
+    Long id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 50, updatable = false)
+    String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false, length = 100, updatable = false)
+    String aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 150, updatable = false)
+    String eventType;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT", updatable = false)
+    String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    Instant createdAt;
+
+    @Column(name = "published_at")
+    Instant publishedAt;
+}
@@ -0,0 +1,74 @@
+package com.thinhpay.backend.shared.infrastructure.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxRecordRepository extends JpaRepository<OutboxRecord, Long> {
+
+    /**
+     * Claim record chưa publish theo thứ tự id. Record đang bị relay khác giữ được bỏ qua
+     * (SKIP LOCKED), nên nhiều node relay song song không chặn nhau. Phải chạy trong transaction của relay.
+     */
+    @Query(value = """
+            SELECT * FROM outbox_events
+            WHERE published_at IS NULL
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxRecord> claimBatch(@Param("limit") int limit);
+
+    /**
+     * Mọi record chưa publish (kể cả đang bị relay khác giữ) của các aggregate, tới id cho trước.
+     * Relay dùng để không publish vượt qua record cũ hơn mà nó không giữ.
+     */
+    @Query(value = """
+            SELECT aggregate_type AS aggregateType, aggregate_id AS aggregateId, id
+            FROM outbox_events
+            WHERE published_at IS NULL
+              AND aggregate_id IN (:aggregateIds)
+              AND id <= :maxId
+            ORDER BY id
+            """, nativeQuery = true)
+    List<PendingRef> findPending(@Param("aggregateIds") Collection<String> aggregateIds, @Param("maxId") long maxId);
+
+    @Modifying
+    @Query("UPDATE OutboxRecord r SET r.publishedAt = :publishedAt WHERE r.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+    @Query(value = """
+            SELECT count(*) AS pending,
+                   COALESCE(EXTRACT(EPOCH FROM now() - min(created_at)), 0) AS oldestAgeSeconds
+            FROM outbox_events
+            WHERE published_at IS NULL
+            """, nativeQuery = true)
+    Backlog findBacklog();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxRecord r WHERE r.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") Instant before);
+
+    interface PendingRef {
+        String getAggregateType();
+
+        String getAggregateId();
+
+        Long getId();
+    }
+
+    interface Backlog {
+        long getPending();
+
+        double getOldestAgeSeconds();
+    }
+}
@@ -0,0 +1,160 @@
+package com.thinhpay.backend.shared.infrastructure.outbox;
+
+import com.thinhpay.backend.shared.config.ThinhPayProperties;
+import com.thinhpay.backend.shared.infrastructure.outbox.OutboxRecordRepository.Backlog;
+import com.thinhpay.backend.shared.infrastructure.outbox.OutboxRecordRepository.PendingRef;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Đọc outbox và publish theo batch.
+ *
+ * Mỗi batch là 1 transaction: claim tối đa batch-size record (FOR UPDATE SKIP LOCKED), publish,
+ * đánh dấu published_at, commit. Nhiều node chạy relay cùng lúc thì mỗi node lấy 1 phần khác nhau.
+ *
+ * Thứ tự theo aggregate: record chỉ được publish khi mọi record cũ hơn của cùng aggregate đã
+ * publish hoặc nằm trong batch này. Record bị chặn (relay khác đang giữ record cũ hơn) được
+ * nhả ra khi commit và lấy lại ở lần poll sau.
+ */
+@Component
+@ConditionalOnProperty(prefix = "thinhpay.outbox", name = "relay-enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OutboxRelay {
+    OutboxRecordRepository repository;
+    OutboxPublisher publisher;
+    ThinhPayProperties.Outbox settings;
+    TransactionTemplate transactionTemplate;
+    Counter publishedCounter;
+    Counter deferredCounter;
+    Counter failureCounter;
+    DistributionSummary batchSize;
+    Timer publishLag;
+    AtomicLong pending = new AtomicLong();
+    AtomicLong oldestPendingAgeMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxRecordRepository repository, OutboxPublisher publisher, ThinhPayProperties properties,
+                       PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.publisher = publisher;
+        this.settings = properties.getOutbox();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.publishedCounter = meterRegistry.counter("outbox.events.published");
+        this.deferredCounter = meterRegistry.counter("outbox.events.deferred");
+        this.failureCounter = meterRegistry.counter("outbox.publish.failures");
+        this.batchSize = DistributionSummary.builder("outbox.publish.batch.size").register(meterRegistry);
+        this.publishLag = Timer.builder("outbox.publish.lag")
+                .description("Thời gian từ lúc event được ghi vào outbox tới lúc publish xong")
+                .register(meterRegistry);
+        meterRegistry.gauge("outbox.pending", pending);
+        meterRegistry.gauge("outbox.oldest.pending.age", oldestPendingAgeMillis, age -> age.get() / 1000.0);
+    }
+
+    @Scheduled(fixedDelayString = "${thinhpay.outbox.poll-interval:PT0.2S}")
+    public void poll() {
+        if (!settings.isPollingEnabled()) {
+            return;
+        }
+        try {
+            for (int i = 0; i < settings.getMaxBatchesPerPoll(); i++) {
+                if (relayBatch() < settings.getBatchSize()) {
+                    break;
+                }
+            }
+            refreshBacklog();
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            log.warn("Outbox relay failed, retrying on next poll: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return số record đã publish trong batch
+     */
+    public int relayBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            List<OutboxRecord> claimed = repository.claimBatch(settings.getBatchSize());
+            if (claimed.isEmpty()) {
+                return 0;
+            }
+
+            List<OutboxRecord> ready = inAggregateOrder(claimed);
+            deferredCounter.increment(claimed.size() - ready.size());
+            if (ready.isEmpty()) {
+                return 0;
+            }
+
+            publisher.publish(ready.stream().map(OutboxMessage::from).toList());
+            Instant now = Instant.now();
+            repository.markPublished(ready.stream().map(OutboxRecord::getId).toList(), now);
+
+            publishedCounter.increment(ready.size());
+            batchSize.record(ready.size());
+            ready.forEach(record -> publishLag.record(Duration.between(record.getCreatedAt(), now)));
+            return ready.size();
+        });
+        return published == null ? 0 : published;
+    }
+
+    @Scheduled(fixedDelayString = "${thinhpay.outbox.purge-interval:PT10M}")
+    public void purgePublished() {
+        int deleted = repository.deletePublishedBefore(Instant.now().minus(settings.getRetention()));
+        if (deleted > 0) {
+            log.info("Purged {} published outbox events", deleted);
+        }
+    }
+
+    /**
+     * Giữ lại các record đứng trước record chưa publish đầu tiên mà batch này không giữ, theo từng aggregate.
+     */
+    private List<OutboxRecord> inAggregateOrder(List<OutboxRecord> claimed) {
+        Set<Long> claimedIds = claimed.stream().map(OutboxRecord::getId).collect(Collectors.toSet());
+        Set<String> aggregateIds = claimed.stream().map(OutboxRecord::getAggregateId).collect(Collectors.toSet());
+        long maxId = claimed.get(claimed.size() - 1).getId();
+
+        Map<String, Long> firstForeignId = new HashMap<>();
+        for (PendingRef ref : repository.findPending(aggregateIds, maxId)) {
+            if (!claimedIds.contains(ref.getId())) {
+                firstForeignId.putIfAbsent(aggregateKey(ref.getAggregateType(), ref.getAggregateId()), ref.getId());
+            }
+        }
+        if (firstForeignId.isEmpty()) {
+            return claimed;
+        }
+        return claimed.stream()
+                .filter(record -> {
+                    Long barrier = firstForeignId.get(aggregateKey(record.getAggregateType(), record.getAggregateId()));
+                    return barrier == null || record.getId() < barrier;
+                })
+                .toList();
+    }
+
+    private void refreshBacklog() {
+        Backlog backlog = repository.findBacklog();
+        pending.set(backlog.getPending());
+        oldestPendingAgeMillis.set(Math.round(backlog.getOldestAgeSeconds() * 1000));
+    }
+
+    private static String aggregateKey(String aggregateType, String aggregateId) {
+        return aggregateType + ":" + aggregateId;
+    }
+}
@@ -0,0 +1,90 @@
+package com.thinhpay.backend.shared.infrastructure.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thinhpay.backend.shared.domain.OutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ghi {@link OutboxEvent} vào outbox_events trong transaction hiện tại.
+ *
+ * Event được serialize ngay khi append nhưng chỉ INSERT (1 JDBC batch cho cả transaction) lúc
+ * beforeCommit, nên batch transfer nhiều item không tốn thêm round-trip cho mỗi event.
+ * Transaction rollback (kể cả lần retry bị bỏ) thì không có record nào được ghi.
+ */
+@Component
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class OutboxWriter {
+    private static final String INSERT_EVENT = """
+            INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload, created_at)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    JdbcTemplate jdbcTemplate;
+    ObjectMapper objectMapper;
+    Counter appendedCounter;
+
+    public OutboxWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.appendedCounter = meterRegistry.counter("outbox.events.appended");
+    }
+
+    /**
+     * @throws IllegalStateException nếu không có transaction: outbox chỉ có nghĩa khi ghi cùng thay đổi gây ra event
+     */
+    public void append(OutboxEvent event) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Outbox event " + event.getClass().getSimpleName()
+                    + " must be published inside a transaction");
+        }
+
+        PendingEvents pending = (PendingEvents) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEvents();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.rows.add(new Object[]{
+                event.getAggregateType(),
+                event.getAggregateId(),
+                event.getClass().getName(),
+                serialize(event),
+                Timestamp.from(Instant.now())});
+    }
+
+    private String serialize(OutboxEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox event " + event.getClass().getSimpleName(), e);
+        }
+    }
+
+    private final class PendingEvents implements TransactionSynchronization {
+        private final List<Object[]> rows = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            jdbcTemplate.batchUpdate(INSERT_EVENT, rows);
+            appendedCounter.increment(rows.size());
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(OutboxWriter.this);
+        }
+    }
+}
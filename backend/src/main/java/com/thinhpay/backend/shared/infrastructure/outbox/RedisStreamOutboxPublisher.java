@@ -0,0 +1,57 @@
+package com.thinhpay.backend.shared.infrastructure.outbox;
+
+import com.thinhpay.backend.shared.config.ThinhPayProperties;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * XADD mỗi message vào 1 Redis stream; cả batch đi trong 1 pipeline (1 round-trip).
+ */
+@Component
+@ConditionalOnProperty(prefix = "thinhpay.outbox", name = "publisher", havingValue = "redis_stream")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class RedisStreamOutboxPublisher implements OutboxPublisher {
+    StringRedisTemplate redisTemplate;
+    String stream;
+
+    public RedisStreamOutboxPublisher(StringRedisTemplate redisTemplate, ThinhPayProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.stream = properties.getOutbox().getStream();
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                StreamOperations<String, String, String> streamOps =
+                        (StreamOperations<String, String, String>) (StreamOperations<?, ?, ?>) operations.opsForStream();
+                messages.forEach(message -> streamOps.add(StreamRecords.newRecord()
+                        .in(stream)
+                        .ofMap(fields(message))));
+                return null;
+            }
+        });
+    }
+
+    private static Map<String, String> fields(OutboxMessage message) {
+        return Map.of(
+                "id", Long.toString(message.id()),
+                "aggregateType", message.aggregateType(),
+                "aggregateId", message.aggregateId(),
+                "eventType", message.eventType(),
+                "payload", message.payload(),
+                "createdAt", message.createdAt().toString());
+    }
+}
@@ -0,0 +1,19 @@
+package com.thinhpay.backend.shared.infrastructure.persistence;
+
+import com.thinhpay.backend.shared.domain.UuidV7;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.util.UUID;
+
+/**
+ * Hibernate id generator cấp UUID v7 ngay trong application (không cần round-trip tới DB),
+ * nên Hibernate vẫn gom INSERT thành JDBC batch được.
+ */
+public class UuidV7Generator implements UuidValueGenerator {
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return UuidV7.generate();
+    }
+}
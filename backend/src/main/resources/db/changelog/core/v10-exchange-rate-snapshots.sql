@@ -0,0 +1,10 @@
+--liquibase formatted sql
+
+--changeset thinhdev:011
+--comment: Bảng tỉ giá tốt gần nhất của từng base - nạp lại khi khởi động, dùng khi API tỉ giá lỗi
+
+CREATE TABLE core_exchange_rate_snapshots (
+    base VARCHAR(3) PRIMARY KEY,
+    rates JSONB NOT NULL,
+    fetched_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
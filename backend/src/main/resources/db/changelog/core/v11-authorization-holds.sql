@@ -0,0 +1,24 @@
+--liquibase formatted sql
+
+--changeset thinhdev:012
+--comment: Authorization hold (hold / capture / release) trên held_balance của account
+
+CREATE TABLE core_authorization_holds (
+    id UUID PRIMARY KEY,
+    account_id UUID NOT NULL REFERENCES core_accounts(id),
+    request_id VARCHAR(100) NOT NULL,
+    amount NUMERIC(19, 4) NOT NULL CHECK (amount > 0),
+    captured_amount NUMERIC(19, 4) NOT NULL DEFAULT 0 CHECK (captured_amount >= 0 AND captured_amount <= amount),
+    status VARCHAR(20) NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    description VARCHAR(500),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE UNIQUE INDEX idx_holds_request_id ON core_authorization_holds(request_id);
+CREATE INDEX idx_holds_account_id ON core_authorization_holds(account_id);
+
+-- Job hết hạn chỉ đọc hold ACTIVE theo expires_at: index nhỏ dần khi hold đóng, không quét hold đã capture / release
+CREATE INDEX idx_holds_active_expires_at ON core_authorization_holds(expires_at) WHERE status = 'ACTIVE';
@@ -0,0 +1,33 @@
+--liquibase formatted sql
+
+--changeset thinhdev:013
+--comment: Lệnh chuyển tiền hẹn giờ / định kỳ - ScheduledTransferRunner claim lệnh tới hạn theo next_run_at
+
+CREATE TABLE core_scheduled_transfers (
+    id UUID PRIMARY KEY,
+    request_id VARCHAR(100) NOT NULL,
+    sender_user_id UUID NOT NULL,
+    receiver_user_id UUID NOT NULL,
+    currency_code VARCHAR(3) NOT NULL REFERENCES core_currencies(code),
+    amount NUMERIC(19, 4) NOT NULL CHECK (amount > 0),
+    description VARCHAR(500),
+    frequency VARCHAR(20) NOT NULL,
+    start_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    end_at TIMESTAMP WITH TIME ZONE,
+    status VARCHAR(20) NOT NULL,
+    occurrence INTEGER NOT NULL DEFAULT 0,
+    next_run_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    claimed_until TIMESTAMP WITH TIME ZONE,
+    last_run_at TIMESTAMP WITH TIME ZONE,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE UNIQUE INDEX idx_scheduled_transfers_request_id ON core_scheduled_transfers(request_id);
+CREATE INDEX idx_scheduled_transfers_sender ON core_scheduled_transfers(sender_user_id);
+
+-- Runner chỉ đọc lệnh ACTIVE theo next_run_at: lệnh đã xong / hủy không nằm trong index
+CREATE INDEX idx_scheduled_transfers_due ON core_scheduled_transfers(next_run_at) WHERE status = 'ACTIVE';
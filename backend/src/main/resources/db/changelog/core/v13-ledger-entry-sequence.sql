@@ -0,0 +1,44 @@
+--liquibase formatted sql
+
+--changeset thinhdev:014
+--comment: Số thứ tự ghi (seq) do DB cấp cho bút toán - watermark của đối soát không còn dựa vào created_at do ứng dụng gán
+
+CREATE SEQUENCE core_ledger_entry_seq;
+
+ALTER TABLE core_ledger_entries ADD COLUMN seq BIGINT;
+
+-- Bút toán cũ: đánh số theo thứ tự ghi cũ (created_at, id)
+UPDATE core_ledger_entries e
+SET seq = o.rn
+FROM (SELECT id, created_at, row_number() OVER (ORDER BY created_at, id) AS rn FROM core_ledger_entries) o
+WHERE e.id = o.id AND e.created_at = o.created_at;
+
+SELECT setval('core_ledger_entry_seq', COALESCE((SELECT max(seq) FROM core_ledger_entries), 0) + 1, false);
+
+ALTER TABLE core_ledger_entries
+    ALTER COLUMN seq SET DEFAULT nextval('core_ledger_entry_seq'),
+    ALTER COLUMN seq SET NOT NULL;
+ALTER SEQUENCE core_ledger_entry_seq OWNED BY core_ledger_entries.seq;
+
+-- Đọc bút toán sau watermark của từng account, và tìm account có bút toán mới sau checkpoint
+CREATE INDEX idx_ledger_account_seq ON core_ledger_entries(account_id, seq);
+CREATE INDEX idx_ledger_seq ON core_ledger_entries(seq);
+
+-- Watermark của account chuyển từ (created_at, id) sang seq
+ALTER TABLE core_reconciliation_account_state ADD COLUMN last_entry_seq BIGINT;
+UPDATE core_reconciliation_account_state s
+SET last_entry_seq = e.seq
+FROM core_ledger_entries e
+WHERE e.id = s.last_entry_id AND e.created_at = s.last_entry_created_at;
+ALTER TABLE core_reconciliation_account_state
+    DROP COLUMN last_entry_created_at,
+    DROP COLUMN last_entry_id;
+
+-- entry_seq_high: seq lớn nhất đã commit lúc lần chạy bắt đầu, entry_seq_settled: watermark lần chạy đã chốt tới
+ALTER TABLE core_reconciliation_runs
+    ADD COLUMN entry_seq_high BIGINT,
+    ADD COLUMN entry_seq_settled BIGINT;
+UPDATE core_reconciliation_runs r
+SET entry_seq_high = (SELECT max(e.seq) FROM core_ledger_entries e WHERE e.created_at < r.window_to),
+    entry_seq_settled = (SELECT max(e.seq) FROM core_ledger_entries e WHERE e.created_at < r.window_to)
+WHERE r.id = (SELECT max(id) FROM core_reconciliation_runs WHERE status = 'COMPLETED');
@@ -0,0 +1,12 @@
+--liquibase formatted sql
+
+--changeset thinhdev:015
+--comment: FX quote gắn với người xin quote, giới hạn số tiền gửi tối đa và chỉ dùng được 1 lần
+
+-- Quote chỉ sống trong quote-ttl (vài phút) và chưa có chủ: bỏ hết thay vì gán chủ giả
+DELETE FROM core_fx_quotes;
+
+ALTER TABLE core_fx_quotes
+    ADD COLUMN user_id UUID NOT NULL,
+    ADD COLUMN max_amount NUMERIC(19, 4) NOT NULL CHECK (max_amount > 0),
+    ADD COLUMN used_at TIMESTAMP WITH TIME ZONE;
@@ -0,0 +1,14 @@
+--liquibase formatted sql
+
+--changeset thinhdev:016
+--comment: Giới hạn cột số dư trong khoảng Money (long ở scale 4) đọc được: NUMERIC(19,4) cho tới ~1e15, long chỉ tới ~9.22e14
+
+ALTER TABLE core_accounts
+    ADD CONSTRAINT chk_core_accounts_balance_range
+        CHECK (balance BETWEEN -922337203685477.5808 AND 922337203685477.5807),
+    ADD CONSTRAINT chk_core_accounts_held_balance_range
+        CHECK (held_balance BETWEEN -922337203685477.5808 AND 922337203685477.5807);
+
+ALTER TABLE core_account_balance_shards
+    ADD CONSTRAINT chk_core_account_balance_shards_balance_range
+        CHECK (balance BETWEEN -922337203685477.5808 AND 922337203685477.5807);
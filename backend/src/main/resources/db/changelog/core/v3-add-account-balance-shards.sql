@@ -0,0 +1,21 @@
+--liquibase formatted sql
+
+--changeset thinhdev:003
+--comment: Hot account sharding - chia số dư merchant/settlement account ra nhiều shard
+
+ALTER TABLE core_accounts ADD COLUMN IF NOT EXISTS hot BOOLEAN NOT NULL DEFAULT FALSE;
+ALTER TABLE core_accounts ADD COLUMN IF NOT EXISTS shard_count INT NOT NULL DEFAULT 0;
+
+CREATE TABLE core_account_balance_shards (
+                                             id UUID PRIMARY KEY,
+                                             account_id UUID NOT NULL REFERENCES core_accounts(id),
+                                             shard_index INT NOT NULL,
+                                             balance NUMERIC(19, 4) NOT NULL DEFAULT 0.0000,
+                                             version BIGINT NOT NULL DEFAULT 0,
+                                             created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+                                             updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+                                             CONSTRAINT uq_balance_shard_account_index UNIQUE (account_id, shard_index)
+);
+
+-- Hot account thường rất ít, partial index giúp nạp HotAccountRegistry nhanh
+CREATE INDEX idx_accounts_hot ON core_accounts(user_id, currency_code) WHERE hot;
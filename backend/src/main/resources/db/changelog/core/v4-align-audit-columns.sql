@@ -0,0 +1,12 @@
+--liquibase formatted sql
+
+--changeset thinhdev:004
+--comment: Bổ sung updated_at/version (BaseEntity) cho các bảng core - native transfer engine ghi thẳng các cột này
+
+ALTER TABLE core_accounts ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+ALTER TABLE core_transactions ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE core_transactions ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE core_ledger_entries ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE core_ledger_entries ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
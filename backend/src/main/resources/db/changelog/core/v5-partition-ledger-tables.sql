@@ -0,0 +1,155 @@
+--liquibase formatted sql
+
+--changeset thinhdev:005 splitStatements:false
+--comment: Hàm quản lý partition theo tháng (created_at, UTC) và trigger giữ request_id duy nhất cho core_transactions
+
+-- Tạo partition <parent>_pYYYYMM cho mọi tháng trong [from_month, to_month] còn thiếu
+CREATE OR REPLACE FUNCTION core_ensure_monthly_partitions(parent TEXT, from_month DATE, to_month DATE)
+RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_month)::date;
+    partition_name TEXT;
+    created INTEGER := 0;
+BEGIN
+    WHILE month_start <= to_month LOOP
+        partition_name := format('%s_p%s', parent, to_char(month_start, 'YYYYMM'));
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, parent,
+                           month_start::text || ' 00:00:00+00',
+                           (month_start + INTERVAL '1 month')::date::text || ' 00:00:00+00');
+            created := created + 1;
+        END IF;
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+    RETURN created;
+END;
+$$;
+
+-- Tách (không xóa) các partition tháng cũ hơn before_month: dữ liệu còn nguyên trong bảng <parent>_pYYYYMM
+CREATE OR REPLACE FUNCTION core_detach_monthly_partitions(parent TEXT, before_month DATE)
+RETURNS SETOF TEXT
+LANGUAGE plpgsql AS $$
+DECLARE
+    partition_name TEXT;
+BEGIN
+    FOR partition_name IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = parent::regclass
+          AND c.relname ~ ('^' || parent || '_p[0-9]{6}$')
+          AND to_date(right(c.relname, 6), 'YYYYMM') < before_month
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', parent, partition_name);
+        RETURN NEXT partition_name;
+    END LOOP;
+END;
+$$;
+
+-- Unique index của bảng partition phải chứa created_at: request_id được giữ duy nhất qua bảng riêng.
+-- Cùng request_id + cùng id (write-behind replay) được cho qua để ON CONFLICT DO NOTHING xử lý.
+CREATE OR REPLACE FUNCTION core_claim_transaction_request_id()
+RETURNS TRIGGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO core_transaction_request_ids (request_id, transaction_id, created_at)
+    VALUES (NEW.request_id, NEW.id, NEW.created_at)
+    ON CONFLICT (request_id) DO NOTHING;
+
+    IF NOT FOUND AND NOT EXISTS (SELECT 1
+                                 FROM core_transaction_request_ids
+                                 WHERE request_id = NEW.request_id
+                                   AND transaction_id = NEW.id) THEN
+        RAISE EXCEPTION 'duplicate key value violates unique constraint "idx_trx_request_id"'
+            USING ERRCODE = 'unique_violation',
+                  DETAIL = format('Key (request_id)=(%s) already exists.', NEW.request_id);
+    END IF;
+    RETURN NEW;
+END;
+$$;
+
+--changeset thinhdev:006
+--comment: Chuyển core_transactions / core_ledger_entries sang partition theo tháng trên created_at
+
+ALTER TABLE core_ledger_entries RENAME TO core_ledger_entries_legacy;
+ALTER TABLE core_transactions RENAME TO core_transactions_legacy;
+
+CREATE TABLE core_transaction_request_ids (
+    request_id VARCHAR(100) PRIMARY KEY,
+    transaction_id UUID NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE core_transactions (
+    id UUID NOT NULL,
+    account_id UUID NOT NULL REFERENCES core_accounts(id),
+    request_id VARCHAR(100) NOT NULL,
+    amount NUMERIC(19, 4) NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    metadata TEXT,
+    description TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_core_transactions PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- FK transaction_id -> core_transactions bị bỏ: FK tới bảng partition phải gồm cả created_at
+CREATE TABLE core_ledger_entries (
+    id UUID NOT NULL,
+    transaction_id UUID,
+    account_id UUID REFERENCES core_accounts(id),
+    amount NUMERIC(19, 4) NOT NULL,
+    balance_snapshot NUMERIC(19, 4) NOT NULL,
+    entry_type VARCHAR(10) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_core_ledger_entries PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Partition cho dữ liệu cũ và 3 tháng tới (sau đó LedgerPartitionMaintenance tạo trước hằng ngày).
+-- Partition default chỉ là lưới an toàn, bình thường luôn rỗng.
+SELECT core_ensure_monthly_partitions('core_transactions',
+        COALESCE((SELECT min(created_at) FROM core_transactions_legacy), now())::date,
+        (now() + INTERVAL '3 months')::date);
+SELECT core_ensure_monthly_partitions('core_ledger_entries',
+        COALESCE((SELECT min(created_at) FROM core_ledger_entries_legacy), now())::date,
+        (now() + INTERVAL '3 months')::date);
+CREATE TABLE core_transactions_default PARTITION OF core_transactions DEFAULT;
+CREATE TABLE core_ledger_entries_default PARTITION OF core_ledger_entries DEFAULT;
+
+INSERT INTO core_transaction_request_ids (request_id, transaction_id, created_at)
+SELECT request_id, id, COALESCE(created_at, now())
+FROM core_transactions_legacy;
+
+INSERT INTO core_transactions (id, account_id, request_id, amount, type, status, metadata, description,
+                               created_at, updated_at, version)
+SELECT id, account_id, request_id, amount, type, status, metadata, description,
+       COALESCE(created_at, now()), updated_at, version
+FROM core_transactions_legacy;
+
+INSERT INTO core_ledger_entries (id, transaction_id, account_id, amount, balance_snapshot, entry_type,
+                                 created_at, updated_at, version)
+SELECT id, transaction_id, account_id, amount, balance_snapshot, entry_type,
+       COALESCE(created_at, now()), updated_at, version
+FROM core_ledger_entries_legacy;
+
+DROP TABLE core_ledger_entries_legacy;
+DROP TABLE core_transactions_legacy;
+
+-- Trigger tạo sau khi copy: request_id của dữ liệu cũ đã được nạp ở trên
+CREATE TRIGGER trg_core_transactions_request_id
+    BEFORE INSERT ON core_transactions
+    FOR EACH ROW EXECUTE FUNCTION core_claim_transaction_request_id();
+
+-- Index trên bảng cha được tạo cho từng partition (kể cả partition tạo sau này)
+CREATE INDEX idx_trx_request_id ON core_transactions(request_id);
+CREATE INDEX idx_trx_account_id ON core_transactions(account_id, created_at);
+CREATE INDEX idx_ledger_trx_id ON core_ledger_entries(transaction_id);
+-- Lịch sử / balance_snapshot mới nhất của 1 account: đọc từ partition mới nhất trở về trước
+CREATE INDEX idx_ledger_account_id ON core_ledger_entries(account_id, created_at, id);
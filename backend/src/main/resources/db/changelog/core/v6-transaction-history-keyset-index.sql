@@ -0,0 +1,7 @@
+--liquibase formatted sql
+
+--changeset thinhdev:007
+--comment: Index (account_id, created_at, id) cho lịch sử giao dịch phân trang keyset (ORDER BY created_at DESC, id DESC)
+
+DROP INDEX IF EXISTS idx_trx_account_id;
+CREATE INDEX idx_trx_account_id ON core_transactions(account_id, created_at, id);
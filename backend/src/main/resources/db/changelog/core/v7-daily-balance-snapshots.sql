@@ -0,0 +1,12 @@
+--liquibase formatted sql
+
+--changeset thinhdev:008
+--comment: Số dư cuối ngày (UTC) của từng account - balanceAsOf chỉ cộng/trừ bút toán sau snapshot gần nhất
+
+CREATE TABLE core_daily_balance_snapshots (
+    account_id UUID NOT NULL REFERENCES core_accounts(id),
+    snapshot_date DATE NOT NULL,
+    balance NUMERIC(19, 4) NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_core_daily_balance_snapshots PRIMARY KEY (account_id, snapshot_date)
+);
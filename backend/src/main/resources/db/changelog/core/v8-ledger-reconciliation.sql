@@ -0,0 +1,52 @@
+--liquibase formatted sql
+
+--changeset thinhdev:009
+--comment: Bảng trạng thái / kết quả đối soát sổ cái, BRIN index created_at cho quét theo khoảng thời gian
+
+CREATE TABLE core_reconciliation_runs (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    mode VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    window_from TIMESTAMP WITH TIME ZONE NOT NULL,
+    window_to TIMESTAMP WITH TIME ZONE NOT NULL,
+    accounts_checked BIGINT NOT NULL DEFAULT 0,
+    entries_checked BIGINT NOT NULL DEFAULT 0,
+    transactions_checked BIGINT NOT NULL DEFAULT 0,
+    mismatches BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    finished_at TIMESTAMP WITH TIME ZONE
+);
+
+-- Checkpoint của lần chạy incremental kế tiếp: window_to của lần chạy COMPLETED gần nhất
+CREATE INDEX idx_reconciliation_runs_completed ON core_reconciliation_runs(id) WHERE status = 'COMPLETED';
+
+-- Tổng bút toán đã đối soát của từng account, tới bút toán (last_entry_created_at, last_entry_id)
+CREATE TABLE core_reconciliation_account_state (
+    account_id UUID PRIMARY KEY REFERENCES core_accounts(id),
+    ledger_net NUMERIC(19, 4) NOT NULL,
+    last_entry_created_at TIMESTAMP WITH TIME ZONE,
+    last_entry_id UUID,
+    last_balance_snapshot NUMERIC(19, 4),
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE core_reconciliation_mismatches (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    run_id BIGINT NOT NULL REFERENCES core_reconciliation_runs(id),
+    kind VARCHAR(40) NOT NULL,
+    account_id UUID,
+    transaction_id UUID,
+    ledger_entry_id UUID,
+    expected NUMERIC(19, 4),
+    actual NUMERIC(19, 4),
+    detail TEXT,
+    detected_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_reconciliation_mismatches_run ON core_reconciliation_mismatches(run_id);
+CREATE INDEX idx_reconciliation_mismatches_account ON core_reconciliation_mismatches(account_id);
+
+-- created_at tăng dần theo thứ tự ghi: BRIN nhỏ và gần như không tốn chi phí ghi,
+-- đủ để quét "bút toán / giao dịch trong 1 khoảng thời gian" mà không đọc cả partition
+CREATE INDEX idx_ledger_created_at_brin ON core_ledger_entries USING brin (created_at);
+CREATE INDEX idx_trx_created_at_brin ON core_transactions USING brin (created_at);
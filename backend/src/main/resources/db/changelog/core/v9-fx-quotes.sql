@@ -0,0 +1,16 @@
+--liquibase formatted sql
+
+--changeset thinhdev:010
+--comment: Tỉ giá đã chốt (FX quote) - transfer đa tiền tệ dùng tỉ giá này thay vì gọi API khi đang giữ lock
+
+CREATE TABLE core_fx_quotes (
+    id UUID PRIMARY KEY,
+    from_currency VARCHAR(3) NOT NULL REFERENCES core_currencies(code),
+    to_currency VARCHAR(3) NOT NULL REFERENCES core_currencies(code),
+    rate NUMERIC(38, 18) NOT NULL CHECK (rate > 0),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Dọn quote hết hạn
+CREATE INDEX idx_fx_quotes_expires_at ON core_fx_quotes(expires_at);
@@ -0,0 +1,19 @@
+--liquibase formatted sql
+
+--changeset thinhdev:shared-001
+--comment: Idempotency-Key store - replay response cho request trùng key
+
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(150) PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    response_body TEXT,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+
+    CONSTRAINT chk_idempotency_status CHECK (status IN ('IN_PROGRESS', 'COMPLETED'))
+);
+
+-- Job dọn key hết hạn quét theo expires_at
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
@@ -0,0 +1,21 @@
+--liquibase formatted sql
+
+--changeset thinhdev:shared-002
+--comment: Transactional outbox - domain event ghi cùng transaction với ledger, relay publish ra ngoài
+
+CREATE TABLE outbox_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id VARCHAR(100) NOT NULL,
+    event_type VARCHAR(150) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    published_at TIMESTAMP WITH TIME ZONE
+);
+
+-- Relay claim record chưa publish theo thứ tự id
+CREATE INDEX idx_outbox_events_pending ON outbox_events(id) WHERE published_at IS NULL;
+-- Kiểm tra thứ tự theo aggregate
+CREATE INDEX idx_outbox_events_pending_aggregate ON outbox_events(aggregate_id, id) WHERE published_at IS NULL;
+-- Job dọn record đã publish
+CREATE INDEX idx_outbox_events_published_at ON outbox_events(published_at) WHERE published_at IS NOT NULL;
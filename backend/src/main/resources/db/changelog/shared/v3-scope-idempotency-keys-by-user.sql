@@ -0,0 +1,14 @@
+--liquibase formatted sql
+
+--changeset thinhdev:shared-003
+--comment: Idempotency-Key thuộc về user đã xác thực: 2 user gửi cùng key không đụng nhau
+
+-- Key cũ và request không xác thực thuộc user rỗng (UUID 0)
+ALTER TABLE idempotency_keys
+    ADD COLUMN user_id UUID NOT NULL DEFAULT '00000000-0000-0000-0000-000000000000';
+
+ALTER TABLE idempotency_keys ALTER COLUMN user_id DROP DEFAULT;
+
+ALTER TABLE idempotency_keys DROP CONSTRAINT idempotency_keys_pkey;
+
+ALTER TABLE idempotency_keys ADD CONSTRAINT idempotency_keys_pkey PRIMARY KEY (user_id, idempotency_key);
@@ -3,6 +3,7 @@ package com.thinhpay.backend;
 import com.thinhpay.backend.modules.corebanking.domain.account.Account;
 import com.thinhpay.backend.modules.corebanking.domain.account.AccountStatus;
 import com.thinhpay.backend.modules.corebanking.domain.currency.Currency;
+import com.thinhpay.backend.modules.corebanking.domain.money.Money;
 import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.AccountRepository;
 import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.CurrencyRepository;
 import com.thinhpay.backend.modules.iam.infrastructure.service.EmailService;
@@ -45,8 +46,8 @@ public abstract class BaseIntegrationTest {
         Account account = Account.builder()
                 .userId(userId)
                 .currency(vnd)
-                .balance(new BigDecimal(balance))
-                .heldBalance(BigDecimal.ZERO)
+                .balance(Money.ofLedger(new BigDecimal(balance)))
+                .heldBalance(Money.zero(Money.LEDGER_SCALE))
                 .status(AccountStatus.ACTIVE)
                 .build();
         return accountRepository.save(account);
@@ -0,0 +1,167 @@
+package com.thinhpay.backend.modules.corebanking.application;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thinhpay.backend.BaseIntegrationTest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.DepositRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.StatementFormat;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.WithdrawRequest;
+import com.thinhpay.backend.modules.corebanking.application.port.in.DepositUseCase;
+import com.thinhpay.backend.modules.corebanking.application.port.in.WithdrawUseCase;
+import com.thinhpay.backend.modules.corebanking.application.service.AccountStatementService;
+import com.thinhpay.backend.modules.corebanking.domain.ledger.LedgerEntryType;
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.LedgerStatementRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.StatementLine;
+import com.thinhpay.backend.shared.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcProperties;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// fetch-size nhỏ để cursor phải đọc nhiều lần trong 1 lần export
+@TestPropertySource(properties = "thinhpay.core-banking.statement.fetch-size=2")
+class AccountStatementTest extends BaseIntegrationTest {
+
+    @Autowired
+    private AccountStatementService accountStatementService;
+
+    @Autowired
+    private DepositUseCase depositUseCase;
+
+    @Autowired
+    private WithdrawUseCase withdrawUseCase;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CoreBankingProperties properties;
+
+    @Autowired
+    private WebMvcProperties webMvcProperties;
+
+    @Test
+    @DisplayName("Sao kê: timeout async 30m lấy từ application.yaml chung, không phụ thuộc profile")
+    void should_UseLongAsyncTimeout_ForEveryProfile() {
+        assertThat(webMvcProperties.getAsync().getRequestTimeout()).isEqualTo(Duration.ofMinutes(30));
+    }
+
+    @Test
+    @DisplayName("Sao kê NDJSON: đủ bút toán theo thứ tự thời gian, kèm số dư sau mỗi bút toán")
+    void should_StreamNdjson_WithRunningBalance() throws Exception {
+        // GIVEN
+        UUID userId = UUID.randomUUID();
+        createTestAccount(userId, "100.00");
+        for (int i = 0; i < 4; i++) {
+            depositUseCase.deposit(new DepositRequest(userId, new BigDecimal("10.00"), "STMT-" + UUID.randomUUID()));
+        }
+        withdrawUseCase.withdraw(new WithdrawRequest(userId, new BigDecimal("25.00"), "STMT-" + UUID.randomUUID()));
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+        // WHEN
+        String body = export(accountStatementService.prepare(userId, "VND", today, today), StatementFormat.NDJSON);
+
+        // THEN
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        assertThat(lines).extracting(node -> node.get("balanceSnapshot").decimalValue())
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("110"), new BigDecimal("120"), new BigDecimal("130"),
+                        new BigDecimal("140"), new BigDecimal("115"));
+        assertThat(lines).extracting(node -> node.get("entryType").asText())
+                .containsExactly("CREDIT", "CREDIT", "CREDIT", "CREDIT", "DEBIT");
+    }
+
+    @Test
+    @DisplayName("Sao kê CSV: có header, ngoài khoảng ngày thì chỉ còn header")
+    void should_StreamCsv_AndRespectDateRange() throws Exception {
+        // GIVEN
+        UUID userId = UUID.randomUUID();
+        createTestAccount(userId, "100.00");
+        depositUseCase.deposit(new DepositRequest(userId, new BigDecimal("10.00"), "STMT-" + UUID.randomUUID()));
+        depositUseCase.deposit(new DepositRequest(userId, new BigDecimal("20.00"), "STMT-" + UUID.randomUUID()));
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+        // WHEN
+        String inRange = export(accountStatementService.prepare(userId, "VND", today.minusDays(1), today), StatementFormat.CSV);
+        String outOfRange = export(accountStatementService.prepare(userId, "VND", today.minusDays(10), today.minusDays(1)),
+                StatementFormat.CSV);
+
+        // THEN
+        List<String> rows = inRange.lines().toList();
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0)).isEqualTo("entry_id,transaction_id,entry_type,amount,balance_snapshot,created_at");
+        assertThat(rows.get(2).split(",")[4]).isEqualTo("130.0000");
+        assertThat(outOfRange.lines().toList()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Sao kê: from > to hoặc account không tồn tại thì lỗi trước khi stream")
+    void should_RejectInvalidQuery_BeforeStreaming() {
+        UUID userId = UUID.randomUUID();
+        createTestAccount(userId, "100.00");
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> accountStatementService.prepare(userId, "VND", today, today.minusDays(1)));
+        assertThrows(ResourceNotFoundException.class,
+                () -> accountStatementService.prepare(UUID.randomUUID(), "VND", today, today));
+    }
+
+    @Test
+    @DisplayName("Sao kê: bút toán không có transaction_id ghi null (NDJSON) / ô trống (CSV), không lỗi")
+    void should_WriteMissingTransactionId_AsNullOrEmpty() throws Exception {
+        // GIVEN: core_ledger_entries.transaction_id cho phép null từ core v5
+        UUID entryId = UUID.randomUUID();
+        Instant createdAt = Instant.parse("2026-01-15T08:00:00Z");
+        LedgerStatementRepository repository = new LedgerStatementRepository(null) {
+            @Override
+            public void streamEntries(UUID accountId, Instant from, Instant to, int fetchSize,
+                                      Consumer<StatementLine> consumer) {
+                consumer.accept(new StatementLine(entryId, null, LedgerEntryType.CREDIT,
+                        new BigDecimal("10.0000"), new BigDecimal("110.0000"), createdAt));
+            }
+        };
+        AccountStatementService service = new AccountStatementService(accountRepository, repository, properties, objectMapper);
+        AccountStatementService.StatementQuery query = new AccountStatementService.StatementQuery(
+                UUID.randomUUID(), LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31));
+
+        // WHEN
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        service.writeStatement(query, StatementFormat.NDJSON, ndjson);
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        service.writeStatement(query, StatementFormat.CSV, csv);
+
+        // THEN
+        JsonNode line = objectMapper.readTree(ndjson.toString(StandardCharsets.UTF_8));
+        assertThat(line.get("transactionId").isNull()).isTrue();
+        assertThat(line.get("entryId").asText()).isEqualTo(entryId.toString());
+        assertThat(csv.toString(StandardCharsets.UTF_8).lines().toList().get(1))
+                .isEqualTo(entryId + ",,CREDIT,10.0000,110.0000," + createdAt);
+    }
+
+    private String export(AccountStatementService.StatementQuery query, StatementFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        accountStatementService.writeStatement(query, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
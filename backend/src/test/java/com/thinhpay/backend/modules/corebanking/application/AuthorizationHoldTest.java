@@ -0,0 +1,172 @@
+package com.thinhpay.backend.modules.corebanking.application;
+
+import com.thinhpay.backend.BaseIntegrationTest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.CaptureHoldRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.PlaceHoldRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.WithdrawRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.HoldResponse;
+import com.thinhpay.backend.modules.corebanking.application.port.in.CaptureHoldUseCase;
+import com.thinhpay.backend.modules.corebanking.application.port.in.PlaceHoldUseCase;
+import com.thinhpay.backend.modules.corebanking.application.port.in.ReleaseHoldUseCase;
+import com.thinhpay.backend.modules.corebanking.application.port.in.WithdrawUseCase;
+import com.thinhpay.backend.modules.corebanking.domain.account.Account;
+import com.thinhpay.backend.modules.corebanking.domain.hold.HoldStatus;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionType;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.AuthorizationHoldExpiryJob;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.AuthorizationHoldRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.TransactionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthorizationHoldTest extends BaseIntegrationTest {
+
+    @Autowired
+    private PlaceHoldUseCase placeHoldUseCase;
+
+    @Autowired
+    private CaptureHoldUseCase captureHoldUseCase;
+
+    @Autowired
+    private ReleaseHoldUseCase releaseHoldUseCase;
+
+    @Autowired
+    private WithdrawUseCase withdrawUseCase;
+
+    @Autowired
+    private AuthorizationHoldExpiryJob expiryJob;
+
+    @Autowired
+    private AuthorizationHoldRepository holdRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    @DisplayName("Hold giảm số dư khả dụng, balance giữ nguyên; rút / hold vượt số dư khả dụng bị từ chối")
+    void should_ReduceAvailableBalance_WhenHoldPlaced() {
+        // GIVEN
+        UUID userId = UUID.randomUUID();
+        UUID accountId = createTestAccount(userId, "1000.00").getId();
+
+        // WHEN
+        HoldResponse hold = placeHoldUseCase.placeHold(holdRequest(userId, "700.00", null));
+
+        // THEN
+        assertThat(hold.getStatus()).isEqualTo(HoldStatus.ACTIVE.name());
+        assertThat(hold.getRemainingAmount()).isEqualByComparingTo("700.00");
+        Account account = accountRepository.findById(accountId).orElseThrow();
+        assertThat(account.getBalance()).isEqualByComparingTo("1000.00");
+        assertThat(account.getAvailableBalance()).isEqualByComparingTo("300.00");
+
+        assertThatThrownBy(() -> withdrawUseCase.withdraw(
+                new WithdrawRequest(userId, new BigDecimal("400.00"), "REQ-" + UUID.randomUUID())))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> placeHoldUseCase.placeHold(holdRequest(userId, "300.01", null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(accountRepository.findById(accountId).orElseThrow().getHeldBalance()).isEqualByComparingTo("700.00");
+    }
+
+    @Test
+    @DisplayName("Capture nhiều lần rồi release: chỉ phần capture bị trừ, phần còn lại trả về số dư khả dụng")
+    void should_CapturePartially_ThenReleaseRemainder() {
+        // GIVEN
+        UUID userId = UUID.randomUUID();
+        UUID accountId = createTestAccount(userId, "1000.00").getId();
+        UUID holdId = placeHoldUseCase.placeHold(holdRequest(userId, "500.00", null)).getHoldId();
+
+        // WHEN
+        String captureRequestId = "CAP-" + UUID.randomUUID();
+        captureHoldUseCase.captureHold(holdId, new CaptureHoldRequest(captureRequestId, new BigDecimal("200.00")));
+        HoldResponse captured = captureHoldUseCase.captureHold(holdId,
+                new CaptureHoldRequest("CAP-" + UUID.randomUUID(), new BigDecimal("100.00")));
+
+        // THEN
+        assertThat(captured.getCapturedAmount()).isEqualByComparingTo("300.00");
+        assertThat(captured.getRemainingAmount()).isEqualByComparingTo("200.00");
+        Account account = accountRepository.findById(accountId).orElseThrow();
+        assertThat(account.getBalance()).isEqualByComparingTo("700.00");
+        assertThat(account.getHeldBalance()).isEqualByComparingTo("200.00");
+        assertThat(transactionRepository.findByRequestId(captureRequestId)).hasValueSatisfying(transaction ->
+                assertThat(transaction.getType()).isEqualTo(TransactionType.HOLD_CAPTURE));
+
+        // WHEN
+        HoldResponse released = releaseHoldUseCase.releaseHold(holdId);
+
+        // THEN
+        assertThat(released.getStatus()).isEqualTo(HoldStatus.RELEASED.name());
+        account = accountRepository.findById(accountId).orElseThrow();
+        assertThat(account.getBalance()).isEqualByComparingTo("700.00");
+        assertThat(account.getHeldBalance()).isEqualByComparingTo("0");
+        assertThatThrownBy(() -> releaseHoldUseCase.releaseHold(holdId)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Capture vượt phần còn giữ, hoặc trùng requestId, bị từ chối và không đổi số dư")
+    void should_RejectCapture_WhenExceedingRemainingOrDuplicated() {
+        // GIVEN
+        UUID userId = UUID.randomUUID();
+        UUID accountId = createTestAccount(userId, "1000.00").getId();
+        UUID holdId = placeHoldUseCase.placeHold(holdRequest(userId, "100.00", null)).getHoldId();
+        CaptureHoldRequest capture = new CaptureHoldRequest("CAP-" + UUID.randomUUID(), new BigDecimal("60.00"));
+        captureHoldUseCase.captureHold(holdId, capture);
+
+        // WHEN & THEN
+        assertThatThrownBy(() -> captureHoldUseCase.captureHold(holdId,
+                new CaptureHoldRequest("CAP-" + UUID.randomUUID(), new BigDecimal("40.01"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> captureHoldUseCase.captureHold(holdId,
+                new CaptureHoldRequest(capture.getRequestId(), new BigDecimal("10.00"))))
+                .isInstanceOf(IllegalStateException.class);
+
+        Account account = accountRepository.findById(accountId).orElseThrow();
+        assertThat(account.getBalance()).isEqualByComparingTo("940.00");
+        assertThat(account.getHeldBalance()).isEqualByComparingTo("40.00");
+
+        HoldResponse captured = captureHoldUseCase.captureHold(holdId,
+                new CaptureHoldRequest("CAP-" + UUID.randomUUID(), new BigDecimal("40.00")));
+        assertThat(captured.getStatus()).isEqualTo(HoldStatus.CAPTURED.name());
+    }
+
+    @Test
+    @DisplayName("Job hết hạn trả lại held_balance của hold quá hạn, hold còn hạn giữ nguyên")
+    void should_ReleaseExpiredHolds() {
+        // GIVEN
+        UUID userId = UUID.randomUUID();
+        UUID accountId = createTestAccount(userId, "1000.00").getId();
+        UUID shortHold = placeHoldUseCase.placeHold(holdRequest(userId, "300.00", Duration.ofMinutes(1))).getHoldId();
+        UUID longHold = placeHoldUseCase.placeHold(holdRequest(userId, "200.00", null)).getHoldId();
+        captureHoldUseCase.captureHold(shortHold, new CaptureHoldRequest("CAP-" + UUID.randomUUID(), new BigDecimal("100.00")));
+
+        // WHEN - chạy job như thể đã qua 2 phút
+        Instant later = Instant.now().plus(Duration.ofMinutes(2));
+        while (expiryJob.releaseBatch(later) > 0) {
+            // drain
+        }
+
+        // THEN
+        assertThat(holdRepository.findById(shortHold).orElseThrow().getStatus()).isEqualTo(HoldStatus.EXPIRED);
+        assertThat(holdRepository.findById(longHold).orElseThrow().getStatus()).isEqualTo(HoldStatus.ACTIVE);
+        Account account = accountRepository.findById(accountId).orElseThrow();
+        assertThat(account.getBalance()).isEqualByComparingTo("900.00");
+        assertThat(account.getHeldBalance()).isEqualByComparingTo("200.00");
+    }
+
+    private static PlaceHoldRequest holdRequest(UUID userId, String amount, Duration expiresIn) {
+        return PlaceHoldRequest.builder()
+                .requestId("HOLD-" + UUID.randomUUID())
+                .userId(userId)
+                .currency("VND")
+                .amount(new BigDecimal(amount))
+                .expiresIn(expiresIn)
+                .build();
+    }
+}
@@ -0,0 +1,158 @@
+package com.thinhpay.backend.modules.corebanking.application;
+
+import com.thinhpay.backend.BaseIntegrationTest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.DepositRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.TransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.WithdrawRequest;
+import com.thinhpay.backend.modules.corebanking.application.port.in.DepositUseCase;
+import com.thinhpay.backend.modules.corebanking.application.port.in.TransferUseCase;
+import com.thinhpay.backend.modules.corebanking.application.port.in.WithdrawUseCase;
+import com.thinhpay.backend.modules.corebanking.application.service.AccountQueryService;
+import com.thinhpay.backend.shared.infrastructure.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BalanceCacheTest extends BaseIntegrationTest {
+
+    @Autowired
+    private AccountQueryService accountQueryService;
+
+    @Autowired
+    private DepositUseCase depositUseCase;
+
+    @Autowired
+    private WithdrawUseCase withdrawUseCase;
+
+    @Autowired
+    private TransferUseCase transferUseCase;
+
+    @Autowired
+    private TwoLevelCacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Số dư được đọc từ cache: thay đổi DB ngoài luồng nghiệp vụ không được thấy")
+    void should_ServeBalanceFromCache() {
+        UUID userId = UUID.randomUUID();
+        createTestAccount(userId, "100.00");
+        double hitsBefore = l1Hits(AccountQueryService.BALANCE_CACHE);
+
+        assertThat(accountQueryService.getAccountBalance(userId, "VND").getBalance()).isEqualByComparingTo("100.00");
+        setBalanceBehindCache(userId, "999.00");
+
+        assertThat(accountQueryService.getAccountBalance(userId, "VND").getBalance()).isEqualByComparingTo("100.00");
+        assertThat(l1Hits(AccountQueryService.BALANCE_CACHE)).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    @DisplayName("Nạp / rút tiền xóa cache số dư và danh sách account sau commit")
+    void should_EvictCache_OnDepositAndWithdraw() {
+        UUID userId = UUID.randomUUID();
+        createTestAccount(userId, "100.00");
+        accountQueryService.getAccountBalance(userId, "VND");
+        accountQueryService.getUserAccounts(userId);
+
+        depositUseCase.deposit(new DepositRequest(userId, new BigDecimal("50.00"), "REQ-" + UUID.randomUUID()));
+
+        assertThat(accountQueryService.getAccountBalance(userId, "VND").getBalance()).isEqualByComparingTo("150.00");
+        assertThat(accountQueryService.getUserAccounts(userId)).singleElement()
+                .satisfies(account -> assertThat(account.getBalance()).isEqualByComparingTo("150.00"));
+
+        withdrawUseCase.withdraw(new WithdrawRequest(userId, new BigDecimal("30.00"), "REQ-" + UUID.randomUUID()));
+
+        assertThat(accountQueryService.getAccountBalance(userId, "VND").getBalance()).isEqualByComparingTo("120.00");
+        assertThat(meterRegistry.get("cache.invalidation.lag")
+                .tags("cache", AccountQueryService.BALANCE_CACHE, "source", "local")
+                .timer()
+                .count()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Giao dịch thất bại (rollback) không xóa cache")
+    void should_KeepCache_WhenWithdrawFails() {
+        UUID userId = UUID.randomUUID();
+        createTestAccount(userId, "100.00");
+        accountQueryService.getAccountBalance(userId, "VND");
+        setBalanceBehindCache(userId, "10.00");
+
+        assertThatThrownBy(() -> withdrawUseCase.withdraw(
+                new WithdrawRequest(userId, new BigDecimal("500.00"), "REQ-" + UUID.randomUUID())))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(accountQueryService.getAccountBalance(userId, "VND").getBalance()).isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    @DisplayName("Chuyển tiền xóa cache của cả người gửi và người nhận")
+    void should_EvictBothSides_OnTransfer() {
+        UUID senderId = UUID.randomUUID();
+        UUID receiverId = UUID.randomUUID();
+        createTestAccount(senderId, "100.00");
+        createTestAccount(receiverId, "0.00");
+        accountQueryService.getAccountBalance(senderId, "VND");
+        accountQueryService.getUserAccounts(receiverId);
+
+        transferUseCase.transfer(TransferRequest.builder()
+                .requestId("REQ-" + UUID.randomUUID())
+                .senderUserId(senderId)
+                .receiverUserId(receiverId)
+                .amount(new BigDecimal("40.00"))
+                .currency("VND")
+                .build());
+
+        assertThat(accountQueryService.getAccountBalance(senderId, "VND").getBalance()).isEqualByComparingTo("60.00");
+        assertThat(accountQueryService.getUserAccounts(receiverId)).singleElement()
+                .satisfies(account -> assertThat(account.getBalance()).isEqualByComparingTo("40.00"));
+    }
+
+    @Test
+    @DisplayName("Invalidation từ node khác xóa L1, và cả L2 nếu node này vừa ghi key đó")
+    void should_EvictOnPeerInvalidation() {
+        UUID userId = UUID.randomUUID();
+        createTestAccount(userId, "100.00");
+        accountQueryService.getAccountBalance(userId, "VND");
+        setBalanceBehindCache(userId, "70.00");
+
+        cacheManager.evictFromPeer(AccountQueryService.BALANCE_CACHE, userId + ":VND", Instant.now());
+
+        assertThat(accountQueryService.getAccountBalance(userId, "VND").getBalance()).isEqualByComparingTo("70.00");
+    }
+
+    @Test
+    @DisplayName("Không tìm thấy account: lỗi được ném lại, không cache")
+    void should_NotCache_MissingAccount() {
+        UUID userId = UUID.randomUUID();
+
+        assertThatThrownBy(() -> accountQueryService.getAccountBalance(userId, "VND"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        createTestAccount(userId, "5.00");
+        assertThat(accountQueryService.getAccountBalance(userId, "VND").getBalance()).isEqualByComparingTo("5.00");
+    }
+
+    private void setBalanceBehindCache(UUID userId, String balance) {
+        jdbcTemplate.update("UPDATE core_accounts SET balance = ? WHERE user_id = ?", new BigDecimal(balance), userId);
+    }
+
+    private double l1Hits(String cacheName) {
+        return meterRegistry.get("cache.tier.gets")
+                .tags("cache", cacheName, "tier", "l1", "result", "hit")
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,113 @@
+package com.thinhpay.backend.modules.corebanking.application;
+
+import com.thinhpay.backend.BaseIntegrationTest;
+import com.thinhpay.backend.modules.corebanking.application.service.BalanceHistoryService;
+import com.thinhpay.backend.modules.corebanking.domain.account.DailyBalanceSnapshot;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.DailyBalanceSnapshotJob;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.DailyBalanceSnapshotRepository;
+import com.thinhpay.backend.shared.domain.UuidV7;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BalanceSnapshotTest extends BaseIntegrationTest {
+
+    @Autowired
+    private DailyBalanceSnapshotJob snapshotJob;
+
+    @Autowired
+    private DailyBalanceSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private BalanceHistoryService balanceHistoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+    @Test
+    @DisplayName("Snapshot cuối ngày = số dư hiện tại trừ bút toán sau cutoff, balanceAsOf đúng ở mọi thời điểm")
+    void should_SnapshotEndOfDay_AndAnswerBalanceAsOf() {
+        // GIVEN: số dư ban đầu 1000, +100 (D-3), +50 / -30 (D-2), +20 (vừa xong) => 1140
+        UUID accountId = createAccountWithHistory(UUID.randomUUID());
+
+        // WHEN
+        snapshotJob.snapshotDay(today.minusDays(2));
+
+        // THEN
+        assertThat(snapshotRepository.findByAccountIdOrderBySnapshotDate(accountId))
+                .singleElement()
+                .satisfies(snapshot -> assertThat(snapshot.getBalance()).isEqualByComparingTo("1120.00"));
+
+        // Trước snapshot: đi lùi từ snapshot kế tiếp
+        assertThat(balanceHistoryService.balanceAsOf(accountId, at(5, 0))).isEqualByComparingTo("1000.00");
+        assertThat(balanceHistoryService.balanceAsOf(accountId, at(3, 12))).isEqualByComparingTo("1100.00");
+        assertThat(balanceHistoryService.balanceAsOf(accountId, at(2, 12))).isEqualByComparingTo("1150.00");
+        // Đúng thời điểm bút toán: bút toán đó đã được tính
+        assertThat(balanceHistoryService.balanceAsOf(accountId, at(2, 15))).isEqualByComparingTo("1120.00");
+        // Sau snapshot: cộng thêm bút toán sau cutoff
+        assertThat(balanceHistoryService.balanceAsOf(accountId, at(1, 12))).isEqualByComparingTo("1120.00");
+        assertThat(balanceHistoryService.balanceAsOf(accountId, Instant.now())).isEqualByComparingTo("1140.00");
+    }
+
+    @Test
+    @DisplayName("Chưa có snapshot: balanceAsOf đi lùi từ số dư hiện tại; chạy lại job không tạo trùng")
+    void should_FallBackToCurrentBalance_AndBeIdempotent() {
+        // GIVEN
+        UUID accountId = createAccountWithHistory(UUID.randomUUID());
+
+        // WHEN - THEN: chưa có snapshot
+        assertThat(balanceHistoryService.balanceAsOf(accountId, at(3, 12))).isEqualByComparingTo("1100.00");
+
+        snapshotJob.snapshotDay(today.minusDays(1));
+        snapshotJob.snapshotDay(today.minusDays(1));
+        assertThat(snapshotRepository.findByAccountIdOrderBySnapshotDate(accountId))
+                .extracting(DailyBalanceSnapshot::getSnapshotDate)
+                .containsExactly(today.minusDays(1));
+        assertThat(balanceHistoryService.balanceAsOf(accountId, at(3, 12))).isEqualByComparingTo("1100.00");
+
+        // Ngày chưa kết thúc thì không chụp được
+        assertThrows(IllegalArgumentException.class, () -> snapshotJob.snapshotDay(today));
+    }
+
+    private UUID createAccountWithHistory(UUID userId) {
+        UUID accountId = createTestAccount(userId, "1140.00").getId();
+        jdbcTemplate.update("UPDATE core_accounts SET created_at = ? WHERE id = ?",
+                Timestamp.from(at(10, 0)), accountId);
+        insertEntry(accountId, "CREDIT", "100.00", at(3, 10));
+        insertEntry(accountId, "CREDIT", "50.00", at(2, 9));
+        insertEntry(accountId, "DEBIT", "30.00", at(2, 15));
+        insertEntry(accountId, "CREDIT", "20.00", Instant.now().minus(Duration.ofSeconds(1)));
+        return accountId;
+    }
+
+    private Instant at(int daysAgo, int hour) {
+        return today.minusDays(daysAgo).atTime(hour, 0).toInstant(ZoneOffset.UTC);
+    }
+
+    private void insertEntry(UUID accountId, String entryType, String amount, Instant createdAt) {
+        UUID transactionId = UuidV7.generate();
+        jdbcTemplate.update("""
+                INSERT INTO core_transactions (id, account_id, request_id, amount, type, status, created_at, updated_at, version)
+                VALUES (?, ?, ?, CAST(? AS NUMERIC), ?, 'COMPLETED', ?, ?, 0)
+                """, transactionId, accountId, "SNAP-" + transactionId, amount,
+                entryType.equals("CREDIT") ? "DEPOSIT" : "WITHDRAW", Timestamp.from(createdAt), Timestamp.from(createdAt));
+        jdbcTemplate.update("""
+                INSERT INTO core_ledger_entries (id, transaction_id, account_id, amount, balance_snapshot, entry_type, created_at, updated_at, version)
+                VALUES (?, ?, ?, CAST(? AS NUMERIC), 0, ?, ?, ?, 0)
+                """, UuidV7.generate(), transactionId, accountId, amount, entryType,
+                Timestamp.from(createdAt), Timestamp.from(createdAt));
+    }
+}
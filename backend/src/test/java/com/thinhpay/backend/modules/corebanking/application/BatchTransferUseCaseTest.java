@@ -0,0 +1,121 @@
+package com.thinhpay.backend.modules.corebanking.application;
+
+import com.thinhpay.backend.BaseIntegrationTest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.BatchTransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.TransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.BatchTransferResponse;
+import com.thinhpay.backend.modules.corebanking.application.port.in.BatchTransferUseCase;
+import com.thinhpay.backend.modules.corebanking.domain.account.Account;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionStatus;
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.TransactionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BatchTransferUseCaseTest extends BaseIntegrationTest {
+
+    @Autowired
+    private BatchTransferUseCase batchTransferUseCase;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CoreBankingProperties properties;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Batch: JDBC batch của Hibernate bật từ application.yaml chung, không phụ thuộc profile")
+    void should_EnableJdbcBatching_ForEveryProfile() {
+        assertThat(entityManagerFactory.getProperties())
+                .hasEntrySatisfying("hibernate.jdbc.batch_size", value -> assertThat(value).hasToString("50"))
+                .hasEntrySatisfying("hibernate.order_inserts", value -> assertThat(value).hasToString("true"))
+                .hasEntrySatisfying("hibernate.order_updates", value -> assertThat(value).hasToString("true"));
+    }
+
+    @Test
+    @DisplayName("Batch: item lỗi bị đánh dấu FAILED, các item còn lại vẫn thành công")
+    void should_ApplyValidItems_AndReportFailedOnes() {
+        // GIVEN: Payout account có 1000, chi cho 2 người nhận
+        UUID payer = UUID.randomUUID();
+        UUID receiver1 = UUID.randomUUID();
+        UUID receiver2 = UUID.randomUUID();
+        Account payerAccount = createTestAccount(payer, "1000.00");
+        Account receiver1Account = createTestAccount(receiver1, "0.00");
+        Account receiver2Account = createTestAccount(receiver2, "0.00");
+
+        String duplicateId = "BATCH-" + UUID.randomUUID();
+        BatchTransferRequest request = BatchTransferRequest.builder()
+                .transfers(List.of(
+                        transfer(duplicateId, payer, receiver1, "300.00"),
+                        transfer("BATCH-" + UUID.randomUUID(), payer, receiver2, "900.00"),  // Không đủ số dư
+                        transfer("BATCH-" + UUID.randomUUID(), payer, UUID.randomUUID(), "10.00"), // Không có account
+                        transfer(duplicateId, payer, receiver2, "50.00"),                     // Trùng requestId
+                        transfer("BATCH-" + UUID.randomUUID(), payer, receiver2, "600.00")
+                ))
+                .build();
+
+        // WHEN
+        BatchTransferResponse response = batchTransferUseCase.transferBatch(request);
+
+        // THEN: Kết quả theo đúng thứ tự item
+        assertThat(response.getTotalCount()).isEqualTo(5);
+        assertThat(response.getSuccessCount()).isEqualTo(2);
+        assertThat(response.getFailedCount()).isEqualTo(3);
+        assertThat(response.getResults())
+                .extracting(BatchTransferResponse.ItemResult::getStatus)
+                .containsExactly(
+                        TransactionStatus.COMPLETED,
+                        TransactionStatus.FAILED,
+                        TransactionStatus.FAILED,
+                        TransactionStatus.FAILED,
+                        TransactionStatus.COMPLETED);
+
+        // 1000 - 300 - 600 = 100
+        assertThat(accountRepository.findById(payerAccount.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo("100.00");
+        assertThat(accountRepository.findById(receiver1Account.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo("300.00");
+        assertThat(accountRepository.findById(receiver2Account.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo("600.00");
+        assertThat(transactionRepository.findByRequestId(duplicateId + "-IN")).isPresent();
+    }
+
+    @Test
+    @DisplayName("Batch: vượt quá batch.max-items thì bị từ chối cả batch")
+    void should_RejectBatch_WhenExceedingConfiguredMaxItems() {
+        UUID payer = UUID.randomUUID();
+        UUID receiver = UUID.randomUUID();
+        int maxItems = properties.getBatch().getMaxItems();
+        BatchTransferRequest request = BatchTransferRequest.builder()
+                .transfers(IntStream.rangeClosed(0, maxItems)
+                        .mapToObj(i -> transfer("BATCH-" + UUID.randomUUID(), payer, receiver, "1.00"))
+                        .toList())
+                .build();
+
+        assertThrows(IllegalArgumentException.class, () -> batchTransferUseCase.transferBatch(request));
+    }
+
+    private TransferRequest transfer(String requestId, UUID sender, UUID receiver, String amount) {
+        return TransferRequest.builder()
+                .requestId(requestId)
+                .senderUserId(sender)
+                .receiverUserId(receiver)
+                .amount(new BigDecimal(amount))
+                .currency("VND")
+                .description("Payout")
+                .build();
+    }
+}
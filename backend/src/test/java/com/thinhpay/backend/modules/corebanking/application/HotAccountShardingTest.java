@@ -0,0 +1,164 @@
+package com.thinhpay.backend.modules.corebanking.application;
+
+import com.thinhpay.backend.BaseIntegrationTest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.DepositRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.TransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.WithdrawRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.AccountResponse;
+import com.thinhpay.backend.modules.corebanking.application.port.in.DepositUseCase;
+import com.thinhpay.backend.modules.corebanking.application.port.in.TransferUseCase;
+import com.thinhpay.backend.modules.corebanking.application.port.in.WithdrawUseCase;
+import com.thinhpay.backend.modules.corebanking.application.service.AccountQueryService;
+import com.thinhpay.backend.modules.corebanking.application.service.ShardedBalanceService;
+import com.thinhpay.backend.modules.corebanking.domain.account.Account;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.AccountBalanceShardRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.LedgerEntryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HotAccountShardingTest extends BaseIntegrationTest {
+
+    @Autowired
+    private ShardedBalanceService shardedBalanceService;
+
+    @Autowired
+    private TransferUseCase transferUseCase;
+
+    @Autowired
+    private DepositUseCase depositUseCase;
+
+    @Autowired
+    private WithdrawUseCase withdrawUseCase;
+
+    @Autowired
+    private AccountQueryService accountQueryService;
+
+    @Autowired
+    private AccountBalanceShardRepository shardRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @AfterEach
+    void cleanUp() {
+        // Shard giữ FK tới core_accounts, phải xóa trước khi test khác dọn account
+        shardRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Hot account: credit đi vào shard, số dư tổng vẫn chính xác")
+    void should_CreditShards_WhenReceiverIsHot() {
+        // GIVEN: Merchant có 500 trong balance gốc, bật 4 shard
+        UUID customer = UUID.randomUUID();
+        UUID merchant = UUID.randomUUID();
+        createTestAccount(customer, "1000.00");
+        Account merchantAccount = createTestAccount(merchant, "500.00");
+        shardedBalanceService.enableSharding(merchantAccount.getId(), 4);
+
+        // WHEN: Khách thanh toán 3 lần và merchant được nạp thêm 1 lần
+        for (int i = 0; i < 3; i++) {
+            transferUseCase.transfer(TransferRequest.builder()
+                    .requestId("HOT-PAY-" + UUID.randomUUID())
+                    .senderUserId(customer)
+                    .receiverUserId(merchant)
+                    .amount(new BigDecimal("100.00"))
+                    .currency("VND")
+                    .build());
+        }
+        depositUseCase.deposit(new DepositRequest(merchant, new BigDecimal("50.00"), "HOT-DEP-" + UUID.randomUUID()));
+
+        // THEN: Balance gốc không đổi, phần tăng thêm nằm trong các shard
+        Account merchantInDb = accountRepository.findById(merchantAccount.getId()).orElseThrow();
+        assertThat(merchantInDb.getBalance()).isEqualByComparingTo("500.00");
+        assertThat(shardRepository.findAll().stream()
+                .filter(s -> s.getAccount().getId().equals(merchantAccount.getId()))
+                .map(s -> s.getBalance())
+                .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .isEqualByComparingTo("350.00");
+
+        AccountResponse response = accountQueryService.getAccountBalance(merchant, "VND");
+        assertThat(response.getBalance()).isEqualByComparingTo("850.00");
+    }
+
+    @Test
+    @DisplayName("Hot account: debit quét qua balance gốc và các shard")
+    void should_SweepShards_WhenDebitingHotAccount() {
+        // GIVEN
+        UUID merchant = UUID.randomUUID();
+        Account merchantAccount = createTestAccount(merchant, "100.00");
+        shardedBalanceService.enableSharding(merchantAccount.getId(), 2);
+        depositUseCase.deposit(new DepositRequest(merchant, new BigDecimal("200.00"), "HOT-DEP-" + UUID.randomUUID()));
+        depositUseCase.deposit(new DepositRequest(merchant, new BigDecimal("300.00"), "HOT-DEP-" + UUID.randomUUID()));
+
+        // WHEN: Rút nhiều hơn balance gốc
+        AccountResponse response = withdrawUseCase.withdraw(
+                new WithdrawRequest(merchant, new BigDecimal("450.00"), "HOT-WD-" + UUID.randomUUID()));
+
+        // THEN
+        assertThat(response.getBalance()).isEqualByComparingTo("150.00");
+        assertThat(accountRepository.findById(merchantAccount.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo("0.00");
+
+        // Không được rút quá tổng số dư
+        assertThrows(IllegalArgumentException.class, () -> withdrawUseCase.withdraw(
+                new WithdrawRequest(merchant, new BigDecimal("150.01"), "HOT-WD-" + UUID.randomUUID())));
+    }
+
+    @Test
+    @DisplayName("Concurrency: credit song song vào hot account không mất tiền, số dư khớp tổng bút toán")
+    void should_KeepBalanceAndLedgerConsistent_WhenCreditingHotAccountConcurrently() throws InterruptedException {
+        // GIVEN
+        UUID merchant = UUID.randomUUID();
+        Account merchantAccount = createTestAccount(merchant, "100.00");
+        shardedBalanceService.enableSharding(merchantAccount.getId(), 4);
+
+        int numberOfThreads = 8;
+        int numberOfDeposits = 40;
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(numberOfDeposits);
+        AtomicInteger failures = new AtomicInteger();
+
+        // WHEN: 40 lần nạp 10.00 chạy song song trên 8 thread
+        for (int i = 0; i < numberOfDeposits; i++) {
+            DepositRequest request = new DepositRequest(merchant, new BigDecimal("10.00"), "HOT-PAR-" + UUID.randomUUID());
+            executorService.execute(() -> {
+                try {
+                    startLatch.await();
+                    depositUseCase.deposit(request);
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                    System.err.println("Thread Error: " + e.getMessage());
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+
+        startLatch.countDown();
+        boolean finished = doneLatch.await(30, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // THEN: Số dư tổng = số dư ban đầu + tổng nạp, và bằng số dư ban đầu + tổng bút toán của account
+        assertThat(finished).isTrue();
+        assertThat(failures.get()).isZero();
+        assertThat(accountQueryService.getAccountBalance(merchant, "VND").getBalance())
+                .isEqualByComparingTo("500.00");
+        assertThat(ledgerEntryRepository.sumNetChangeSince(merchantAccount.getId(), Instant.EPOCH))
+                .isEqualByComparingTo("400.00");
+    }
+}
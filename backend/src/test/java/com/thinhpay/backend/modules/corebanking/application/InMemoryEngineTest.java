@@ -0,0 +1,240 @@
+package com.thinhpay.backend.modules.corebanking.application;
+
+import com.thinhpay.backend.BaseIntegrationTest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.DepositRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.TransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.WithdrawRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.AccountResponse;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.TransferResponse;
+import com.thinhpay.backend.modules.corebanking.application.port.in.DepositUseCase;
+import com.thinhpay.backend.modules.corebanking.application.port.in.TransferUseCase;
+import com.thinhpay.backend.modules.corebanking.application.port.in.WithdrawUseCase;
+import com.thinhpay.backend.modules.corebanking.application.service.InMemoryBankingService;
+import com.thinhpay.backend.modules.corebanking.domain.account.Account;
+import com.thinhpay.backend.modules.corebanking.infrastructure.memory.InMemoryLedgerEngine;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.LedgerEntryRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.TransactionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TestPropertySource(properties = {
+        "thinhpay.core-banking.engine=in_memory",
+        "thinhpay.core-banking.memory.partitions=4"
+})
+class InMemoryEngineTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TransferUseCase transferUseCase;
+
+    @Autowired
+    private DepositUseCase depositUseCase;
+
+    @Autowired
+    private WithdrawUseCase withdrawUseCase;
+
+    @Autowired
+    private InMemoryLedgerEngine engine;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("In-memory: cả 3 use case đều đi qua engine, bút toán được ghi xuống DB")
+    void should_RouteUseCasesToEngine_AndPersistPostings() {
+        // GIVEN
+        UUID sender = UUID.randomUUID();
+        UUID receiver = UUID.randomUUID();
+        Account senderAccount = createTestAccount(sender, "1000.00");
+        Account receiverAccount = createTestAccount(receiver, "0.00");
+        assertThat(transferUseCase).isInstanceOf(InMemoryBankingService.class);
+
+        // WHEN
+        AccountResponse afterDeposit = depositUseCase.deposit(new DepositRequest(sender, new BigDecimal("500.00"), "MEM-D-" + UUID.randomUUID()));
+        AccountResponse afterWithdraw = withdrawUseCase.withdraw(new WithdrawRequest(sender, new BigDecimal("200.00"), "MEM-W-" + UUID.randomUUID()));
+        TransferResponse transfer = transferUseCase.transfer(transferRequest("MEM-T-" + UUID.randomUUID(), sender, receiver, "300.00"));
+
+        // THEN: Kết quả trả về từ RAM
+        assertThat(afterDeposit.getBalance()).isEqualByComparingTo("1500.00");
+        assertThat(afterWithdraw.getBalance()).isEqualByComparingTo("1300.00");
+        assertThat(transfer.getSenderAccountId()).isEqualTo(senderAccount.getId());
+        assertThat(transfer.getReceiverAccountId()).isEqualTo(receiverAccount.getId());
+
+        // THEN: await-persistence=true nên DB đã khớp khi hàm trả về
+        assertThat(accountRepository.findById(senderAccount.getId()).orElseThrow().getBalance()).isEqualByComparingTo("1000.00");
+        assertThat(accountRepository.findById(receiverAccount.getId()).orElseThrow().getBalance()).isEqualByComparingTo("300.00");
+        assertThat(transactionRepository.findById(transfer.getSenderTransactionId())).isPresent();
+        assertThat(ledgerEntryRepository.countByAccountId(senderAccount.getId())).isEqualTo(3);
+        assertThat(ledgerEntryRepository.countByAccountId(receiverAccount.getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("In-memory: không đủ số dư hoặc trùng requestId bị từ chối, số dư không đổi")
+    void should_RejectInsufficientBalance_AndDuplicateRequestId() {
+        // GIVEN
+        UUID userId = UUID.randomUUID();
+        Account account = createTestAccount(userId, "100.00");
+        String requestId = "MEM-DUP-" + UUID.randomUUID();
+
+        // WHEN & THEN: Không đủ số dư - requestId được trả lại để dùng tiếp
+        assertThatThrownBy(() -> withdrawUseCase.withdraw(new WithdrawRequest(userId, new BigDecimal("150.00"), requestId)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Insufficient");
+
+        withdrawUseCase.withdraw(new WithdrawRequest(userId, new BigDecimal("50.00"), requestId));
+        assertThatThrownBy(() -> withdrawUseCase.withdraw(new WithdrawRequest(userId, new BigDecimal("50.00"), requestId)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("already exists");
+
+        assertThat(accountRepository.findById(account.getId()).orElseThrow().getBalance()).isEqualByComparingTo("50.00");
+    }
+
+    @Test
+    @DisplayName("In-memory: chân credit không hợp lệ bị từ chối trước khi debit sender")
+    void should_ValidateCreditLeg_BeforeDebitingSender() {
+        // GIVEN
+        UUID sender = UUID.randomUUID();
+        UUID receiver = UUID.randomUUID();
+        Account senderAccount = createTestAccount(sender, "100.00");
+        createTestAccount(receiver, "0.00");
+        var senderRef = engine.findAccount(sender, "VND").orElseThrow();
+        var receiverRef = engine.findAccount(receiver, "VND").orElseThrow();
+        String requestId = "MEM-ZERO-" + UUID.randomUUID();
+
+        // WHEN & THEN: Số tiền credit (sau quy đổi) bằng 0 - sender không bị trừ, requestId vẫn dùng được
+        assertThatThrownBy(() -> engine.transfer(senderRef, receiverRef, requestId,
+                new BigDecimal("10.00"), BigDecimal.ZERO, "Zero credit"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        transferUseCase.transfer(transferRequest(requestId, sender, receiver, "10.00"));
+        assertThat(accountRepository.findById(senderAccount.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo("90.00");
+    }
+
+    @Test
+    @DisplayName("Concurrency: A->B và B->A đồng thời qua nhiều partition, tổng tiền được bảo toàn")
+    void should_KeepTotalBalance_UnderConcurrentCrossTransfers() throws InterruptedException {
+        // GIVEN
+        UUID userA = UUID.randomUUID();
+        UUID userB = UUID.randomUUID();
+        Account accountA = createTestAccount(userA, "1000.00");
+        Account accountB = createTestAccount(userB, "1000.00");
+        int transfersPerDirection = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(transfersPerDirection * 2);
+
+        // WHEN
+        for (int i = 0; i < transfersPerDirection; i++) {
+            executor.submit(() -> {
+                try {
+                    transferUseCase.transfer(transferRequest("MEM-AB-" + UUID.randomUUID(), userA, userB, "10.00"));
+                } finally {
+                    done.countDown();
+                }
+            });
+            executor.submit(() -> {
+                try {
+                    transferUseCase.transfer(transferRequest("MEM-BA-" + UUID.randomUUID(), userB, userA, "7.00"));
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        // THEN: A = 1000 - 500 + 350, B = 1000 + 500 - 350
+        assertThat(accountRepository.findById(accountA.getId()).orElseThrow().getBalance()).isEqualByComparingTo("850.00");
+        assertThat(accountRepository.findById(accountB.getId()).orElseThrow().getBalance()).isEqualByComparingTo("1150.00");
+        assertThat(ledgerEntryRepository.countByAccountId(accountA.getId())).isEqualTo(transfersPerDirection * 2);
+    }
+
+    @Test
+    @DisplayName("Write-behind: bút toán không ghi được không bị bỏ qua, writer thử lại tới khi ghi được")
+    void should_RetryFailedPosting_InsteadOfDroppingIt() throws Exception {
+        // GIVEN: trigger từ chối bút toán của 1 requestId (lỗi không phải transient)
+        UUID userId = UUID.randomUUID();
+        Account account = createTestAccount(userId, "100.00");
+        String blockedRequestId = "MEM-BLOCK-" + UUID.randomUUID();
+        jdbcTemplate.execute("CREATE OR REPLACE FUNCTION reject_blocked_posting() RETURNS trigger AS $$ "
+                + "BEGIN IF NEW.request_id = '" + blockedRequestId + "' THEN RAISE EXCEPTION 'posting rejected by test'; END IF; "
+                + "RETURN NEW; END $$ LANGUAGE plpgsql");
+        jdbcTemplate.execute("CREATE TRIGGER reject_blocked_posting BEFORE INSERT ON core_transactions "
+                + "FOR EACH ROW EXECUTE FUNCTION reject_blocked_posting()");
+
+        try {
+            // WHEN: bút toán bị chặn, rồi 1 bút toán sau nó của cùng account
+            CompletableFuture<AccountResponse> blocked = CompletableFuture.supplyAsync(() -> depositUseCase.deposit(
+                    new DepositRequest(userId, new BigDecimal("10.00"), blockedRequestId)));
+            Thread.sleep(200);
+            CompletableFuture<AccountResponse> next = CompletableFuture.supplyAsync(() -> depositUseCase.deposit(
+                    new DepositRequest(userId, new BigDecimal("5.00"), "MEM-NEXT-" + UUID.randomUUID())));
+            Thread.sleep(1000);
+
+            // THEN: writer dừng ở bút toán lỗi - bút toán sau không được ghi trước nó, caller vẫn chờ
+            assertThat(blocked).isNotDone();
+            assertThat(next).isNotDone();
+            assertThat(ledgerEntryRepository.countByAccountId(account.getId())).isZero();
+        } finally {
+            jdbcTemplate.execute("DROP TRIGGER reject_blocked_posting ON core_transactions");
+            jdbcTemplate.execute("DROP FUNCTION reject_blocked_posting()");
+        }
+
+        // THEN: hết lỗi thì cả 2 được ghi theo đúng thứ tự, DB khớp RAM
+        assertThat(depositUseCase.deposit(new DepositRequest(userId, new BigDecimal("1.00"), "MEM-AFTER-" + UUID.randomUUID()))
+                .getBalance()).isEqualByComparingTo("116.00");
+        assertThat(transactionRepository.findByRequestId(blockedRequestId)).isPresent();
+        assertThat(ledgerEntryRepository.countByAccountId(account.getId())).isEqualTo(3);
+        assertThat(accountRepository.findById(account.getId()).orElseThrow().getBalance()).isEqualByComparingTo("116.00");
+    }
+
+    @Test
+    @DisplayName("Recovery: khởi động lại engine nạp số dư từ LedgerEntry mới nhất")
+    void should_RecoverBalancesFromLedger_OnRestart() {
+        // GIVEN
+        UUID userId = UUID.randomUUID();
+        Account account = createTestAccount(userId, "100.00");
+        depositUseCase.deposit(new DepositRequest(userId, new BigDecimal("25.00"), "MEM-R1-" + UUID.randomUUID()));
+
+        // Dòng core_accounts bị sửa ngoài engine: ledger vẫn là nguồn sự thật
+        jdbcTemplate.update("UPDATE core_accounts SET balance = 0 WHERE id = ?", account.getId());
+
+        // WHEN
+        engine.stop();
+        engine.start();
+        AccountResponse response = depositUseCase.deposit(new DepositRequest(userId, new BigDecimal("5.00"), "MEM-R2-" + UUID.randomUUID()));
+
+        // THEN
+        assertThat(response.getBalance()).isEqualByComparingTo("130.00");
+        assertThat(accountRepository.findById(account.getId()).orElseThrow().getBalance()).isEqualByComparingTo("130.00");
+    }
+
+    private TransferRequest transferRequest(String requestId, UUID sender, UUID receiver, String amount) {
+        return TransferRequest.builder()
+                .requestId(requestId)
+                .senderUserId(sender)
+                .receiverUserId(receiver)
+                .amount(new BigDecimal(amount))
+                .currency("VND")
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.thinhpay.backend.modules.corebanking.application;
+
+import com.thinhpay.backend.BaseIntegrationTest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.DepositRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.TransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.AccountResponse;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.TransferResponse;
+import com.thinhpay.backend.modules.corebanking.application.port.in.DepositUseCase;
+import com.thinhpay.backend.modules.corebanking.application.port.in.TransferUseCase;
+import com.thinhpay.backend.modules.corebanking.domain.account.Account;
+import com.thinhpay.backend.modules.corebanking.domain.ledger.LedgerEntryType;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionType;
+import com.thinhpay.backend.modules.corebanking.infrastructure.journal.PostingJournal;
+import com.thinhpay.backend.modules.corebanking.infrastructure.memory.InMemoryLedgerEngine;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.LedgerPosting;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.TransactionRepository;
+import com.thinhpay.backend.shared.domain.UuidV7;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryJournalTest extends BaseIntegrationTest {
+    private static final Path JOURNAL_DIR = createJournalDirectory();
+
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) {
+        registry.add("thinhpay.core-banking.engine", () -> "in_memory");
+        registry.add("thinhpay.core-banking.memory.journal.enabled", () -> "true");
+        registry.add("thinhpay.core-banking.memory.journal.directory", JOURNAL_DIR::toString);
+        registry.add("thinhpay.core-banking.memory.journal.segment-size", () -> "1MB");
+    }
+
+    @Autowired
+    private TransferUseCase transferUseCase;
+
+    @Autowired
+    private DepositUseCase depositUseCase;
+
+    @Autowired
+    private InMemoryLedgerEngine engine;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    @DisplayName("Journal: trả kết quả khi bút toán đã vào journal, dừng engine thì DB và checkpoint bắt kịp")
+    void should_AcknowledgeFromJournal_AndCatchUpDatabaseOnStop() throws IOException {
+        // GIVEN
+        UUID sender = UUID.randomUUID();
+        UUID receiver = UUID.randomUUID();
+        Account senderAccount = createTestAccount(sender, "500.00");
+        Account receiverAccount = createTestAccount(receiver, "0.00");
+
+        // WHEN
+        TransferResponse response = transferUseCase.transfer(TransferRequest.builder()
+                .requestId("JRN-T-" + UUID.randomUUID())
+                .senderUserId(sender)
+                .receiverUserId(receiver)
+                .amount(new BigDecimal("120.00"))
+                .currency("VND")
+                .build());
+        engine.stop();
+
+        // THEN
+        try {
+            assertThat(transactionRepository.findById(response.getReceiverTransactionId())).isPresent();
+            assertThat(accountRepository.findById(senderAccount.getId()).orElseThrow().getBalance()).isEqualByComparingTo("380.00");
+            assertThat(accountRepository.findById(receiverAccount.getId()).orElseThrow().getBalance()).isEqualByComparingTo("120.00");
+            assertThat(PostingJournal.readCheckpoint(JOURNAL_DIR)).isGreaterThanOrEqualTo(2);
+        } finally {
+            engine.start();
+        }
+    }
+
+    @Test
+    @DisplayName("Journal: record chưa xuống DB (crash trước flush) được replay khi khởi động")
+    void should_ReplayUnflushedJournalRecords_OnStartup() throws IOException {
+        // GIVEN: Account 100, engine dừng; journal còn 1 bút toán nạp 40 chưa kịp flush
+        UUID userId = UUID.randomUUID();
+        Account account = createTestAccount(userId, "100.00");
+        engine.stop();
+
+        UUID transactionId = UuidV7.generate();
+        try (PostingJournal journal = PostingJournal.open(JOURNAL_DIR, 1024 * 1024, true)) {
+            journal.append(new LedgerPosting(transactionId, UuidV7.generate(), account.getId(), "JRN-CRASH-" + UUID.randomUUID(),
+                    new BigDecimal("40.00"), TransactionType.DEPOSIT, LedgerEntryType.CREDIT,
+                    new BigDecimal("140.00"), "Deposit via API", Instant.now())).durable().join();
+        }
+
+        // WHEN
+        engine.start();
+        AccountResponse afterDeposit = depositUseCase.deposit(new DepositRequest(userId, new BigDecimal("10.00"), "JRN-D-" + UUID.randomUUID()));
+
+        // THEN: DB có bút toán replay, RAM nạp lại số dư sau replay
+        assertThat(transactionRepository.findById(transactionId)).isPresent();
+        assertThat(afterDeposit.getBalance()).isEqualByComparingTo("150.00");
+    }
+
+    private static Path createJournalDirectory() {
+        try {
+            return Files.createTempDirectory("thinhpay-journal-test");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
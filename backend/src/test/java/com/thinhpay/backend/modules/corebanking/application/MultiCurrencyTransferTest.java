@@ -1,21 +1,45 @@
 package com.thinhpay.backend.modules.corebanking.application;
 
 import com.thinhpay.backend.BaseIntegrationTest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.FxQuoteRequest;
 import com.thinhpay.backend.modules.corebanking.application.dto.request.TransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.FxQuoteResponse;
 import com.thinhpay.backend.modules.corebanking.application.dto.response.TransferResponse;
 import com.thinhpay.backend.modules.corebanking.application.port.in.TransferUseCase;
+import com.thinhpay.backend.modules.corebanking.application.service.FxQuoteService;
 import com.thinhpay.backend.modules.corebanking.domain.account.Account;
 import com.thinhpay.backend.modules.corebanking.domain.account.AccountStatus;
 import com.thinhpay.backend.modules.corebanking.domain.currency.Currency;
+import com.thinhpay.backend.modules.corebanking.domain.money.Money;
+import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRate;
+import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRateException;
+import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRateService;
+import com.thinhpay.backend.modules.corebanking.domain.exchange.FxQuote;
 import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.CurrencyRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.FxQuoteRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 class MultiCurrencyTransferTest extends BaseIntegrationTest {
 
@@ -25,6 +49,21 @@ class MultiCurrencyTransferTest extends BaseIntegrationTest {
     @Autowired
     private CurrencyRepository currencyRepository;
 
+    @Autowired
+    private FxQuoteService fxQuoteService;
+
+    @Autowired
+    private FxQuoteRepository fxQuoteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private ExchangeRateService exchangeRateService;
+
     @Test
     @DisplayName("Should transfer successfully with same currency (backward compatible)")
     void should_TransferSuccessfully_WithSameCurrency() {
@@ -60,6 +99,206 @@ class MultiCurrencyTransferTest extends BaseIntegrationTest {
         assertThat(updatedReceiver.getBalance()).isEqualByComparingTo("800.00");
     }
 
+    @Test
+    @DisplayName("Transfer khác loại tiền dùng tỉ giá đã chốt trong quote, không hỏi tỉ giá khi transfer")
+    void should_TransferWithQuotedRate_WithoutCallingRateApi() {
+        // Given
+        UUID sender = UUID.randomUUID();
+        UUID receiver = UUID.randomUUID();
+        Account senderAccount = createAccountWithCurrency(sender, "USD", "100.00");
+        Account receiverAccount = createAccountWithCurrency(receiver, "VND", "0.00");
+        given(exchangeRateService.getRate("USD", "VND"))
+                .willReturn(ExchangeRate.of("USD", "VND", new BigDecimal("25000")));
+        FxQuoteResponse quote = fxQuoteService.createQuote(
+                new FxQuoteRequest(sender, "USD", "VND", new BigDecimal("10.00")));
+
+        // Tỉ giá thị trường đổi sau khi chốt quote
+        given(exchangeRateService.getRate("USD", "VND"))
+                .willReturn(ExchangeRate.of("USD", "VND", new BigDecimal("30000")));
+
+        // When
+        TransferResponse response = transferUseCase.transfer(TransferRequest.builder()
+                .requestId("TRANSFER-" + UUID.randomUUID())
+                .senderUserId(sender)
+                .receiverUserId(receiver)
+                .amount(new BigDecimal("10.00"))
+                .currency("USD")
+                .quoteId(quote.getQuoteId())
+                .build());
+
+        // Then
+        assertThat(response.getFromCurrency()).isEqualTo("USD");
+        assertThat(response.getToCurrency()).isEqualTo("VND");
+        assertThat(response.getCreditAmount()).isEqualByComparingTo("250000");
+        assertThat(response.getExchangeRate()).isEqualByComparingTo("25000");
+        assertThat(accountRepository.findById(senderAccount.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo("90.00");
+        assertThat(accountRepository.findById(receiverAccount.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo("250000.00");
+        verify(exchangeRateService, times(1)).getRate(any(), any());
+        verify(exchangeRateService, never()).convert(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Quote hết hạn hoặc sai loại tiền gửi bị từ chối trước khi lock account")
+    void should_RejectExpiredOrMismatchedQuote() {
+        // Given
+        UUID sender = UUID.randomUUID();
+        UUID receiver = UUID.randomUUID();
+        Account senderAccount = createAccountWithCurrency(sender, "USD", "100.00");
+        createAccountWithCurrency(receiver, "VND", "0.00");
+        ExchangeRate rate = ExchangeRate.of("USD", "VND", new BigDecimal("25000"));
+        FxQuote expired = fxQuoteRepository.save(
+                FxQuote.issue(rate, sender, new BigDecimal("100.00"), Duration.ofSeconds(30), Instant.now().minus(Duration.ofMinutes(1))));
+        FxQuote valid = fxQuoteRepository.save(
+                FxQuote.issue(rate, sender, new BigDecimal("100.00"), Duration.ofMinutes(1), Instant.now()));
+
+        // When - Then
+        assertThatThrownBy(() -> transferUseCase.transfer(quotedTransfer(sender, receiver, "USD", expired.getId())))
+                .isInstanceOf(ExchangeRateException.class)
+                .hasMessageContaining("expired");
+        assertThatThrownBy(() -> transferUseCase.transfer(quotedTransfer(sender, receiver, "VND", valid.getId())))
+                .isInstanceOf(ExchangeRateException.class)
+                .hasMessageContaining("does not convert from VND");
+        assertThat(accountRepository.findById(senderAccount.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo("100.00");
+    }
+
+    @Test
+    @DisplayName("Quote chỉ dùng được cho đúng người gửi, tới maxAmount, và đúng 1 lần")
+    void should_RejectQuote_WhenNotOwnedOverMaxOrAlreadyUsed() {
+        // Given
+        UUID sender = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        UUID receiver = UUID.randomUUID();
+        Account senderAccount = createAccountWithCurrency(sender, "USD", "100.00");
+        createAccountWithCurrency(other, "USD", "100.00");
+        Account receiverAccount = createAccountWithCurrency(receiver, "VND", "0.00");
+        ExchangeRate rate = ExchangeRate.of("USD", "VND", new BigDecimal("25000"));
+        FxQuote quote = fxQuoteRepository.save(
+                FxQuote.issue(rate, sender, new BigDecimal("10.00"), Duration.ofMinutes(1), Instant.now()));
+        FxQuote small = fxQuoteRepository.save(
+                FxQuote.issue(rate, sender, new BigDecimal("5.00"), Duration.ofMinutes(1), Instant.now()));
+
+        // When - Then: user khác không dùng được quote, số tiền vượt maxAmount bị từ chối
+        assertThatThrownBy(() -> transferUseCase.transfer(quotedTransfer(other, receiver, "USD", quote.getId())))
+                .isInstanceOf(ExchangeRateException.class)
+                .hasMessageContaining("another user");
+        assertThatThrownBy(() -> transferUseCase.transfer(quotedTransfer(sender, receiver, "USD", small.getId())))
+                .isInstanceOf(ExchangeRateException.class)
+                .hasMessageContaining("max amount");
+
+        // Lần đầu thành công, lần thứ 2 với cùng quote bị từ chối
+        transferUseCase.transfer(quotedTransfer(sender, receiver, "USD", quote.getId()));
+        assertThatThrownBy(() -> transferUseCase.transfer(quotedTransfer(sender, receiver, "USD", quote.getId())))
+                .isInstanceOf(ExchangeRateException.class)
+                .hasMessageContaining("already used");
+
+        assertThat(accountRepository.findById(senderAccount.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo("90.00");
+        assertThat(accountRepository.findById(receiverAccount.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo("250000.00");
+        assertThat(fxQuoteRepository.findById(small.getId()).orElseThrow().getUsedAt()).isNull();
+    }
+
+    @Test
+    @DisplayName("Số tiền theo decimalPlaces của từng loại tiền: credit VND làm tròn về đơn vị, debit USD quá 2 số lẻ bị từ chối")
+    void should_RoundCreditToTargetCurrencyPrecision() {
+        // Given
+        UUID sender = UUID.randomUUID();
+        UUID receiver = UUID.randomUUID();
+        Account senderAccount = createAccountWithCurrency(sender, "USD", "100.00");
+        Account receiverAccount = createAccountWithCurrency(receiver, "VND", "0.00");
+        given(exchangeRateService.getRate("USD", "VND"))
+                .willReturn(ExchangeRate.of("USD", "VND", new BigDecimal("25000.55")));
+        FxQuoteResponse quote = fxQuoteService.createQuote(
+                new FxQuoteRequest(sender, "USD", "VND", new BigDecimal("20.00")));
+
+        // When & Then: 10.001 USD có 3 số lẻ
+        assertThatThrownBy(() -> transferUseCase.transfer(TransferRequest.builder()
+                .requestId("TRANSFER-" + UUID.randomUUID())
+                .senderUserId(sender)
+                .receiverUserId(receiver)
+                .amount(new BigDecimal("10.001"))
+                .currency("USD")
+                .quoteId(quote.getQuoteId())
+                .build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("decimal places");
+
+        // When: 10.01 × 25000.55 = 250255.5055 VND
+        TransferResponse response = transferUseCase.transfer(TransferRequest.builder()
+                .requestId("TRANSFER-" + UUID.randomUUID())
+                .senderUserId(sender)
+                .receiverUserId(receiver)
+                .amount(new BigDecimal("10.01"))
+                .currency("USD")
+                .quoteId(quote.getQuoteId())
+                .build());
+
+        // Then
+        assertThat(response.getCreditAmount()).isEqualByComparingTo("250256");
+        assertThat(accountRepository.findById(senderAccount.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo("89.99");
+        assertThat(accountRepository.findById(receiverAccount.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo("250256");
+    }
+
+    @Test
+    @DisplayName("Transfer khác loại tiền chỉ lock đúng 2 account, account loại tiền khác của cùng user không bị lock")
+    void should_LockOnlyTransferAccounts_WhenCurrenciesDiffer() throws Exception {
+        // Given: sender có thêm 1 account VND, đang bị transaction khác giữ lock
+        UUID sender = UUID.randomUUID();
+        UUID receiver = UUID.randomUUID();
+        createAccountWithCurrency(sender, "USD", "100.00");
+        Account senderVnd = createTestAccount(sender, "0");
+        Account receiverAccount = createAccountWithCurrency(receiver, "VND", "0.00");
+        given(exchangeRateService.getRate("USD", "VND"))
+                .willReturn(ExchangeRate.of("USD", "VND", new BigDecimal("25000")));
+        FxQuoteResponse quote = fxQuoteService.createQuote(
+                new FxQuoteRequest(sender, "USD", "VND", new BigDecimal("10.00")));
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    jdbcTemplate.queryForList("SELECT id FROM core_accounts WHERE id = ? FOR UPDATE", senderVnd.getId());
+                    locked.countDown();
+                    try {
+                        release.await(30, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            // When: không phải chờ lock của account VND của sender
+            TransferResponse response = CompletableFuture.supplyAsync(() ->
+                            transferUseCase.transfer(quotedTransfer(sender, receiver, "USD", quote.getQuoteId())))
+                    .get(5, TimeUnit.SECONDS);
+
+            // Then
+            assertThat(response.getCreditAmount()).isEqualByComparingTo("250000");
+            assertThat(accountRepository.findById(receiverAccount.getId()).orElseThrow().getBalance())
+                    .isEqualByComparingTo("250000");
+        } finally {
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private TransferRequest quotedTransfer(UUID sender, UUID receiver, String currency, UUID quoteId) {
+        return TransferRequest.builder()
+                .requestId("TRANSFER-" + UUID.randomUUID())
+                .senderUserId(sender)
+                .receiverUserId(receiver)
+                .amount(new BigDecimal("10.00"))
+                .currency(currency)
+                .quoteId(quoteId)
+                .build();
+    }
+
     // Helper method
     protected Account createAccountWithCurrency(UUID userId, String currencyCode, String balance) {
         Currency currency = currencyRepository.findById(currencyCode)
@@ -70,8 +309,8 @@ class MultiCurrencyTransferTest extends BaseIntegrationTest {
         Account account = Account.builder()
                 .userId(userId)
                 .currency(currency)
-                .balance(new BigDecimal(balance))
-                .heldBalance(BigDecimal.ZERO)
+                .balance(Money.ofLedger(new BigDecimal(balance)))
+                .heldBalance(Money.zero(Money.LEDGER_SCALE))
                 .status(AccountStatus.ACTIVE)
                 .build();
 
@@ -0,0 +1,133 @@
+package com.thinhpay.backend.modules.corebanking.application;
+
+import com.thinhpay.backend.BaseIntegrationTest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.TransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.TransferResponse;
+import com.thinhpay.backend.modules.corebanking.application.port.in.TransferUseCase;
+import com.thinhpay.backend.modules.corebanking.application.service.NativeTransferService;
+import com.thinhpay.backend.modules.corebanking.domain.account.Account;
+import com.thinhpay.backend.modules.corebanking.domain.ledger.LedgerEntry;
+import com.thinhpay.backend.modules.corebanking.domain.ledger.LedgerEntryType;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.Transaction;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionStatus;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionType;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.LedgerEntryRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.TransactionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@TestPropertySource(properties = "thinhpay.core-banking.engine=native")
+class NativeTransferServiceTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TransferUseCase transferUseCase;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Test
+    @DisplayName("Native engine: 1 câu SQL ghi đủ bút toán kép")
+    void should_PostDoubleEntry_InSingleStatement() {
+        // GIVEN
+        UUID sender = UUID.randomUUID();
+        UUID receiver = UUID.randomUUID();
+        Account senderAccount = createTestAccount(sender, "1000.00");
+        Account receiverAccount = createTestAccount(receiver, "200.00");
+        String requestId = "NATIVE-" + UUID.randomUUID();
+
+        // WHEN
+        TransferResponse response = transferUseCase.transfer(transfer(requestId, sender, receiver, "300.00"));
+
+        // THEN
+        assertThat(transferUseCase).isInstanceOf(NativeTransferService.class);
+        assertThat(response.getStatus()).isEqualTo(TransactionStatus.COMPLETED);
+        assertThat(response.getSenderAccountId()).isEqualTo(senderAccount.getId());
+        assertThat(response.getReceiverAccountId()).isEqualTo(receiverAccount.getId());
+
+        Account senderInDb = accountRepository.findById(senderAccount.getId()).orElseThrow();
+        Account receiverInDb = accountRepository.findById(receiverAccount.getId()).orElseThrow();
+        assertThat(senderInDb.getBalance()).isEqualByComparingTo("700.00");
+        assertThat(receiverInDb.getBalance()).isEqualByComparingTo("500.00");
+        assertThat(senderInDb.getVersion()).isEqualTo(senderAccount.getVersion() + 1);
+
+        Transaction out = transactionRepository.findByRequestId(requestId).orElseThrow();
+        Transaction in = transactionRepository.findByRequestId(requestId + Transaction.TRANSFER_IN_SUFFIX).orElseThrow();
+        assertThat(out.getId()).isEqualTo(response.getSenderTransactionId());
+        assertThat(out.getType()).isEqualTo(TransactionType.TRANSFER_OUT);
+        assertThat(in.getType()).isEqualTo(TransactionType.TRANSFER_IN);
+
+        List<LedgerEntry> debit = ledgerEntryRepository.findByTransactionId(out.getId());
+        List<LedgerEntry> credit = ledgerEntryRepository.findByTransactionId(in.getId());
+        assertThat(debit).singleElement().satisfies(entry -> {
+            assertThat(entry.getType()).isEqualTo(LedgerEntryType.DEBIT);
+            assertThat(entry.getBalanceSnapshot()).isEqualByComparingTo("700.00");
+        });
+        assertThat(credit).singleElement().satisfies(entry -> {
+            assertThat(entry.getType()).isEqualTo(LedgerEntryType.CREDIT);
+            assertThat(entry.getBalanceSnapshot()).isEqualByComparingTo("500.00");
+        });
+    }
+
+    @Test
+    @DisplayName("Native engine: không đủ số dư thì không ghi gì")
+    void should_FailAtomically_WhenInsufficientBalance() {
+        UUID sender = UUID.randomUUID();
+        UUID receiver = UUID.randomUUID();
+        Account senderAccount = createTestAccount(sender, "100.00");
+        Account receiverAccount = createTestAccount(receiver, "0.00");
+        String requestId = "NATIVE-" + UUID.randomUUID();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> transferUseCase.transfer(transfer(requestId, sender, receiver, "100.01")));
+
+        assertThat(accountRepository.findById(senderAccount.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo("100.00");
+        assertThat(accountRepository.findById(receiverAccount.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo("0.00");
+        assertThat(transactionRepository.existsByRequestId(requestId)).isFalse();
+        assertThat(ledgerEntryRepository.countByAccountId(senderAccount.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("Native engine: requestId trùng và account không tồn tại bị từ chối")
+    void should_RejectDuplicateRequest_AndMissingAccount() {
+        UUID sender = UUID.randomUUID();
+        UUID receiver = UUID.randomUUID();
+        Account senderAccount = createTestAccount(sender, "1000.00");
+        createTestAccount(receiver, "0.00");
+        String requestId = "NATIVE-" + UUID.randomUUID();
+
+        transferUseCase.transfer(transfer(requestId, sender, receiver, "100.00"));
+
+        assertThrows(IllegalStateException.class,
+                () -> transferUseCase.transfer(transfer(requestId, sender, receiver, "100.00")));
+        assertThrows(IllegalArgumentException.class,
+                () -> transferUseCase.transfer(transfer("NATIVE-" + UUID.randomUUID(), sender, UUID.randomUUID(), "100.00")));
+
+        assertThat(accountRepository.findById(senderAccount.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo("900.00");
+    }
+
+    private TransferRequest transfer(String requestId, UUID sender, UUID receiver, String amount) {
+        return TransferRequest.builder()
+                .requestId(requestId)
+                .senderUserId(sender)
+                .receiverUserId(receiver)
+                .amount(new BigDecimal(amount))
+                .currency("VND")
+                .description("Native transfer")
+                .build();
+    }
+}
@@ -0,0 +1,164 @@
+package com.thinhpay.backend.modules.corebanking.application;
+
+import com.thinhpay.backend.BaseIntegrationTest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.TransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.WithdrawRequest;
+import com.thinhpay.backend.modules.corebanking.application.port.in.TransferUseCase;
+import com.thinhpay.backend.modules.corebanking.application.port.in.WithdrawUseCase;
+import com.thinhpay.backend.modules.corebanking.domain.account.Account;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.AdaptiveLockPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = {
+        "thinhpay.core-banking.transfer.lock-mode=ADAPTIVE",
+        "thinhpay.core-banking.retry.max-attempts=30",
+        "thinhpay.core-banking.optimistic.min-samples=3",
+        "thinhpay.core-banking.optimistic.ewma-alpha=0.5"
+})
+class OptimisticLockModeTest extends BaseIntegrationTest {
+
+    @Autowired
+    private WithdrawUseCase withdrawUseCase;
+
+    @Autowired
+    private TransferUseCase transferUseCase;
+
+    @Autowired
+    private AdaptiveLockPolicy lockPolicy;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Optimistic: 10 luồng cùng rút tiền, conflict được retry và số dư vẫn đúng")
+    void should_RetryVersionConflicts_AndKeepBalanceCorrect() throws InterruptedException {
+        // GIVEN
+        UUID userId = UUID.randomUUID();
+        Account account = createTestAccount(userId, "1000.00");
+        int threads = 10;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        // WHEN: Tất cả cùng đọc account không lock rồi ghi
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    withdrawUseCase.withdraw(new WithdrawRequest(userId, new BigDecimal("10.00"), "OPT-" + UUID.randomUUID()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        // THEN: Không mất update nào, mỗi lần ghi thành công tăng version đúng 1
+        Account accountInDb = accountRepository.findById(account.getId()).orElseThrow();
+        assertThat(accountInDb.getBalance()).isEqualByComparingTo("900.00");
+        assertThat(accountInDb.getVersion()).isEqualTo(account.getVersion() + threads);
+        assertThat(meterRegistry.get("corebanking.optimistic.writes").tag("outcome", "success").counter().count())
+                .isGreaterThanOrEqualTo(threads);
+    }
+
+    @Test
+    @DisplayName("Adaptive: account có tỉ lệ conflict cao chuyển sang lock pessimistic")
+    void should_SwitchToPessimisticLock_ForContendedAccount() {
+        // GIVEN
+        UUID sender = UUID.randomUUID();
+        UUID receiver = UUID.randomUUID();
+        Account senderAccount = createTestAccount(sender, "1000.00");
+        Account receiverAccount = createTestAccount(receiver, "0.00");
+        assertThat(lockPolicy.shouldLock(senderAccount.getId())).isFalse();
+
+        // WHEN: Sender liên tục bị conflict
+        for (int i = 0; i < 3; i++) {
+            lockPolicy.recordConflict(senderAccount.getId());
+        }
+
+        // THEN: Sender bị lock, receiver vẫn optimistic; transfer vẫn chạy bình thường
+        assertThat(lockPolicy.shouldLock(senderAccount.getId())).isTrue();
+        assertThat(lockPolicy.shouldLock(receiverAccount.getId())).isFalse();
+
+        transferUseCase.transfer(TransferRequest.builder()
+                .requestId("ADAPTIVE-" + UUID.randomUUID())
+                .senderUserId(sender)
+                .receiverUserId(receiver)
+                .amount(new BigDecimal("100.00"))
+                .currency("VND")
+                .build());
+        assertThat(accountRepository.findById(receiverAccount.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo("100.00");
+
+        // Các lần ghi thành công kéo tỉ lệ conflict xuống → quay lại optimistic
+        for (int i = 0; i < 5; i++) {
+            lockPolicy.recordSuccess(List.of(senderAccount.getId()));
+        }
+        assertThat(lockPolicy.shouldLock(senderAccount.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Adaptive: account đã chuyển sang lock pessimistic thì rút tiền đồng thời không còn conflict version")
+    void should_SerializeWrites_WithoutVersionConflicts_WhenAccountIsLocked() throws InterruptedException {
+        // GIVEN: Account đã bị đánh dấu contended → mọi lần ghi đều lock pessimistic
+        UUID userId = UUID.randomUUID();
+        Account account = createTestAccount(userId, "1000.00");
+        for (int i = 0; i < 3; i++) {
+            lockPolicy.recordConflict(account.getId());
+        }
+        assertThat(lockPolicy.shouldLock(account.getId())).isTrue();
+        double conflictsBefore = meterRegistry.get("corebanking.optimistic.writes")
+                .tag("outcome", "conflict").counter().count();
+
+        int threads = 10;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicInteger failures = new AtomicInteger();
+
+        // WHEN
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    withdrawUseCase.withdraw(new WithdrawRequest(userId, new BigDecimal("10.00"), "ADAPTIVE-" + UUID.randomUUID()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    failures.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        // THEN: Sau khi giữ lock, entity được nạp lại bản mới nhất nên UPDATE không bao giờ lệch version
+        assertThat(failures.get()).isZero();
+        assertThat(accountRepository.findById(account.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo("900.00");
+        assertThat(meterRegistry.get("corebanking.optimistic.writes").tag("outcome", "conflict").counter().count())
+                .isEqualTo(conflictsBefore);
+    }
+}
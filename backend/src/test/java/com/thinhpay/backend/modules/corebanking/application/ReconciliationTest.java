@@ -0,0 +1,220 @@
+package com.thinhpay.backend.modules.corebanking.application;
+
+import com.thinhpay.backend.BaseIntegrationTest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.DepositRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.TransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.port.in.DepositUseCase;
+import com.thinhpay.backend.modules.corebanking.application.port.in.TransferUseCase;
+import com.thinhpay.backend.modules.corebanking.domain.reconciliation.MismatchKind;
+import com.thinhpay.backend.modules.corebanking.domain.reconciliation.ReconciliationMismatch;
+import com.thinhpay.backend.modules.corebanking.domain.reconciliation.ReconciliationRun;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.ReconciliationMismatchRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.reconciliation.LedgerReconciliationJob;
+import com.thinhpay.backend.modules.corebanking.infrastructure.reconciliation.ReconciliationReport;
+import com.thinhpay.backend.shared.domain.UuidV7;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@TestPropertySource(properties = {
+        "thinhpay.core-banking.reconciliation.settle-delay=0s",
+        "thinhpay.core-banking.reconciliation.chunk-size=2",
+        "thinhpay.core-banking.partitioning.retention-months=1"
+})
+class ReconciliationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private LedgerReconciliationJob reconciliationJob;
+
+    @Autowired
+    private ReconciliationMismatchRepository mismatchRepository;
+
+    @Autowired
+    private DepositUseCase depositUseCase;
+
+    @Autowired
+    private TransferUseCase transferUseCase;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Full: sổ cái sạch không báo lỗi, phát hiện đúng từng loại sai lệch")
+    void should_DetectEachKindOfMismatch_OnFullRun() {
+        // GIVEN: 2 account sạch có nạp tiền và chuyển khoản
+        UUID alice = newUser("1000.00");
+        UUID bob = newUser("200.00");
+        transfer(alice, bob, "300.00");
+
+        // Số dư bị sửa trực tiếp
+        UUID tamperedBalance = newUser("500.00");
+        jdbcTemplate.update("UPDATE core_accounts SET balance = balance + 1 WHERE id = ?", accountIdOf(tamperedBalance));
+
+        // balance_snapshot của bút toán thứ 2 bị sửa
+        UUID brokenChain = newUser("100.00");
+        deposit(brokenChain, "50.00");
+        UUID brokenEntryId = jdbcTemplate.queryForObject("""
+                SELECT id FROM core_ledger_entries WHERE account_id = ? ORDER BY created_at DESC, id DESC LIMIT 1
+                """, UUID.class, accountIdOf(brokenChain));
+        jdbcTemplate.update("UPDATE core_ledger_entries SET balance_snapshot = 999 WHERE id = ?", brokenEntryId);
+
+        // Transaction COMPLETED không có bút toán, và TRANSFER_OUT không có TRANSFER_IN
+        UUID loose = newUser("100.00");
+        UUID entrylessTransactionId = insertTransaction(accountIdOf(loose), "DEPOSIT", "10.00");
+        UUID loneTransferId = insertTransaction(accountIdOf(loose), "TRANSFER_OUT", "40.00");
+        jdbcTemplate.update("""
+                INSERT INTO core_ledger_entries (id, transaction_id, account_id, amount, balance_snapshot, entry_type, created_at, updated_at, version)
+                VALUES (?, ?, ?, 40, 60, 'DEBIT', now(), now(), 0)
+                """, UuidV7.generate(), loneTransferId, accountIdOf(loose));
+        jdbcTemplate.update("UPDATE core_accounts SET balance = 60 WHERE id = ?", accountIdOf(loose));
+
+        // WHEN
+        ReconciliationReport report = reconciliationJob.run(ReconciliationRun.Mode.FULL).orElseThrow();
+
+        // THEN
+        assertThat(report.mode()).isEqualTo(ReconciliationRun.Mode.FULL);
+        assertThat(report.tally().transactions()).isGreaterThanOrEqualTo(6);
+        List<ReconciliationMismatch> mismatches = mismatchesOf(report,
+                accountIdOf(alice), accountIdOf(bob), accountIdOf(tamperedBalance), accountIdOf(brokenChain), accountIdOf(loose));
+        assertThat(mismatches)
+                .extracting(ReconciliationMismatch::getKind, ReconciliationMismatch::getAccountId,
+                        ReconciliationMismatch::getTransactionId, ReconciliationMismatch::getLedgerEntryId)
+                .containsExactlyInAnyOrder(
+                        tuple(MismatchKind.BALANCE_MISMATCH, accountIdOf(tamperedBalance), null, null),
+                        tuple(MismatchKind.BALANCE_SNAPSHOT_CHAIN, accountIdOf(brokenChain),
+                                jdbcTemplate.queryForObject("SELECT transaction_id FROM core_ledger_entries WHERE id = ?",
+                                        UUID.class, brokenEntryId), brokenEntryId),
+                        tuple(MismatchKind.TRANSACTION_ENTRY_MISSING, accountIdOf(loose), entrylessTransactionId, null),
+                        tuple(MismatchKind.TRANSFER_PAIR_MISSING, accountIdOf(loose), loneTransferId, null));
+    }
+
+    @Test
+    @DisplayName("Incremental: chỉ đọc phần mới, không báo nhầm, vẫn phát hiện sai lệch mới")
+    void should_ReconcileOnlyNewEntries_OnIncrementalRun() {
+        // GIVEN: checkpoint sau 1 lần full
+        UUID alice = newUser("1000.00");
+        UUID bob = newUser("200.00");
+        reconciliationJob.run(ReconciliationRun.Mode.FULL).orElseThrow();
+
+        // WHEN: phát sinh mới sau checkpoint
+        transfer(alice, bob, "250.00");
+        deposit(alice, "10.00");
+        ReconciliationReport clean = reconciliationJob.run(ReconciliationRun.Mode.INCREMENTAL).orElseThrow();
+
+        // THEN
+        assertThat(clean.mode()).isEqualTo(ReconciliationRun.Mode.INCREMENTAL);
+        assertThat(clean.tally().entries()).isGreaterThanOrEqualTo(3);
+        assertThat(mismatchesOf(clean, accountIdOf(alice), accountIdOf(bob))).isEmpty();
+
+        // WHEN: số dư bị sửa, rồi có giao dịch mới
+        jdbcTemplate.update("UPDATE core_accounts SET balance = balance + 5 WHERE id = ?", accountIdOf(bob));
+        deposit(bob, "1.00");
+        ReconciliationReport tampered = reconciliationJob.run(ReconciliationRun.Mode.INCREMENTAL).orElseThrow();
+
+        // THEN: số dư lệch tổng bút toán (451), và bút toán mới nối tiếp số dư đã bị sửa
+        assertThat(mismatchesOf(tampered, accountIdOf(alice), accountIdOf(bob)))
+                .extracting(ReconciliationMismatch::getKind, ReconciliationMismatch::getAccountId,
+                        mismatch -> mismatch.getExpected().stripTrailingZeros().toPlainString())
+                .containsExactlyInAnyOrder(
+                        tuple(MismatchKind.BALANCE_MISMATCH, accountIdOf(bob), "451"),
+                        tuple(MismatchKind.BALANCE_SNAPSHOT_CHAIN, accountIdOf(bob), "451"));
+    }
+
+    @Test
+    @DisplayName("Incremental: bút toán ghi trễ với created_at trước checkpoint vẫn được đối soát")
+    void should_ReconcileLateWrittenEntry_WhenCreatedAtIsBeforeCheckpoint() {
+        // GIVEN: checkpoint sau 1 lần full
+        UUID carol = newUser("100.00");
+        reconciliationJob.run(ReconciliationRun.Mode.FULL).orElseThrow();
+
+        // WHEN: bút toán được ghi xuống sau checkpoint nhưng mang created_at 1 giờ trước (write-behind bị trễ)
+        UUID accountId = accountIdOf(carol);
+        UUID transactionId = insertTransaction(accountId, "WITHDRAW", "30.00");
+        jdbcTemplate.update("""
+                INSERT INTO core_ledger_entries (id, transaction_id, account_id, amount, balance_snapshot, entry_type, created_at, updated_at, version)
+                VALUES (?, ?, ?, 30, 70, 'DEBIT', now() - INTERVAL '1 hour', now(), 0)
+                """, UuidV7.generate(), transactionId, accountId);
+        jdbcTemplate.update("UPDATE core_accounts SET balance = 70 WHERE id = ?", accountId);
+        ReconciliationReport report = reconciliationJob.run(ReconciliationRun.Mode.INCREMENTAL).orElseThrow();
+
+        // THEN: bút toán được đọc (theo seq), số dư khớp tổng bút toán
+        assertThat(report.tally().entries()).isGreaterThanOrEqualTo(1);
+        assertThat(mismatchesOf(report, accountId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Full: partition cũ đã tách thì bắt đầu từ snapshot cuối ngày trước mốc tách")
+    void should_SeedFullRunFromDailySnapshot_WhenOldPartitionsAreDetached() {
+        // GIVEN: 500 đến từ bút toán đã nằm trong partition bị tách, chỉ còn snapshot cuối ngày trước mốc tách
+        UUID dave = UUID.randomUUID();
+        UUID accountId = createTestAccount(dave, "500.00").getId();
+        LocalDate boundary = LocalDate.now(ZoneOffset.UTC).withDayOfMonth(1).minusMonths(1);
+        jdbcTemplate.update("""
+                INSERT INTO core_daily_balance_snapshots (account_id, snapshot_date, balance, created_at)
+                VALUES (?, ?, 500, now())
+                """, accountId, boundary.minusDays(1));
+        deposit(dave, "100.00");
+
+        // WHEN
+        ReconciliationReport report = reconciliationJob.run(ReconciliationRun.Mode.FULL).orElseThrow();
+
+        // THEN: 500 (snapshot) + 100 khớp số dư, chuỗi nối tiếp từ snapshot
+        assertThat(mismatchesOf(report, accountId)).isEmpty();
+    }
+
+    private UUID newUser(String initialDeposit) {
+        UUID userId = UUID.randomUUID();
+        createTestAccount(userId, "0.00");
+        deposit(userId, initialDeposit);
+        return userId;
+    }
+
+    private void deposit(UUID userId, String amount) {
+        depositUseCase.deposit(new DepositRequest(userId, new BigDecimal(amount), "RECON-" + UUID.randomUUID()));
+    }
+
+    private void transfer(UUID sender, UUID receiver, String amount) {
+        transferUseCase.transfer(TransferRequest.builder()
+                .requestId("RECON-" + UUID.randomUUID())
+                .senderUserId(sender)
+                .receiverUserId(receiver)
+                .amount(new BigDecimal(amount))
+                .currency("VND")
+                .build());
+    }
+
+    private UUID accountIdOf(UUID userId) {
+        return accountRepository.findByUserId(userId).orElseThrow().getId();
+    }
+
+    private UUID insertTransaction(UUID accountId, String type, String amount) {
+        UUID transactionId = UuidV7.generate();
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbcTemplate.update("""
+                INSERT INTO core_transactions (id, account_id, request_id, amount, type, status, created_at, updated_at, version)
+                VALUES (?, ?, ?, CAST(? AS NUMERIC), ?, 'COMPLETED', ?, ?, 0)
+                """, transactionId, accountId, "RECON-" + transactionId, amount, type, now, now);
+        return transactionId;
+    }
+
+    private List<ReconciliationMismatch> mismatchesOf(ReconciliationReport report, UUID... accountIds) {
+        Set<UUID> ids = Set.of(accountIds);
+        return mismatchRepository.findByRunId(report.runId()).stream()
+                .filter(mismatch -> ids.contains(mismatch.getAccountId()))
+                .toList();
+    }
+}
@@ -0,0 +1,205 @@
+package com.thinhpay.backend.modules.corebanking.application;
+
+import com.thinhpay.backend.BaseIntegrationTest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.ScheduleTransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.TransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.port.in.ScheduleTransferUseCase;
+import com.thinhpay.backend.modules.corebanking.application.port.in.TransferUseCase;
+import com.thinhpay.backend.modules.corebanking.application.service.ScheduledTransferRunner;
+import com.thinhpay.backend.modules.corebanking.domain.schedule.ScheduleFrequency;
+import com.thinhpay.backend.modules.corebanking.domain.schedule.ScheduleStatus;
+import com.thinhpay.backend.modules.corebanking.domain.schedule.ScheduledTransfer;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.ScheduledTransferRepository;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.TransactionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Batch nhỏ để lệnh của 1 người gửi được chia thành nhiều chunk
+@TestPropertySource(properties = "thinhpay.core-banking.batch.max-items=4")
+class ScheduledTransferTest extends BaseIntegrationTest {
+
+    @Autowired
+    private ScheduleTransferUseCase scheduleTransferUseCase;
+
+    @Autowired
+    private ScheduledTransferRunner runner;
+
+    @Autowired
+    private TransferUseCase transferUseCase;
+
+    @Autowired
+    private ScheduledTransferRepository scheduleRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    @DisplayName("Lệnh hàng tháng tới hạn được chuyển 1 lần rồi dời sang cùng ngày tháng sau")
+    void should_RunDueMonthlyTransfer_AndAdvanceToNextMonth() {
+        // GIVEN
+        UUID sender = UUID.randomUUID();
+        UUID receiver = UUID.randomUUID();
+        createTestAccount(sender, "1000");
+        createTestAccount(receiver, "0");
+        Instant startAt = Instant.now().truncatedTo(ChronoUnit.SECONDS).minusSeconds(60);
+        UUID scheduleId = schedule(sender, receiver, "250", ScheduleFrequency.MONTHLY, startAt);
+
+        // WHEN - quét 2 lần: lần sau không còn gì tới hạn
+        runner.runDue(Instant.now());
+        runner.runDue(Instant.now());
+
+        // THEN
+        ScheduledTransfer schedule = scheduleRepository.findById(scheduleId).orElseThrow();
+        assertThat(schedule.getStatus()).isEqualTo(ScheduleStatus.ACTIVE);
+        assertThat(schedule.getOccurrence()).isEqualTo(1);
+        assertThat(schedule.getNextRunAt()).isEqualTo(startAt.atOffset(ZoneOffset.UTC).plusMonths(1).toInstant());
+        assertThat(schedule.getClaimedUntil()).isNull();
+        assertThat(transactionRepository.findByRequestId(schedule.runRequestId(0))).isPresent();
+        assertThat(accountRepository.findByUserId(sender).orElseThrow().getBalance()).isEqualByComparingTo("750");
+        assertThat(accountRepository.findByUserId(receiver).orElseThrow().getBalance()).isEqualByComparingTo("250");
+    }
+
+    @Test
+    @DisplayName("Lần chạy lỗi được thử lại sau retry-delay, hết số lần thử thì lệnh 1 lần chuyển sang FAILED")
+    void should_RetryFailedRun_ThenFail() {
+        // GIVEN
+        UUID sender = UUID.randomUUID();
+        UUID receiver = UUID.randomUUID();
+        createTestAccount(sender, "100");
+        createTestAccount(receiver, "0");
+        UUID scheduleId = schedule(sender, receiver, "500", ScheduleFrequency.ONCE, Instant.now().minusSeconds(1));
+
+        // WHEN
+        runner.runDue(Instant.now());
+
+        // THEN
+        ScheduledTransfer schedule = scheduleRepository.findById(scheduleId).orElseThrow();
+        assertThat(schedule.getStatus()).isEqualTo(ScheduleStatus.ACTIVE);
+        assertThat(schedule.getAttempts()).isEqualTo(1);
+        assertThat(schedule.getLastError()).contains("Insufficient");
+        assertThat(schedule.getNextRunAt()).isAfter(Instant.now().plus(Duration.ofMinutes(10)));
+
+        // WHEN - 2 lần thử còn lại (max-attempts = 3)
+        runner.runDue(Instant.now().plus(Duration.ofMinutes(20)));
+        runner.runDue(Instant.now().plus(Duration.ofMinutes(40)));
+
+        // THEN
+        schedule = scheduleRepository.findById(scheduleId).orElseThrow();
+        assertThat(schedule.getStatus()).isEqualTo(ScheduleStatus.FAILED);
+        assertThat(schedule.getAttempts()).isEqualTo(3);
+        assertThat(accountRepository.findByUserId(sender).orElseThrow().getBalance()).isEqualByComparingTo("100");
+    }
+
+    @Test
+    @DisplayName("2 runner quét song song: mỗi lệnh được chuyển đúng 1 lần")
+    void should_ExecuteEachRunOnce_WhenRunnersCompete() {
+        // GIVEN - 2 người gửi, mỗi người 15 lệnh
+        List<UUID> senders = List.of(UUID.randomUUID(), UUID.randomUUID());
+        List<UUID> scheduleIds = new ArrayList<>();
+        for (UUID sender : senders) {
+            createTestAccount(sender, "1000");
+            for (int i = 0; i < 15; i++) {
+                UUID receiver = UUID.randomUUID();
+                createTestAccount(receiver, "0");
+                scheduleIds.add(schedule(sender, receiver, "10", ScheduleFrequency.ONCE, Instant.now().minusSeconds(1)));
+            }
+        }
+
+        // WHEN
+        Instant now = Instant.now();
+        CompletableFuture.allOf(
+                CompletableFuture.runAsync(() -> runner.runDue(now)),
+                CompletableFuture.runAsync(() -> runner.runDue(now))).join();
+
+        // THEN
+        assertThat(scheduleRepository.findAllById(scheduleIds))
+                .hasSize(30)
+                .allSatisfy(schedule -> assertThat(schedule.getStatus()).isEqualTo(ScheduleStatus.COMPLETED));
+        for (UUID sender : senders) {
+            assertThat(accountRepository.findByUserId(sender).orElseThrow().getBalance()).isEqualByComparingTo("850");
+        }
+    }
+
+    @Test
+    @DisplayName("Lệnh cùng người gửi chạy chung batch: kết quả từng item được ghi đúng vào lệnh của nó")
+    void should_RecordEachItemResult_WhenSenderRunsShareBatch() {
+        // GIVEN - đủ tiền cho 5 trong 6 lệnh (2 chunk: 4 + 2)
+        UUID sender = UUID.randomUUID();
+        createTestAccount(sender, "500");
+        List<UUID> scheduleIds = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            UUID receiver = UUID.randomUUID();
+            createTestAccount(receiver, "0");
+            scheduleIds.add(schedule(sender, receiver, "100", ScheduleFrequency.ONCE, Instant.now().minusSeconds(1)));
+        }
+
+        // WHEN
+        runner.runDue(Instant.now());
+
+        // THEN
+        List<ScheduledTransfer> schedules = scheduleRepository.findAllById(scheduleIds);
+        assertThat(schedules).filteredOn(s -> s.getStatus() == ScheduleStatus.COMPLETED).hasSize(5);
+        assertThat(schedules).filteredOn(s -> s.getStatus() == ScheduleStatus.ACTIVE)
+                .singleElement()
+                .satisfies(failed -> {
+                    assertThat(failed.getAttempts()).isEqualTo(1);
+                    assertThat(failed.getLastError()).contains("Insufficient");
+                    assertThat(transactionRepository.findByRequestId(failed.runRequestId(0))).isEmpty();
+                });
+        assertThat(accountRepository.findByUserId(sender).orElseThrow().getBalance()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    @DisplayName("Lần chạy đã chuyển trước đó (node chết trước khi ghi kết quả) không bị trừ tiền lần 2")
+    void should_NotTransferTwice_WhenRunWasAlreadyExecuted() {
+        // GIVEN
+        UUID sender = UUID.randomUUID();
+        UUID receiver = UUID.randomUUID();
+        createTestAccount(sender, "1000");
+        createTestAccount(receiver, "0");
+        UUID scheduleId = schedule(sender, receiver, "100", ScheduleFrequency.DAILY, Instant.now().minusSeconds(1));
+        ScheduledTransfer pending = scheduleRepository.findById(scheduleId).orElseThrow();
+        transferUseCase.transfer(TransferRequest.builder()
+                .requestId(pending.runRequestId(0))
+                .senderUserId(sender)
+                .receiverUserId(receiver)
+                .amount(new BigDecimal("100"))
+                .currency("VND")
+                .build());
+
+        // WHEN
+        runner.runDue(Instant.now());
+
+        // THEN
+        ScheduledTransfer schedule = scheduleRepository.findById(scheduleId).orElseThrow();
+        assertThat(schedule.getOccurrence()).isEqualTo(1);
+        assertThat(schedule.getLastError()).isNull();
+        assertThat(accountRepository.findByUserId(sender).orElseThrow().getBalance()).isEqualByComparingTo("900");
+    }
+
+    private UUID schedule(UUID sender, UUID receiver, String amount, ScheduleFrequency frequency, Instant startAt) {
+        return scheduleTransferUseCase.schedule(ScheduleTransferRequest.builder()
+                .requestId("SCHEDULE-" + UUID.randomUUID())
+                .senderUserId(sender)
+                .receiverUserId(receiver)
+                .amount(new BigDecimal(amount))
+                .currency("VND")
+                .frequency(frequency)
+                .startAt(startAt)
+                .build()).getScheduleId();
+    }
+}
@@ -0,0 +1,138 @@
+package com.thinhpay.backend.modules.corebanking.application;
+
+import com.thinhpay.backend.BaseIntegrationTest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.DepositRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.WithdrawRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.TransactionHistoryResponse;
+import com.thinhpay.backend.modules.corebanking.application.port.in.DepositUseCase;
+import com.thinhpay.backend.modules.corebanking.application.port.in.WithdrawUseCase;
+import com.thinhpay.backend.modules.corebanking.application.service.AccountQueryService;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionType;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.TransactionHistoryRepository.Filter;
+import com.thinhpay.backend.shared.domain.UuidV7;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TransactionHistoryTest extends BaseIntegrationTest {
+    private static final Filter NO_FILTER = new Filter(null, null, null, null);
+
+    @Autowired
+    private AccountQueryService accountQueryService;
+
+    @Autowired
+    private DepositUseCase depositUseCase;
+
+    @Autowired
+    private WithdrawUseCase withdrawUseCase;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Phân trang keyset: đi hết các trang bằng cursor, không trùng / sót, mới nhất trước")
+    void should_PageThroughHistory_WithCursor() {
+        // GIVEN
+        UUID userId = UUID.randomUUID();
+        createTestAccount(userId, "1000.00");
+        for (int i = 1; i <= 12; i++) {
+            depositUseCase.deposit(new DepositRequest(userId, new BigDecimal(i), "HIST-" + UUID.randomUUID()));
+        }
+
+        // WHEN
+        List<TransactionHistoryResponse> pages = readAllPages(userId, NO_FILTER, 5);
+
+        // THEN
+        assertThat(pages).hasSize(3);
+        assertThat(pages).extracting(page -> page.getItems().size()).containsExactly(5, 5, 2);
+        assertThat(pages.get(2).isHasMore()).isFalse();
+        assertThat(pages.get(2).getNextCursor()).isNull();
+        List<TransactionHistoryResponse.Item> items = pages.stream().flatMap(page -> page.getItems().stream()).toList();
+        assertThat(items).extracting(TransactionHistoryResponse.Item::getAmount)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal(12), new BigDecimal(11), new BigDecimal(10), new BigDecimal(9),
+                        new BigDecimal(8), new BigDecimal(7), new BigDecimal(6), new BigDecimal(5),
+                        new BigDecimal(4), new BigDecimal(3), new BigDecimal(2), new BigDecimal(1));
+    }
+
+    @Test
+    @DisplayName("Phân trang keyset: thứ tự ổn định khi nhiều giao dịch trùng created_at")
+    void should_KeepStableOrder_WhenCreatedAtTies() {
+        // GIVEN
+        UUID userId = UUID.randomUUID();
+        UUID accountId = createTestAccount(userId, "1000.00").getId();
+        Instant sameInstant = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            UUID id = UuidV7.generate();
+            ids.add(id);
+            jdbcTemplate.update("""
+                    INSERT INTO core_transactions (id, account_id, request_id, amount, type, status, created_at, updated_at, version)
+                    VALUES (?, ?, ?, 1, 'DEPOSIT', 'COMPLETED', ?, ?, 0)
+                    """, id, accountId, "TIE-" + id, Timestamp.from(sameInstant), Timestamp.from(sameInstant));
+        }
+
+        // WHEN
+        List<UUID> paged = readAllPages(userId, NO_FILTER, 3).stream()
+                .flatMap(page -> page.getItems().stream())
+                .map(TransactionHistoryResponse.Item::getTransactionId)
+                .toList();
+
+        // THEN
+        assertThat(paged).hasSize(7).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(paged).isSortedAccordingTo(Comparator.<UUID>naturalOrder().reversed());
+    }
+
+    @Test
+    @DisplayName("Lọc theo loại và khoảng số tiền, cursor không hợp lệ / limit quá lớn thì báo lỗi")
+    void should_FilterHistory_AndRejectInvalidInput() {
+        // GIVEN
+        UUID userId = UUID.randomUUID();
+        createTestAccount(userId, "1000.00");
+        depositUseCase.deposit(new DepositRequest(userId, new BigDecimal("100.00"), "HIST-" + UUID.randomUUID()));
+        withdrawUseCase.withdraw(new WithdrawRequest(userId, new BigDecimal("30.00"), "HIST-" + UUID.randomUUID()));
+        withdrawUseCase.withdraw(new WithdrawRequest(userId, new BigDecimal("70.00"), "HIST-" + UUID.randomUUID()));
+
+        // WHEN
+        var withdrawals = accountQueryService.getTransactionHistory(userId, "VND",
+                new Filter(TransactionType.WITHDRAW, null, null, null), null, null);
+        var largeOnes = accountQueryService.getTransactionHistory(userId, "VND",
+                new Filter(null, null, new BigDecimal("50.00"), null), null, null);
+
+        // THEN
+        assertThat(withdrawals.getItems()).extracting(TransactionHistoryResponse.Item::getType)
+                .containsExactly("WITHDRAW", "WITHDRAW");
+        assertThat(largeOnes.getItems()).extracting(TransactionHistoryResponse.Item::getAmount)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("70.00"), new BigDecimal("100.00"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> accountQueryService.getTransactionHistory(userId, "VND", NO_FILTER, "not-a-cursor", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> accountQueryService.getTransactionHistory(userId, "VND", NO_FILTER, null, 10_000));
+    }
+
+    private List<TransactionHistoryResponse> readAllPages(UUID userId, Filter filter, int limit) {
+        List<TransactionHistoryResponse> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            TransactionHistoryResponse page = accountQueryService.getTransactionHistory(userId, "VND", filter, cursor, limit);
+            pages.add(page);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return pages;
+    }
+}
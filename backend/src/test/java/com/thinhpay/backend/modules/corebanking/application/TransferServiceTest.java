@@ -15,6 +15,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.math.BigDecimal;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -213,4 +218,56 @@ public class TransferServiceTest extends BaseIntegrationTest {
             transferUseCase.transfer(request);
         });
     }
+
+    @Test
+    @DisplayName("Concurrency: A->B và B->A đồng thời không bị deadlock")
+    void should_NotDeadlock_WhenTransferringInOppositeDirections() throws InterruptedException {
+        // GIVEN
+        UUID userA = UUID.randomUUID();
+        UUID userB = UUID.randomUUID();
+        Account accountA = createTestAccount(userA, "1000.00");
+        Account accountB = createTestAccount(userB, "1000.00");
+
+        int numberOfThreads = 10;
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch doneLatch = new CountDownLatch(numberOfThreads);
+        AtomicInteger failures = new AtomicInteger();
+
+        // WHEN: Một nửa chuyển A->B, một nửa chuyển B->A cùng lúc
+        for (int i = 0; i < numberOfThreads; i++) {
+            boolean aToB = i % 2 == 0;
+            TransferRequest request = TransferRequest.builder()
+                    .requestId("TRANSFER-OPPOSITE-" + UUID.randomUUID())
+                    .senderUserId(aToB ? userA : userB)
+                    .receiverUserId(aToB ? userB : userA)
+                    .amount(new BigDecimal("10.00"))
+                    .currency("VND")
+                    .build();
+            executorService.execute(() -> {
+                try {
+                    startLatch.await();
+                    transferUseCase.transfer(request);
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                    System.err.println("Thread Error: " + e.getMessage());
+                } finally {
+                    doneLatch.countDown();
+                }
+            });
+        }
+
+        startLatch.countDown();
+        boolean finished = doneLatch.await(15, TimeUnit.SECONDS);
+        executorService.shutdown();
+
+        // THEN: Không transfer nào bị abort, mỗi bên chuyển đi và nhận về 5 lần nên số dư không đổi
+        assertThat(finished).isTrue();
+        assertThat(failures.get()).isZero();
+        assertThat(accountRepository.findById(accountA.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo("1000.00");
+        assertThat(accountRepository.findById(accountB.getId()).orElseThrow().getBalance())
+                .isEqualByComparingTo("1000.00");
+        assertThat(ledgerEntryRepository.count()).isEqualTo(numberOfThreads * 2L);
+    }
 }
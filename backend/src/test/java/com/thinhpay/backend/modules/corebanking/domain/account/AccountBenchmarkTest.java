@@ -0,0 +1,117 @@
+package com.thinhpay.backend.modules.corebanking.domain.account;
+
+import com.thinhpay.backend.modules.corebanking.domain.money.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JMH: Account.debit / credit gọi bằng BigDecimal (đổi sang Money mỗi lần gọi) vs gọi thẳng bằng Money,
+ * và phần tính số dư của 1 transfer như TransferService trước / sau khi truyền Money qua các lời gọi.
+ * GCProfiler in thêm gc.alloc.rate.norm (byte cấp phát / op).
+ *
+ * Chạy thủ công: ./mvnw test -Dtest=AccountBenchmarkTest -Dbenchmark=true
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AccountBenchmarkTest {
+    BigDecimal decimalAmount = new BigDecimal("12.50");
+    Money moneyAmount = Money.ofLedger(decimalAmount);
+
+    Account sender = account("1000000.0000");
+    Account receiver = account("250.0000");
+
+    @Test
+    @DisplayName("Benchmark: JMH Account.debit/credit BigDecimal vs Money (ns/op, byte cấp phát/op)")
+    void benchmark_AccountDebitCredit() throws Exception {
+        // forks(0): chạy trong JVM của test runner, không phụ thuộc classpath của JVM con
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(AccountBenchmarkTest.class.getName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(0)
+                .build()).run();
+
+        assertThat(results).hasSize(4);
+    }
+
+    @Benchmark
+    public void bigDecimalDebitCredit() {
+        sender.debit(decimalAmount);
+        sender.credit(decimalAmount);
+    }
+
+    @Benchmark
+    public void moneyDebitCredit() {
+        sender.debit(moneyAmount);
+        sender.credit(moneyAmount);
+    }
+
+    /**
+     * Trước: mỗi lời gọi tự đổi BigDecimal sang Money, số dư mới đổi sang BigDecimal lại cho bút toán, event và log
+     */
+    @Benchmark
+    public void bigDecimalTransferLegs(Blackhole blackhole) {
+        blackhole.consume(sender.getTotalBalance());
+        blackhole.consume(receiver.getTotalBalance());
+        sender.debit(decimalAmount);
+        receiver.credit(decimalAmount);
+        for (int i = 0; i < 3; i++) {
+            blackhole.consume(sender.getTotalBalance());
+            blackhole.consume(receiver.getTotalBalance());
+        }
+        receiver.debit(decimalAmount);
+        sender.credit(decimalAmount);
+    }
+
+    /**
+     * Sau: đổi số tiền sang Money 1 lần, số dư mới đổi sang BigDecimal 1 lần rồi dùng lại
+     */
+    @Benchmark
+    public void moneyTransferLegs(Blackhole blackhole) {
+        Money amount = Money.ofLedger(decimalAmount);
+        blackhole.consume(sender.getTotalBalance());
+        blackhole.consume(receiver.getTotalBalance());
+        sender.debit(amount);
+        receiver.credit(amount);
+        blackhole.consume(sender.getTotalBalance());
+        blackhole.consume(receiver.getTotalBalance());
+        receiver.debit(amount);
+        sender.credit(amount);
+    }
+
+    private static Account account(String balance) {
+        return Account.builder()
+                .userId(UUID.randomUUID())
+                .currencyCode("VND")
+                .balance(Money.ofLedger(new BigDecimal(balance)))
+                .heldBalance(Money.zero(Money.LEDGER_SCALE))
+                .status(AccountStatus.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.thinhpay.backend.modules.corebanking.domain.money;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JMH: vòng debit / credit / kiểm tra số dư khả dụng như trên đường transfer, BigDecimal vs Money,
+ * cộng quy đổi tỉ giá có làm tròn. GCProfiler in thêm gc.alloc.rate.norm (byte cấp phát / op).
+ *
+ * Chạy thủ công: ./mvnw test -Dtest=MoneyBenchmarkTest -Dbenchmark=true
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MoneyBenchmarkTest {
+    private static final BigDecimal RATE = new BigDecimal("25432.1234");
+
+    BigDecimal decimalBalance = new BigDecimal("1000000.0000");
+    BigDecimal decimalHeld = new BigDecimal("250.0000");
+    BigDecimal decimalAmount = new BigDecimal("12.5000");
+
+    Money moneyBalance = Money.ofLedger(decimalBalance);
+    Money moneyHeld = Money.ofLedger(decimalHeld);
+    Money moneyAmount = Money.ofLedger(decimalAmount);
+
+    @Test
+    @DisplayName("Benchmark: JMH BigDecimal vs Money (ns/op, byte cấp phát/op)")
+    void benchmark_BigDecimalVersusMoney() throws Exception {
+        // forks(0): chạy trong JVM của test runner, không phụ thuộc classpath của JVM con
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(MoneyBenchmarkTest.class.getName() + ".*")
+                .addProfiler(GCProfiler.class)
+                .forks(0)
+                .build()).run();
+
+        assertThat(results).hasSize(4);
+    }
+
+    @Benchmark
+    public void bigDecimalDebitCredit(Blackhole blackhole) {
+        BigDecimal available = decimalBalance.subtract(decimalHeld);
+        if (available.compareTo(decimalAmount) >= 0) {
+            BigDecimal debited = decimalBalance.subtract(decimalAmount);
+            blackhole.consume(debited.add(decimalAmount));
+        }
+    }
+
+    @Benchmark
+    public void moneyDebitCredit(Blackhole blackhole) {
+        Money available = moneyBalance.minus(moneyHeld);
+        if (available.compareTo(moneyAmount) >= 0) {
+            Money debited = moneyBalance.minus(moneyAmount);
+            blackhole.consume(debited.plus(moneyAmount).getUnits());
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalConvert() {
+        return decimalAmount.multiply(RATE).setScale(0, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public long moneyConvert() {
+        return moneyAmount.convert(RATE, 0, RoundingMode.HALF_UP).getUnits();
+    }
+}
@@ -0,0 +1,74 @@
+package com.thinhpay.backend.modules.corebanking.domain.money;
+
+import com.thinhpay.backend.modules.corebanking.domain.currency.Currency;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests cho Money.
+ */
+@DisplayName("Money Tests")
+class MoneyTest {
+
+    @Test
+    @DisplayName("Scale lấy từ decimalPlaces; số lẻ vượt scale bị từ chối")
+    void should_UseCurrencyScale_AndRejectExtraDecimals() {
+        // Given
+        Currency usd = Currency.of("USD", "$", 2);
+        Currency vnd = Currency.of("VND", "₫", 0);
+
+        // When - Then
+        assertThat(Money.of(new BigDecimal("12.30"), usd).getUnits()).isEqualTo(1230);
+        assertThat(Money.of(new BigDecimal("25000.000"), vnd).getUnits()).isEqualTo(25000);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("1.005"), usd))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("decimal places");
+    }
+
+    @Test
+    @DisplayName("Cộng / trừ / so sánh khác scale chính xác, tràn long thì ném ArithmeticException")
+    void should_AlignScales_AndDetectOverflow() {
+        // Given
+        Money ledger = Money.ofLedger(new BigDecimal("10.2500"));
+        Money usd = Money.ofMinor(125, 2);
+
+        // When - Then
+        assertThat(ledger.plus(usd)).isEqualTo(Money.ofMinor(115_000, 4));
+        assertThat(ledger.minus(usd).toBigDecimal()).isEqualByComparingTo("9.00");
+        assertThat(usd.compareTo(ledger)).isNegative();
+        assertThat(Money.ofMinor(10, 0).compareTo(Money.ofMinor(Long.MAX_VALUE, 18))).isPositive();
+        assertThatThrownBy(() -> Money.ofMinor(Long.MAX_VALUE, 0).plus(Money.ofMinor(1, 0)))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.ofMinor(Long.MAX_VALUE / 10, 0).plus(Money.ofMinor(1, 2)))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("Quy đổi tỉ giá làm tròn theo RoundingMode chỉ định, khớp với BigDecimal")
+    void should_ConvertWithExplicitRounding() {
+        // Given
+        Money usd = Money.ofMinor(1_005, 2);
+        BigDecimal rate = new BigDecimal("0.5");
+
+        // When - Then
+        assertThat(usd.convert(rate, 2, RoundingMode.HALF_UP)).isEqualTo(Money.ofMinor(503, 2));
+        assertThat(usd.convert(rate, 2, RoundingMode.HALF_EVEN)).isEqualTo(Money.ofMinor(502, 2));
+        assertThat(usd.negate().convert(rate, 2, RoundingMode.FLOOR)).isEqualTo(Money.ofMinor(-503, 2));
+        assertThat(usd.convert(new BigDecimal("25432.123456"), 0, RoundingMode.HALF_UP))
+                .isEqualTo(Money.ofMinor(255_593, 0));
+        assertThatThrownBy(() -> usd.convert(rate, 2, RoundingMode.UNNECESSARY))
+                .isInstanceOf(ArithmeticException.class);
+
+        // Tích vượt long: tính lại bằng BigDecimal, cùng kết quả
+        Money large = Money.ofMinor(9_000_000_000_000L, 4);
+        BigDecimal preciseRate = new BigDecimal("1.23456789012345");
+        BigDecimal expected = large.toBigDecimal().multiply(preciseRate).setScale(4, RoundingMode.HALF_UP);
+        assertThat(large.convert(preciseRate, 4, RoundingMode.HALF_UP).toBigDecimal()).isEqualByComparingTo(expected);
+    }
+}
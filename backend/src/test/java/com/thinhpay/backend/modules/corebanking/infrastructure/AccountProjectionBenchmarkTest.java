@@ -0,0 +1,98 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure;
+
+import com.thinhpay.backend.BaseIntegrationTest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.AccountResponse;
+import com.thinhpay.backend.modules.corebanking.domain.account.Account;
+import com.thinhpay.backend.modules.corebanking.domain.currency.Currency;
+import com.thinhpay.backend.modules.corebanking.domain.money.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * So sánh đọc danh sách account của 1 user có nhiều account: nạp entity Account rồi map sang AccountResponse,
+ * với projection AccountView (constructor expression, không vào persistence context).
+ * Đo byte cấp phát / request của thread gọi (com.sun.management.ThreadMXBean) và thời gian / request.
+ *
+ * Chạy thủ công: ./mvnw test -Dtest=AccountProjectionBenchmarkTest -Dbenchmark=true
+ * Tùy chỉnh: -Dbenchmark.accounts=100 -Dbenchmark.requests=5000
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AccountProjectionBenchmarkTest extends BaseIntegrationTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Benchmark: allocation / request, entity Account vs projection AccountView")
+    void benchmark_EntityVersusProjectionReads() {
+        int accounts = Integer.getInteger("benchmark.accounts", 50);
+        int requests = Integer.getInteger("benchmark.requests", 2_000);
+        UUID userId = createUserWithAccounts(accounts);
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Supplier<List<AccountResponse>> entityRead = () -> readOnly.execute(status ->
+                accountRepository.findAllByUserId(userId).stream().map(AccountResponse::from).toList());
+        Supplier<List<AccountResponse>> projectionRead = () -> readOnly.execute(status ->
+                accountRepository.findViewsByUserId(userId).stream().map(AccountResponse::from).toList());
+        assertThat(projectionRead.get()).hasSize(accounts)
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(entityRead.get());
+
+        Result entity = run("entity", entityRead, requests);
+        Result projection = run("projection", projectionRead, requests);
+
+        System.out.printf("%n=== Account list read (%d accounts, %,d requests) ===%n", accounts, requests);
+        System.out.printf("%-12s %18s %15s%n", "read", "KB alloc/request", "us/request");
+        for (Result r : List.of(entity, projection)) {
+            System.out.printf("%-12s %18.1f %15.1f%n", r.label(), r.bytesPerRequest() / 1024.0, r.microsPerRequest());
+        }
+    }
+
+    private UUID createUserWithAccounts(int accounts) {
+        UUID userId = UUID.randomUUID();
+        for (int i = 0; i < accounts; i++) {
+            String code = "B%02d".formatted(i);
+            Currency currency = currencyRepository.findById(code)
+                    .orElseGet(() -> currencyRepository.save(Currency.of(code, code, 2)));
+            accountRepository.save(Account.builder()
+                    .userId(userId)
+                    .currency(currency)
+                    .balance(Money.ofLedger(new BigDecimal("100.00")))
+                    .build());
+        }
+        return userId;
+    }
+
+    private Result run(String label, Supplier<List<AccountResponse>> read, int requests) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < requests / 4; i++) {
+            read.get();
+        }
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            read.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Result(label, (double) allocated / requests, elapsed / 1_000.0 / requests);
+    }
+
+    private record Result(String label, double bytesPerRequest, double microsPerRequest) {
+    }
+}
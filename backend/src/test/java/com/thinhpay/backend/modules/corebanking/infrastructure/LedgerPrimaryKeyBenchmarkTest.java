@@ -0,0 +1,99 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure;
+
+import com.thinhpay.backend.BaseIntegrationTest;
+import com.thinhpay.backend.shared.domain.UuidV7;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * So sánh UUID v4 (ngẫu nhiên) và UUID v7 (theo thời gian) làm primary key của ledger:
+ * throughput INSERT và kích thước PK index trên bảng đã có sẵn dữ liệu.
+ *
+ * Chạy thủ công: ./mvnw test -Dtest=LedgerPrimaryKeyBenchmarkTest -Dbenchmark=true
+ * Tùy chỉnh: -Dbenchmark.populated-rows=1000000 -Dbenchmark.measured-rows=200000
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LedgerPrimaryKeyBenchmarkTest extends BaseIntegrationTest {
+    private static final int BATCH_SIZE = 1_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Benchmark: INSERT throughput và kích thước PK index, UUID v4 vs v7")
+    void benchmark_RandomVsTimeOrderedPrimaryKeys() {
+        int populatedRows = Integer.getInteger("benchmark.populated-rows", 500_000);
+        int measuredRows = Integer.getInteger("benchmark.measured-rows", 100_000);
+
+        Result v4 = run("bench_ledger_v4", UUID::randomUUID, populatedRows, measuredRows);
+        Result v7 = run("bench_ledger_v7", UuidV7::generate, populatedRows, measuredRows);
+
+        System.out.printf("%n=== Ledger PK benchmark (%,d populated rows, %,d measured inserts) ===%n",
+                populatedRows, measuredRows);
+        System.out.printf("%-8s %15s %18s%n", "id", "inserts/sec", "pkey size (MB)");
+        for (Result r : List.of(v4, v7)) {
+            System.out.printf("%-8s %,15.0f %18.1f%n", r.label(), r.insertsPerSecond(), r.indexBytes() / 1024.0 / 1024.0);
+        }
+    }
+
+    private Result run(String table, Supplier<UUID> ids, int populatedRows, int measuredRows) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("""
+                CREATE TABLE %s (
+                    id UUID PRIMARY KEY,
+                    transaction_id UUID NOT NULL,
+                    account_id UUID NOT NULL,
+                    amount NUMERIC(19, 4) NOT NULL,
+                    balance_snapshot NUMERIC(19, 4) NOT NULL,
+                    entry_type VARCHAR(10) NOT NULL,
+                    created_at TIMESTAMP WITH TIME ZONE NOT NULL
+                )""".formatted(table));
+        try {
+            insert(table, ids, populatedRows);
+            jdbcTemplate.execute("VACUUM ANALYZE " + table);
+
+            long start = System.nanoTime();
+            insert(table, ids, measuredRows);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            Long indexBytes = jdbcTemplate.queryForObject(
+                    "SELECT pg_relation_size(?::regclass)", Long.class, table + "_pkey");
+            return new Result(table.substring(table.lastIndexOf('_') + 1), measuredRows / seconds, indexBytes);
+        } finally {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        }
+    }
+
+    private void insert(String table, Supplier<UUID> ids, int rows) {
+        String sql = "INSERT INTO " + table
+                + " (id, transaction_id, account_id, amount, balance_snapshot, entry_type, created_at)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?)";
+        UUID accountId = UUID.randomUUID();
+        for (int done = 0; done < rows; done += BATCH_SIZE) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < Math.min(BATCH_SIZE, rows - done); i++) {
+                batch.add(new Object[]{
+                        ids.get(), UUID.randomUUID(), accountId, BigDecimal.TEN, BigDecimal.TEN, "CREDIT",
+                        Timestamp.from(Instant.now())
+                });
+            }
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    private record Result(String label, double insertsPerSecond, Long indexBytes) {
+    }
+}
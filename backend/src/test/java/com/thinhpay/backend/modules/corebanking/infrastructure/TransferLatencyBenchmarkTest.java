@@ -0,0 +1,135 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure;
+
+import com.thinhpay.backend.BaseIntegrationTest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.TransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.port.in.TransferUseCase;
+import com.thinhpay.backend.modules.corebanking.application.service.TransferService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * So sánh latency chuyển tiền: JPA path đồng bộ (@Transactional, commit Postgres trước khi trả về)
+ * với in-memory engine có journal (trả về khi bút toán đã fsync vào journal, DB ghi sau).
+ *
+ * Mỗi client chuyển qua lại trên 1 cặp account riêng để đo latency của engine, không phải row lock.
+ *
+ * Chạy thủ công: ./mvnw test -Dtest=TransferLatencyBenchmarkTest -Dbenchmark=true
+ * Tùy chỉnh: -Dbenchmark.transfers=5000 -Dbenchmark.clients=8
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TransferLatencyBenchmarkTest extends BaseIntegrationTest {
+
+    @DynamicPropertySource
+    static void engineProperties(DynamicPropertyRegistry registry) throws IOException {
+        String journalDirectory = Files.createTempDirectory("thinhpay-journal-bench").toString();
+        registry.add("thinhpay.core-banking.engine", () -> "in_memory");
+        registry.add("thinhpay.core-banking.memory.journal.enabled", () -> "true");
+        registry.add("thinhpay.core-banking.memory.journal.directory", () -> journalDirectory);
+    }
+
+    /**
+     * Bean JPA vẫn tồn tại khi engine=in_memory, chỉ không còn là @Primary
+     */
+    @Autowired
+    private TransferService jpaTransferService;
+
+    @Autowired
+    private TransferUseCase journaledTransferUseCase;
+
+    @Test
+    @DisplayName("Benchmark: latency transfer, JPA @Transactional vs in-memory + journal")
+    void benchmark_SynchronousVersusJournaledTransfers() throws Exception {
+        int transfers = Integer.getInteger("benchmark.transfers", 2_000);
+        int clients = Integer.getInteger("benchmark.clients", 8);
+
+        List<Result> results = new ArrayList<>();
+        for (int concurrency : new int[]{1, clients}) {
+            results.add(run("jpa", jpaTransferService, transfers, concurrency));
+            results.add(run("journal", journaledTransferUseCase, transfers, concurrency));
+        }
+
+        System.out.printf("%n=== Transfer latency (%,d transfers per run) ===%n", transfers);
+        System.out.printf("%-8s %8s %12s %10s %10s %10s %10s%n",
+                "path", "clients", "transfers/s", "p50 (ms)", "p95 (ms)", "p99 (ms)", "max (ms)");
+        for (Result r : results) {
+            System.out.printf("%-8s %8d %,12.0f %10.2f %10.2f %10.2f %10.2f%n",
+                    r.label(), r.clients(), r.throughput(),
+                    r.percentile(0.50), r.percentile(0.95), r.percentile(0.99), r.percentile(1.0));
+        }
+    }
+
+    private Result run(String label, TransferUseCase useCase, int transfers, int clients) throws Exception {
+        // Warm-up không tính vào kết quả
+        measure(useCase, Math.min(200, transfers), clients);
+        long start = System.nanoTime();
+        long[] latencies = measure(useCase, transfers, clients);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        Arrays.sort(latencies);
+        return new Result(label, clients, transfers / seconds, latencies);
+    }
+
+    private long[] measure(TransferUseCase useCase, int transfers, int clients) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                int share = transfers / clients + (c < transfers % clients ? 1 : 0);
+                UUID a = UUID.randomUUID();
+                UUID b = UUID.randomUUID();
+                createTestAccount(a, "1000000000.00");
+                createTestAccount(b, "1000000000.00");
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[share];
+                    for (int i = 0; i < share; i++) {
+                        boolean forward = i % 2 == 0;
+                        long begin = System.nanoTime();
+                        useCase.transfer(TransferRequest.builder()
+                                .requestId("BENCH-" + UUID.randomUUID())
+                                .senderUserId(forward ? a : b)
+                                .receiverUserId(forward ? b : a)
+                                .amount(new BigDecimal("1.00"))
+                                .currency("VND")
+                                .build());
+                        latencies[i] = System.nanoTime() - begin;
+                    }
+                    return latencies;
+                }));
+            }
+
+            long[] all = new long[0];
+            for (Future<long[]> future : futures) {
+                long[] part = future.get();
+                long[] merged = Arrays.copyOf(all, all.length + part.length);
+                System.arraycopy(part, 0, merged, all.length, part.length);
+                all = merged;
+            }
+            return all;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private record Result(String label, int clients, double throughput, long[] sortedLatencies) {
+        double percentile(double p) {
+            int index = (int) Math.ceil(p * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.external;
+
+import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRateException;
+import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRateSnapshot;
+import com.thinhpay.backend.modules.corebanking.domain.exchange.ExchangeRateTable;
+import com.thinhpay.backend.modules.corebanking.infrastructure.config.CoreBankingProperties;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.jpa.ExchangeRateSnapshotRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests cho CachedExchangeRateService - API tỉ giá được mock.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachedExchangeRateService Tests")
+class CachedExchangeRateServiceTest {
+
+    @Mock
+    private ExchangeRateApiClient apiClient;
+
+    @Mock
+    private ExchangeRateSnapshotRepository snapshotRepository;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CachedExchangeRateService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CachedExchangeRateService(apiClient, snapshotRepository, new CoreBankingProperties(),
+                Runnable::run, meterRegistry, clock);
+    }
+
+    @Test
+    @DisplayName("Mọi cặp tỉ giá suy ra từ 1 bảng pivot, chỉ gọi API 1 lần")
+    void should_DeriveCrossRates_FromSinglePivotTable() {
+        // Given
+        when(apiClient.fetchTable("USD")).thenReturn(usdTable("25000", "0.8"));
+
+        // When - Then
+        assertThat(service.getRate("USD", "VND").getRate()).isEqualByComparingTo("25000");
+        assertThat(service.getRate("EUR", "VND").getRate()).isEqualByComparingTo("31250");
+        assertThat(service.getRate("VND", "USD").getRate()).isEqualByComparingTo("0.00004");
+        assertThat(service.convert(new BigDecimal("2.00"), "EUR", "USD")).isEqualByComparingTo("2.5000");
+        assertThatThrownBy(() -> service.getRate("USD", "INVALID"))
+                .isInstanceOf(ExchangeRateException.class)
+                .hasMessageContaining("Currency not supported");
+        verify(apiClient, times(1)).fetchTable("USD");
+    }
+
+    @Test
+    @DisplayName("Nhiều request cùng lúc khi cache trống chỉ tạo 1 lần gọi API")
+    void should_CoalesceConcurrentMisses() throws Exception {
+        // Given
+        CountDownLatch start = new CountDownLatch(1);
+        when(apiClient.fetchTable("USD")).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            return usdTable("25000", "0.8");
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        // When
+        List<CompletableFuture<BigDecimal>> results = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            results.add(CompletableFuture.supplyAsync(() -> {
+                awaitQuietly(start);
+                return service.convert(BigDecimal.ONE, "USD", "VND");
+            }, executor));
+        }
+        start.countDown();
+
+        // Then
+        for (CompletableFuture<BigDecimal> result : results) {
+            assertThat(result.get()).isEqualByComparingTo("25000");
+        }
+        verify(apiClient, times(1)).fetchTable("USD");
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Refresh nền thay bảng mới; refresh lỗi thì giữ bảng cũ")
+    void should_RefreshAhead_AndKeepTableOnFailure() {
+        // Given
+        when(apiClient.fetchTable("USD"))
+                .thenReturn(usdTable("25000", "0.8"))
+                .thenReturn(usdTable("26000", "0.8"))
+                .thenThrow(ExchangeRateException.apiError("timeout", null));
+        assertThat(service.getRate("USD", "VND").getRate()).isEqualByComparingTo("25000");
+
+        // When - Then
+        service.refreshTables();
+        assertThat(service.getRate("USD", "VND").getRate()).isEqualByComparingTo("26000");
+
+        service.refreshTables();
+        assertThat(service.getRate("USD", "VND").getRate()).isEqualByComparingTo("26000");
+        verify(apiClient, times(3)).fetchTable("USD");
+    }
+
+    @Test
+    @DisplayName("Bảng quá ttl nhưng chưa quá max-stale-age: trả bảng cũ ngay, đồng thời tải lại")
+    void should_ServeStale_WhileRevalidating() {
+        // Given
+        when(apiClient.fetchTable("USD"))
+                .thenReturn(usdTable("25000", "0.8"))
+                .thenThrow(ExchangeRateException.apiError("timeout", null))
+                .thenAnswer(invocation -> usdTable("26000", "0.8"));
+        assertThat(service.getRate("USD", "VND").getRate()).isEqualByComparingTo("25000");
+
+        // When - Then: lần tải lại đầu lỗi, vẫn trả bảng cũ
+        clock.advance(Duration.ofHours(2));
+        assertThat(service.getRate("USD", "VND").getRate()).isEqualByComparingTo("25000");
+
+        // Lần tải lại sau thành công, request kế tiếp thấy bảng mới
+        assertThat(service.getRate("USD", "VND").getRate()).isEqualByComparingTo("25000");
+        assertThat(service.getRate("USD", "VND").getRate()).isEqualByComparingTo("26000");
+        verify(apiClient, times(3)).fetchTable("USD");
+        verify(snapshotRepository, times(2)).save(any(ExchangeRateSnapshot.class));
+        assertThat(meterRegistry.counter("corebanking.exchange.rate.served", "freshness", "stale").count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Bảng quá max-stale-age không được dùng: request chờ tải, API lỗi thì báo lỗi")
+    void should_RejectTable_OlderThanMaxStaleAge() {
+        // Given
+        when(apiClient.fetchTable("USD"))
+                .thenReturn(usdTable("25000", "0.8"))
+                .thenThrow(ExchangeRateException.circuitOpen())
+                .thenAnswer(invocation -> usdTable("26000", "0.8"));
+        service.getRate("USD", "VND");
+        clock.advance(Duration.ofHours(25));
+
+        // When - Then
+        assertThatThrownBy(() -> service.getRate("USD", "VND"))
+                .isInstanceOf(ExchangeRateException.class);
+        assertThat(service.getRate("USD", "VND").getRate()).isEqualByComparingTo("26000");
+    }
+
+    @Test
+    @DisplayName("Khởi động nạp bảng đã lưu, không cần gọi API")
+    void should_WarmStart_FromStoredSnapshot() {
+        // Given
+        ExchangeRateTable stored = ExchangeRateTable.of("USD", Map.of("VND", new BigDecimal("24000")),
+                clock.instant().minus(Duration.ofMinutes(5)));
+        when(snapshotRepository.findAll()).thenReturn(List.of(ExchangeRateSnapshot.of(stored)));
+
+        // When
+        service.loadSnapshots();
+
+        // Then
+        assertThat(service.getRate("USD", "VND").getRate()).isEqualByComparingTo("24000");
+        verifyNoInteractions(apiClient);
+        assertThat(meterRegistry.get("corebanking.exchange.rate.age").tag("base", "USD").gauge().value())
+                .isEqualTo(300);
+    }
+
+    private ExchangeRateTable usdTable(String vnd, String eur) {
+        return ExchangeRateTable.of("USD", Map.of("VND", new BigDecimal(vnd), "EUR", new BigDecimal(eur)), clock.instant());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.external;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests cho CircuitBreaker.
+ */
+@DisplayName("CircuitBreaker Tests")
+class CircuitBreakerTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    @DisplayName("Lỗi liên tiếp đủ ngưỡng thì OPEN, hết open-duration cho 1 lời gọi thử")
+    void should_Open_AfterThreshold_AndAllowSingleTrial() {
+        // Given
+        CircuitBreaker breaker = new CircuitBreaker(2, Duration.ofSeconds(30), Clock.fixed(START, ZoneOffset.UTC));
+
+        // When
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onFailure();
+
+        // Then
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    @DisplayName("HALF_OPEN: lời gọi thử thành công thì CLOSED, lỗi thì OPEN lại")
+    void should_CloseOrReopen_AfterTrial() {
+        // Given
+        Instant[] now = {START};
+        Clock clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now[0];
+            }
+        };
+        CircuitBreaker breaker = new CircuitBreaker(1, Duration.ofSeconds(30), clock);
+        breaker.tryAcquire();
+        breaker.onFailure();
+
+        // When - Then: thử lại lỗi -> OPEN tiếp
+        now[0] = START.plusSeconds(30);
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+        breaker.onFailure();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // Thử lại thành công -> CLOSED
+        now[0] = START.plusSeconds(60);
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onSuccess();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+}
@@ -0,0 +1,123 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.journal;
+
+import com.thinhpay.backend.modules.corebanking.domain.ledger.LedgerEntryType;
+import com.thinhpay.backend.modules.corebanking.domain.transaction.TransactionType;
+import com.thinhpay.backend.modules.corebanking.infrastructure.persistence.LedgerPosting;
+import com.thinhpay.backend.shared.domain.UuidV7;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostingJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Record sau checkpoint được đọc lại nguyên vẹn khi mở lại journal")
+    void should_ReturnRecordsAfterCheckpoint_OnReopen() throws IOException {
+        // GIVEN
+        List<LedgerPosting> postings = new ArrayList<>();
+        try (PostingJournal journal = PostingJournal.open(directory, 1024 * 1024, true)) {
+            for (int i = 0; i < 5; i++) {
+                LedgerPosting posting = posting("REQ-" + i, i % 2 == 0 ? null : "Chuyển tiền " + i);
+                postings.add(posting);
+                journal.append(posting).durable().join();
+            }
+            journal.checkpoint(2);
+        }
+
+        // WHEN
+        try (PostingJournal reopened = PostingJournal.open(directory, 1024 * 1024, true)) {
+            // THEN
+            assertThat(reopened.pendingRecords()).extracting(JournalRecord::sequence).containsExactly(3L, 4L, 5L);
+            assertThat(reopened.pendingRecords()).extracting(JournalRecord::posting)
+                    .containsExactlyElementsOf(postings.subList(2, 5));
+            assertThat(reopened.append(posting("REQ-5", null)).sequence()).isEqualTo(6);
+        }
+    }
+
+    @Test
+    @DisplayName("Segment đầy thì mở segment mới, segment đã checkpoint bị xóa")
+    void should_RollSegments_AndDeleteCheckpointedOnes() throws IOException {
+        try (PostingJournal journal = PostingJournal.open(directory, 1024, false)) {
+            // WHEN: ~180 byte / record, 1 segment 1KB chứa được 5 record
+            for (int i = 0; i < 20; i++) {
+                journal.append(posting("ROLL-" + i, "Segment rolling"));
+            }
+
+            // THEN
+            assertThat(segmentCount()).isGreaterThanOrEqualTo(4);
+
+            journal.checkpoint(journal.lastSequence());
+            assertThat(segmentCount()).isEqualTo(1);
+        }
+        assertThat(PostingJournal.scan(directory, record -> { }).problems()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Record ghi dở (sai checksum) đánh dấu hết journal, các record trước vẫn đọc được")
+    void should_StopAtTornRecord() throws IOException {
+        // GIVEN
+        try (PostingJournal journal = PostingJournal.open(directory, 1024 * 1024, false)) {
+            for (int i = 0; i < 3; i++) {
+                journal.append(posting("TORN-" + i, null));
+            }
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(p -> p.toString().endsWith(".journal")).sorted().findFirst().orElseThrow();
+        }
+        List<Long> sequences = new ArrayList<>();
+        PostingJournal.scan(directory, record -> sequences.add(record.sequence()));
+        long thirdRecordOffset = offsetOfRecord(segment, 2);
+
+        // WHEN: Hỏng 1 byte trong body của record thứ 3
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(thirdRecordOffset + 20);
+            file.write(file.read() ^ 0xFF);
+        }
+
+        // THEN
+        List<Long> afterCorruption = new ArrayList<>();
+        PostingJournal.ScanResult result = PostingJournal.scan(directory, record -> afterCorruption.add(record.sequence()));
+        assertThat(sequences).containsExactly(1L, 2L, 3L);
+        assertThat(afterCorruption).containsExactly(1L, 2L);
+        assertThat(result.problems()).singleElement().asString().contains("checksum mismatch");
+    }
+
+    private long offsetOfRecord(Path segment, int index) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "r")) {
+            long offset = 0;
+            for (int i = 0; i < index; i++) {
+                file.seek(offset);
+                offset += Integer.BYTES * 2 + file.readInt();
+            }
+            return offset;
+        }
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.toString().endsWith(".journal")).count();
+        }
+    }
+
+    private LedgerPosting posting(String requestId, String description) {
+        return new LedgerPosting(UuidV7.generate(), UuidV7.generate(), UuidV7.generate(), requestId,
+                new BigDecimal("125.5000"), TransactionType.TRANSFER_OUT, LedgerEntryType.DEBIT,
+                new BigDecimal("-0.0001"), description, Instant.now());
+    }
+}
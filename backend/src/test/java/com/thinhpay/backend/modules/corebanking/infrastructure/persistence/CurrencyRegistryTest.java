@@ -0,0 +1,50 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence;
+
+import com.thinhpay.backend.BaseIntegrationTest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.AccountResponse;
+import com.thinhpay.backend.modules.corebanking.domain.account.Account;
+import com.thinhpay.backend.modules.corebanking.domain.currency.Currency;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CurrencyRegistryTest extends BaseIntegrationTest {
+
+    @Autowired
+    private CurrencyRegistry currencyRegistry;
+
+    @Test
+    @DisplayName("Ghi Currency qua JPA thì registry nạp lại sau commit")
+    void should_ReloadRegistry_AfterCurrencyChange() {
+        // GIVEN
+        assertThat(currencyRegistry.contains("VND")).isTrue();
+        currencyRepository.deleteById("JPY");
+        assertThat(currencyRegistry.contains("JPY")).isFalse();
+
+        // WHEN
+        currencyRepository.save(Currency.of("JPY", "¥", 0));
+
+        // THEN
+        assertThat(currencyRegistry.find("JPY")).map(Currency::getSymbol).contains("¥");
+    }
+
+    @Test
+    @DisplayName("Đọc mã tiền tệ của account không khởi tạo proxy Currency")
+    void should_ReadCurrencyCode_WithoutLoadingCurrency() {
+        // GIVEN
+        Account created = createTestAccount(UUID.randomUUID(), "100.00");
+
+        // WHEN
+        Account account = accountRepository.findById(created.getId()).orElseThrow();
+        AccountResponse response = AccountResponse.from(account);
+
+        // THEN
+        assertThat(response.getCurrency()).isEqualTo("VND");
+        assertThat(Hibernate.isInitialized(account.getCurrency())).isFalse();
+    }
+}
@@ -0,0 +1,21 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence;
+
+import com.thinhpay.backend.BaseIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class LedgerPartitionQueryTest extends BaseIntegrationTest {
+
+    @Autowired
+    private LedgerPartitionMaintenance partitionMaintenance;
+
+    @Test
+    @DisplayName("Bảng chưa partition thì bỏ qua bảo trì partition")
+    void should_SkipUnpartitionedTables() {
+        // Schema test do Hibernate tạo (không partition): không được ném lỗi
+        assertThatCode(partitionMaintenance::maintain).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,103 @@
+package com.thinhpay.backend.modules.corebanking.infrastructure.persistence;
+
+import com.thinhpay.backend.BaseIntegrationTest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.TransferRequest;
+import com.thinhpay.backend.modules.corebanking.application.port.in.TransferUseCase;
+import com.thinhpay.backend.modules.corebanking.domain.account.Account;
+import com.thinhpay.backend.modules.corebanking.domain.currency.Currency;
+import com.thinhpay.backend.shared.infrastructure.config.HibernateCacheConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.thinhpay.backend.modules.corebanking.infrastructure.persistence.SecondLevelCacheTest$SqlRecorder")
+class SecondLevelCacheTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TransferUseCase transferUseCase;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Transfer khi cache đã ấm không SELECT core_currencies; hit/miss từng region có trên metrics")
+    void should_NotSelectCurrencies_OnWarmTransfer() {
+        // GIVEN
+        UUID senderUserId = UUID.randomUUID();
+        UUID receiverUserId = UUID.randomUUID();
+        Account sender = createTestAccount(senderUserId, "1000.00");
+        createTestAccount(receiverUserId, "0.00");
+        transfer(senderUserId, receiverUserId);
+        currencySymbolOf(sender.getId());
+
+        // WHEN
+        SqlRecorder.STATEMENTS.clear();
+        transfer(senderUserId, receiverUserId);
+        String symbol = currencySymbolOf(sender.getId());
+        assertThat(currencyRepository.findById("VND")).isPresent();
+        List<String> statements = List.copyOf(SqlRecorder.STATEMENTS);
+
+        // THEN
+        assertThat(symbol).isEqualTo("₫");
+        assertThat(statements).isNotEmpty().noneMatch(sql -> sql.contains("core_currencies"));
+        assertThat(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", HibernateCacheConfig.CURRENCY_REGION)
+                .tag("result", "hit")
+                .functionCounter().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Currency đang nằm trong cache vẫn sửa được, lần đọc sau thấy giá trị mới")
+    void should_UpdateCachedCurrency() {
+        // GIVEN: currency đã được nạp vào cache
+        currencyRepository.save(Currency.of("XAU", "Au", 4));
+        assertThat(currencyRepository.findById("XAU").orElseThrow().getSymbol()).isEqualTo("Au");
+
+        // WHEN
+        currencyRepository.save(Currency.of("XAU", "oz", 4));
+
+        // THEN
+        assertThat(currencyRepository.findById("XAU").orElseThrow().getSymbol()).isEqualTo("oz");
+    }
+
+    private void transfer(UUID senderUserId, UUID receiverUserId) {
+        transferUseCase.transfer(TransferRequest.builder()
+                .requestId("L2-" + UUID.randomUUID())
+                .senderUserId(senderUserId)
+                .receiverUserId(receiverUserId)
+                .amount(new BigDecimal("10.00"))
+                .currency("VND")
+                .build());
+    }
+
+    private String currencySymbolOf(UUID accountId) {
+        return transactionTemplate.execute(status ->
+                accountRepository.findById(accountId).orElseThrow().getCurrency().getSymbol());
+    }
+
+    public static class SqlRecorder implements StatementInspector {
+        static final Queue<String> STATEMENTS = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.thinhpay.backend.shared.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UuidV7Test {
+
+    @Test
+    @DisplayName("Sinh UUID version 7, variant RFC 4122")
+    void should_GenerateVersion7Uuid() {
+        UUID uuid = UuidV7.generate();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Id tăng dần đơn điệu kể cả khi sinh nhiều id trong cùng millisecond")
+    void should_BeMonotonic_WithinSameMillisecond() {
+        long now = System.currentTimeMillis();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(UuidV7.generate(now));
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            // So sánh unsigned theo byte như Postgres sắp xếp kiểu uuid
+            assertThat(ids.get(i).toString()).isGreaterThan(ids.get(i - 1).toString());
+        }
+        assertThat(new HashSet<>(ids)).hasSize(ids.size());
+    }
+
+    @Test
+    @DisplayName("Đọc lại được timestamp từ UUID v7")
+    void should_ExtractTimestamp() {
+        Instant before = Instant.ofEpochMilli(System.currentTimeMillis());
+        UUID uuid = UuidV7.generate();
+
+        assertThat(UuidV7.timestampOf(uuid)).isBetween(before, before.plusSeconds(1));
+        assertThatThrownBy(() -> UuidV7.timestampOf(UUID.randomUUID()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
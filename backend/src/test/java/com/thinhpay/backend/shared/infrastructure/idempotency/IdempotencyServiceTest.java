@@ -0,0 +1,169 @@
+package com.thinhpay.backend.shared.infrastructure.idempotency;
+
+import com.thinhpay.backend.BaseIntegrationTest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.DepositRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.response.AccountResponse;
+import com.thinhpay.backend.modules.corebanking.application.port.in.DepositUseCase;
+import com.thinhpay.backend.shared.presentation.ApiResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotencyServiceTest extends BaseIntegrationTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private DepositUseCase depositUseCase;
+
+    @Test
+    @DisplayName("Request trùng key được replay response cũ, không nạp tiền lần 2")
+    void should_ReplayStoredResponse_ForDuplicateKey() {
+        // GIVEN
+        UUID userId = UUID.randomUUID();
+        createTestAccount(userId, "100.00");
+        String key = "IDEM-" + UUID.randomUUID();
+        DepositRequest request = new DepositRequest(userId, new BigDecimal("50.00"), key);
+        AtomicInteger executions = new AtomicInteger();
+
+        // WHEN: Gửi 2 lần cùng key
+        ApiResponse<AccountResponse> first = idempotencyService.execute("deposit", key, request, AccountResponse.class, () -> {
+            executions.incrementAndGet();
+            return ApiResponse.success(depositUseCase.deposit(request), "Deposit successful");
+        });
+        ApiResponse<AccountResponse> second = idempotencyService.execute("deposit", key, request, AccountResponse.class, () -> {
+            executions.incrementAndGet();
+            return ApiResponse.success(depositUseCase.deposit(request), "Deposit successful");
+        });
+
+        // THEN
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(second.getMessage()).isEqualTo(first.getMessage());
+        assertThat(second.getData().getBalance()).isEqualByComparingTo("150.00");
+        assertThat(accountRepository.findByUserId(userId).orElseThrow().getBalance())
+                .isEqualByComparingTo("150.00");
+        assertThat(idempotencyRecordRepository.findById(anonymous("deposit:" + key)))
+                .hasValueSatisfying(record -> assertThat(record.isCompleted()).isTrue());
+    }
+
+    @Test
+    @DisplayName("Dùng lại key với payload khác bị từ chối")
+    void should_RejectKeyReuse_WithDifferentPayload() {
+        String key = "IDEM-" + UUID.randomUUID();
+        idempotencyService.execute("test", key, "payload-1", String.class, () -> ApiResponse.success("ok"));
+
+        assertThrows(IdempotencyKeyConflictException.class, () ->
+                idempotencyService.execute("test", key, "payload-2", String.class, () -> ApiResponse.success("ok")));
+    }
+
+    @Test
+    @DisplayName("Key đang IN_PROGRESS thì request trùng nhận conflict")
+    void should_RejectDuplicate_WhileFirstRequestInFlight() {
+        String key = "IDEM-" + UUID.randomUUID();
+
+        assertThrows(IdempotencyKeyConflictException.class, () ->
+                idempotencyService.execute("test", key, "payload", String.class, () ->
+                        // Request trùng tới khi request đầu chưa xong
+                        idempotencyService.execute("test", key, "payload", String.class, () -> ApiResponse.success("inner"))));
+    }
+
+    @Test
+    @DisplayName("Nghiệp vụ lỗi thì nhả key để client retry được")
+    void should_ReleaseKey_WhenWorkFails() {
+        String key = "IDEM-" + UUID.randomUUID();
+
+        assertThrows(IllegalArgumentException.class, () ->
+                idempotencyService.execute("test", key, "payload", String.class, () -> {
+                    throw new IllegalArgumentException("Insufficient balance");
+                }));
+
+        ApiResponse<String> retried = idempotencyService.execute("test", key, "payload", String.class,
+                () -> ApiResponse.success("ok"));
+        assertThat(retried.getData()).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("Nghiệp vụ ném Error (không phải RuntimeException) vẫn nhả key")
+    void should_ReleaseKey_WhenWorkThrowsError() {
+        String key = "IDEM-" + UUID.randomUUID();
+
+        assertThrows(AssertionError.class, () ->
+                idempotencyService.execute("test", key, "payload", String.class, () -> {
+                    throw new AssertionError("Unexpected failure");
+                }));
+
+        assertThat(idempotencyRecordRepository.findById(anonymous("test:" + key))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Dọn key hết hạn và cho phép claim lại claim bị bỏ dở")
+    void should_ReclaimExpiredKey() {
+        UUID userId = UUID.randomUUID();
+        String key = "test:IDEM-" + UUID.randomUUID();
+        Instant past = Instant.now().minusSeconds(60);
+        assertThat(idempotencyRecordRepository.claim(userId, key, "hash", past, past.minusSeconds(1))).isEqualTo(1);
+
+        // Claim cũ đã quá hạn → claim lại được
+        assertThat(idempotencyRecordRepository.claim(userId, key, "hash", Instant.now().plusSeconds(30), Instant.now())).isEqualTo(1);
+        // Claim mới còn hạn → request khác không claim được
+        assertThat(idempotencyRecordRepository.claim(userId, key, "hash", Instant.now().plusSeconds(30), Instant.now())).isZero();
+
+        idempotencyRecordRepository.complete(userId, key, "{}", past, Instant.now());
+        idempotencyService.purgeExpired();
+        assertThat(idempotencyRecordRepository.findById(new IdempotencyRecord.Key(userId, key))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("2 user dùng cùng key: mỗi user chạy nghiệp vụ của mình, không replay response của nhau")
+    void should_ScopeKeyByAuthenticatedUser() {
+        // GIVEN
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        String key = "IDEM-" + UUID.randomUUID();
+
+        // WHEN: Cùng key, khác payload
+        ApiResponse<String> aliceResponse = runAs(alice, () ->
+                idempotencyService.execute("test", key, "alice-payload", String.class, () -> ApiResponse.success("alice")));
+        ApiResponse<String> bobResponse = runAs(bob, () ->
+                idempotencyService.execute("test", key, "bob-payload", String.class, () -> ApiResponse.success("bob")));
+        ApiResponse<String> aliceReplay = runAs(alice, () ->
+                idempotencyService.execute("test", key, "alice-payload", String.class, () -> ApiResponse.success("again")));
+
+        // THEN
+        assertThat(List.of(aliceResponse.getData(), bobResponse.getData(), aliceReplay.getData()))
+                .containsExactly("alice", "bob", "alice");
+        assertThat(idempotencyRecordRepository.findById(new IdempotencyRecord.Key(alice, "test:" + key))).isPresent();
+        assertThat(idempotencyRecordRepository.findById(new IdempotencyRecord.Key(bob, "test:" + key))).isPresent();
+        assertThat(idempotencyRecordRepository.findById(anonymous("test:" + key))).isEmpty();
+    }
+
+    private static IdempotencyRecord.Key anonymous(String scopedKey) {
+        return new IdempotencyRecord.Key(IdempotencyService.ANONYMOUS_USER_ID, scopedKey);
+    }
+
+    private static <T> T runAs(UUID userId, Supplier<T> action) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+        try {
+            return action.get();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.thinhpay.backend.shared.infrastructure.outbox;
+
+import com.thinhpay.backend.BaseIntegrationTest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.DepositRequest;
+import com.thinhpay.backend.modules.corebanking.application.dto.request.WithdrawRequest;
+import com.thinhpay.backend.modules.corebanking.application.port.in.DepositUseCase;
+import com.thinhpay.backend.modules.corebanking.application.port.in.WithdrawUseCase;
+import com.thinhpay.backend.modules.corebanking.domain.event.BalanceChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Profile test tắt poll nền của relay (thinhpay.outbox.polling-enabled=false): chỉ relayBatch() gọi
+ * trong test claim record, nên published_at được set ngay khi relayAll() trả về.
+ */
+class OutboxRelayTest extends BaseIntegrationTest {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxRecordRepository outboxRecordRepository;
+
+    @Autowired
+    private DepositUseCase depositUseCase;
+
+    @Autowired
+    private WithdrawUseCase withdrawUseCase;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Nạp tiền ghi BalanceChangedEvent vào outbox cùng transaction, relay publish và đánh dấu published")
+    void should_WriteAndRelayBalanceChangedEvent() {
+        UUID userId = UUID.randomUUID();
+        UUID accountId = createTestAccount(userId, "100.00").getId();
+
+        depositUseCase.deposit(new DepositRequest(userId, new BigDecimal("50.00"), "REQ-" + UUID.randomUUID()));
+
+        List<OutboxRecord> records = recordsOf(accountId.toString());
+        assertThat(records).singleElement().satisfies(record -> {
+            assertThat(record.getAggregateType()).isEqualTo(BalanceChangedEvent.AGGREGATE_TYPE);
+            assertThat(record.getEventType()).isEqualTo(BalanceChangedEvent.class.getName());
+            assertThat(record.getPayload()).contains(userId.toString()).contains("DEPOSIT");
+        });
+
+        relayAll();
+
+        assertThat(recordsOf(accountId.toString())).allSatisfy(record -> assertThat(record.getPublishedAt()).isNotNull());
+    }
+
+    @Test
+    @DisplayName("Giao dịch rollback không để lại record trong outbox")
+    void should_NotWriteOutbox_WhenTransactionRollsBack() {
+        UUID userId = UUID.randomUUID();
+        UUID accountId = createTestAccount(userId, "10.00").getId();
+
+        assertThatThrownBy(() -> withdrawUseCase.withdraw(
+                new WithdrawRequest(userId, new BigDecimal("500.00"), "REQ-" + UUID.randomUUID())))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(recordsOf(accountId.toString())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Relay không publish vượt qua record cũ hơn của cùng aggregate đang bị relay khác giữ")
+    void should_KeepOrderPerAggregate_WhenEarlierRecordIsLockedElsewhere() throws Exception {
+        String free = "agg-" + UUID.randomUUID();
+        insert(free, "1");
+
+        CountDownLatch release = new CountDownLatch(1);
+        String blocked = null;
+        CompletableFuture<Void> otherRelay = null;
+        // Relay của context khác có thể publish record trước khi kịp lock: thử lại với aggregate mới
+        for (int attempt = 0; attempt < 5 && otherRelay == null; attempt++) {
+            String aggregateId = "agg-" + UUID.randomUUID();
+            long first = insert(aggregateId, "1");
+            insert(aggregateId, "2");
+
+            CompletableFuture<Boolean> locked = new CompletableFuture<>();
+            CompletableFuture<Void> holder = CompletableFuture.runAsync(() ->
+                    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                        boolean pending = !jdbcTemplate.queryForList(
+                                "SELECT id FROM outbox_events WHERE id = ? AND published_at IS NULL FOR UPDATE",
+                                first).isEmpty()
+                                && recordsOf(aggregateId).stream().allMatch(record -> record.getPublishedAt() == null);
+                        locked.complete(pending);
+                        if (pending) {
+                            await(release);
+                        }
+                    }));
+            if (locked.get(10, TimeUnit.SECONDS)) {
+                blocked = aggregateId;
+                otherRelay = holder;
+            }
+        }
+        assertThat(otherRelay).as("could not lock an unpublished record").isNotNull();
+
+        relayAll();
+        assertThat(recordsOf(free)).allSatisfy(record -> assertThat(record.getPublishedAt()).isNotNull());
+        assertThat(recordsOf(blocked)).allSatisfy(record -> assertThat(record.getPublishedAt()).isNull());
+
+        release.countDown();
+        otherRelay.get(10, TimeUnit.SECONDS);
+
+        relayAll();
+        List<OutboxRecord> published = recordsOf(blocked);
+        assertThat(published).extracting(OutboxRecord::getPayload).containsExactly("1", "2");
+        assertThat(published).allSatisfy(record -> assertThat(record.getPublishedAt()).isNotNull());
+        assertThat(published.get(0).getPublishedAt()).isBeforeOrEqualTo(published.get(1).getPublishedAt());
+    }
+
+    private void relayAll() {
+        while (outboxRelay.relayBatch() > 0) {
+            // drain
+        }
+    }
+
+    private long insert(String aggregateId, String payload) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload, created_at)
+                VALUES ('Test', ?, 'TestEvent', ?, ?) RETURNING id
+                """, Long.class, aggregateId, payload, Timestamp.from(Instant.now()));
+    }
+
+    private List<OutboxRecord> recordsOf(String aggregateId) {
+        return outboxRecordRepository.findAll().stream()
+                .filter(record -> record.getAggregateId().equals(aggregateId))
+                .sorted(Comparator.comparing(OutboxRecord::getId))
+                .toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}